@@ -3,9 +3,22 @@ package com.global.api.builders;
 import com.global.api.builders.validations.Validations;
 import com.global.api.entities.exceptions.ApiException;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 public abstract class BaseBuilder<TResult> {
+    // the rules only depend on the builder class, so each class sets them up once
+    private static final ClassValue<AtomicReference<Validations>> classValidations = new ClassValue<AtomicReference<Validations>>() {
+        @Override
+        protected AtomicReference<Validations> computeValue(Class<?> type) {
+            return new AtomicReference<Validations>();
+        }
+    };
+
     protected Validations validations;
 
+    /**
+     * The validation rules of this builder's class, shared by all of its instances.
+     */
     public Validations getValidations() {
         return validations;
     }
@@ -14,8 +27,15 @@ public abstract class BaseBuilder<TResult> {
     }
 
     public BaseBuilder() {
-        validations = new Validations();
-        setupValidations();
+        AtomicReference<Validations> shared = classValidations.get(getClass());
+        validations = shared.get();
+        if(validations == null) {
+            validations = new Validations();
+            setupValidations();
+            if(!shared.compareAndSet(null, validations)) {
+                validations = shared.get();
+            }
+        }
     }
 
     public TResult execute() throws ApiException {
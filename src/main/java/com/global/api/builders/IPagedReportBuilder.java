@@ -0,0 +1,10 @@
+package com.global.api.builders;
+
+/**
+ * A report builder whose report is returned one page at a time.
+ */
+public interface IPagedReportBuilder {
+    int getPage();
+    int getPageSize();
+    IPagedReportBuilder withPaging(int page, int pageSize);
+}
@@ -0,0 +1,163 @@
+package com.global.api.builders;
+
+import com.global.api.entities.exceptions.ApiException;
+import com.global.api.entities.exceptions.UncheckedApiException;
+import com.global.api.entities.exceptions.UnsupportedTransactionException;
+import com.global.api.entities.gpApi.PagedResult;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads a paged report one record at a time, from the builder's page onwards. With prefetch on,
+ * each page is requested in the background as soon as the previous one has arrived, so it is
+ * usually there by the time the previous one has been read; at most two pages are held however
+ * large the report is. With prefetch off, a page is requested only once the previous one has been
+ * read and let go of. The last page is the first one that is short, empty, or reaches the report's
+ * total record count.
+ *
+ * The builder is used to request the pages, so it should not be executed elsewhere until the
+ * iterator has been read to the end or closed. Gateway errors are thrown as UncheckedApiException.
+ */
+public class PagedReportIterator<T> implements Iterator<T>, Closeable {
+    private final ReportBuilder<? extends PagedResult<T>> builder;
+    private final IPagedReportBuilder paging;
+    private final String configName;
+    private final int pageSize;
+    private final boolean prefetch;
+
+    private int nextPage;
+    private boolean morePages = true;
+    private FutureTask<PagedResult<T>> pending;
+    private Iterator<T> current = Collections.emptyIterator();
+
+    public PagedReportIterator(ReportBuilder<? extends PagedResult<T>> builder, String configName) throws ApiException {
+        this(builder, configName, true);
+    }
+    public PagedReportIterator(ReportBuilder<? extends PagedResult<T>> builder, String configName, boolean prefetch) throws ApiException {
+        if (!(builder instanceof IPagedReportBuilder)) {
+            throw new UnsupportedTransactionException("Paged iteration is not supported by this report builder.");
+        }
+        this.builder = builder;
+        this.paging = (IPagedReportBuilder) builder;
+        this.configName = configName;
+        this.pageSize = paging.getPageSize();
+        this.prefetch = prefetch;
+        this.nextPage = Math.max(paging.getPage(), 1);
+
+        if (prefetch) {
+            pending = requestPage(nextPage);
+        }
+    }
+
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (!morePages) {
+                return false;
+            }
+            // the page just read can go before the next one arrives
+            current = Collections.emptyIterator();
+
+            PagedResult<T> page = pending != null ? await(pending) : execute(nextPage);
+            pending = null;
+
+            List<T> results = page.getResults() != null ? page.getResults() : Collections.<T>emptyList();
+            // the gateway may cap the page size, so a page is full when it holds the size it reports
+            int pageSize = page.getPageSize() > 0 ? page.getPageSize() : this.pageSize;
+            morePages = pageSize > 0
+                    && results.size() >= pageSize
+                    && (long) nextPage * pageSize < page.getTotalRecordCount();
+            nextPage++;
+            if (morePages && prefetch) {
+                pending = requestPage(nextPage);
+            }
+            current = results.iterator();
+        }
+        return true;
+    }
+
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * The remaining records; closing the stream closes the iterator.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(new Runnable() {
+                    public void run() {
+                        close();
+                    }
+                });
+    }
+
+    /**
+     * Stops reading the report. A page already requested is still received, but dropped.
+     */
+    public void close() {
+        morePages = false;
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+        current = Collections.emptyIterator();
+    }
+
+    private PagedResult<T> execute(int page) {
+        try {
+            paging.withPaging(page, pageSize);
+            return builder.execute(configName);
+        } catch (ApiException e) {
+            throw new UncheckedApiException(e);
+        }
+    }
+
+    private FutureTask<PagedResult<T>> requestPage(final int page) {
+        FutureTask<PagedResult<T>> task = new FutureTask<>(new Callable<PagedResult<T>>() {
+            public PagedResult<T> call() throws ApiException {
+                paging.withPaging(page, pageSize);
+                return builder.execute(configName);
+            }
+        });
+
+        Thread thread = new Thread(task, "report-page-" + page);
+        thread.setDaemon(true);
+        thread.start();
+        return task;
+    }
+
+    private PagedResult<T> await(FutureTask<PagedResult<T>> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedApiException(new ApiException("Interrupted while waiting for a report page.", e));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ApiException) {
+                throw new UncheckedApiException((ApiException) cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new UncheckedApiException(new ApiException(cause.getMessage(), (Exception) cause));
+        }
+    }
+}
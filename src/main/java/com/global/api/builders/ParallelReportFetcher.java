@@ -0,0 +1,180 @@
+package com.global.api.builders;
+
+import com.global.api.entities.exceptions.ApiException;
+import com.global.api.entities.gpApi.PagedResult;
+import com.global.api.terminals.messaging.IRecordReceivedInterface;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests the pages of a paged TransactionReportBuilder report concurrently. The builder's page is
+ * requested first, and its totalRecordCount and pageSize give the pages that follow. Those are
+ * requested by up to maxConcurrency threads, with no more than maxRequestsPerSecond requests
+ * started each second when a rate is set. Each request uses its own copy of the builder.
+ *
+ * Pages are merged in page order whatever order they arrive in. No more than twice maxConcurrency
+ * pages are requested ahead of the one being merged, so handing the records to a handler keeps
+ * memory bounded. The first failed page stops the report and its exception is thrown.
+ */
+public class ParallelReportFetcher<TResult extends PagedResult<T>, T> {
+    private final TransactionReportBuilder<TResult> builder;
+    private int maxConcurrency = 4;
+    private double maxRequestsPerSecond;
+
+    private long nextRequestTime;
+
+    public ParallelReportFetcher(TransactionReportBuilder<TResult> builder) {
+        this.builder = builder;
+    }
+
+    public ParallelReportFetcher<TResult, T> withMaxConcurrency(int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException("At least one page must be requested at a time.");
+        }
+        this.maxConcurrency = value;
+        return this;
+    }
+
+    /**
+     * Caps the rate requests are started at, first page included; 0, the default, sets no cap.
+     */
+    public ParallelReportFetcher<TResult, T> withMaxRequestsPerSecond(double value) {
+        this.maxRequestsPerSecond = value;
+        return this;
+    }
+
+    /**
+     * The builder's page with the results of every page after it appended, in order.
+     */
+    public TResult execute() throws ApiException {
+        return execute("default");
+    }
+    public TResult execute(String configName) throws ApiException {
+        return fetch(configName, null);
+    }
+
+    /**
+     * Hands every record of the report to the handler, in order, without keeping the pages.
+     */
+    public void execute(IRecordReceivedInterface<T> handler) throws ApiException {
+        execute("default", handler);
+    }
+    public void execute(String configName, IRecordReceivedInterface<T> handler) throws ApiException {
+        fetch(configName, handler);
+    }
+
+    private TResult fetch(String configName, IRecordReceivedInterface<T> handler) throws ApiException {
+        synchronized (this) {
+            nextRequestTime = System.nanoTime();
+        }
+
+        int firstPage = Math.max(builder.getPage(), 1);
+        TResult first = request(configName, firstPage);
+        // the gateway may cap the page size, so its own is used to count the pages
+        int pageSize = first.getPageSize() > 0 ? first.getPageSize() : builder.getPageSize();
+        boolean fullPage = pageSize > 0 && first.getResults() != null && first.getResults().size() >= pageSize;
+        long lastPage = fullPage ? ((long) first.getTotalRecordCount() + pageSize - 1) / pageSize : firstPage;
+        merge(first, first, handler);
+        if (lastPage <= firstPage) {
+            return first;
+        }
+
+        int threads = (int) Math.min(maxConcurrency, lastPage - firstPage);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "report-pages");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            ArrayDeque<Future<TResult>> pending = new ArrayDeque<>();
+            long nextPage = firstPage + 1;
+            while (nextPage <= lastPage || !pending.isEmpty()) {
+                while (nextPage <= lastPage && pending.size() < maxConcurrency * 2) {
+                    pending.add(executor.submit(requestPage(configName, (int) nextPage++)));
+                }
+                merge(first, await(pending.poll()), handler);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return first;
+    }
+
+    private Callable<TResult> requestPage(final String configName, final int page) {
+        return new Callable<TResult>() {
+            public TResult call() throws ApiException {
+                return request(configName, page);
+            }
+        };
+    }
+
+    private TResult request(String configName, int page) throws ApiException {
+        awaitRequestTime();
+        return builder.copyForPage(page).execute(configName);
+    }
+
+    private void merge(TResult first, TResult page, IRecordReceivedInterface<T> handler) {
+        if (page.getResults() == null) {
+            return;
+        }
+        if (handler != null) {
+            for (T record : page.getResults()) {
+                handler.recordReceived(record);
+            }
+            page.getResults().clear();
+        } else if (page != first) {
+            first.getResults().addAll(page.getResults());
+        }
+    }
+
+    private void awaitRequestTime() throws ApiException {
+        if (maxRequestsPerSecond <= 0) {
+            return;
+        }
+
+        long requestTime;
+        synchronized (this) {
+            requestTime = Math.max(System.nanoTime(), nextRequestTime);
+            nextRequestTime = requestTime + (long) (TimeUnit.SECONDS.toNanos(1) / maxRequestsPerSecond);
+        }
+        try {
+            long wait = requestTime - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Interrupted while waiting to request a report page.", e);
+        }
+    }
+
+    private TResult await(Future<TResult> page) throws ApiException {
+        try {
+            return page.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Interrupted while waiting for a report page.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ApiException) {
+                throw (ApiException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ApiException(cause.getMessage(), (Exception) cause);
+        }
+    }
+}
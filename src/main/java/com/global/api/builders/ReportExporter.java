@@ -0,0 +1,366 @@
+package com.global.api.builders;
+
+import com.global.api.entities.TransactionSummary;
+import com.global.api.entities.enums.IStringConstant;
+import com.global.api.entities.enums.ReportExportFormat;
+import com.global.api.entities.exceptions.ApiException;
+import com.global.api.entities.exceptions.BuilderException;
+import com.global.api.entities.exceptions.UncheckedApiException;
+import com.global.api.entities.gpApi.PagedResult;
+import com.global.api.terminals.messaging.IRecordReceivedInterface;
+import com.global.api.utils.DateCodec;
+import com.global.api.utils.Utf8Buffer;
+import org.joda.time.DateTime;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes the records of a report to a file as CSV or newline delimited JSON, one record at a time:
+ * a paged report is read a page at a time without prefetching, and a report the gateway can stream
+ * is written as its response is read, so no more than one page is held. Rows are encoded straight
+ * to UTF-8 and written through a FileChannel in large blocks.
+ *
+ * Columns are either properties of the record, read through their getters, or values computed from
+ * it; without any, every readable property of the record holding a single value is written: text,
+ * numbers, booleans, dates and constants. Nested objects, such as a summary's billing address, are
+ * left out unless a column computes a value from them, and a column giving any other type of
+ * value fails the export.
+ */
+public class ReportExporter<T> {
+    private static final int FLUSH_SIZE = 1 << 16;
+    private static final DateCodec DATE_FORMAT = DateCodec.of("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final RecordSource<T> source;
+    private final List<String> names = new ArrayList<>();
+    private final List<Function<T, Object>> values = new ArrayList<>();
+    private ReportExportFormat format = ReportExportFormat.Csv;
+    private boolean header = true;
+
+    private interface RecordSource<T> {
+        void read(String configName, IRecordReceivedInterface<T> handler) throws ApiException;
+    }
+
+    private ReportExporter(RecordSource<T> source) {
+        this.source = source;
+    }
+
+    /**
+     * Exports a paged report, from the builder's page to the last.
+     */
+    public static <T> ReportExporter<T> of(final ReportBuilder<? extends PagedResult<T>> builder) {
+        return new ReportExporter<>(new RecordSource<T>() {
+            public void read(String configName, IRecordReceivedInterface<T> handler) throws ApiException {
+                PagedReportIterator<T> records = new PagedReportIterator<>(builder, configName, false);
+                try {
+                    while (records.hasNext()) {
+                        handler.recordReceived(records.next());
+                    }
+                } catch (UncheckedApiException e) {
+                    throw e.getCause();
+                } finally {
+                    records.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Exports the transactions of a report the gateway streams, see TransactionReportBuilder.execute.
+     */
+    public static ReportExporter<TransactionSummary> ofStreamed(final TransactionReportBuilder<?> builder) {
+        return new ReportExporter<>(new RecordSource<TransactionSummary>() {
+            public void read(String configName, IRecordReceivedInterface<TransactionSummary> handler) throws ApiException {
+                builder.execute(configName, handler);
+            }
+        });
+    }
+
+    public ReportExporter<T> withFormat(ReportExportFormat value) {
+        this.format = value;
+        return this;
+    }
+
+    /**
+     * Whether a CSV export starts with a row of column names; on by default.
+     */
+    public ReportExporter<T> withHeader(boolean value) {
+        this.header = value;
+        return this;
+    }
+
+    /**
+     * Adds a column for each of the named properties of the record.
+     */
+    public ReportExporter<T> withColumns(String... properties) {
+        for (String property : properties) {
+            names.add(property);
+            values.add(null);
+        }
+        return this;
+    }
+
+    public ReportExporter<T> withColumn(String name, Function<T, Object> value) {
+        names.add(name);
+        values.add(value);
+        return this;
+    }
+
+    /**
+     * Writes the report to the file, replacing it, and returns the number of records written.
+     */
+    public long execute(Path file) throws ApiException {
+        return execute("default", file);
+    }
+    public long execute(String configName, Path file) throws ApiException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            RowWriter writer = new RowWriter(channel);
+            if (!names.isEmpty()) {
+                // the columns are known, so even an empty report gets its header
+                writer.writeHeader(names);
+            }
+            source.read(configName, writer);
+            writer.flush();
+            return writer.count;
+        } catch (UncheckedApiException e) {
+            throw e.getCause();
+        } catch (UncheckedIOException e) {
+            throw new ApiException("Failed to write the report export: " + e.getCause().getMessage(), e.getCause());
+        } catch (IOException e) {
+            throw new ApiException("Failed to write the report export: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Whether a property of this type holds a single value the export can write.
+     */
+    private static boolean isSingleValue(Class<?> type) {
+        return type.isPrimitive()
+                || type == String.class
+                || Number.class.isAssignableFrom(type)
+                || type == Boolean.class
+                || type == Character.class
+                || Date.class.isAssignableFrom(type)
+                || DateTime.class.isAssignableFrom(type)
+                || type.isEnum()
+                || IStringConstant.class.isAssignableFrom(type);
+    }
+
+    private final class RowWriter implements IRecordReceivedInterface<T> {
+        private final FileChannel channel;
+        private final Utf8Buffer buffer = new Utf8Buffer();
+        private List<String> columns;
+        private List<Function<T, Object>> getters;
+        private boolean headerWritten;
+        private long count;
+
+        private RowWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Writes the row of column names of a CSV export that has one, once.
+         */
+        private void writeHeader(List<String> names) {
+            if (headerWritten || format != ReportExportFormat.Csv || !header) {
+                return;
+            }
+            headerWritten = true;
+            for (int i = 0; i < names.size(); i++) {
+                if (i > 0) {
+                    buffer.write(',');
+                }
+                writeCsv(names.get(i));
+            }
+            buffer.write('\n');
+        }
+
+        public void recordReceived(T record) {
+            if (getters == null) {
+                bindColumns(record.getClass());
+                writeHeader(columns);
+            }
+
+            if (format == ReportExportFormat.Csv) {
+                for (int i = 0; i < getters.size(); i++) {
+                    if (i > 0) {
+                        buffer.write(',');
+                    }
+                    Object value = getters.get(i).apply(record);
+                    if (value != null) {
+                        writeCsv(toText(columns.get(i), value));
+                    }
+                }
+            } else {
+                buffer.write('{');
+                for (int i = 0; i < getters.size(); i++) {
+                    if (i > 0) {
+                        buffer.write(',');
+                    }
+                    writeJsonString(columns.get(i));
+                    buffer.write(':');
+                    writeJson(columns.get(i), getters.get(i).apply(record));
+                }
+                buffer.write('}');
+            }
+            buffer.write('\n');
+            count++;
+
+            if (buffer.size() >= FLUSH_SIZE) {
+                try {
+                    flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flush();
+            ByteBuffer bytes = ByteBuffer.wrap(buffer.getBuffer(), 0, buffer.size());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            buffer.reset();
+        }
+
+        private void bindColumns(Class<?> recordClass) {
+            columns = new ArrayList<>(names);
+            getters = new ArrayList<>(values);
+            try {
+                PropertyDescriptor[] properties = Introspector.getBeanInfo(recordClass, Object.class).getPropertyDescriptors();
+                if (columns.isEmpty()) {
+                    for (PropertyDescriptor property : properties) {
+                        if (property.getReadMethod() != null && isSingleValue(property.getPropertyType())) {
+                            columns.add(property.getName());
+                            getters.add(null);
+                        }
+                    }
+                }
+                for (int i = 0; i < getters.size(); i++) {
+                    if (getters.get(i) == null) {
+                        getters.set(i, propertyGetter(properties, columns.get(i)));
+                    }
+                }
+            } catch (IntrospectionException | IllegalAccessException e) {
+                throw new UncheckedApiException(new ApiException("Failed to read the properties of the report records.", e));
+            }
+        }
+
+        private Function<T, Object> propertyGetter(PropertyDescriptor[] properties, String name) throws IllegalAccessException {
+            for (PropertyDescriptor property : properties) {
+                if (property.getName().equals(name) && property.getReadMethod() != null) {
+                    final MethodHandle getter = MethodHandles.publicLookup().unreflect(property.getReadMethod());
+                    return new Function<T, Object>() {
+                        public Object apply(T record) {
+                            try {
+                                return getter.invoke(record);
+                            } catch (RuntimeException | Error e) {
+                                throw e;
+                            } catch (Throwable e) {
+                                throw new IllegalStateException(e);
+                            }
+                        }
+                    };
+                }
+            }
+            throw new UncheckedApiException(new BuilderException(String.format("%s is not a property of the report records.", name)));
+        }
+
+        private String toText(String column, Object value) {
+            if (value instanceof String) {
+                return (String) value;
+            }
+            if (value instanceof BigDecimal) {
+                return ((BigDecimal) value).toPlainString();
+            }
+            if (value instanceof Date) {
+                return DATE_FORMAT.format((Date) value);
+            }
+            if (value instanceof DateTime) {
+                return DATE_FORMAT.format((DateTime) value);
+            }
+            if (value instanceof IStringConstant) {
+                return ((IStringConstant) value).getValue();
+            }
+            if (value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum) {
+                return value.toString();
+            }
+            throw new UncheckedApiException(new BuilderException(String.format(
+                    "%s holds a %s, which cannot be exported; add columns for the values in it instead.", column, value.getClass().getSimpleName())));
+        }
+
+        private void writeCsv(String text) {
+            boolean quote = false;
+            for (int i = 0; i < text.length() && !quote; i++) {
+                char c = text.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                buffer.write(text, 0, text.length());
+                return;
+            }
+            buffer.write('"');
+            int start = 0;
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) == '"') {
+                    buffer.write(text, start, i + 1 - start);
+                    buffer.write('"');
+                    start = i + 1;
+                }
+            }
+            buffer.write(text, start, text.length() - start);
+            buffer.write('"');
+        }
+
+        private void writeJson(String column, Object value) {
+            if (value == null) {
+                buffer.write("null", 0, 4);
+            } else if (value instanceof Number || value instanceof Boolean) {
+                String text = toText(column, value);
+                buffer.write(text, 0, text.length());
+            } else {
+                writeJsonString(toText(column, value));
+            }
+        }
+
+        private void writeJsonString(String text) {
+            buffer.write('"');
+            int start = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    continue;
+                }
+                buffer.write(text, start, i - start);
+                switch (c) {
+                    case '"': buffer.write("\\\"", 0, 2); break;
+                    case '\\': buffer.write("\\\\", 0, 2); break;
+                    case '\n': buffer.write("\\n", 0, 2); break;
+                    case '\r': buffer.write("\\r", 0, 2); break;
+                    case '\t': buffer.write("\\t", 0, 2); break;
+                    default:
+                        String escape = String.format("\\u%04x", (int) c);
+                        buffer.write(escape, 0, escape.length());
+                }
+                start = i + 1;
+            }
+            buffer.write(text, start, text.length() - start);
+            buffer.write('"');
+        }
+    }
+}
@@ -1,15 +1,22 @@
 package com.global.api.builders;
 
+import com.global.api.ServicesContainer;
+import com.global.api.entities.TransactionSummary;
 import com.global.api.entities.enums.*;
+import com.global.api.entities.exceptions.ApiException;
+import com.global.api.entities.exceptions.UnsupportedTransactionException;
 import com.global.api.entities.reporting.DataServiceCriteria;
 import com.global.api.entities.reporting.SearchCriteria;
 import com.global.api.entities.reporting.SearchCriteriaBuilder;
+import com.global.api.gateways.IPaymentGateway;
+import com.global.api.gateways.IStreamingReportService;
+import com.global.api.terminals.messaging.IRecordReceivedInterface;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.util.Date;
 
-public class TransactionReportBuilder<TResult> extends ReportBuilder<TResult> {
+public class TransactionReportBuilder<TResult> extends ReportBuilder<TResult> implements IPagedReportBuilder, Cloneable {
     private String deviceId;
     private Date endDate;
     private Date startDate;
@@ -164,6 +171,38 @@ public class TransactionReportBuilder<TResult> extends ReportBuilder<TResult> {
         return this;
     }
 
+    /**
+     * A copy of the builder requesting another page of the same report. Copies share the search
+     * criteria, which are only read while a report is requested.
+     */
+    @SuppressWarnings("unchecked")
+    TransactionReportBuilder<TResult> copyForPage(int page) {
+        try {
+            TransactionReportBuilder<TResult> copy = (TransactionReportBuilder<TResult>) clone();
+            copy.page = page;
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Streams the transactions of the report to the handler as the gateway's response is read, for
+     * reports too large to be held in memory.
+     */
+    public void execute(IRecordReceivedInterface<TransactionSummary> handler) throws ApiException {
+        execute("default", handler);
+    }
+    public void execute(String configName, IRecordReceivedInterface<TransactionSummary> handler) throws ApiException {
+        validations.validate(this);
+
+        IPaymentGateway gateway = ServicesContainer.getInstance().getGateway(configName);
+        if (!(gateway instanceof IStreamingReportService)) {
+            throw new UnsupportedTransactionException("Streaming reports are not supported by this gateway.");
+        }
+        ((IStreamingReportService) gateway).processReport(this, handler);
+    }
+
     public void setupValidations() {
         this.validations.of(ReportType.TransactionDetail)
                 .check("transactionId").isNotNull();
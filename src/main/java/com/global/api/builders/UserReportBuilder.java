@@ -11,7 +11,7 @@ import lombok.experimental.Accessors;
 @Accessors(chain = true)
 @Getter
 @Setter
-public class UserReportBuilder<TResult> extends ReportBuilder<TResult> {
+public class UserReportBuilder<TResult> extends ReportBuilder<TResult> implements IPagedReportBuilder {
     @Getter @Setter private int page = 1;       // 1: DEFAULT PARAM VALUE
     @Getter @Setter private int pageSize = 5;   // 5: DEFAULT PARAM VALUE
 
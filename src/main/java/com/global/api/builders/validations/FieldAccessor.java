@@ -0,0 +1,113 @@
+package com.global.api.builders.validations;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads a field that a validation rule refers to by name. The field is looked up through the class
+ * hierarchy once per class and bound as a method handle; each accessor also remembers the last
+ * class it read from, since a rule almost always sees the same builder class.
+ */
+final class FieldAccessor {
+    /**
+     * Returned by get when the class has no field with the accessor's name.
+     */
+    static final Object MISSING = new Object();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodHandle NO_FIELD = MethodHandles.constant(Object.class, MISSING);
+
+    private static final ClassValue<ConcurrentHashMap<String, MethodHandle>> getters = new ClassValue<ConcurrentHashMap<String, MethodHandle>>() {
+        @Override
+        protected ConcurrentHashMap<String, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<String, MethodHandle>();
+        }
+    };
+
+    private static final class Binding {
+        private final Class<?> type;
+        private final MethodHandle getter;
+
+        private Binding(Class<?> type, MethodHandle getter) {
+            this.type = type;
+            this.getter = getter;
+        }
+    }
+
+    private final String name;
+    private Binding binding;
+
+    FieldAccessor(String name) {
+        this.name = name;
+    }
+
+    /**
+     * The value of the field of target, or MISSING if its class has no such field.
+     */
+    Object get(Object target) {
+        return get(target.getClass(), target);
+    }
+
+    /**
+     * The value of the field declared by type or one of its superclasses, read from target.
+     */
+    Object get(Class<?> type, Object target) {
+        Binding binding = this.binding;
+        if(binding == null || binding.type != type) {
+            binding = new Binding(type, find(type, name));
+            this.binding = binding;
+        }
+        if(binding.getter == NO_FIELD) {
+            return MISSING;
+        }
+
+        try {
+            return binding.getter.invokeExact(target);
+        }
+        catch(RuntimeException | Error e) {
+            throw e;
+        }
+        catch(Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private static MethodHandle find(Class<?> clazz, String name) {
+        ConcurrentHashMap<String, MethodHandle> fields = getters.get(clazz);
+        MethodHandle getter = fields.get(name);
+        if(getter == null) {
+            getter = bind(clazz, name);
+            fields.putIfAbsent(name, getter);
+        }
+        return getter;
+    }
+
+    private static MethodHandle bind(Class<?> clazz, String name) {
+        for(Class<?> type = clazz; type != null; type = type.getSuperclass()) {
+            Field field;
+            try {
+                field = type.getDeclaredField(name);
+            }
+            catch(NoSuchFieldException e) {
+                continue;
+            }
+
+            field.setAccessible(true);
+            try {
+                MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+                if(Modifier.isStatic(field.getModifiers())) {
+                    getter = MethodHandles.dropArguments(getter, 0, Object.class);
+                }
+                return getter.asType(GETTER_TYPE);
+            }
+            catch(IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return NO_FIELD;
+    }
+}
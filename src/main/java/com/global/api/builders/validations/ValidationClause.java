@@ -3,8 +3,6 @@ package com.global.api.builders.validations;
 import com.global.api.entities.exceptions.BuilderException;
 import com.global.api.utils.StringUtils;
 
-import java.lang.reflect.Field;
-
 public class ValidationClause {
     private Validations parent;
     private ValidationTarget target;
@@ -14,6 +12,8 @@ public class ValidationClause {
     private boolean precondition;
     private Class propertyClass;
     private String subPropertyName;
+    private FieldAccessor property;
+    private FieldAccessor subProperty;
 
     public MyCallable getCallback() {
         return callback;
@@ -30,6 +30,7 @@ public class ValidationClause {
         this.target = target;
         this.propertyName = propertyName;
         this.precondition = precondition;
+        this.property = new FieldAccessor(propertyName);
     }
 
     public ValidationTarget isNull() {
@@ -38,14 +39,11 @@ public class ValidationClause {
     public ValidationTarget isNull(String message){
         callback = new MyCallable() {
             public Boolean call(Object builder) throws Exception {
-                try {
-                    Field f = getField(builder.getClass(), propertyName);
-                    Object value = f.get(builder);
-                    return value == null;
-                }
-                catch(NoSuchFieldException exc) {
+                Object value = property.get(builder);
+                if(value == FieldAccessor.MISSING) {
                     return false;
                 }
+                return value == null;
             }
         };
         this.message = (message != null) ? message : String.format("%s cannot be null for this transaction type.", propertyName);
@@ -60,25 +58,24 @@ public class ValidationClause {
     public ValidationTarget isNotNull(String message){
         callback = new MyCallable() {
             public Boolean call(Object builder) throws Exception {
-                try {
-                    Field f = getField(builder.getClass(), propertyName);
-                    Object value = f.get(builder);
-
-                    // check sub-field
-                    if(!StringUtils.isNullOrEmpty(subPropertyName)) {
-                        Field subField = getField(value.getClass(), subPropertyName);
-                        value = subField.get(value);
-
-                        if(value != null && !propertyClass.isInstance(value)) {
-                            return false;
-                        }
+                Object value = property.get(builder);
+                if(value == FieldAccessor.MISSING) {
+                    return false;
+                }
+
+                // check sub-field
+                if(!StringUtils.isNullOrEmpty(subPropertyName)) {
+                    value = subProperty.get(value);
+                    if(value == FieldAccessor.MISSING) {
+                        return false;
                     }
 
-                    return value != null;
-                }
-                catch(NoSuchFieldException exc) {
-                    return false;
+                    if(value != null && !propertyClass.isInstance(value)) {
+                        return false;
+                    }
                 }
+
+                return value != null;
             }
         };
         this.message = (message != null) ? message : String.format("%s cannot be null for this transaction type.", !StringUtils.isNullOrEmpty(subPropertyName) ? subPropertyName : propertyName);
@@ -94,14 +91,11 @@ public class ValidationClause {
         final Class checkClass = clazz;
         callback = new MyCallable() {
             public Boolean call(Object builder) throws Exception {
-                try {
-                    Field f = getField(builder.getClass(), propertyName);
-                    Object value = f.get(builder);
-                    return value.getClass() == checkClass;
-                }
-                catch(NoSuchFieldException exc) {
+                Object value = property.get(builder);
+                if(value == FieldAccessor.MISSING) {
                     return false;
                 }
+                return value.getClass() == checkClass;
             }
         };
         this.message = (message != null) ? message : String.format("%s must be an instance of the %s class.", propertyName, clazz.getName());
@@ -117,14 +111,11 @@ public class ValidationClause {
         final Class checkClass = clazz;
         callback = new MyCallable() {
             public Boolean call(Object builder) throws Exception {
-                try {
-                    Field f = getField(builder.getClass(), propertyName);
-                    Object value = f.get(builder);
-                    return checkClass.isAssignableFrom(value.getClass());
-                }
-                catch(NoSuchFieldException exc) {
+                Object value = property.get(builder);
+                if(value == FieldAccessor.MISSING) {
                     return false;
                 }
+                return checkClass.isAssignableFrom(value.getClass());
             }
         };
         this.message = (message != null) ? message : String.format("%s must be an instance of the %s class.", propertyName, clazz.getName());
@@ -139,25 +130,24 @@ public class ValidationClause {
     public ValidationTarget isEqualTo(final Object expected, String message) {
         callback = new MyCallable() {
             public Boolean call(Object builder) throws Exception {
-                try {
-                    Field f = getField(builder.getClass(), propertyName);
-                    Object value = f.get(builder);
-
-                    // check sub-field
-                    if(!StringUtils.isNullOrEmpty(subPropertyName)) {
-                        if(!propertyClass.isInstance(value)) {
-                            return false;
-                        }
-
-                        Field subField = getField(propertyClass, subPropertyName);
-                        value = subField.get(value);
+                Object value = property.get(builder);
+                if(value == FieldAccessor.MISSING) {
+                    return false;
+                }
+
+                // check sub-field
+                if(!StringUtils.isNullOrEmpty(subPropertyName)) {
+                    if(!propertyClass.isInstance(value)) {
+                        return false;
                     }
 
-                    return value.equals(expected);
-                }
-                catch(NoSuchFieldException exc) {
-                    return false;
+                    value = subProperty.get(propertyClass, value);
+                    if(value == FieldAccessor.MISSING) {
+                        return false;
+                    }
                 }
+
+                return value.equals(expected);
             }
         };
         this.message = (message != null) ? message : String.format("%s was not the expected value %s", propertyName, expected.toString());
@@ -172,14 +162,11 @@ public class ValidationClause {
     public ValidationTarget isNotEqual(final Object expected, String message) {
         callback = new MyCallable() {
             public Boolean call(Object builder) throws Exception {
-                try {
-                    Field f = getField(builder.getClass(), propertyName);
-                    Object value = f.get(builder);
-                    return !value.equals(expected);
-                }
-                catch(NoSuchFieldException exc) {
+                Object value = property.get(builder);
+                if(value == FieldAccessor.MISSING) {
                     return false;
                 }
+                return !value.equals(expected);
             }
         };
         this.message = (message != null) ? message : String.format("%s cannot be the value %s.", propertyName, expected.toString());
@@ -191,22 +178,7 @@ public class ValidationClause {
     public ValidationClause propertyOf(Class clazz, String subPropertyName) {
         this.propertyClass = clazz;
         this.subPropertyName = subPropertyName;
+        this.subProperty = new FieldAccessor(subPropertyName);
         return this;
     }
-
-    private Field getField(Class clazz, String fieldName) throws NoSuchFieldException {
-        try{
-            Field f = clazz.getDeclaredField(fieldName);
-            f.setAccessible(true);
-            return f;
-        }
-        catch(NoSuchFieldException e) {
-            Class superClass = clazz.getSuperclass();
-            if(superClass == null)
-                throw e;
-            else {
-                return getField(superClass, fieldName);
-            }
-        }
-    }
 }
\ No newline at end of file
@@ -7,9 +7,12 @@ import com.global.api.entities.exceptions.BuilderException;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
-import java.lang.reflect.Field;
 import java.util.*;
 
+/**
+ * The rules of one builder class. BaseBuilder sets them up once per class and shares them between
+ * its instances; they are compiled on first use, so validating a builder only reads its fields.
+ */
 public class Validations {
     class ValidationKey {
         private Class<?> type;
@@ -36,10 +39,33 @@ public class Validations {
         }
     }
 
-    private HashMap<ValidationKey, List<ValidationTarget>> rules;
+    private static class CompiledRule {
+        private final FieldAccessor property;
+        private final FieldAccessor paymentMethodProperty;
+        private final Set<?> values;
+        private final ValidationTarget[] targets;
+        private final FieldAccessor[] constraints;
+
+        CompiledRule(ValidationKey key, List<ValidationTarget> targets) {
+            String propertyName = getPropertyName((Class<?>)key.getType());
+            this.property = new FieldAccessor(propertyName);
+            this.paymentMethodProperty = new FieldAccessor(propertyName);
+            this.values = key.getSet();
+            this.targets = targets.toArray(new ValidationTarget[0]);
+            this.constraints = new FieldAccessor[this.targets.length];
+            for(int i = 0; i < this.targets.length; i++) {
+                IFlag constraint = this.targets[i].getConstraint();
+                if(constraint != null)
+                    constraints[i] = new FieldAccessor(getPropertyName(constraint.getClass()));
+            }
+        }
+    }
+
+    private LinkedHashMap<ValidationKey, List<ValidationTarget>> rules;
+    private volatile CompiledRule[] compiled;
 
     public Validations() {
-        rules = new HashMap<ValidationKey, List<ValidationTarget>>();
+        rules = new LinkedHashMap<ValidationKey, List<ValidationTarget>>();
     }
 
     public <T extends IFlag> ValidationTarget of(Set<T> types) {
@@ -50,6 +76,7 @@ public class Validations {
         return of(new ValidationKey(type.getClass(), type.getLongValue()));
     }
     ValidationTarget of(ValidationKey key) {
+        compiled = null;
         if(!rules.containsKey(key))
             rules.put(key, new ArrayList<ValidationTarget>());
 
@@ -59,24 +86,29 @@ public class Validations {
     }
 
     public <T> void validate(BaseBuilder<T> builder) throws BuilderException {
-        for(ValidationKey key: rules.keySet()) {
-            IFlag value = getPropertyValue(builder, key.getType());
+        CompiledRule[] compiled = this.compiled;
+        if(compiled == null) {
+            compiled = compile();
+            this.compiled = compiled;
+        }
+
+        for(CompiledRule rule: compiled) {
+            IFlag value = getPropertyValue(builder, rule.property);
             if(value == null && builder instanceof TransactionBuilder) {
-                value = getPropertyValue(((TransactionBuilder<T>)builder).getPaymentMethod(), key.getType());
+                value = getPropertyValue(((TransactionBuilder<T>)builder).getPaymentMethod(), rule.paymentMethodProperty);
                 if(value == null)
                     continue;
             }
 
-            Set<?> values = key.getSet();
-            if(values.contains(value)) {
-                for(ValidationTarget validation: rules.get(key)) {
+            if(rule.values.contains(value)) {
+                for(int i = 0; i < rule.targets.length; i++) {
+                    ValidationTarget validation = rule.targets[i];
                     ValidationClause clause = validation.getClause();
-                    if(clause == null) continue;
 
                     // modifier
                     IFlag constraint = validation.getConstraint();
                     if(constraint != null) {
-                        IFlag modifier = getPropertyValue(builder, constraint.getClass());
+                        IFlag modifier = getPropertyValue(builder, rule.constraints[i]);
                         if(!constraint.equals(modifier))
                             continue;
                     }
@@ -106,33 +138,40 @@ public class Validations {
         }
     }
 
-    private Field getField(Class clazz, String name) throws NoSuchFieldException {
-        try {
-            Field field = clazz.getDeclaredField(name);
-            field.setAccessible(true);
-            return field;
-        }
-        catch(NoSuchFieldException e) {
-            Class superClazz = clazz.getSuperclass();
-            if(superClazz != null)
-                return getField(superClazz, name);
-            else throw e;
+    /**
+     * Resolves everything about the rules that does not depend on the builder being validated:
+     * the flag sets of the keys, the names of the properties holding the flags and the targets
+     * that actually check something.
+     */
+    private CompiledRule[] compile() {
+        List<CompiledRule> compiled = new ArrayList<CompiledRule>();
+        for(Map.Entry<ValidationKey, List<ValidationTarget>> entry: rules.entrySet()) {
+            List<ValidationTarget> targets = new ArrayList<ValidationTarget>();
+            for(ValidationTarget target: entry.getValue()) {
+                if(target.getClause() != null)
+                    targets.add(target);
+            }
+            if(!targets.isEmpty())
+                compiled.add(new CompiledRule(entry.getKey(), targets));
         }
+        return compiled.toArray(new CompiledRule[0]);
     }
-    private IFlag getPropertyValue(Object obj, Object comp) {
-        if(obj == null) return null;
 
-        String name = ((Class)comp).getSimpleName();
-        name = name.substring(0, 1).toLowerCase() + name.substring(1);
+    private IFlag getPropertyValue(Object obj, FieldAccessor property) {
+        if(obj == null) return null;
 
         try{
-            Field field = getField(obj.getClass(), name);
-            return (IFlag)field.get(obj);
+            Object value = property.get(obj);
+            return value == FieldAccessor.MISSING ? null : (IFlag)value;
         }
         catch(Exception e) {
             return null;
         }
     }
+    private static String getPropertyName(Class<?> clazz) {
+        String name = clazz.getSimpleName();
+        return name.substring(0, 1).toLowerCase() + name.substring(1);
+    }
     private <T extends IFlag> long getSetValue(Set<T> flags) {
         long value = 0;
         for(IFlag type : flags) {
@@ -0,0 +1,6 @@
+package com.global.api.entities.enums;
+
+public enum ReportExportFormat {
+    Csv,
+    NdJson
+}
@@ -0,0 +1,16 @@
+package com.global.api.entities.exceptions;
+
+/**
+ * Carries an ApiException out of an API that cannot throw checked exceptions, such as an Iterator
+ * or a Stream over a report.
+ */
+public class UncheckedApiException extends RuntimeException {
+    public UncheckedApiException(ApiException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public ApiException getCause() {
+        return (ApiException) super.getCause();
+    }
+}
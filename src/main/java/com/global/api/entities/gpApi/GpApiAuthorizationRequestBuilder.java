@@ -131,7 +131,7 @@ public class GpApiAuthorizationRequestBuilder {
                             new GpApiRequest()
                                     .setVerb(GpApiRequest.HttpMethod.Post)
                                     .setEndpoint(merchantUrl + "/payment-methods")
-                                    .setRequestBody(tokenizationData.toString());
+                                    .setRequestBody(tokenizationData);
                 }
                 else if (builderTransactionType == TransactionType.DccRateLookup) {
                     // tokenized payment method
@@ -156,7 +156,7 @@ public class GpApiAuthorizationRequestBuilder {
                             new GpApiRequest()
                                     .setVerb(GpApiRequest.HttpMethod.Post)
                                     .setEndpoint(merchantUrl + "/currency-conversions")
-                                    .setRequestBody(requestData.toString());
+                                    .setRequestBody(requestData);
                 }
                 else if (builderTransactionType == TransactionType.Verify) {
                     if (builder.isRequestMultiUseToken() && StringUtils.isNullOrEmpty(((ITokenizable) builderPaymentMethod).getToken())) {
@@ -171,7 +171,7 @@ public class GpApiAuthorizationRequestBuilder {
                                 new GpApiRequest()
                                         .setVerb(GpApiRequest.HttpMethod.Post)
                                         .setEndpoint(merchantUrl + "/payment-methods")
-                                        .setRequestBody(tokenizationData.toString());
+                                        .setRequestBody(tokenizationData);
 
                     }
                     else {
@@ -197,7 +197,7 @@ public class GpApiAuthorizationRequestBuilder {
                                 new GpApiRequest()
                                         .setVerb(GpApiRequest.HttpMethod.Post)
                                         .setEndpoint(merchantUrl + "/verifications")
-                                        .setRequestBody(verificationData.toString());
+                                        .setRequestBody(verificationData);
                     }
                 }
             }
@@ -230,7 +230,7 @@ public class GpApiAuthorizationRequestBuilder {
                             new GpApiRequest()
                                     .setVerb(GpApiRequest.HttpMethod.Post)
                                     .setEndpoint(merchantUrl + "/verifications")
-                                    .setRequestBody(verificationData.toString());
+                                    .setRequestBody(verificationData);
                 }
 
                 if (builderTransactionType == TransactionType.Sale || builderTransactionType == TransactionType.Refund) {
@@ -426,7 +426,7 @@ public class GpApiAuthorizationRequestBuilder {
                     new GpApiRequest()
                             .setVerb(GpApiRequest.HttpMethod.Post)
                             .setEndpoint(merchantUrl + "/links")
-                            .setRequestBody(requestData.toString());
+                            .setRequestBody(requestData);
 
         }
 
@@ -510,7 +510,7 @@ public class GpApiAuthorizationRequestBuilder {
                 new GpApiRequest()
                         .setVerb(GpApiRequest.HttpMethod.Post)
                         .setEndpoint(merchantUrl + "/transactions")
-                        .setRequestBody(data.toString());
+                        .setRequestBody(data);
     }
 
     private static JsonDoc setPayerInformation(AuthorizationBuilder builder) {
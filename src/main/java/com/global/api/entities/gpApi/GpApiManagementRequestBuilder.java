@@ -41,7 +41,7 @@ public class GpApiManagementRequestBuilder {
                     new GpApiRequest()
                             .setVerb(GpApiRequest.HttpMethod.Post)
                             .setEndpoint(merchantUrl + "/transactions/" + builder.getTransactionId() + "/capture")
-                            .setRequestBody(data.toString());
+                            .setRequestBody(data);
 
         }
         else if (builderTransactionType == TransactionType.Refund) {
@@ -52,7 +52,7 @@ public class GpApiManagementRequestBuilder {
                     new GpApiRequest()
                             .setVerb(GpApiRequest.HttpMethod.Post)
                             .setEndpoint(merchantUrl + "/transactions/" + builder.getTransactionId() + "/refund")
-                            .setRequestBody(data.toString());
+                            .setRequestBody(data);
 
         }
         else if (builderTransactionType == TransactionType.Reversal) {
@@ -63,7 +63,7 @@ public class GpApiManagementRequestBuilder {
                     new GpApiRequest()
                             .setVerb(GpApiRequest.HttpMethod.Post)
                             .setEndpoint(merchantUrl + "/transactions/" + builder.getTransactionId() + "/reversal")
-                            .setRequestBody(data.toString());
+                            .setRequestBody(data);
 
         }
         else if (builderTransactionType == TransactionType.TokenUpdate) {
@@ -89,7 +89,7 @@ public class GpApiManagementRequestBuilder {
                     new GpApiRequest()
                             .setVerb(GpApiRequest.HttpMethod.Patch)
                             .setEndpoint(merchantUrl + "/payment-methods/" + ((ITokenizable) builderPaymentMethod).getToken())
-                            .setRequestBody(data.toString());
+                            .setRequestBody(data);
         }
         else if (builderTransactionType == TransactionType.TokenDelete && builderPaymentMethod instanceof ITokenizable) {
             return
@@ -169,7 +169,7 @@ public class GpApiManagementRequestBuilder {
             return new GpApiRequest()
                     .setVerb(GpApiRequest.HttpMethod.Post)
                     .setEndpoint(merchantUrl + "/transactions/" + builder.getTransactionId() + "/reauthorization")
-                    .setRequestBody(data.toString());
+                    .setRequestBody(data);
         }
         else if (builderTransactionType == TransactionType.Confirm) {
             if (builderPaymentMethod instanceof TransactionReference && builderPaymentMethod.getPaymentMethodType() == PaymentMethodType.APM) {
@@ -190,7 +190,7 @@ public class GpApiManagementRequestBuilder {
                 return new GpApiRequest()
                         .setVerb(GpApiRequest.HttpMethod.Post)
                         .setEndpoint(merchantUrl + "/transactions/" + builder.getTransactionId() + "/confirmation")
-                        .setRequestBody(data.toString());
+                        .setRequestBody(data);
             }
         }
         else if (builderTransactionType == TransactionType.Auth) {
@@ -227,7 +227,7 @@ public class GpApiManagementRequestBuilder {
             return new GpApiRequest()
                     .setVerb(GpApiRequest.HttpMethod.Post)
                     .setEndpoint(merchantUrl + "/transactions/" + builder.getTransactionId() + "/incremental")
-                    .setRequestBody(data.toString());
+                    .setRequestBody(data);
         }
         else if (builderTransactionType == TransactionType.Edit) {
             var card =
@@ -246,7 +246,7 @@ public class GpApiManagementRequestBuilder {
             return new GpApiRequest()
                     .setVerb(GpApiRequest.HttpMethod.Post)
                     .setEndpoint(merchantUrl + "/transactions/" + builder.getTransactionId() + "/adjustment")
-                    .setRequestBody(data.toString());
+                    .setRequestBody(data);
         }
         else if (builderTransactionType == TransactionType.PayLinkUpdate) {
             var payLinkData = builder.getPayLinkData();
@@ -274,7 +274,7 @@ public class GpApiManagementRequestBuilder {
             return new GpApiRequest()
                     .setVerb(GpApiRequest.HttpMethod.Patch)
                     .setEndpoint(merchantUrl + "/links/" + builder.getPaymentLinkId())
-                    .setRequestBody(data.toString());
+                    .setRequestBody(data);
 
         } else if (builderTransactionType == TransactionType.Release || builderTransactionType == TransactionType.Hold) {
             var payload =
@@ -290,7 +290,7 @@ public class GpApiManagementRequestBuilder {
                     new GpApiRequest()
                             .setVerb(GpApiRequest.HttpMethod.Post)
                             .setEndpoint(merchantUrl + "/transactions/" + builder.getTransactionId() + "/" + endpoint)
-                            .setRequestBody(payload.toString());
+                            .setRequestBody(payload);
         }
 
         return null;
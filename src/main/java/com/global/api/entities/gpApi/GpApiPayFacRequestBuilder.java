@@ -42,7 +42,7 @@ public class GpApiPayFacRequestBuilder {
                             new GpApiRequest()
                                     .setVerb(GpApiRequest.HttpMethod.Post)
                                     .setEndpoint(merchantUrl + "/merchants")
-                                    .setRequestBody(data.toString());
+                                    .setRequestBody(data);
                 }
                 break;
 
@@ -52,7 +52,7 @@ public class GpApiPayFacRequestBuilder {
                             new GpApiRequest()
                                     .setVerb(GpApiRequest.HttpMethod.Patch)
                                     .setEndpoint(merchantUrl + "/merchants/" + _builder.getUserReference().getUserId())
-                                    .setRequestBody(buildEditMerchantRequest().toString());
+                                    .setRequestBody(buildEditMerchantRequest());
                 }
                 break;
 
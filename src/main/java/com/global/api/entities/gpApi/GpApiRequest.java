@@ -1,5 +1,6 @@
 package com.global.api.entities.gpApi;
 
+import com.global.api.utils.JsonDoc;
 import com.global.api.utils.StringUtils;
 import lombok.Getter;
 import lombok.Setter;
@@ -11,13 +12,33 @@ import java.util.HashMap;
 public class GpApiRequest {
     @Getter @Setter private HttpMethod verb = HttpMethod.Get;
     @Getter @Setter private String endpoint;
-    @Getter @Setter private String RequestBody = "";
+    private String RequestBody = "";
+    // serialized straight to the connection by the gateway, see getRequestBody for logging and tests
+    @Getter private JsonDoc requestData;
     @Getter private HashMap<String, String> queryStringParams;
 
     GpApiRequest() {
         queryStringParams = new HashMap<>();
     }
 
+    public String getRequestBody() {
+        if (requestData != null) {
+            return requestData.toString();
+        }
+        return RequestBody;
+    }
+
+    public GpApiRequest setRequestBody(String requestBody) {
+        this.RequestBody = requestBody;
+        this.requestData = null;
+        return this;
+    }
+
+    public GpApiRequest setRequestBody(JsonDoc requestData) {
+        this.requestData = requestData;
+        return this;
+    }
+
     void addQueryStringParam(String name, String value) {
         if (!StringUtils.isNullOrEmpty(name) && !StringUtils.isNullOrEmpty(value)) {
             queryStringParams.put(name, value);
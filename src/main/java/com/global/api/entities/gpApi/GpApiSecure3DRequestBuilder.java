@@ -61,7 +61,7 @@ public class GpApiSecure3DRequestBuilder {
                 return new GpApiRequest()
                         .setVerb(GpApiRequest.HttpMethod.Post)
                         .setEndpoint(merchantUrl + "/authentications")
-                        .setRequestBody(data.toString());
+                        .setRequestBody(data);
             }
             case InitiateAuthentication: {
                 JsonDoc storedCredential = new JsonDoc();
@@ -193,7 +193,7 @@ public class GpApiSecure3DRequestBuilder {
                         new GpApiRequest()
                                 .setVerb(GpApiRequest.HttpMethod.Post)
                                 .setEndpoint(merchantUrl + "/authentications/" + builder.getServerTransactionId() + "/initiate")
-                                .setRequestBody(data.toString());
+                                .setRequestBody(data);
             }
             case VerifySignature: {
                 JsonDoc data = new JsonDoc();
@@ -206,7 +206,7 @@ public class GpApiSecure3DRequestBuilder {
                         new GpApiRequest()
                                 .setVerb(GpApiRequest.HttpMethod.Post)
                                 .setEndpoint(merchantUrl + "/authentications/" + builder.getServerTransactionId() + "/result")
-                                .setRequestBody(data.toString());
+                                .setRequestBody(data);
             }
             default:
                 throw new UnsupportedTransactionException();
@@ -1,11 +1,17 @@
 package com.global.api.gateways;
 
+import com.global.api.entities.exceptions.ApiException;
 import com.global.api.entities.exceptions.GatewayException;
+import com.global.api.entities.exceptions.UncheckedApiException;
 import com.global.api.logging.IRequestLogger;
 import com.global.api.logging.RequestConsoleLogger;
 import com.global.api.logging.RequestFileLogger;
 import com.global.api.utils.IOUtils;
+import com.global.api.utils.JsonDoc;
+import com.global.api.utils.MaskingWriter;
 import com.global.api.utils.StringUtils;
+import com.global.api.utils.Utf8Buffer;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
@@ -18,12 +24,14 @@ import java.net.HttpURLConnection;
 import java.net.Proxy;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.security.GeneralSecurityException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.zip.GZIPInputStream;
 
-import static com.global.api.logging.PrettyLogger.toPrettyJson;
+import static com.global.api.logging.PrettyLogger.writePrettyJson;
 
 @Accessors(chain = true)
 @Getter
@@ -32,7 +40,15 @@ public abstract class Gateway {
     private String contentType;
     private boolean enableLogging;
     private IRequestLogger requestLogger;
-    private StringBuilder logEntry = new StringBuilder();
+    // each thread builds its own entry, so requests sent at once through one gateway are logged apart
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final ThreadLocal<StringBuilder> logEntries = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder();
+        }
+    };
     private final String lSChar = System.getProperty("line.separator");
     protected HashMap<String, String> headers;
     protected HashMap<String, String> dynamicHeaders;
@@ -46,116 +62,233 @@ public abstract class Gateway {
         this.contentType = contentType;
     }
 
+    /**
+     * The log entry being built for the current thread's request.
+     */
+    public StringBuilder getLogEntry() {
+        return logEntries.get();
+    }
+
+    /**
+     * @deprecated the log entry is kept per thread, so this only replaces the current thread's entry;
+     * the gateway clears each entry itself once it is logged.
+     */
+    @Deprecated
+    public Gateway setLogEntry(StringBuilder logEntry) {
+        logEntries.set(logEntry);
+        return this;
+    }
+
     protected GatewayResponse sendRequest(String verb, String endpoint) throws GatewayException {
-        return sendRequest(verb, endpoint, null, null);
+        return sendRequest(verb, endpoint, (String) null, null);
     }
     protected GatewayResponse sendRequest(String verb, String endpoint, String data) throws GatewayException {
         return sendRequest(verb, endpoint, data, null);
     }
     protected GatewayResponse sendRequest(String verb, String endpoint, String data, HashMap<String, String> queryStringParams) throws GatewayException {
+        return sendRequest(verb, endpoint, data, null, queryStringParams);
+    }
+    /**
+     * Sends a json request body, serialized as UTF-8 straight into the thread's reusable buffer.
+     */
+    protected GatewayResponse sendRequest(String verb, String endpoint, JsonDoc data, HashMap<String, String> queryStringParams) throws GatewayException {
+        return sendRequest(verb, endpoint, null, data, queryStringParams);
+    }
+    private GatewayResponse sendRequest(String verb, String endpoint, String data, JsonDoc jsonData, HashMap<String, String> queryStringParams) throws GatewayException {
         HttpsURLConnection conn = null;
         try{
             String queryString = buildQueryString(queryStringParams);
-            if (webProxy != null) {
-                conn = (HttpsURLConnection) new URL((serviceUrl + endpoint + queryString).trim()).openConnection(webProxy);
-            } else {
-                conn = (HttpsURLConnection) new URL((serviceUrl + endpoint + queryString).trim()).openConnection();
-            }
-            conn.setSSLSocketFactory(new SSLSocketFactoryEx());
-            conn.setConnectTimeout(timeout);
-            conn.setDoInput(true);
-            // ----------------------------------------------------------------------
-            // Fix: Supports PATCH requests in HttpsURLConnection on JAVA & Android
-            // ----------------------------------------------------------------------
-            if ("PATCH".equalsIgnoreCase(verb)) {
-                setRequestMethod(conn, verb);
-            } else {
-                conn.setRequestMethod(verb);
-            }
-            // ----------------------------------------------------------------------
+            conn = openConnection(verb, endpoint, queryString);
+            writeRequest(conn, verb, data, jsonData, queryString);
 
-            // If Content-Type is added for some GP-API endpoints we get a 502: Bad gateway error
-            if (!contentTypeNotAllowedEndpoints(verb, endpoint)) {
-                conn.addRequestProperty("Content-Type", String.format("%s; charset=UTF-8", contentType));
+            InputStream responseStream = conn.getInputStream();
+            String rawResponse = getRawResponse(responseStream);
+            responseStream.close();
+
+            if (this.enableLogging || this.requestLogger != null) {
+                if (acceptJson()) {
+                    getLogEntry().append("Response Code: ").append(conn.getResponseCode()).append(" ").append(conn.getResponseMessage()).append(lSChar);
+                    getLogEntry().append("Response Body:").append(lSChar);
+                    appendMasked(rawResponse, true);
+                } else {
+                    appendMasked(rawResponse, false);
+                }
+
+                generateResponseLog();
             }
 
-            for (Map.Entry<String, String> header: headers.entrySet()) {
-                conn.addRequestProperty(header.getKey(), header.getValue());
+            GatewayResponse response = new GatewayResponse();
+            response.setStatusCode(conn.getResponseCode());
+            response.setRawResponse(rawResponse);
+            return response;
+        }
+        catch(Exception exc) {
+            throw communicationError(conn, exc);
+        }
+    }
+
+    /**
+     * Sends the request and hands a 200 response body to the handler while it is still being
+     * received, so a large response is never held in memory. Other status codes are returned
+     * without calling the handler. The streamed body is not logged.
+     *
+     * An ApiException the handler throws, directly or wrapped in an UncheckedApiException, is
+     * thrown as it is, and so is any other RuntimeException it throws; only failures to talk to
+     * the gateway are reported as communication errors.
+     */
+    protected int sendStreamingRequest(String verb, String endpoint, String data, IResponseStreamHandler handler) throws ApiException {
+        HttpsURLConnection conn = null;
+        int statusCode;
+        RuntimeException handlerError = null;
+        try{
+            conn = openConnection(verb, endpoint, "");
+            writeRequest(conn, verb, data, null, "");
+
+            statusCode = conn.getResponseCode();
+            if (this.enableLogging || this.requestLogger != null) {
+                getLogEntry().append("Response Code: ").append(statusCode).append(" ").append(conn.getResponseMessage()).append(lSChar);
+                getLogEntry().append("Response Body: streamed, not logged").append(lSChar);
+
+                generateResponseLog();
             }
 
-            if (dynamicHeaders != null) {
-                for (Map.Entry<String, String> dynamicHeader : dynamicHeaders.entrySet()) {
-                    conn.addRequestProperty(dynamicHeader.getKey(), dynamicHeader.getValue());
+            if (statusCode == 200) {
+                try (InputStream responseStream = conn.getInputStream()) {
+                    handler.handleResponse(acceptGzipEncoding() ? new GZIPInputStream(responseStream) : responseStream);
+                }
+                catch(UncheckedApiException exc) {
+                    throw exc.getCause();
+                }
+                catch(RuntimeException exc) {
+                    handlerError = exc;
                 }
             }
+        }
+        catch(ApiException exc) {
+            throw exc;
+        }
+        catch(Exception exc) {
+            throw communicationError(conn, exc);
+        }
 
-            if (this.enableLogging || this.requestLogger != null) {
-                logEntry.append("Endpoint:       ").append(verb).append(" ").append(serviceUrl).append(endpoint).append(lSChar);
-                logEntry.append("Proxy:          ").append((webProxy != null) ? webProxy.toString() : "none").append(lSChar).append(lSChar);
-                logEntry.append("Headers:        ").append(lSChar);
-                logRequestHeaders(conn, logEntry);
-            }
+        if (handlerError != null) {
+            throw handlerError;
+        }
+        return statusCode;
+    }
 
-            if (!verb.equals("GET")) {
-                byte[] request = data.getBytes();
+    private HttpsURLConnection openConnection(String verb, String endpoint, String queryString) throws IOException, GeneralSecurityException {
+        HttpsURLConnection conn;
+        if (webProxy != null) {
+            conn = (HttpsURLConnection) new URL((serviceUrl + endpoint + queryString).trim()).openConnection(webProxy);
+        } else {
+            conn = (HttpsURLConnection) new URL((serviceUrl + endpoint + queryString).trim()).openConnection();
+        }
+        conn.setSSLSocketFactory(new SSLSocketFactoryEx());
+        conn.setConnectTimeout(timeout);
+        conn.setDoInput(true);
+        // ----------------------------------------------------------------------
+        // Fix: Supports PATCH requests in HttpsURLConnection on JAVA & Android
+        // ----------------------------------------------------------------------
+        if ("PATCH".equalsIgnoreCase(verb)) {
+            setRequestMethod(conn, verb);
+        } else {
+            conn.setRequestMethod(verb);
+        }
+        // ----------------------------------------------------------------------
 
-                conn.setDoOutput(true);
-                conn.addRequestProperty("Content-Length", String.valueOf(request.length));
+        // If Content-Type is added for some GP-API endpoints we get a 502: Bad gateway error
+        if (!contentTypeNotAllowedEndpoints(verb, endpoint)) {
+            conn.addRequestProperty("Content-Type", String.format("%s; charset=UTF-8", contentType));
+        }
 
-                if (this.enableLogging || this.requestLogger != null) {
-                    logEntry.append("Request Body: ").append(lSChar);
-                    if (acceptJson()) {
-                        if (!StringUtils.isNullOrEmpty(data)) {
-                            logEntry.append(toPrettyJson(data));
-                        }
-                    } else {
-                        logEntry.append(StringUtils.mask(data));
-                    }
+        for (Map.Entry<String, String> header: headers.entrySet()) {
+            conn.addRequestProperty(header.getKey(), header.getValue());
+        }
 
-                    generateRequestLog();
-                }
-                try (DataOutputStream requestStream = new DataOutputStream(conn.getOutputStream())) {
-                    requestStream.write(request);
-                    requestStream.flush();
-                }
+        if (dynamicHeaders != null) {
+            for (Map.Entry<String, String> dynamicHeader : dynamicHeaders.entrySet()) {
+                conn.addRequestProperty(dynamicHeader.getKey(), dynamicHeader.getValue());
             }
-            else if (this.enableLogging || this.requestLogger != null) {
-                logEntry.append("Request Params: ").append(queryString).append(lSChar);
+        }
+
+        if (this.enableLogging || this.requestLogger != null) {
+            getLogEntry().append("Endpoint:       ").append(verb).append(" ").append(serviceUrl).append(endpoint).append(lSChar);
+            getLogEntry().append("Proxy:          ").append((webProxy != null) ? webProxy.toString() : "none").append(lSChar).append(lSChar);
+            getLogEntry().append("Headers:        ").append(lSChar);
+            logRequestHeaders(conn, getLogEntry());
+        }
+
+        return conn;
+    }
+
+    private void writeRequest(HttpsURLConnection conn, String verb, String data, JsonDoc jsonData, String queryString) throws IOException {
+        if (!verb.equals("GET")) {
+            byte[] request;
+            int requestLength;
+            if (jsonData != null) {
+                Utf8Buffer buffer = Utf8Buffer.forCurrentThread();
+                jsonData.writeTo(buffer);
+                request = buffer.getBuffer();
+                requestLength = buffer.size();
+            } else {
+                request = data.getBytes();
+                requestLength = request.length;
             }
 
-            InputStream responseStream = conn.getInputStream();
-            String rawResponse = getRawResponse(responseStream);
-            responseStream.close();
+            conn.setDoOutput(true);
+            conn.addRequestProperty("Content-Length", String.valueOf(requestLength));
 
             if (this.enableLogging || this.requestLogger != null) {
+                String logData = jsonData != null ? new String(request, 0, requestLength, StandardCharsets.UTF_8) : data;
+
+                getLogEntry().append("Request Body: ").append(lSChar);
                 if (acceptJson()) {
-                    logEntry.append("Response Code: ").append(conn.getResponseCode()).append(" ").append(conn.getResponseMessage()).append(lSChar);
-                    logEntry.append("Response Body:").append(lSChar).append(toPrettyJson(rawResponse));
+                    if (!StringUtils.isNullOrEmpty(logData)) {
+                        appendMasked(logData, true);
+                    }
                 } else {
-                    logEntry.append(rawResponse);
+                    appendMasked(logData, false);
                 }
 
-                generateResponseLog();
+                generateRequestLog();
             }
+            try (OutputStream requestStream = conn.getOutputStream()) {
+                requestStream.write(request, 0, requestLength);
+                requestStream.flush();
+            }
+        }
+        else if (this.enableLogging || this.requestLogger != null) {
+            getLogEntry().append("Request Params: ").append(queryString).append(lSChar);
+        }
+    }
 
-            GatewayResponse response = new GatewayResponse();
-            response.setStatusCode(conn.getResponseCode());
-            response.setRawResponse(rawResponse);
-            return response;
+    /**
+     * Copies a request or response body to the log entry with its card data masked, indenting
+     * json bodies on the way.
+     */
+    private void appendMasked(String body, boolean json) throws IOException {
+        MaskingWriter writer = new MaskingWriter(getLogEntry());
+        if (json && body != null) {
+            writePrettyJson(body, writer);
+        } else {
+            writer.append(body);
         }
-        catch(Exception exc) {
-            if (this.enableLogging || this.requestLogger != null) {
-                logEntry.append("Exception:").append(lSChar).append(exc.getMessage());
+        writer.finish();
+    }
 
-                generateResponseLog();
-            }
+    private GatewayException communicationError(HttpsURLConnection conn, Exception exc) {
+        if (this.enableLogging || this.requestLogger != null) {
+            getLogEntry().append("Exception:").append(lSChar).append(exc.getMessage());
 
-            try {
-                assert conn != null;
-                throw new GatewayException("Error occurred while communicating with gateway.", exc, String.valueOf(conn.getResponseCode()), getRawResponse(conn.getErrorStream()));
-            } catch (IOException e) {   // Legacy GatewayException
-                throw new GatewayException("Error occurred while communicating with gateway.", exc);
-            }
+            generateResponseLog();
+        }
+
+        try {
+            assert conn != null;
+            return new GatewayException("Error occurred while communicating with gateway.", exc, String.valueOf(conn.getResponseCode()), getRawResponse(conn.getErrorStream()));
+        } catch (IOException e) {   // Legacy GatewayException
+            return new GatewayException("Error occurred while communicating with gateway.", exc);
         }
     }
 
@@ -215,7 +348,7 @@ public abstract class Gateway {
                 OutputStream out = conn.getOutputStream();) {
 
                 if (this.enableLogging || this.requestLogger != null) {
-                    logEntry.append("Request: ").append(content).append(lSChar);
+                    getLogEntry().append("Request: ").append(content).append(lSChar);
 
                     generateRequestLog();
                 }
@@ -224,7 +357,7 @@ public abstract class Gateway {
 
                 String rawResponse = IOUtils.readFully(responseStream);
                 if (this.enableLogging || this.requestLogger != null) {
-                    logEntry.append(content).append(lSChar);
+                    getLogEntry().append(content).append(lSChar);
 
                     generateResponseLog();
                 }
@@ -318,61 +451,40 @@ public abstract class Gateway {
     }
 
     private void generateRequestLog() {
-        if (enableLogging) {    // At least we need to print in console
-            if (requestLogger == null) {
-                new RequestConsoleLogger().RequestSent(logEntry.toString());
-            } else {
-                try {
-                    if (requestLogger instanceof RequestFileLogger) {
-                        requestLogger.RequestSent(logEntry.toString());
-                        new RequestConsoleLogger().RequestSent(logEntry.toString());
-                    } else if (requestLogger instanceof RequestConsoleLogger) {
-                        requestLogger.RequestSent(logEntry.toString());
-                    }
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-        } else {
+        StringBuilder logEntry = getLogEntry();
+        try {
             if (requestLogger != null) {
-                try {
-                    requestLogger.RequestSent(logEntry.toString());
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
+                requestLogger.RequestSent(logEntry.toString());
             }
+            if (logsToConsole()) {
+                new RequestConsoleLogger().RequestSent(logEntry.toString());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
 
         logEntry.delete(0, logEntry.length());
     }
 
     private void generateResponseLog() {
-        if (enableLogging) {    // At least we need to print in console
-            if (requestLogger == null) {
-                new RequestConsoleLogger().ResponseReceived(logEntry.toString());
-            } else {
-                try {
-                    if (requestLogger instanceof RequestFileLogger) {
-                        requestLogger.ResponseReceived(logEntry.toString());
-                        new RequestConsoleLogger().ResponseReceived(logEntry.toString());
-                    } else if (requestLogger instanceof RequestConsoleLogger) {
-                        requestLogger.ResponseReceived(logEntry.toString());
-                    }
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-        } else {
+        StringBuilder logEntry = getLogEntry();
+        try {
             if (requestLogger != null) {
-                try {
-                    requestLogger.ResponseReceived(logEntry.toString());
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
+                requestLogger.ResponseReceived(logEntry.toString());
             }
+            if (logsToConsole()) {
+                new RequestConsoleLogger().ResponseReceived(logEntry.toString());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
 
         logEntry.delete(0, logEntry.length());
     }
 
+    // Enabled logging prints the entries, next to a file logger's file; any other logger gets them alone
+    private boolean logsToConsole() {
+        return enableLogging && (requestLogger == null || requestLogger instanceof RequestFileLogger);
+    }
+
 }
\ No newline at end of file
@@ -13,6 +13,7 @@ import com.global.api.network.NetworkMessageHeader;
 import com.global.api.paymentMethods.*;
 import com.global.api.utils.Element;
 import com.global.api.utils.ElementTree;
+import com.global.api.utils.EnvelopeTemplate;
 import com.global.api.utils.EnumUtils;
 import com.global.api.utils.ReverseStringEnumMap;
 import com.global.api.utils.StringUtils;
@@ -24,24 +25,31 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class GeniusConnector extends Gateway implements IPaymentGateway {
+    private static final String MERCHANTWARE_NAMESPACE = "http://schemas.merchantwarehouse.com/merchantware/v46/";
+
     private String merchantName;
     private String merchantSiteId;
     private String merchantKey;
     private String registerNumber;
     private String terminalId;
+    private final ConcurrentHashMap<String, EnvelopeTemplate> envelopeTemplates = new ConcurrentHashMap<>();
 
     public boolean supportsHostedPayments() { return false; }
 
     public void setMerchantName(String merchantName) {
         this.merchantName = merchantName;
+        envelopeTemplates.clear();
     }
     public void setMerchantSiteId(String merchantSiteId) {
         this.merchantSiteId = merchantSiteId;
+        envelopeTemplates.clear();
     }
     public void setMerchantKey(String merchantKey) {
         this.merchantKey = merchantKey;
+        envelopeTemplates.clear();
     }
     public void setRegisterNumber(String registerNumber) {
         this.registerNumber = registerNumber;
@@ -60,13 +68,9 @@ public class GeniusConnector extends Gateway implements IPaymentGateway {
 
         // build request
         Element transaction = et.element(mapTransactionType(builder))
-                .set("xmlns", "http://schemas.merchantwarehouse.com/merchantware/v46/");
+                .set("xmlns", MERCHANTWARE_NAMESPACE);
 
-        // Credentials
-        Element credentials = et.subElement(transaction, "Credentials");
-        et.subElement(credentials, "MerchantName").text(merchantName);
-        et.subElement(credentials, "MerchantSiteId").text(merchantSiteId);
-        et.subElement(credentials, "MerchantKey").text(merchantKey);
+        // Credentials are part of the envelope template
 
         // Payment Data
         Element paymentData = et.subElement(transaction, "PaymentData");
@@ -138,7 +142,7 @@ public class GeniusConnector extends Gateway implements IPaymentGateway {
             et.subElement(request, "StoredCardReason", EnumUtils.getMapping(Target.Genius, builder.getStoredCredential().getInitiator()));
         }
 
-        String response = doTransaction(buildEnvelope(et, transaction));
+        String response = doTransaction(buildRequest(et, transaction));
         return mapResponse(builder, response);
     }
 
@@ -152,13 +156,9 @@ public class GeniusConnector extends Gateway implements IPaymentGateway {
 
         // build request
         Element transaction = et.element(mapTransactionType(builder))
-                .set("xmlns", "http://schemas.merchantwarehouse.com/merchantware/v46/");
+                .set("xmlns", MERCHANTWARE_NAMESPACE);
 
-        // Credentials
-        Element credentials = et.subElement(transaction, "Credentials");
-        et.subElement(credentials, "MerchantName").text(merchantName);
-        et.subElement(credentials, "MerchantSiteId").text(merchantSiteId);
-        et.subElement(credentials, "MerchantKey").text(merchantKey);
+        // Credentials are part of the envelope template
 
         // Payment Data
         if (transactionType.equals(TransactionType.Refund)) {
@@ -188,7 +188,7 @@ public class GeniusConnector extends Gateway implements IPaymentGateway {
             }
         }
 
-        String response = doTransaction(buildEnvelope(et, transaction));
+        String response = doTransaction(buildRequest(et, transaction));
         return mapResponse(builder, response);
     }
 
@@ -204,9 +204,7 @@ public class GeniusConnector extends Gateway implements IPaymentGateway {
     }
 
     public String buildEnvelope(ElementTree et, Element transaction) {
-        et.addNamespace("xsi", "http://www.w3.org/2001/XMLSchema-instance");
-        et.addNamespace("xsd", "http://www.w3.org/2001/XMLSchema");
-        et.addNamespace("soap12", "http://www.w3.org/2003/05/soap-envelope");
+        addNamespaces(et);
 
         Element envelope = et.element("soap12:Envelope");
         Element body = et.subElement(envelope, "soap12:Body");
@@ -215,6 +213,41 @@ public class GeniusConnector extends Gateway implements IPaymentGateway {
         return et.toString(envelope);
     }
 
+    /**
+     * Serializes the transaction with the envelope and credentials of a template made once per
+     * transaction type; the transaction element holds everything that follows the credentials.
+     */
+    private String buildRequest(ElementTree et, Element transaction) {
+        addNamespaces(et);
+        Element envelope = et.element("soap12:Envelope");
+        Element body = et.subElement(envelope, "soap12:Body");
+        body.append(transaction);
+
+        String transactionType = transaction.getElement().getNodeName();
+        EnvelopeTemplate template = envelopeTemplates.get(transactionType);
+        if (template == null) {
+            Element templateTransaction = et.element(transactionType)
+                    .set("xmlns", MERCHANTWARE_NAMESPACE);
+            Element credentials = et.subElement(templateTransaction, "Credentials");
+            et.subElement(credentials, "MerchantName").text(merchantName);
+            et.subElement(credentials, "MerchantSiteId").text(merchantSiteId);
+            et.subElement(credentials, "MerchantKey").text(merchantKey);
+
+            Element templateEnvelope = et.element("soap12:Envelope");
+            et.subElement(templateEnvelope, "soap12:Body").append(templateTransaction);
+
+            template = EnvelopeTemplate.of(et, templateEnvelope, templateTransaction);
+            envelopeTemplates.put(transactionType, template);
+        }
+        return template.toString(et, transaction);
+    }
+
+    private void addNamespaces(ElementTree et) {
+        et.addNamespace("xsi", "http://www.w3.org/2001/XMLSchema-instance");
+        et.addNamespace("xsd", "http://www.w3.org/2001/XMLSchema");
+        et.addNamespace("soap12", "http://www.w3.org/2003/05/soap-envelope");
+    }
+
     private String mapTransactionType(TransactionBuilder builder) throws ApiException {
         TransactionType transType = builder.getTransactionType();
         TransactionModifier transMod = builder.getTransactionModifier();
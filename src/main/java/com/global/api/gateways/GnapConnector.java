@@ -63,8 +63,9 @@ public class GnapConnector extends GatewayConnectorConfig {
         CardBrand cardBrand=null;
         OptionalData optionalData = builder.getGnapRequestData().getOptionalData();
         if(header!=null) {
-            header.setCurrentDate(DateTime.now().toString("yyMMdd"));
-            header.setCurrentTime(DateTime.now().toString("hhmmss"));
+            DateTime now = DateTime.now();
+            header.setCurrentDate(DateCodec.of("yyMMdd").format(now));
+            header.setCurrentTime(DateCodec.of("hhmmss").format(now));
         }
 
         if (paymentMethod != null) {
@@ -274,8 +275,9 @@ public class GnapConnector extends GatewayConnectorConfig {
         boolean isInstanceOfReference = false;
 
         if(header!=null) {
-            header.setCurrentDate(DateTime.now().toString("yyMMdd"));
-            header.setCurrentTime(DateTime.now().toString("hhmmss"));
+            DateTime now = DateTime.now();
+            header.setCurrentDate(DateCodec.of("yyMMdd").format(now));
+            header.setCurrentTime(DateCodec.of("hhmmss").format(now));
         }
 
         if (paymentMethod instanceof TransactionReference) {
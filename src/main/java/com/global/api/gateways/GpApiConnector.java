@@ -13,6 +13,7 @@ import com.global.api.network.NetworkMessageHeader;
 import com.global.api.paymentMethods.AlternativePaymentMethod;
 import com.global.api.paymentMethods.TransactionReference;
 import com.global.api.serviceConfigs.GpApiConfig;
+import com.global.api.utils.DateCodec;
 import com.global.api.utils.JsonDoc;
 import com.global.api.utils.StringUtils;
 import lombok.Getter;
@@ -47,6 +48,11 @@ public class GpApiConnector extends RestGateway implements IPaymentGateway, IRep
     public static final String DATE_TIME_PATTERN_9 = "yyyy-mm-dd";                   // Another slightly different GP API DateTime format
 
 
+    /**
+     * @deprecated A SimpleDateFormat is not safe to share between threads; parse and format
+     * DATE_PATTERN dates through DateCodec.of(DATE_PATTERN) instead.
+     */
+    @Deprecated
     public static final SimpleDateFormat DATE_SDF = new SimpleDateFormat(DATE_PATTERN);
 
     public static final DateTimeFormatter DATE_TIME_DTF = DateTimeFormat.forPattern(DATE_TIME_PATTERN);
@@ -168,11 +174,14 @@ public class GpApiConnector extends RestGateway implements IPaymentGateway, IRep
         return new GpApiTokenResponse(rawResponse);
     }
 
-    private String doTransactionWithIdempotencyKey(GpApiRequest.HttpMethod verb, String endpoint, String data, HashMap<String, String> queryStringParams, String idempotencyKey) throws GatewayException {
+    private String doTransactionWithIdempotencyKey(GpApiRequest.HttpMethod verb, String endpoint, String data, JsonDoc requestData, HashMap<String, String> queryStringParams, String idempotencyKey) throws GatewayException {
         if (!StringUtils.isNullOrEmpty(idempotencyKey)) {
             headers.put(IDEMPOTENCY_HEADER, idempotencyKey);
         }
         try {
+            if (requestData != null) {
+                return super.doTransaction(verb.getValue(), endpoint, requestData, queryStringParams);
+            }
             return super.doTransaction(verb.getValue(), endpoint, data, queryStringParams);
         } catch (GatewayException ex) {
             throw ex;
@@ -181,13 +190,24 @@ public class GpApiConnector extends RestGateway implements IPaymentGateway, IRep
         }
     }
 
+    public String doTransaction(GpApiRequest request, String idempotencyKey) throws GatewayException {
+        JsonDoc requestData = request.getRequestData();
+        String data = requestData == null ? request.getRequestBody() : null;
+
+        return doTransaction(request.getVerb(), request.getEndpoint(), data, requestData, request.getQueryStringParams(), idempotencyKey);
+    }
+
     public String doTransaction(GpApiRequest.HttpMethod verb, String endpoint, String data, HashMap<String, String> queryStringParams, String idempotencyKey) throws GatewayException {
+        return doTransaction(verb, endpoint, data, null, queryStringParams, idempotencyKey);
+    }
+
+    private String doTransaction(GpApiRequest.HttpMethod verb, String endpoint, String data, JsonDoc requestData, HashMap<String, String> queryStringParams, String idempotencyKey) throws GatewayException {
         if (isNullOrEmpty(accessToken)) {
             signIn();
         }
 
         try {
-            return doTransactionWithIdempotencyKey(verb, endpoint, data, queryStringParams, idempotencyKey);
+            return doTransactionWithIdempotencyKey(verb, endpoint, data, requestData, queryStringParams, idempotencyKey);
         } catch (GatewayException ex) {
             if (
                     "NOT_AUTHENTICATED".equals(ex.getResponseCode())    &&
@@ -196,7 +216,7 @@ public class GpApiConnector extends RestGateway implements IPaymentGateway, IRep
             ) {
                 signIn();
 
-                return doTransactionWithIdempotencyKey(verb, endpoint, data, queryStringParams, idempotencyKey);
+                return doTransactionWithIdempotencyKey(verb, endpoint, data, requestData, queryStringParams, idempotencyKey);
             }
             generateGpApiException(ex.getResponseCode(), ex.getResponseText());
             throw ex;
@@ -213,7 +233,10 @@ public class GpApiConnector extends RestGateway implements IPaymentGateway, IRep
 
     private void generateGpApiException(String responseCode, String responseText) throws GatewayException {
         if(!StringUtils.isNullOrEmpty(responseText)) {
-            JsonDoc parsedResponse = JsonDoc.parse(responseText);
+            JsonDoc parsedResponse = parseErrorResponse(responseText);
+            if (parsedResponse == null) {
+                throw new GatewayException(String.format("Status Code: %s - %s", responseCode, responseText));
+            }
             if (parsedResponse.has("error_code")) {     // has the expected JSON GP API error format
                 String errorCode = parsedResponse.getString("error_code");
                 String detailedErrorCode = parsedResponse.getString("detailed_error_code");
@@ -238,7 +261,7 @@ public class GpApiConnector extends RestGateway implements IPaymentGateway, IRep
         GpApiRequest request = GpApiAuthorizationRequestBuilder.buildRequest(builder, this);
 
         if (request != null) {
-            String response = doTransaction(request.getVerb(), request.getEndpoint(), request.getRequestBody(), request.getQueryStringParams(), builder.getIdempotencyKey());
+            String response = doTransaction(request, builder.getIdempotencyKey());
 
             if (builder.getPaymentMethod() instanceof AlternativePaymentMethod) {
                 return GpApiMapping.mapResponseAPM(response);
@@ -257,7 +280,7 @@ public class GpApiConnector extends RestGateway implements IPaymentGateway, IRep
         GpApiRequest request = GpApiManagementRequestBuilder.buildRequest(builder, this);
 
         if (request != null) {
-            String response = doTransaction(request.getVerb(), request.getEndpoint(), request.getRequestBody(), request.getQueryStringParams(), builder.getIdempotencyKey());
+            String response = doTransaction(request, builder.getIdempotencyKey());
 
             if (builder.getPaymentMethod() instanceof TransactionReference && builder.getPaymentMethod().getPaymentMethodType() == PaymentMethodType.APM) {
                 return GpApiMapping.mapResponseAPM(response);
@@ -277,7 +300,7 @@ public class GpApiConnector extends RestGateway implements IPaymentGateway, IRep
         GpApiRequest request = GpApiReportRequestBuilder.buildRequest(builder, this);
 
         if (request != null) {
-            String response = doTransaction(request.getVerb(), request.getEndpoint(), request.getRequestBody(), request.getQueryStringParams(), null);
+            String response = doTransaction(request, null);
 
             return GpApiMapping.mapReportResponse(response, builder.getReportType());
         }
@@ -296,7 +319,7 @@ public class GpApiConnector extends RestGateway implements IPaymentGateway, IRep
         GpApiRequest request = GpApiSecure3DRequestBuilder.buildRequest(builder, this);
 
         if (request != null) {
-            String response = doTransaction(request.getVerb(), request.getEndpoint(), request.getRequestBody(), request.getQueryStringParams(), builder.getIdempotencyKey());
+            String response = doTransaction(request, builder.getIdempotencyKey());
 
             return GpApiMapping.map3DSecureData(response);
         }
@@ -313,7 +336,7 @@ public class GpApiConnector extends RestGateway implements IPaymentGateway, IRep
         GpApiRequest request = GpApiPayFacRequestBuilder.buildRequest(builder, this);
 
         if (request != null){
-            var response = doTransaction(request.getVerb(), request.getEndpoint(), request.getRequestBody(), request.getQueryStringParams(), builder.getIdempotencyKey());
+            var response = doTransaction(request, builder.getIdempotencyKey());
 
             return GpApiMapping.mapMerchantEndpointResponse(response);
         }
@@ -355,7 +378,7 @@ public class GpApiConnector extends RestGateway implements IPaymentGateway, IRep
     }
 
     public static String getDateIfNotNull(Date obj) {
-        return (obj != null) ? DATE_SDF.format(obj) : "";
+        return (obj != null) ? DateCodec.of(DATE_PATTERN).format(obj) : "";
     }
 
     public static String getDateIfNotNull(DateTime obj) {
@@ -371,7 +394,7 @@ public class GpApiConnector extends RestGateway implements IPaymentGateway, IRep
             if (StringUtils.isNullOrEmpty(dateValue)) {
                 return null;
             }
-            return GpApiConnector.DATE_SDF.parse(dateValue);
+            return DateCodec.of(DATE_PATTERN).parse(dateValue);
         } catch (ParseException ex) {
             throw new GatewayException("Date format is not supported.", ex);
         }
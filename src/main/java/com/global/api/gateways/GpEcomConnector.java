@@ -29,6 +29,21 @@ public class GpEcomConnector extends XmlGateway implements IPaymentGateway, IRec
         put("DinersClub", "Diners");
     }};
 
+    private static final XmlFields TRANSACTION_RESPONSE_FIELDS = XmlFields.of(
+            "response", "result", "message", "cvnresult", "avspostcoderesponse", "authcode", "orderid", "pasref",
+            "paymentmethod", "batchid", "srd",
+            "paymentmethoddetails", "bankaccount", "accountholdername", "country", "redirecturl", "paymentpurpose",
+            "SetExpressCheckoutResponse", "DoExpressCheckoutPaymentResponse", "Token", "Ack", "Timestamp",
+            "CorrelationID", "Version", "Build",
+            "PaymentInfo", "TransactionID", "PaymentType", "PaymentDate", "GrossAmount", "TaxAmount", "PaymentStatus",
+            "PendingReason", "ReasonCode", "ProtectionEligibility", "ProtectionEligibilityType",
+            "fraudresponse", "rules", "rule", "action",
+            "dccinfo", "cardholdercurrency", "cardholderamount", "cardholderrate", "merchantcurrency", "merchantamount",
+            "marginratepercentage", "exchangeratesourcename", "commissionpercentage", "exchangeratesourcetimestamp",
+            "enrolled", "pareq", "xid", "url",
+            "threedsecure", "status", "eci", "cavv", "algorithm"
+    );
+
     private String merchantId;
     private String accountId;
     private String rebatePassword;
@@ -827,7 +842,7 @@ public class GpEcomConnector extends XmlGateway implements IPaymentGateway, IRec
     }
 
     private Transaction mapResponse(String rawResponse, TransactionBuilder<Transaction> builder) throws ApiException {
-        Element root = ElementTree.parse(rawResponse).get("response");
+        XmlRecord root = TRANSACTION_RESPONSE_FIELDS.parse(rawResponse).get("response");
 
         List<String> acceptedCodes = new ArrayList<>();
         if (builder instanceof AuthorizationBuilder) {
@@ -836,7 +851,7 @@ public class GpEcomConnector extends XmlGateway implements IPaymentGateway, IRec
             acceptedCodes = mapAcceptedCodes(mapManageRequestType((ManagementBuilder) builder));
         }
 
-        checkResponse(root, acceptedCodes);
+        checkResponse(root.getString("result"), root.getString("message"), acceptedCodes);
         Transaction result = new Transaction();
         result.setResponseCode(root.getString("result"));
         result.setResponseMessage(root.getString("message"));
@@ -854,7 +869,7 @@ public class GpEcomConnector extends XmlGateway implements IPaymentGateway, IRec
         result.setTransactionReference(transReference);
 
         // alternativePaymentResponse
-        Element paymentMethodDetails = root.get("paymentmethoddetails");
+        XmlRecord paymentMethodDetails = root.get("paymentmethoddetails");
 
         if(paymentMethodDetails != null) {
 
@@ -869,10 +884,10 @@ public class GpEcomConnector extends XmlGateway implements IPaymentGateway, IRec
             alternativePaymentResponse.setPaymentMethod(paymentMethodDetails.getString("paymentmethod"));
             alternativePaymentResponse.setProviderName(root.getString("paymentmethod"));
 
-            Element apmResponseDetails = null;
-            if (paymentMethodDetails.getElement() != null && paymentMethodDetails.get("SetExpressCheckoutResponse").getElement() != null) {
+            XmlRecord apmResponseDetails = null;
+            if (paymentMethodDetails.exists() && paymentMethodDetails.get("SetExpressCheckoutResponse").exists()) {
                 apmResponseDetails = paymentMethodDetails.get("SetExpressCheckoutResponse");
-            } else if (paymentMethodDetails.getElement() != null && paymentMethodDetails.get("DoExpressCheckoutPaymentResponse").getElement() != null) {
+            } else if (paymentMethodDetails.exists() && paymentMethodDetails.get("DoExpressCheckoutPaymentResponse").exists()) {
                 apmResponseDetails = paymentMethodDetails.get("DoExpressCheckoutPaymentResponse");
             }
 
@@ -884,7 +899,7 @@ public class GpEcomConnector extends XmlGateway implements IPaymentGateway, IRec
                 alternativePaymentResponse.setVersionReference(apmResponseDetails.getString("Version"));
                 alternativePaymentResponse.setBuildReference(apmResponseDetails.getString("Build"));
 
-                Element paymentInfo = apmResponseDetails.get("PaymentInfo");
+                XmlRecord paymentInfo = apmResponseDetails.get("PaymentInfo");
                 if (paymentInfo != null) {
                     alternativePaymentResponse.setTransactionReference(paymentInfo.getString("TransactionID"));
                     alternativePaymentResponse.setPaymentType(paymentInfo.getString("PaymentType"));
@@ -904,7 +919,7 @@ public class GpEcomConnector extends XmlGateway implements IPaymentGateway, IRec
 
         // fraud response
         if(root.has("fraudresponse")) {
-            Element fraudResponseElement = root.get("fraudresponse");
+            XmlRecord fraudResponseElement = root.get("fraudresponse");
 
             FraudResponse fraudResponse =
                     new FraudResponse()
@@ -912,7 +927,7 @@ public class GpEcomConnector extends XmlGateway implements IPaymentGateway, IRec
                             .setResult(fraudResponseElement.getString("result"));
 
             if (fraudResponseElement.has("rules")) {
-                for (Element rule : fraudResponseElement.get("rules").getAll("rule")) {
+                for (XmlRecord rule : fraudResponseElement.get("rules").getAll("rule")) {
                     fraudResponse.getRules().add((
                             new FraudResponse.Rule()
                                     .setName(rule.getAttributeString("name"))
@@ -1030,13 +1045,14 @@ public class GpEcomConnector extends XmlGateway implements IPaymentGateway, IRec
         checkResponse(root, null);
     }
     private void checkResponse(Element root, List<String> acceptCodes) throws GatewayException {
+        checkResponse(root.getString("result"), root.getString("message"), acceptCodes);
+    }
+    private void checkResponse(String responseCode, String responseMessage, List<String> acceptCodes) throws GatewayException {
         if(acceptCodes == null) {
             acceptCodes = new ArrayList<String>();
             acceptCodes.add("00");
         }
 
-        String responseCode = root.getString("result");
-        String responseMessage = root.getString("message");
         if(!acceptCodes.contains(responseCode)) {
             throw new GatewayException(String.format("Unexpected Gateway Response: %s - %s", responseCode, responseMessage), responseCode, responseMessage);
         }
@@ -0,0 +1,10 @@
+package com.global.api.gateways;
+
+import com.global.api.entities.exceptions.ApiException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface IResponseStreamHandler {
+    void handleResponse(InputStream responseStream) throws IOException, ApiException;
+}
@@ -0,0 +1,10 @@
+package com.global.api.gateways;
+
+import com.global.api.builders.TransactionReportBuilder;
+import com.global.api.entities.TransactionSummary;
+import com.global.api.entities.exceptions.ApiException;
+import com.global.api.terminals.messaging.IRecordReceivedInterface;
+
+public interface IStreamingReportService {
+    void processReport(TransactionReportBuilder<?> builder, IRecordReceivedInterface<TransactionSummary> handler) throws ApiException;
+}
@@ -20,7 +20,6 @@ import com.global.api.terminals.abstractions.IDeviceMessage;
 import com.global.api.utils.*;
 
 import java.math.BigDecimal;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -375,8 +374,8 @@ public class NtsConnector extends GatewayConnectorConfig {
         }
         if(timeStamp !=null){
             Date date=NtsUtils.getDateObject(timeStamp);
-            String transactionDate = new SimpleDateFormat("MMdd").format(date);
-            String transactionTime = new SimpleDateFormat("HHmmss").format(date);
+            String transactionDate = DateCodec.of("MMdd").format(date);
+            String transactionTime = DateCodec.of("HHmmss").format(date);
             builder.getNtsRequestMessageHeader().setTransactionDate(transactionDate);
             builder.getNtsRequestMessageHeader().setTransactionTime(transactionTime);
         }
@@ -9,6 +9,7 @@ import com.global.api.entities.exceptions.UnsupportedTransactionException;
 import com.global.api.entities.reporting.SearchCriteriaBuilder;
 import com.global.api.mapping.OpenBankingMapping;
 import com.global.api.paymentMethods.BankPayment;
+import com.global.api.utils.DateCodec;
 import com.global.api.utils.GenerationUtils;
 import com.global.api.utils.JsonDoc;
 import com.global.api.utils.StringUtils;
@@ -17,7 +18,6 @@ import lombok.Setter;
 import lombok.experimental.Accessors;
 import lombok.var;
 import org.apache.http.HttpStatus;
-import java.text.SimpleDateFormat;
 import java.util.HashMap;
 
 @Accessors(chain = true)
@@ -25,7 +25,7 @@ import java.util.HashMap;
 @Setter
 public class OpenBankingProvider extends RestGateway implements IOpenBankingProvider, IReportingService {
     static final String DATE_TIME_PATTERN = "yyyyMMddHHmmss";
-    static final SimpleDateFormat DATE_SDF = new SimpleDateFormat(DATE_TIME_PATTERN);
+    static final DateCodec DATE_SDF = DateCodec.of(DATE_TIME_PATTERN);
 
     private String merchantId;
     private String accountId;
@@ -179,7 +179,7 @@ public class OpenBankingProvider extends RestGateway implements IOpenBankingProv
         }
 
         try {
-            String response = doTransaction("GET", "/payments", null, queryParams);
+            String response = doTransaction("GET", "/payments", (String) null, queryParams);
 
             return OpenBankingMapping.mapReportResponse(response, builder.getReportType());
         } catch (GatewayException ex) {
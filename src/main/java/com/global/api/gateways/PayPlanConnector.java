@@ -6,6 +6,7 @@ import com.global.api.entities.enums.*;
 import com.global.api.entities.exceptions.ApiException;
 import com.global.api.entities.exceptions.UnsupportedTransactionException;
 import com.global.api.paymentMethods.*;
+import com.global.api.utils.DateCodec;
 import com.global.api.utils.DateUtils;
 import com.global.api.utils.JsonDoc;
 import com.global.api.utils.StringUtils;
@@ -14,7 +15,6 @@ import org.apache.commons.codec.binary.Base64;
 
 import java.math.BigDecimal;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -26,9 +26,8 @@ public class PayPlanConnector extends RestGateway implements IRecurringGateway {
             if(value == null)
                 return null;
 
-            SimpleDateFormat parser = new SimpleDateFormat("MMddyyyy");
             try {
-                return parser.parse(value);
+                return DateCodec.of("MMddyyyy").parse(value);
             }
             catch(ParseException e) { return null; }
         }
@@ -11,22 +11,28 @@ import com.global.api.entities.reporting.AltPaymentData;
 import com.global.api.entities.reporting.CheckData;
 import com.global.api.network.NetworkMessageHeader;
 import com.global.api.paymentMethods.*;
+import com.global.api.terminals.messaging.IRecordReceivedInterface;
+import com.global.api.utils.DateCodec;
+import com.global.api.utils.DateUtils;
 import com.global.api.utils.Element;
 import com.global.api.utils.ElementTree;
 import com.global.api.utils.EnumUtils;
 import com.global.api.utils.ReverseStringEnumMap;
 import com.global.api.utils.StringUtils;
+import com.global.api.utils.XmlFields;
+import com.global.api.utils.XmlRecord;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.w3c.dom.Document;
 
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.File;
+import java.io.InputStream;
 import java.math.BigDecimal;
-import java.text.FieldPosition;
-import java.text.ParsePosition;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Locale;
@@ -34,7 +40,7 @@ import java.util.Map;
 
 @Accessors(chain = true)
 @Setter
-public class PorticoConnector extends XmlGateway implements IPaymentGateway, IReportingService {
+public class PorticoConnector extends XmlGateway implements IPaymentGateway, IReportingService, IStreamingReportService {
     private int siteId;
     private int licenseId;
     private int deviceId;
@@ -45,6 +51,22 @@ public class PorticoConnector extends XmlGateway implements IPaymentGateway, IRe
     private String secretApiKey;
     private String sdkNameVersion;
 
+    private static final XmlFields TRANSACTION_RESPONSE_FIELDS = XmlFields.of(
+            "PosResponse", "GatewayRspCode", "GatewayRspMsg", "RspCode", "RspText", "RspMessage",
+            "AuthAmt", "AvailableBalance", "AVSRsltCode", "AVSRsltText", "BalanceAmt", "CardType", "TokenPANLast4",
+            "CAVVResultCode", "CPCInd", "CVVRsltCode", "CVVRsltText", "EMVIssuerResp", "PointsBalanceAmt",
+            "RecurringDataCode", "RefNbr", "CardBrandTxnId", "TxnDescriptor", "RspDT", "HostRspDT", "GatewayTxnId", "AuthCode",
+            "CardData", "CardNbr", "Alias", "PIN",
+            "TokenData", "TokenValue",
+            "BatchId", "TxnCnt", "TotalAmt", "BatchSeqNbr",
+            "DebitMac", "TransactionCode", "TransmissionNumber", "BankResponseCode", "MacKey", "PinKey", "FieldKey",
+            "TraceNumber", "MessageAuthenticationCode",
+            "AdditionalDuplicateData", "OriginalGatewayTxnId", "OriginalRspDT", "OriginalClientTxnId", "OriginalAuthCode",
+            "OriginalRefNbr", "OriginalAuthAmt", "OriginalCardType", "OriginalCardNbrLast4"
+    );
+
+    private static final DateCodec RESPONSE_DATE_FORMAT = DateCodec.of("yyyy-MM-dd'T'HH:mm:ss");
+
     public boolean supportsHostedPayments() { return false; }
 
     public Transaction processAuthorization(AuthorizationBuilder builder) throws ApiException {
@@ -627,6 +649,28 @@ public class PorticoConnector extends XmlGateway implements IPaymentGateway, IRe
     }
 
     public <TResult> TResult processReport(ReportBuilder<TResult> builder, Class<TResult> clazz) throws ApiException {
+        String response = doTransaction(buildReportRequest(builder));
+        return mapReportResponse(response, builder.getReportType(), clazz);
+    }
+
+    /**
+     * Runs a FindTransactions or Activity report and hands each transaction to the handler as it is
+     * read from the response, so neither the response nor the list of summaries is held in memory.
+     */
+    public void processReport(TransactionReportBuilder<?> builder, final IRecordReceivedInterface<TransactionSummary> handler) throws ApiException {
+        final ReportType reportType = builder.getReportType();
+        if(reportType != ReportType.FindTransactions && reportType != ReportType.Activity) {
+            throw new UnsupportedTransactionException("Only FindTransactions and Activity reports can be streamed.");
+        }
+
+        doTransaction(buildReportRequest(builder), new IResponseStreamHandler() {
+            public void handleResponse(InputStream responseStream) throws ApiException {
+                mapReportResponse(responseStream, reportType, handler);
+            }
+        });
+    }
+
+    private <TResult> String buildReportRequest(ReportBuilder<TResult> builder) throws ApiException {
         ElementTree et = new ElementTree();
 
         Element transaction = et.element(mapReportType(builder.getReportType()));
@@ -675,8 +719,7 @@ public class PorticoConnector extends XmlGateway implements IPaymentGateway, IRe
             }
         }
 
-        String response = doTransaction(buildEnvelope(et, transaction));
-        return mapReportResponse(response, builder.getReportType(), clazz);
+        return buildEnvelope(et, transaction);
     }
 
     private String buildEnvelope(ElementTree et, Element transaction) {
@@ -723,7 +766,7 @@ public class PorticoConnector extends XmlGateway implements IPaymentGateway, IRe
     private Transaction mapResponse(String rawResponse, IPaymentMethod paymentMethod) throws ApiException {
         Transaction result = new Transaction();
 
-        Element root = ElementTree.parse(rawResponse).get("PosResponse");
+        XmlRecord root = TRANSACTION_RESPONSE_FIELDS.parse(rawResponse).get("PosResponse");
         ArrayList<String> acceptedCodes = new ArrayList<String>();
         acceptedCodes.add("00");
         acceptedCodes.add("0");
@@ -766,8 +809,8 @@ public class PorticoConnector extends XmlGateway implements IPaymentGateway, IRe
             result.setResponseCode(responseCode != null ? responseCode : gatewayRspCode);
             result.setResponseMessage(responseText != null ? responseText : gatewayRspText);
             result.setTransactionDescriptor(root.getString("TxnDescriptor"));
-            result.setResponseDate(root.getDate(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss"), "RspDT"));
-            result.setHostResponseDate(root.getDate(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss"), "HostRspDT"));
+            result.setResponseDate(root.getDate(RESPONSE_DATE_FORMAT, "RspDT"));
+            result.setHostResponseDate(root.getDate(RESPONSE_DATE_FORMAT, "HostRspDT"));
 
             if (paymentMethod != null) {
                 TransactionReference reference = new TransactionReference();
@@ -823,7 +866,7 @@ public class PorticoConnector extends XmlGateway implements IPaymentGateway, IRe
             if(root.has("AdditionalDuplicateData")) {
                 AdditionalDuplicateData additionalDuplicateData = new AdditionalDuplicateData();
                 additionalDuplicateData.setOriginalGatewayTxnId(root.getString("OriginalGatewayTxnId"));
-                additionalDuplicateData.setOriginalRspDT(root.getDate(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss"), "OriginalRspDT").toString());
+                additionalDuplicateData.setOriginalRspDT(root.getDate(RESPONSE_DATE_FORMAT, "OriginalRspDT").toString());
                 additionalDuplicateData.setOriginalClientTxnId(root.getString("OriginalClientTxnId"));
                 additionalDuplicateData.setOriginalAuthCode(root.getString("OriginalAuthCode"));
                 additionalDuplicateData.setOriginalRefNbr(root.getString("OriginalRefNbr"));
@@ -885,6 +928,61 @@ public class PorticoConnector extends XmlGateway implements IPaymentGateway, IRe
         }
     }
 
+    private void mapReportResponse(InputStream responseStream, ReportType reportType, IRecordReceivedInterface<TransactionSummary> handler) throws ApiException {
+        String recordName = reportType.equals(ReportType.Activity) ? "Details" : "Transactions";
+        String gatewayRspCode = null;
+        String gatewayRspText = null;
+        boolean checked = false;
+
+        XMLStreamReader reader = ElementTree.createStreamReader(responseStream);
+        try {
+            while(reader.hasNext()) {
+                if(reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+
+                // the header comes before the report, so the response is checked before the first record
+                String name = reader.getLocalName();
+                if(name.equals("GatewayRspCode") && gatewayRspCode == null) {
+                    gatewayRspCode = normalizeResponse(reader.getElementText());
+                }
+                else if(name.equals("GatewayRspMsg") && gatewayRspText == null) {
+                    gatewayRspText = reader.getElementText();
+                }
+                else if(name.equals(recordName)) {
+                    if(!checked) {
+                        checkReportResponse(gatewayRspCode, gatewayRspText);
+                        checked = true;
+                    }
+                    handler.recordReceived(hydrateTransactionSummary(ElementTree.readElement(reader)));
+                }
+            }
+            if(!checked) {
+                checkReportResponse(gatewayRspCode, gatewayRspText);
+            }
+        }
+        catch(XMLStreamException e) {
+            throw new ApiException(e.getMessage(), e);
+        }
+        finally {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                // the response stream is closed by the gateway
+            }
+        }
+    }
+
+    private void checkReportResponse(String gatewayRspCode, String gatewayRspText) throws GatewayException {
+        if (!"00".equals(gatewayRspCode)) {
+            throw new GatewayException(
+                    String.format("Unexpected Gateway Response: %s - %s", gatewayRspCode, gatewayRspText),
+                    gatewayRspCode,
+                    gatewayRspText
+            );
+        }
+    }
+
     private String normalizeResponse(String input) {
         if(input != null) {
             if (input.equals("0") || input.equals("85"))
@@ -1082,8 +1180,7 @@ public class PorticoConnector extends XmlGateway implements IPaymentGateway, IRe
     }
 
     private String formatDate(Date date) {
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS");
-        return sdf.format(date);
+        return DateCodec.of("yyyy-MM-dd'T'HH:mm:ss.SSS").format(date);
     }
 
     private TransactionSummary hydrateTransactionSummary(Element root) {
@@ -1211,24 +1308,7 @@ public class PorticoConnector extends XmlGateway implements IPaymentGateway, IRe
     }
 
     protected String getPosReqDT() {
-        // Override format/parse methods to handle differences in `X` and `Z` format identifiers
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZZZZZ") {
-            @Override
-            public StringBuffer format(Date date, StringBuffer toAppendTo, FieldPosition pos) {
-                StringBuffer rfcFormat = super.format(date, toAppendTo, pos);
-                return rfcFormat.insert(rfcFormat.length() - 2, ":");
-            }
-
-            @Override
-            public Date parse(String text, ParsePosition pos) {
-                if (text.length() > 3) {
-                    text = text.substring(0, text.length() - 3) + text.substring(text.length() - 2);
-                }
-                return super.parse(text, pos);
-            }
-        };
-
-        return dateFormat.format(new Date()).replace("::", ":");
+        return DateUtils.toOffsetDateTimeString(new Date());
     }
 
     private int getSecure3DVersion(Secure3dVersion version){
@@ -2,6 +2,8 @@ package com.global.api.gateways;
 
 import com.global.api.entities.exceptions.GatewayException;
 import com.global.api.utils.JsonDoc;
+import com.global.api.utils.StringUtils;
+import com.google.gson.JsonSyntaxException;
 
 import java.util.HashMap;
 
@@ -11,7 +13,7 @@ public class RestGateway extends Gateway {
     }
 
     public String doTransaction(String verb, String endpoint) throws GatewayException {
-        return doTransaction(verb, endpoint, null, null);
+        return doTransaction(verb, endpoint, (String) null, null);
     }
     public String doTransaction(String verb, String endpoint, String data) throws GatewayException {
         return doTransaction(verb, endpoint, data, null);
@@ -20,15 +22,37 @@ public class RestGateway extends Gateway {
         GatewayResponse response = sendRequest(verb, endpoint, data, queryStringParams);
         return handleResponse(response);
     }
+    public String doTransaction(String verb, String endpoint, JsonDoc data, HashMap<String, String> queryStringParams) throws GatewayException {
+        GatewayResponse response = sendRequest(verb, endpoint, data, queryStringParams);
+        return handleResponse(response);
+    }
     protected String handleResponse(GatewayResponse response) throws GatewayException {
         if(response.getStatusCode() != 200 && response.getStatusCode() != 204 && response.getStatusCode() != 201) {
-            JsonDoc parsed = JsonDoc.parse(response.getRawResponse());
-            if(parsed.has("error")) {
-                JsonDoc error = parsed.get("error");
+            JsonDoc parsed = parseErrorResponse(response.getRawResponse());
+            if(parsed == null) {
+                throw new GatewayException(String.format("Status code: %s - %s", response.getStatusCode(), response.getRawResponse()));
+            }
+            JsonDoc error = parsed.get("error");
+            if(error != null) {
                 throw new GatewayException(String.format("Status code: %s - %s", response.getStatusCode(), error.getString("message")));
             }
             throw new GatewayException(String.format("Status code: %s - %s", response.getStatusCode(), parsed.getString("message")));
         }
         return response.getRawResponse();
     }
+
+    /**
+     * The error response as a document, or null when it is not a json object, like an html error page.
+     */
+    protected static JsonDoc parseErrorResponse(String rawResponse) {
+        if(StringUtils.isNullOrEmpty(rawResponse)) {
+            return null;
+        }
+        try {
+            return JsonDoc.parseLazy(rawResponse);
+        }
+        catch(JsonSyntaxException exc) {
+            return null;
+        }
+    }
 }
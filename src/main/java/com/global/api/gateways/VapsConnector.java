@@ -29,7 +29,6 @@ import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 
 import java.math.BigDecimal;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -280,7 +279,7 @@ public class VapsConnector extends GatewayConnectorConfig {
                 request.set(DataElementId.DE_004, StringUtils.toNumeric(builder.getAmount(), 12));
             }
             // DE 7: Date and Time, Transmission - n10 (MMDDhhmmss) // C
-            request.set(DataElementId.DE_007, DateTime.now(DateTimeZone.UTC).toString("MMddhhmmss"));
+            request.set(DataElementId.DE_007, DateCodec.of("MMddhhmmss").format(DateTime.now(DateTimeZone.UTC)));
         }
 
         // DE 11: System Trace Audit Number (STAN) - n6 // M
@@ -293,7 +292,7 @@ public class VapsConnector extends GatewayConnectorConfig {
         // DE 12: Date and Time, Transaction - n12 (YYMMDDhhmmss)
         String timestamp = builder.getTimestamp();
         if(StringUtils.isNullOrEmpty(timestamp)) {
-            timestamp = DateTime.now().toString("yyMMddhhmmss");
+            timestamp = DateCodec.of("yyMMddhhmmss").format(DateTime.now());
         }
         request.set(DataElementId.DE_012, timestamp);
 
@@ -697,7 +696,7 @@ public class VapsConnector extends GatewayConnectorConfig {
             request.set(DataElementId.DE_004, StringUtils.toNumeric(transactionAmount, 12));
 
             // DE 7: Date and Time, Transmission - n10 (MMDDhhmmss) // C
-            request.set(DataElementId.DE_007, DateTime.now(DateTimeZone.UTC).toString("MMddhhmmss"));
+            request.set(DataElementId.DE_007, DateCodec.of("MMddhhmmss").format(DateTime.now(DateTimeZone.UTC)));
         }
 
         // DE 11: System Trace Audit Number (STAN) - n6 // M
@@ -710,7 +709,7 @@ public class VapsConnector extends GatewayConnectorConfig {
         // DE 12: Date and Time, Transaction - n12 (YYMMDDhhmmss)
         String timestamp = builder.getTimestamp();
         if(StringUtils.isNullOrEmpty(timestamp)) {
-            timestamp = DateTime.now(DateTimeZone.UTC).toString("yyMMddhhmmss");
+            timestamp = DateCodec.of("yyMMddhhmmss").format(DateTime.now(DateTimeZone.UTC));
         }
         request.set(DataElementId.DE_012, timestamp);
 
@@ -1291,7 +1290,7 @@ public class VapsConnector extends GatewayConnectorConfig {
 
                         NetworkMessage impliedCapture = decodeRequest(response.getTransactionToken());
                         impliedCapture.set(DataElementId.DE_011, StringUtils.padLeft(followOnStan, 6, '0'));
-                        impliedCapture.set(DataElementId.DE_012, DateTime.now().toString("yyMMddhhmmss"));
+                        impliedCapture.set(DataElementId.DE_012, DateCodec.of("yyMMddhhmmss").format(DateTime.now()));
                         impliedCapture.set(DataElementId.DE_025, DE25_MessageReasonCode.PinDebit_EBT_Acknowledgement);
 
                         Transaction dataCollectResponse = sendRequest(impliedCapture, null, orgCorr1, orgCorr2);
@@ -1305,7 +1304,7 @@ public class VapsConnector extends GatewayConnectorConfig {
 
                         if(messageReasonCode.equals(DE25_MessageReasonCode.AuthCapture.getValue())) {
                             request.set(DataElementId.DE_011, StringUtils.padLeft(followOnStan, 6, '0'));
-                            request.set(DataElementId.DE_012, DateTime.now().toString("yyMMddhhmmss"));
+                            request.set(DataElementId.DE_012, DateCodec.of("yyMMddhhmmss").format(DateTime.now()));
                             request.set(DataElementId.DE_025, DE25_MessageReasonCode.PinDebit_EBT_Acknowledgement);
 
                             Transaction dataCollectResponse = sendRequest(request, builder, orgCorr1, orgCorr2);
@@ -1382,7 +1381,7 @@ public class VapsConnector extends GatewayConnectorConfig {
                 DE62_CardIssuerData cardIssuerData = message.getDataElement(DataElementId.DE_062, DE62_CardIssuerData.class);
 
                 result.setAuthorizedAmount(message.getAmount(DataElementId.DE_004));
-                result.setHostResponseDate(message.getDate(DataElementId.DE_012, new SimpleDateFormat("yyMMddhhmmss")));
+                result.setHostResponseDate(message.getDate(DataElementId.DE_012, DateCodec.of("yyMMddhhmmss")));
                 result.setReferenceNumber(message.getString(DataElementId.DE_037));
                 String authCode = message.getString(DataElementId.DE_038);
 
@@ -1413,7 +1412,7 @@ public class VapsConnector extends GatewayConnectorConfig {
                 // EMV response
                 byte[] emvResponse = message.getByteArray(DataElementId.DE_055);
                 if(emvResponse != null){
-                    EmvData emvData = EmvUtils.parseTagData(StringUtils.hexFromBytes(emvResponse), isEnableLogging());
+                    EmvData emvData = EmvUtils.parseTagData(emvResponse, isEnableLogging());
                     result.setEmvIssuerResponse(emvData.getAcceptedTagData());
                 }
 
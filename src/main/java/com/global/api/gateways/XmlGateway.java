@@ -1,5 +1,6 @@
 package com.global.api.gateways;
 
+import com.global.api.entities.exceptions.ApiException;
 import com.global.api.entities.exceptions.GatewayException;
 
 public abstract class XmlGateway extends Gateway {
@@ -13,4 +14,10 @@ public abstract class XmlGateway extends Gateway {
             throw new GatewayException("Unexpected http status code [" + response.getStatusCode() + "]");
         return response.getRawResponse();
     }
+
+    public void doTransaction(String request, IResponseStreamHandler handler) throws ApiException {
+        int statusCode = sendStreamingRequest("POST", "", request, handler);
+        if(statusCode != 200)
+            throw new GatewayException("Unexpected http status code [" + statusCode + "]");
+    }
 }
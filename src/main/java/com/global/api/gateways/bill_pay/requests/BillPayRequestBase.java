@@ -1,12 +1,14 @@
 package com.global.api.gateways.bill_pay.requests;
 
 import java.math.BigDecimal;
-import java.text.FieldPosition;
-import java.text.ParsePosition;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.global.api.builders.AuthorizationBuilder;
 import com.global.api.builders.ManagementBuilder;
@@ -29,8 +31,10 @@ import com.global.api.paymentMethods.IPaymentMethod;
 import com.global.api.paymentMethods.ITokenizable;
 import com.global.api.paymentMethods.TransactionReference;
 import com.global.api.paymentMethods.eCheck;
+import com.global.api.utils.DateUtils;
 import com.global.api.utils.Element;
 import com.global.api.utils.ElementTree;
+import com.global.api.utils.EnvelopeTemplate;
 import com.global.api.utils.StringUtils;
 
 public abstract class BillPayRequestBase {
@@ -38,6 +42,10 @@ public abstract class BillPayRequestBase {
     private int applicationId = 3;
     protected String browserType = "Java SDK";
     protected final ElementTree et;
+    private EnvelopeTemplate template;
+
+    // keyed on the credentials object itself, so templates go away with the configuration
+    private static final Map<Credentials, Templates> templates = Collections.synchronizedMap(new WeakHashMap<Credentials, Templates>());
 
     public BillPayRequestBase(ElementTree et) {
         this.et = et;
@@ -58,6 +66,78 @@ public abstract class BillPayRequestBase {
         et.subElement(credential, "bdms:MerchantName", credentials.getMerchantName());
     }
 
+    /// <summary>
+    /// Adds the body, method and request elements to the envelope. The credentials are not added
+    /// here: they are part of the envelope template the request is serialized with by buildEnvelope
+    /// </summary>
+    /// <param name="envelope">The SOAP envelope of the request</param>
+    /// <param name="methodTagName">The tag of the method element</param>
+    /// <param name="requestTagName">The tag of the request element</param>
+    /// <param name="credentials">The credential object containing merchant credentials to authenticate the request</param>
+    /// <returns>The request element, to add the rest of the request to</returns>
+    protected Element buildRequestElement(Element envelope, String methodTagName, String requestTagName, Credentials credentials) {
+        Element body = et.subElement(envelope, "soapenv:Body");
+        Element methodElement = et.subElement(body, methodTagName);
+        template = getTemplate(envelope.getElement().getNodeName(), methodTagName, requestTagName, credentials);
+        return et.subElement(methodElement, requestTagName);
+    }
+
+    /// <summary>
+    /// Serializes the request, writing only what was added to the request element
+    /// </summary>
+    /// <param name="requestElement">The element returned by buildRequestElement</param>
+    protected String buildEnvelope(Element requestElement) {
+        return template.toString(et, requestElement);
+    }
+
+    private EnvelopeTemplate getTemplate(String envelopeTagName, String methodTagName, String requestTagName, Credentials credentials) {
+        Templates cached = templates.get(credentials);
+        if (cached == null || !cached.matches(credentials)) {
+            cached = new Templates(credentials);
+            templates.put(credentials, cached);
+        }
+
+        String key = methodTagName + " " + requestTagName;
+        EnvelopeTemplate template = cached.byRequest.get(key);
+        if (template == null) {
+            Element envelope = et.element(envelopeTagName);
+            Element body = et.subElement(envelope, "soapenv:Body");
+            Element methodElement = et.subElement(body, methodTagName);
+            Element requestElement = et.subElement(methodElement, requestTagName);
+            buildCredentials(requestElement, credentials);
+
+            template = EnvelopeTemplate.of(et, envelope, requestElement);
+            cached.byRequest.put(key, template);
+        }
+        return template;
+    }
+
+    /// <summary>
+    /// The envelope templates made with one set of credentials, which the provider keeps for the
+    /// lifetime of its configuration. They are rebuilt if the credentials are changed afterwards
+    /// </summary>
+    private static final class Templates {
+        private final String apiKey;
+        private final String password;
+        private final String userName;
+        private final String merchantName;
+        private final ConcurrentHashMap<String, EnvelopeTemplate> byRequest = new ConcurrentHashMap<>();
+
+        private Templates(Credentials credentials) {
+            apiKey = credentials.getApiKey();
+            password = credentials.getPassword();
+            userName = credentials.getUserName();
+            merchantName = credentials.getMerchantName();
+        }
+
+        private boolean matches(Credentials credentials) {
+            return Objects.equals(apiKey, credentials.getApiKey())
+                && Objects.equals(password, credentials.getPassword())
+                && Objects.equals(userName, credentials.getUserName())
+                && Objects.equals(merchantName, credentials.getMerchantName());
+        }
+    }
+
     /// <summary>
     /// Builds the ACH Account section of the request
     /// </summary>
@@ -355,24 +435,7 @@ public abstract class BillPayRequestBase {
     }
 
     protected String getDateFormatted(Date date) {
-        // Override format/parse methods to handle differences in `X` and `Z` format identifiers
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZZZZZ") {
-            @Override
-            public StringBuffer format(Date date, StringBuffer toAppendTo, FieldPosition pos) {
-                StringBuffer rfcFormat = super.format(date, toAppendTo, pos);
-                return rfcFormat.insert(rfcFormat.length() - 2, ":");
-            }
-
-            @Override
-            public Date parse(String text, ParsePosition pos) {
-                if (text.length() > 3) {
-                    text = text.substring(0, text.length() - 3) + text.substring(text.length() - 2);
-                }
-                return super.parse(text, pos);
-            }
-        };
-
-        return dateFormat.format(date).replace("::", ":");
+        return DateUtils.toOffsetDateTimeString(date);
     }
 
     /// <summary>
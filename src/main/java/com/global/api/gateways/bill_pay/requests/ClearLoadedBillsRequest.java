@@ -10,11 +10,8 @@ public class ClearLoadedBillsRequest extends BillPayRequestBase {
     }
 
     public String build(Element envelope, Credentials credentials) {
-        Element body = et.subElement(envelope, "soapenv:Body");
-        Element methodElement = et.subElement(body, "bil:ClearLoadedBills");
-        Element requestElement = et.subElement(methodElement, "bil:ClearLoadedBillsRequest");
+        Element requestElement = buildRequestElement(envelope, "bil:ClearLoadedBills", "bil:ClearLoadedBillsRequest", credentials);
 
-        buildCredentials(requestElement, credentials);
-        return et.toString(envelope);
+        return buildEnvelope(requestElement);
     }
 }
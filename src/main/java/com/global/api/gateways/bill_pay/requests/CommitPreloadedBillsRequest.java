@@ -10,11 +10,8 @@ public class CommitPreloadedBillsRequest extends BillPayRequestBase {
     }
 
     public String build(Element envelope, Credentials credentials) {
-        Element body = et.subElement(envelope, "soapenv:Body");
-        Element methodElement = et.subElement(body, "bil:CommitPreloadedBills");
-        Element requestElement = et.subElement(methodElement, "bil:CommitPreloadedBillsRequest");
+        Element requestElement = buildRequestElement(envelope, "bil:CommitPreloadedBills", "bil:CommitPreloadedBillsRequest", credentials);
 
-        buildCredentials(requestElement, credentials);
-        return et.toString(envelope);
+        return buildEnvelope(requestElement);
     }
 }
@@ -15,11 +15,7 @@ public class CreateCustomerAccountRequest extends BillPayRequestBase {
     }
 
     public String build(Element envelope, Credentials credentials, RecurringPaymentMethod paymentMethod) throws UnsupportedTransactionException {
-        Element body = et.subElement(envelope, "soapenv:Body");
-        Element methodElement = et.subElement(body, "bil:SaveCustomerAccount");
-        Element requestElement = et.subElement(methodElement, "bil:SaveCustomerAccountRequest");
-
-        buildCredentials(requestElement, credentials);
+        Element requestElement = buildRequestElement(envelope, "bil:SaveCustomerAccount", "bil:SaveCustomerAccountRequest", credentials);
 
         Element customerAccountElement = et.subElement(requestElement, "bdms:CustomerAccount");
 
@@ -74,6 +70,6 @@ public class CreateCustomerAccountRequest extends BillPayRequestBase {
         }
 
         et.subElement(requestElement, "bdms:MerchantCustomerID", paymentMethod.getCustomerKey());
-        return et.toString(envelope);
+        return buildEnvelope(requestElement);
     }
 }
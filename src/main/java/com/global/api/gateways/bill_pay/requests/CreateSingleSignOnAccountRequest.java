@@ -11,15 +11,11 @@ public class CreateSingleSignOnAccountRequest extends BillPayRequestBase {
     }
 
     public String build(Element envelope, Credentials credentials, Customer customer) {
-        Element body = et.subElement(envelope, "soapenv:Body");
-        Element methodElement = et.subElement(body, "bil:CreateSingleSignOnAccount");
-        Element requestElement = et.subElement(methodElement, "bil:request");
-
-        buildCredentials(requestElement, credentials);
+        Element requestElement = buildRequestElement(envelope, "bil:CreateSingleSignOnAccount", "bil:request", credentials);
 
         Element customerElement = et.subElement(requestElement, "bdms:Customer");
 
         buildCustomer(customerElement, customer);
-        return et.toString(envelope);
+        return buildEnvelope(requestElement);
     }
 }
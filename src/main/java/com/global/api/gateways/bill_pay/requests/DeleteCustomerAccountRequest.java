@@ -11,15 +11,11 @@ public class DeleteCustomerAccountRequest extends BillPayRequestBase {
     }
 
     public String build(Element envelope, Credentials credentials, RecurringPaymentMethod paymentMethod) {
-        Element body = et.subElement(envelope, "soapenv:Body");
-        Element methodElement = et.subElement(body, "bil:DeleteCustomerAccount");
-        Element requestElement = et.subElement(methodElement, "bil:DeleteCustomerAccountRequest");
-
-        buildCredentials(requestElement, credentials);
+        Element requestElement = buildRequestElement(envelope, "bil:DeleteCustomerAccount", "bil:DeleteCustomerAccountRequest", credentials);
 
         et.subElement(requestElement, "bdms:CustomerAccountNameToDelete", paymentMethod.getId());
         et.subElement(requestElement, "bdms:MerchantCustomerID", paymentMethod.getCustomerKey());
 
-        return et.toString(envelope);
+        return buildEnvelope(requestElement);
     }
 }
@@ -11,14 +11,10 @@ public class DeleteSingleSignOnAccountRequest extends BillPayRequestBase {
     }
 
     public String build(Element envelope, Credentials credentials, Customer customer) {
-        Element body = et.subElement(envelope, "soapenv:Body");
-        Element methodElement = et.subElement(body, "bil:DeleteSingleSignOnAccount");
-        Element requestElement = et.subElement(methodElement, "bil:request");
-
-        buildCredentials(requestElement, credentials);
+        Element requestElement = buildRequestElement(envelope, "bil:DeleteSingleSignOnAccount", "bil:request", credentials);
 
         et.subElement(requestElement, "bdms:MerchantCustomerID", customer.getId());
 
-        return et.toString(envelope);
+        return buildEnvelope(requestElement);
     }
 }
@@ -14,13 +14,9 @@ public class GetAchTokenRequest extends BillPayRequestBase {
     }
 
     public String build(Element envelope, AuthorizationBuilder builder, Credentials credentials) throws UnsupportedTransactionException {
-        Element body = et.subElement(envelope, "soapenv:Body");
-        Element methodElement = et.subElement(body, "bil:GetToken");
-        Element requestElement = et.subElement(methodElement, "bil:GetTokenRequest");
+        Element requestElement = buildRequestElement(envelope, "bil:GetToken", "bil:GetTokenRequest", credentials);
         eCheck ach = (eCheck) builder.getPaymentMethod();
 
-        buildCredentials(requestElement, credentials);
-
         et.subElement(requestElement, "bdms:ACHAccountType", getDepositType(ach.getCheckType()));
         et.subElement(requestElement, "bdms:ACHDepositType", getACHAccountType(ach.getAccountType()));
         et.subElement(requestElement, "bdms:ACHStandardEntryClass", ach.getSecCode());
@@ -35,6 +31,6 @@ public class GetAchTokenRequest extends BillPayRequestBase {
         et.subElement(requestElement, "bdms:PaymentMethod", getPaymentMethodType(ach.getPaymentMethodType()));
         et.subElement(requestElement, "bdms:RoutingNumber", ach.getRoutingNumber());
 
-        return et.toString(envelope);
+        return buildEnvelope(requestElement);
     }
 }
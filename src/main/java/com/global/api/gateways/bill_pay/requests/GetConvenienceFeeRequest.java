@@ -13,9 +13,7 @@ public class GetConvenienceFeeRequest extends BillPayRequestBase {
     }
 
     public String build(Element envelope, BillingBuilder builder, Credentials credentials) {
-        Element body = et.subElement(envelope, "soapenv:Body");
-        Element methodElement = et.subElement(body, "bil:GetConvenienceFee");
-        Element requestElement = et.subElement(methodElement, "bil:GetConvenienceFeeRequest");
+        Element requestElement = buildRequestElement(envelope, "bil:GetConvenienceFee", "bil:GetConvenienceFeeRequest", credentials);
 
         String accountNumber = null;
         String routingNumber = null;
@@ -30,8 +28,6 @@ public class GetConvenienceFeeRequest extends BillPayRequestBase {
             accountNumber = credit.getNumber();
         }
 
-        buildCredentials(requestElement, credentials);
-
         et.subElement(requestElement, "bdms:BaseAmount", builder.getAmount());
         
         if (accountNumber != null) {
@@ -45,6 +41,6 @@ public class GetConvenienceFeeRequest extends BillPayRequestBase {
         }
 
         et.subElement(requestElement, "bdms:RoutingNumber", routingNumber);
-        return et.toString(envelope);
+        return buildEnvelope(requestElement);
     }
 }
@@ -13,13 +13,9 @@ public class GetTokenRequest extends BillPayRequestBase {
     }
 
     public String build(Element envelope, AuthorizationBuilder builder, Credentials credentials) throws UnsupportedTransactionException {
-        Element body = et.subElement(envelope, "soapenv:Body");
-        Element methodElement = et.subElement(body, "bil:GetToken");
-        Element requestElement = et.subElement(methodElement, "bil:GetTokenRequest");
+        Element requestElement = buildRequestElement(envelope, "bil:GetToken", "bil:GetTokenRequest", credentials);
         CreditCardData card = (CreditCardData) builder.getPaymentMethod();
 
-        buildCredentials(requestElement, credentials);
-
         Element accountHolderDataElement = et.subElement(requestElement, "bdms:AccountHolderData");
         if (builder.getBillingAddress() != null) {
             et.subElement(accountHolderDataElement, "pos:Zip", builder.getBillingAddress().getPostalCode());
@@ -33,6 +29,6 @@ public class GetTokenRequest extends BillPayRequestBase {
         et.subElement(requestElement, "bdms:ExpirationYear", card.getExpYear());
         et.subElement(requestElement, "bdms:PaymentMethod", getPaymentMethodType(card.getPaymentMethodType()));
 
-        return et.toString(envelope);
+        return buildEnvelope(requestElement);
     }
 }
@@ -16,15 +16,11 @@ public class LoadSecurePayRequest extends BillPayRequestBase {
     }
 
     public String build(Element envelope, BillingBuilder builder, Credentials credentials) throws BuilderException {
-        Element body = et.subElement(envelope, "soapenv:Body");
-        Element methodElement = et.subElement(body, "bil:LoadSecurePayDataExtended");
-        Element requestElement = et.subElement(methodElement, "bil:request");
+        Element requestElement = buildRequestElement(envelope, "bil:LoadSecurePayDataExtended", "bil:request", credentials);
         HostedPaymentData hostedPaymentData = builder.getHostedPaymentData();
 
         validateLoadSecurePay(hostedPaymentData);
 
-        buildCredentials(requestElement, credentials);
-
         Element billsElement = et.subElement(requestElement, "bdms:BillData");
 
         if (hostedPaymentData != null) {
@@ -81,6 +77,6 @@ public class LoadSecurePayRequest extends BillPayRequestBase {
             }
         }
 
-        return et.toString(envelope);
+        return buildEnvelope(requestElement);
     }
 }
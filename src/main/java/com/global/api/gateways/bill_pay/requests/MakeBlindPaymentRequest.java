@@ -28,9 +28,7 @@ public class MakeBlindPaymentRequest extends BillPayRequestBase {
     }
 
     public String build(Element envelope, AuthorizationBuilder builder, Credentials credentials) throws UnsupportedTransactionException, BuilderException {
-        Element body = et.subElement(envelope, "soapenv:Body");
-        Element methodElement = et.subElement(body, getMethodElementTagName());
-        Element requestElement = et.subElement(methodElement, getRequestElementTagName());
+        Element requestElement = buildRequestElement(envelope, getMethodElementTagName(), getRequestElementTagName(), credentials);
 
         boolean hasToken = (builder.getPaymentMethod() instanceof ITokenizable && !StringUtils.isNullOrEmpty(((ITokenizable) builder.getPaymentMethod()).getToken()));
         // Would EntryMethod.Manual be clear Swipe?
@@ -46,8 +44,6 @@ public class MakeBlindPaymentRequest extends BillPayRequestBase {
 
         validateTransaction(builder);
 
-        buildCredentials(requestElement, credentials);
-
         if (!hasToken && builder.getPaymentMethod() instanceof eCheck) {
             buildACHAccount(requestElement, (eCheck) builder.getPaymentMethod(), amount, builder.getConvenienceAmount());
         }
@@ -82,6 +78,6 @@ public class MakeBlindPaymentRequest extends BillPayRequestBase {
 
         buildTransaction(requestElement, builder);
 
-        return et.toString(envelope);
+        return buildEnvelope(requestElement);
     }
 }
@@ -15,12 +15,9 @@ public class PreloadBillsRequest extends BillPayRequestBase {
     }
 
     public String build(Element envelope, BillingBuilder builder, Credentials credentials) throws ApiException {
-        Element body = et.subElement(envelope, "soapenv:Body");
-        Element methodElement = et.subElement(body, "bil:PreloadBills");
-        Element requestElement = et.subElement(methodElement, "bil:PreloadBillsRequest");
+        Element requestElement = buildRequestElement(envelope, "bil:PreloadBills", "bil:PreloadBillsRequest", credentials);
 
         validateBills(builder.getBills());
-        buildCredentials(requestElement, credentials);
         Element bills = et.subElement(requestElement, "bdms:Bills");
 
         for (Bill bill : builder.getBills()) {
@@ -61,6 +58,6 @@ public class PreloadBillsRequest extends BillPayRequestBase {
             et.subElement(billElement, "bdms:RequiredAmount", bill.getAmount());
         }
 
-        return et.toString(envelope);
+        return buildEnvelope(requestElement);
     }
 }
@@ -16,12 +16,9 @@ public class ReversePaymentRequest extends BillPayRequestBase {
     }
 
     public String build(Element envelope, ManagementBuilder builder, Credentials credentials) throws UnsupportedTransactionException, BuilderException {
-        Element body = et.subElement(envelope, "soapenv:Body");
-        Element methodElement = et.subElement(body, "bil:ReversePayment");
-        Element requestElement = et.subElement(methodElement, "bil:ReversePaymentRequest");
+        Element requestElement = buildRequestElement(envelope, "bil:ReversePayment", "bil:ReversePaymentRequest", credentials);
 
         validateReversal(builder);
-        buildCredentials(requestElement, credentials);
 
         if (builder.getAmount().compareTo(new BigDecimal(0)) > 0) {
             et.subElement(requestElement, "bdms:BaseAmountToRefund", builder.getAmount());
@@ -40,6 +37,6 @@ public class ReversePaymentRequest extends BillPayRequestBase {
         // PLACEHOLDER ReversalReason
         et.subElement(requestElement, "bdms:Transaction_ID", ((TransactionReference) builder.getPaymentMethod()).getTransactionId());
 
-        return et.toString(envelope);
+        return buildEnvelope(requestElement);
     }
 }
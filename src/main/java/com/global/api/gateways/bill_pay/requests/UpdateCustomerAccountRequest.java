@@ -15,11 +15,7 @@ public class UpdateCustomerAccountRequest extends BillPayRequestBase {
     }
 
     public String build(Element envelope, Credentials credentials, RecurringPaymentMethod paymentMethod) throws UnsupportedTransactionException {
-        Element body = et.subElement(envelope, "soapenv:Body");
-        Element methodElement = et.subElement(body, "bil:UpdateCustomerAccount");
-        Element requestElement = et.subElement(methodElement, "bil:UpdateCustomerAccountRequest");
-
-        buildCredentials(requestElement, credentials);
+        Element requestElement = buildRequestElement(envelope, "bil:UpdateCustomerAccount", "bil:UpdateCustomerAccountRequest", credentials);
 
         String bankName = "";
         int expMonth = 0;
@@ -63,6 +59,6 @@ public class UpdateCustomerAccountRequest extends BillPayRequestBase {
         et.subElement(requestElement, "bdms:OldCustomerAccountName", paymentMethod.getId());
         et.subElement(requestElement, "bdms:PaymentMethod", getPaymentMethodType(paymentMethod.getPaymentMethod().getPaymentMethodType()));
 
-        return et.toString(envelope);
+        return buildEnvelope(requestElement);
     }
 }
@@ -11,17 +11,14 @@ public class UpdateSingleSignOnAccountRequest extends BillPayRequestBase {
     }
 
     public String build(Element envelope, Credentials credentials, Customer customer) {
-        Element body = et.subElement(envelope, "soapenv:Body");
-        Element methodElement = et.subElement(body, "bil:UpdateSingleSignOnAccount");
-        Element requestElement = et.subElement(methodElement, "bil:request");
+        Element requestElement = buildRequestElement(envelope, "bil:UpdateSingleSignOnAccount", "bil:request", credentials);
         
-        buildCredentials(requestElement, credentials);
         
         Element customerElement = et.subElement(requestElement, "bdms:Customer");
         buildCustomer(customerElement, customer);
 
         et.subElement(requestElement, "bdms:MerchantCustomerIDToUpdate", customer.getId());
 
-        return et.toString(envelope);
+        return buildEnvelope(requestElement);
     }
 }
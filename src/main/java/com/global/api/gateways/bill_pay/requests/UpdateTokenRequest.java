@@ -11,16 +11,12 @@ public class UpdateTokenRequest extends BillPayRequestBase {
     }
 
     public String build(Element envelope, CreditCardData card, Credentials credentials) {
-        Element body = et.subElement(envelope, "soapenv:Body");
-        Element methodElement = et.subElement(body, "bil:UpdateToken");
-        Element requestElement = et.subElement(methodElement, "bil:UpdateTokenRequest");
-
-        buildCredentials(requestElement, credentials);
+        Element requestElement = buildRequestElement(envelope, "bil:UpdateToken", "bil:UpdateTokenRequest", credentials);
 
         et.subElement(requestElement, "bdms:ExpirationMonth", card.getExpMonth());
         et.subElement(requestElement, "bdms:ExpirationYear", card.getExpYear());
         et.subElement(requestElement, "bdms:Token", card.getToken());
 
-        return et.toString(envelope);
+        return buildEnvelope(requestElement);
     }
 }
@@ -0,0 +1,397 @@
+package com.global.api.logging;
+
+import com.global.api.utils.DateCodec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes the entries a {@link RequestFileLogger} would, from a single background thread, so the
+ * thread sending a request never waits on the disk. Entries wait in a bounded queue; the writer
+ * keeps the file open and writes everything queued since its last write at once, optionally
+ * forcing it to the disk as well. When the queue is full an entry is either dropped or waits for
+ * room, depending on the {@link OverflowPolicy}.
+ *
+ * The file can be rotated once it reaches a size or has been written to for some time: it is
+ * renamed with the time of the rotation appended, as in requests.log.20210314-170509, and a new
+ * one is started. Rotation happens between entries, so a file may go past the size by one entry.
+ * When the file cannot be renamed it is kept, and rotation is tried again a minute later.
+ *
+ * {@link #close()} writes out the entries still queued and closes the file.
+ */
+public class AsyncRequestFileLogger extends PrettyLogger implements Closeable {
+    public enum OverflowPolicy {
+        /**
+         * Entries that do not fit in the queue are counted and dropped.
+         */
+        DROP,
+        /**
+         * The logging thread waits for room in the queue.
+         */
+        BLOCK
+    }
+
+    private static final DateCodec ROTATION_SUFFIX = DateCodec.of("yyyyMMdd-HHmmss");
+    private static final long IDLE_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long ROTATION_RETRY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final Path file;
+    private final OverflowPolicy overflowPolicy;
+    private final long maxFileSize;
+    private final long rotationInterval;
+    private final boolean forceOnWrite;
+
+    private final ConcurrentLinkedQueue<Entry> queue = new ConcurrentLinkedQueue<Entry>();
+    private final Semaphore room;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean writerWaiting;
+    private volatile boolean closed;
+
+    // only used by the writer thread
+    private final ByteBuffer buffer;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final StringBuilder text = new StringBuilder();
+    private FileChannel channel;
+    private int bufferedEntries;
+    private long fileSize;
+    private long fileOpened;
+    private long rotationRetry;
+
+    public AsyncRequestFileLogger(String fileName) {
+        this(builder(fileName));
+    }
+
+    private AsyncRequestFileLogger(Builder builder) {
+        file = Paths.get(builder.fileName);
+        overflowPolicy = builder.overflowPolicy;
+        maxFileSize = builder.maxFileSize;
+        rotationInterval = builder.rotationInterval;
+        forceOnWrite = builder.forceOnWrite;
+        room = new Semaphore(builder.queueCapacity);
+        buffer = ByteBuffer.allocateDirect(builder.bufferSize);
+
+        writer = new Thread(new Runnable() {
+            public void run() {
+                writeEntries();
+            }
+        }, "AsyncRequestFileLogger-" + file.getFileName());
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public static Builder builder(String fileName) {
+        return new Builder(fileName);
+    }
+
+    @Override
+    public void RequestSent(String request) {
+        enqueue(new Entry(false, request, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void ResponseReceived(String response) {
+        enqueue(new Entry(true, response, System.currentTimeMillis()));
+    }
+
+    /**
+     * The number of entries dropped, because the queue was full, the logger closed or the file
+     * could not be written.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes out the queued entries and closes the file; entries logged afterwards are dropped.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException exc) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(Entry entry) {
+        if (closed || !reserveRoom()) {
+            dropped.incrementAndGet();
+            return;
+        }
+
+        queue.offer(entry);
+        // the writer may have finished while the entry was on its way; then it is still queued
+        if (closed && queue.remove(entry)) {
+            room.release();
+            dropped.incrementAndGet();
+            return;
+        }
+        if (writerWaiting) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private boolean reserveRoom() {
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            return room.tryAcquire();
+        }
+        try {
+            room.acquire();
+            return true;
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void writeEntries() {
+        while (true) {
+            Entry entry = queue.poll();
+            if (entry != null) {
+                room.release();
+                write(entry);
+                continue;
+            }
+
+            // the queue is drained: everything taken since the last write goes out together
+            commit();
+            if (closed && queue.isEmpty()) {
+                break;
+            }
+
+            writerWaiting = true;
+            if (queue.isEmpty() && !closed) {
+                LockSupport.parkNanos(this, IDLE_WAIT_NANOS);
+            }
+            writerWaiting = false;
+
+            if (rotationDue(0)) {
+                rotate();
+            }
+        }
+        closeFile();
+    }
+
+    private void write(Entry entry) {
+        text.setLength(0);
+        String timestamp = String.valueOf(new Timestamp(entry.time));
+        if (entry.response) {
+            text.append(middleLine).append("\nTimestamp:     ").append(timestamp).append('\n')
+                    .append(entry.text).append('\n').append(endLine).append('\n');
+        } else {
+            text.append(initialLine).append("\nTimestamp:      ").append(timestamp).append('\n')
+                    .append(entry.text);
+        }
+        text.append('\n');
+
+        if (channel == null) {
+            try {
+                openFile();
+            } catch (IOException exc) {
+                dropped.incrementAndGet();
+                return;
+            }
+        }
+        if (rotationDue(buffer.position())) {
+            commit();
+            rotate();
+        }
+
+        CharBuffer chars = CharBuffer.wrap(text);
+        encoder.reset();
+        while (encoder.encode(chars, buffer, true) == CoderResult.OVERFLOW) {
+            commit();
+        }
+        while (encoder.flush(buffer) == CoderResult.OVERFLOW) {
+            commit();
+        }
+        bufferedEntries++;
+    }
+
+    private boolean rotationDue(int pending) {
+        if (channel == null || fileSize + pending == 0 || System.currentTimeMillis() < rotationRetry) {
+            return false;
+        }
+        return (maxFileSize > 0 && fileSize + pending >= maxFileSize)
+                || (rotationInterval > 0 && System.currentTimeMillis() - fileOpened >= rotationInterval);
+    }
+
+    /**
+     * Writes the buffered entries to the file in one go.
+     */
+    private void commit() {
+        if (buffer.position() == 0) {
+            return;
+        }
+
+        buffer.flip();
+        try {
+            if (channel == null) {
+                openFile();
+            }
+            while (buffer.hasRemaining()) {
+                fileSize += channel.write(buffer);
+            }
+            if (forceOnWrite) {
+                channel.force(false);
+            }
+        } catch (IOException exc) {
+            dropped.addAndGet(Math.max(bufferedEntries, 1));
+            closeFile();
+        } finally {
+            buffer.clear();
+            bufferedEntries = 0;
+        }
+    }
+
+    private void openFile() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileSize = channel.size();
+        fileOpened = System.currentTimeMillis();
+    }
+
+    private void rotate() {
+        closeFile();
+        try {
+            String suffix = ROTATION_SUFFIX.format(new Date());
+            Path rotated = file.resolveSibling(file.getFileName() + "." + suffix);
+            for (int i = 1; Files.exists(rotated); i++) {
+                rotated = file.resolveSibling(file.getFileName() + "." + suffix + "." + i);
+            }
+            Files.move(file, rotated);
+            rotationRetry = 0;
+        } catch (IOException exc) {
+            // the entries keep going to the current file until the next try
+            rotationRetry = System.currentTimeMillis() + ROTATION_RETRY_MILLIS;
+        }
+    }
+
+    private void closeFile() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException exc) {
+                // nothing left to write to it
+            }
+            channel = null;
+        }
+    }
+
+    private static final class Entry {
+        private final boolean response;
+        private final String text;
+        private final long time;
+
+        private Entry(boolean response, String text, long time) {
+            this.response = response;
+            this.text = text;
+            this.time = time;
+        }
+    }
+
+    public static final class Builder {
+        private final String fileName;
+        private int queueCapacity = 10000;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private long maxFileSize;
+        private long rotationInterval;
+        private boolean forceOnWrite;
+        private int bufferSize = 64 * 1024;
+
+        private Builder(String fileName) {
+            this.fileName = fileName;
+        }
+
+        /**
+         * The number of entries that can wait to be written, 10000 by default.
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            if (queueCapacity < 1) {
+                throw new IllegalArgumentException("The queue capacity must be at least 1.");
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * What happens to an entry when the queue is full, waiting for room by default.
+         */
+        public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * The size in bytes at which the file is rotated; not rotated on size by default.
+         */
+        public Builder maxFileSize(long maxFileSize) {
+            this.maxFileSize = maxFileSize;
+            return this;
+        }
+
+        /**
+         * How long a file is written to before it is rotated; not rotated on time by default.
+         */
+        public Builder rotationInterval(long duration, TimeUnit unit) {
+            this.rotationInterval = unit.toMillis(duration);
+            return this;
+        }
+
+        /**
+         * Whether every write is forced to the disk before the next one; off by default.
+         */
+        public Builder forceOnWrite(boolean forceOnWrite) {
+            this.forceOnWrite = forceOnWrite;
+            return this;
+        }
+
+        /**
+         * The number of bytes collected before they are written, 64KB by default.
+         */
+        public Builder bufferSize(int bufferSize) {
+            if (bufferSize < 16) {
+                throw new IllegalArgumentException("The buffer size must be at least 16 bytes.");
+            }
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        public AsyncRequestFileLogger build() {
+            return new AsyncRequestFileLogger(this);
+        }
+    }
+}
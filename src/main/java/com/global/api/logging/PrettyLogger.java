@@ -1,17 +1,11 @@
 package com.global.api.logging;
 
 import com.global.api.utils.StringUtils;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 
+import java.io.IOException;
 import java.sql.Timestamp;
 
 public abstract class PrettyLogger implements IRequestLogger {
-    private static final JsonParser parser = new JsonParser();
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
-
     public final String initialLine =  "================================================================================";
     public final String middleLine =   "--------------------------------------------------------------------------------";
     public final String endLine = initialLine;
@@ -24,17 +18,145 @@ public abstract class PrettyLogger implements IRequestLogger {
     }
 
     public static String toPrettyJson(String unPrettyJson) {
+        if (unPrettyJson == null) {
+            return null;
+        }
+
+        StringBuilder sb = new StringBuilder(unPrettyJson.length() + unPrettyJson.length() / 2);
         try {
-            String unPrettyTrimmedJson = unPrettyJson.trim();
+            writePrettyJson(unPrettyJson, sb);
+        } catch (IOException ex) {
+            return unPrettyJson;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes a json object indented two spaces per level, or the text as it is when it is not a
+     * json object. The object is indented as it is copied, without being parsed into a tree, so its
+     * strings, numbers and literals are written exactly as they were received. It is checked before
+     * anything is written, as what reaches out cannot be taken back if it turns out not to be json.
+     */
+    public static void writePrettyJson(CharSequence json, Appendable out) throws IOException {
+        int start = 0;
+        int end = json.length();
+        while (start < end && Character.isWhitespace(json.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(json.charAt(end - 1))) {
+            end--;
+        }
+
+        if (!isJsonObject(json, start, end)) {
+            out.append(json);
+            return;
+        }
 
-            if (unPrettyTrimmedJson.startsWith("{") && unPrettyTrimmedJson.endsWith("}")) {
-                JsonObject json = parser.parse(unPrettyTrimmedJson).getAsJsonObject();
-                return gson.toJson(json);
-            } else {
-                return unPrettyJson;
+        int depth = 0;
+        for (int i = start; i < end; i++) {
+            char c = json.charAt(i);
+            switch (c) {
+                case '"':
+                    int close = endOfString(json, i, end);
+                    out.append(json, i, close);
+                    i = close - 1;
+                    break;
+                case '{':
+                case '[':
+                    out.append(c);
+                    int next = nextToken(json, i + 1, end);
+                    if (json.charAt(next) == (c == '{' ? '}' : ']')) {
+                        out.append(json.charAt(next));
+                        i = next;
+                    } else {
+                        newLine(out, ++depth);
+                    }
+                    break;
+                case '}':
+                case ']':
+                    newLine(out, --depth);
+                    out.append(c);
+                    break;
+                case ',':
+                    out.append(c);
+                    newLine(out, depth);
+                    break;
+                case ':':
+                    out.append(": ");
+                    break;
+                default:
+                    if (!Character.isWhitespace(c)) {
+                        out.append(c);
+                    }
             }
-        } catch (Exception ex) {
-            return unPrettyJson;
+        }
+    }
+
+    /**
+     * Whether the text between start and end is a single json object: its strings are closed and
+     * its brackets and braces are balanced and match.
+     */
+    private static boolean isJsonObject(CharSequence json, int start, int end) {
+        if (end - start < 2 || json.charAt(start) != '{' || json.charAt(end - 1) != '}') {
+            return false;
+        }
+
+        boolean[] objects = new boolean[16];
+        int depth = 0;
+        for (int i = start; i < end; i++) {
+            char c = json.charAt(i);
+            if (c == '"') {
+                int close = endOfString(json, i, end);
+                if (close == end) {
+                    return false;
+                }
+                i = close - 1;
+            } else if (c == '{' || c == '[') {
+                if (depth == objects.length) {
+                    boolean[] grown = new boolean[depth * 2];
+                    System.arraycopy(objects, 0, grown, 0, depth);
+                    objects = grown;
+                }
+                objects[depth++] = c == '{';
+            } else if (c == '}' || c == ']') {
+                if (depth == 0 || objects[--depth] != (c == '}')) {
+                    return false;
+                }
+                if (depth == 0 && i != end - 1) {
+                    return false;
+                }
+            }
+        }
+        return depth == 0;
+    }
+
+    /**
+     * The position after the closing quote of the string starting at the given quote, or the end.
+     */
+    private static int endOfString(CharSequence json, int quote, int end) {
+        for (int i = quote + 1; i < end; i++) {
+            char c = json.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i + 1;
+            }
+        }
+        return end;
+    }
+
+    private static int nextToken(CharSequence json, int start, int end) {
+        int i = start;
+        while (i < end - 1 && Character.isWhitespace(json.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static void newLine(Appendable out, int depth) throws IOException {
+        out.append('\n');
+        for (int i = 0; i < depth; i++) {
+            out.append("  ");
         }
     }
 
@@ -13,8 +13,14 @@ import com.global.api.paymentMethods.CreditCardData;
 import com.global.api.paymentMethods.eCheck;
 import com.global.api.utils.EnumUtils;
 import com.global.api.utils.JsonDoc;
+import com.global.api.utils.JsonFields;
 import com.global.api.utils.StringUtils;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -40,11 +46,30 @@ public class GpApiMapping {
     private static final String MERCHANT_EDIT = "MERCHANT_EDIT";
     private static final String MERCHANT_EDIT_INITIATED = "MERCHANT_EDIT_INITIATED";
 
+    // nested objects read by each mapper; everything else is skipped while parsing
+    private static final JsonFields TRANSACTION_FIELDS = JsonFields.of(
+            "action", "card", "transactions", "currency_conversion", "risk_assessment.rules",
+            "payment_method.bnpl", "payment_method.card.provider", "payment_method.bank_transfer", "payment_method.apm");
+    private static final JsonFields TRANSACTION_SUMMARY_FIELDS = JsonFields.of(
+            "system", "risk_assessment.rules", "payment_method.card", "payment_method.digital_wallet",
+            "payment_method.bank_transfer", "payment_method.apm", "payment_method.bnpl");
+    private static final JsonFields DEPOSIT_SUMMARY_FIELDS = JsonFields.of(
+            "system", "sales", "refunds", "disputes.chargebacks", "disputes.reversals", "fees", "bank_transfer");
+    private static final JsonFields DISPUTE_SUMMARY_FIELDS = JsonFields.of(
+            "system", "payment_method.card", "documents");
+    private static final JsonFields SETTLEMENT_DISPUTE_SUMMARY_FIELDS = JsonFields.of(
+            "system", "payment_method.card", "documents", "transaction.payment_method.card");
+    private static final JsonFields PAGING_FIELDS = JsonFields.of("paging");
+
+    private interface SummaryMapper<T> {
+        T map(JsonDoc doc) throws GatewayException;
+    }
+
     public static Transaction mapResponse(String rawResponse) throws GatewayException {
         Transaction transaction = new Transaction();
 
         if (!StringUtils.isNullOrEmpty(rawResponse)) {
-            JsonDoc json = JsonDoc.parse(rawResponse);
+            JsonDoc json = JsonDoc.parse(rawResponse, TRANSACTION_FIELDS);
 
             transaction.setResponseCode(json.get("action").getString("result_code"));
             transaction.setResponseMessage(json.getString("status"));
@@ -451,36 +476,42 @@ public class GpApiMapping {
 
     @SuppressWarnings("unchecked")
     public static <T> T mapReportResponse(String rawResponse, ReportType reportType) throws ApiException {
-        JsonDoc json = JsonDoc.parse(rawResponse);
-
+        // the high volume reports are mapped straight from the reader, one record at a time
         switch (reportType) {
             case TransactionDetail:
-                return (T) mapTransactionSummary(json);
+                return (T) mapTransactionSummary(JsonDoc.parse(rawResponse, TRANSACTION_SUMMARY_FIELDS));
 
             case FindTransactionsPaged:
             case FindSettlementTransactionsPaged:
-                return (T) mapTransactions(json);
+                return (T) mapPagedResponse(rawResponse, "transactions", TRANSACTION_SUMMARY_FIELDS, new TransactionSummaryPaged(), GpApiMapping::mapTransactionSummary);
 
             case DepositDetail:
-                return (T) mapDepositSummary(json);
+                return (T) mapDepositSummary(JsonDoc.parse(rawResponse, DEPOSIT_SUMMARY_FIELDS));
 
             case FindDepositsPaged:
-                return (T) mapDeposits(json);
+                return (T) mapPagedResponse(rawResponse, "deposits", DEPOSIT_SUMMARY_FIELDS, new DepositSummaryPaged(), GpApiMapping::mapDepositSummary);
 
             case DisputeDetail:
-                return (T) mapDisputeSummary(json);
-
-            case DocumentDisputeDetail:
-                return (T) mapDisputeDocument(json) ;
+                return (T) mapDisputeSummary(JsonDoc.parse(rawResponse, DISPUTE_SUMMARY_FIELDS));
 
             case SettlementDisputeDetail:
-                return (T) mapSettlementDisputeSummary(json);
+                return (T) mapSettlementDisputeSummary(JsonDoc.parse(rawResponse, SETTLEMENT_DISPUTE_SUMMARY_FIELDS));
 
             case FindDisputesPaged:
-                return (T) mapDisputes(json);
+                return (T) mapPagedResponse(rawResponse, "disputes", DISPUTE_SUMMARY_FIELDS, new DisputeSummaryPaged(), GpApiMapping::mapDisputeSummary);
 
             case FindSettlementDisputesPaged:
-                return (T) mapSettlementDisputes(json);
+                return (T) mapPagedResponse(rawResponse, "disputes", SETTLEMENT_DISPUTE_SUMMARY_FIELDS, new DisputeSummaryPaged(), GpApiMapping::mapSettlementDisputeSummary);
+
+            default:
+                break;
+        }
+
+        JsonDoc json = JsonDoc.parse(rawResponse);
+
+        switch (reportType) {
+            case DocumentDisputeDetail:
+                return (T) mapDisputeDocument(json) ;
 
             case StoredPaymentMethodDetail:
                 return (T) mapStoredPaymentMethodSummary(json);
@@ -509,6 +540,43 @@ public class GpApiMapping {
         }
     }
 
+    /**
+     * Maps each element of the named list as soon as it has been read, so only one record of the
+     * page is held as a JsonDoc at any time. Paging info is collected from the remaining fields.
+     */
+    private static <T, R extends PagedResult<T>> R mapPagedResponse(String rawResponse, String listName, JsonFields fields, R result, SummaryMapper<T> mapper) throws GatewayException {
+        JsonDoc json = new JsonDoc();
+
+        try {
+            JsonReader reader = new JsonReader(new StringReader(rawResponse));
+            reader.setLenient(true);
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (name.equals(listName) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                            result.add(mapper.map(JsonDoc.parse(reader, null, fields)));
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                    reader.endArray();
+                } else {
+                    json.read(name, reader, PAGING_FIELDS);
+                }
+            }
+            reader.endObject();
+        } catch (IOException ex) {
+            throw new JsonSyntaxException(ex);
+        }
+
+        setPagingInfo(result, json);
+        return result;
+    }
+
     private static <T> void setPagingInfo(PagedResult<T> result, JsonDoc json) {
         if (json.getInt("total_record_count") != null) {
             result.setTotalRecordCount(json.getInt("total_record_count"));
@@ -99,6 +99,18 @@ public class NetworkMessage {
         }
         return null;
     }
+    public Date getDate(DataElementId id, DateCodec codec) {
+        String value = getString(id);
+        if(!StringUtils.isNullOrEmpty(value)) {
+            try {
+                return codec.parse(value);
+            }
+            catch(ParseException e) {
+                return null;
+            }
+        }
+        return null;
+    }
     public String getString(DataElementId id) {
         if(elements.containsKey(id)) {
             Iso8583Element element = elements.get(id);
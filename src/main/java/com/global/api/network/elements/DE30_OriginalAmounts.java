@@ -33,8 +33,8 @@ public class DE30_OriginalAmounts implements IDataElement<DE30_OriginalAmounts>
     }
 
     public byte[] toByteArray() {
-        String rvalue = StringUtils.padLeft(StringUtils.toNumeric(originalTransactionAmount), 12, '0')
-                .concat(StringUtils.padLeft(StringUtils.toNumeric(originalReconciliationAmount), 12, '0'));
+        String rvalue = StringUtils.toNumeric(originalTransactionAmount, 12)
+                .concat(StringUtils.toNumeric(originalReconciliationAmount, 12));
         return rvalue.getBytes();
     }
 
@@ -12,6 +12,7 @@ import com.global.api.network.elements.DE63_ProductDataEntry;
 import com.global.api.network.enums.*;
 import com.global.api.paymentMethods.*;
 import com.global.api.serviceConfigs.AcceptorConfig;
+import com.global.api.utils.DateCodec;
 import com.global.api.utils.EmvData;
 import com.global.api.utils.EmvUtils;
 import com.global.api.utils.NtsUtils;
@@ -21,7 +22,6 @@ import org.joda.time.DateTimeZone;
 import java.math.BigDecimal;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.text.SimpleDateFormat;
 import java.util.List;
 
 public class NTSUserData {
@@ -482,11 +482,9 @@ public class NTSUserData {
         sb.append(StringUtils.padLeft(String.valueOf(ntsTag16.getPumpNumber()), 2, '0')); // Pump Number
         sb.append(StringUtils.padLeft(String.valueOf(ntsTag16.getWorkstationId()), 2, '0')); // Workstation Id
         if(ntsTag16.getTimeStamp()!=null) {
-            sb.append(new SimpleDateFormat("MMddyy").format(ntsTag16.getTimeStamp()));
-            sb.append(new SimpleDateFormat("HHmmss").format(ntsTag16.getTimeStamp()));
+            sb.append(DateCodec.of("MMddyyHHmmss").format(ntsTag16.getTimeStamp()));
         }else{
-            sb.append(DateTime.now(DateTimeZone.UTC).toString("MMddyy"));
-            sb.append(DateTime.now(DateTimeZone.UTC).toString("HHmmss"));
+            sb.append(DateCodec.of("MMddyyHHmmss").format(DateTime.now(DateTimeZone.UTC)));
         }
         sb.append(ntsTag16.getServiceCode().getValue()); // Service Code
         sb.append(ntsTag16.getSecurityData().getValue()); // Security Data
@@ -693,7 +691,7 @@ public class NTSUserData {
         StringBuilder sb = new StringBuilder();
         NtsRequestToBalanceData data = ((ManagementBuilder) builder).getNtsRequestsToBalanceData();
         sb.append(StringUtils.padLeft(data.getDaySequenceNumber(), 3, '0'));
-        sb.append(StringUtils.padLeft(StringUtils.toNumeric(data.getPdlBatchDiscount(), 7), 7, '0'));
+        sb.append(StringUtils.toNumeric(data.getPdlBatchDiscount(), 7));
         sb.append(StringUtils.padRight(data.getVendorSoftwareNumber(), 30, ' '));
         return sb.toString();
     }
@@ -1163,8 +1161,7 @@ public class NTSUserData {
             sb.append(StringUtils.padLeft(reference.getBatchNumber(), 2, '0'));
             sb.append(StringUtils.padLeft(reference.getSequenceNumber(), 3, '0'));
         }
-        sb.append(DateTime.now().toString("yyMMdd"));
-        sb.append(DateTime.now().toString("HHmmss"));
+        sb.append(DateCodec.of("yyMMddHHmmss").format(DateTime.now()));
         return sb;
     }
 
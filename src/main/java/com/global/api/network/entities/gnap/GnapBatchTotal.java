@@ -27,15 +27,15 @@ public class GnapBatchTotal {
         sb.append(StringUtils.padLeft(sequenceNumber.getBatchCounter(),3,'0'));
         sb.append(StringUtils.padLeft(totalSalesTransaction,4,'0'));
         sb.append(signTotalSale.getValue());
-        sb.append(StringUtils.padLeft(StringUtils.toNumeric(totalSaleAmount),9,'0'));
+        sb.append(StringUtils.toNumeric(totalSaleAmount, 9));
 
         sb.append(StringUtils.padLeft(totalRefundTransaction,4,'0'));
         sb.append(signTotalRefund.getValue());
-        sb.append(StringUtils.padLeft(StringUtils.toNumeric(totalRefundAmount),9,'0'));
+        sb.append(StringUtils.toNumeric(totalRefundAmount, 9));
 
         sb.append(StringUtils.padLeft(totalAdjustmentTransaction,4,'0'));
         sb.append(signTotalAdjustment.getValue());
-        sb.append(StringUtils.padLeft(StringUtils.toNumeric(totalAdjustmentAmount),9,'0'));
+        sb.append(StringUtils.toNumeric(totalAdjustmentAmount, 9));
         return sb.toString();
     }
 }
@@ -3,6 +3,7 @@ package com.global.api.network.entities.gnap;
 import com.global.api.network.enums.gnap.MessageSubType;
 import com.global.api.network.enums.gnap.MessageType;
 import com.global.api.network.enums.gnap.TransactionCode;
+import com.global.api.utils.DateCodec;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,9 +20,9 @@ public class GnapMessageHeader {
     private String transmissionNumber;
     private String terminalId;
     @Builder.Default
-    private String currentDate= DateTime.now().toString("yyMMdd");
+    private String currentDate= DateCodec.of("yyMMdd").format(DateTime.now());
     @Builder.Default
-    private String currentTime=DateTime.now().toString("hhmmss");
+    private String currentTime=DateCodec.of("hhmmss").format(DateTime.now());
     private MessageType messageType;
     private MessageSubType messageSubType;
     private TransactionCode transactionCode;
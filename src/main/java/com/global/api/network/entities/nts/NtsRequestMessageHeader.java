@@ -2,6 +2,7 @@ package com.global.api.network.entities.nts;
 
 import com.global.api.entities.enums.NtsMessageCode;
 import com.global.api.entities.enums.PinIndicator;
+import com.global.api.utils.DateCodec;
 import lombok.Getter;
 import lombok.Setter;
 import org.joda.time.DateTime;
@@ -19,10 +20,10 @@ public class NtsRequestMessageHeader {
     private NtsMessageCode ntsMessageCode;
     @Getter
     @Setter
-    private String transactionDate = DateTime.now(DateTimeZone.UTC).toString("MMdd");
+    private String transactionDate = DateCodec.of("MMdd").format(DateTime.now(DateTimeZone.UTC));
     @Getter
     @Setter
-    private String transactionTime = DateTime.now(DateTimeZone.UTC).toString("HHmmss");
+    private String transactionTime = DateCodec.of("HHmmss").format(DateTime.now(DateTimeZone.UTC));
     @Getter
     @Setter
     private int priorMessageResponseTime;
@@ -2,6 +2,7 @@ package com.global.api.network.entities.nts;
 
 
 import com.global.api.entities.enums.Target;
+import com.global.api.utils.DateCodec;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,7 +15,7 @@ public class POSSiteConfigurationData {
     private Target target = Target.NTS;
     private String messageVersion;
     private String transactionDate = DateTime.now().toString("YYYYMMdd");
-    private String transactionTime = DateTime.now().toString("hhmmss");
+    private String transactionTime = DateCodec.of("hhmmss").format(DateTime.now());
     private String companyName;
     private String heartlandCompanyId;
     private String merchantFranchiseName;
@@ -1,6 +1,9 @@
 package com.global.api.services;
 
+import com.global.api.builders.PagedReportIterator;
+import com.global.api.builders.ParallelReportFetcher;
 import com.global.api.builders.ReportBuilder;
+import com.global.api.builders.ReportExporter;
 import com.global.api.builders.TransactionReportBuilder;
 import com.global.api.builders.UserReportBuilder;
 import com.global.api.entities.ActivityReport;
@@ -9,8 +12,12 @@ import com.global.api.entities.TransactionSummary;
 import com.global.api.entities.TransactionSummaryList;
 import com.global.api.entities.enums.ReportType;
 import com.global.api.entities.enums.TransactionModifier;
+import com.global.api.entities.exceptions.ApiException;
+import com.global.api.entities.gpApi.PagedResult;
 import com.global.api.entities.reporting.*;
 
+import java.util.stream.Stream;
+
 public class ReportingService {
 
     public static TransactionReportBuilder<TransactionSummaryList> findTransactions() {
@@ -119,4 +126,45 @@ public class ReportingService {
                 .withPaging(page, pageSize);
     }
 
+    /**
+     * Every record of a paged report from the builder's page onwards, the pages being requested as
+     * they are read. See PagedReportIterator.
+     */
+    public static <T> PagedReportIterator<T> iterate(ReportBuilder<? extends PagedResult<T>> builder) throws ApiException {
+        return iterate(builder, "default");
+    }
+    public static <T> PagedReportIterator<T> iterate(ReportBuilder<? extends PagedResult<T>> builder, String configName) throws ApiException {
+        return new PagedReportIterator<>(builder, configName);
+    }
+
+    public static <T> Stream<T> stream(ReportBuilder<? extends PagedResult<T>> builder) throws ApiException {
+        return stream(builder, "default");
+    }
+    public static <T> Stream<T> stream(ReportBuilder<? extends PagedResult<T>> builder, String configName) throws ApiException {
+        return iterate(builder, configName).stream();
+    }
+
+    /**
+     * Requests the pages of a paged report concurrently, merging them in order. See
+     * ParallelReportFetcher.
+     */
+    public static <TResult extends PagedResult<T>, T> ParallelReportFetcher<TResult, T> fetchAllPages(TransactionReportBuilder<TResult> builder) {
+        return new ParallelReportFetcher<>(builder);
+    }
+
+    /**
+     * Writes the records of a paged report to a file. See ReportExporter.
+     */
+    public static <T> ReportExporter<T> export(ReportBuilder<? extends PagedResult<T>> builder) {
+        return ReportExporter.of(builder);
+    }
+
+    /**
+     * Writes the transactions of a report the gateway streams, such as Portico's FindTransactions
+     * and Activity, to a file. See ReportExporter.
+     */
+    public static ReportExporter<TransactionSummary> exportTransactions(TransactionReportBuilder<?> builder) {
+        return ReportExporter.ofStreamed(builder);
+    }
+
 }
\ No newline at end of file
@@ -24,6 +24,7 @@ public class ConnectionConfig extends Configuration implements ITerminalConfigur
     private int port;
     private DeviceType deviceType;
     private IRequestIdProvider requestIdProvider;
+    private int maxConcurrentRequests = 1;
 
     public void setConnectionMode(ConnectionModes connectionModes) {
         this.connectionMode = connectionModes;
@@ -52,6 +53,9 @@ public class ConnectionConfig extends Configuration implements ITerminalConfigur
     public void setRequestIdProvider(IRequestIdProvider requestIdProvider) {
         this.requestIdProvider = requestIdProvider;
     }
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
 
     public ConnectionConfig(){
         timeout = 30000;
@@ -78,6 +82,8 @@ public class ConnectionConfig extends Configuration implements ITerminalConfigur
                 throw new ConfigurationException("IpAddress is required for TCP or HTTP communication modes.");
             if(port == 0)
                 throw new ConfigurationException("Port is required for TCP or HTTP communication modes.");
+            if(maxConcurrentRequests < 1)
+                throw new ConfigurationException("MaxConcurrentRequests must be at least one.");
         }
     }
 }
@@ -0,0 +1,28 @@
+package com.global.api.terminals;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@Accessors(chain = true)
+@Getter
+@Setter
+public class LineItem {
+    private String leftText;
+    private String rightText;
+    private String runningLeftText;
+    private String runningRightText;
+
+    public LineItem() { }
+
+    public LineItem(String leftText, String rightText) {
+        this.leftText = leftText;
+        this.rightText = rightText;
+    }
+
+    public LineItem(String leftText, String rightText, String runningLeftText, String runningRightText) {
+        this(leftText, rightText);
+        this.runningLeftText = runningLeftText;
+        this.runningRightText = runningRightText;
+    }
+}
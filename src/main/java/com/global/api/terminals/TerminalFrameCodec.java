@@ -0,0 +1,266 @@
+package com.global.api.terminals;
+
+import com.global.api.entities.enums.ControlCodes;
+import com.global.api.entities.enums.IByteConstant;
+import com.global.api.entities.enums.IStringConstant;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared STX/ETX/LRC framing for the PAX, UPA and HPA device interfaces.
+ *
+ * Frames are written straight into a single pre-sized buffer with the LRC accumulated as the
+ * bytes are copied, and responses are handed back as {@link ByteBuffer} views over the received
+ * bytes rather than copies.
+ */
+public final class TerminalFrameCodec {
+    private static final byte STX = ControlCodes.STX.getByte();
+    private static final byte ETX = ControlCodes.ETX.getByte();
+    private static final byte LF = ControlCodes.LF.getByte();
+    private static final byte FS = ControlCodes.FS.getByte();
+
+    private TerminalFrameCodec() { }
+
+    /**
+     * Frames the segments as STX [segments] ETX LRC. Segments may be {@code byte[]},
+     * {@link ByteBuffer} or {@link IByteConstant} values.
+     */
+    public static byte[] encode(Object... segments) {
+        int length = 3;
+        for(Object segment: segments) {
+            length += segmentLength(segment);
+        }
+
+        ByteBuffer frame = ByteBuffer.allocate(length);
+        frame.put(STX);
+
+        byte lrc = 0;
+        for(Object segment: segments) {
+            lrc = putSegment(frame, segment, lrc);
+        }
+
+        frame.put(ETX);
+        lrc ^= ETX;
+        frame.put(lrc);
+        return frame.array();
+    }
+
+    /**
+     * Frames a PAX request as STX [messageId] FS [version] FS [message] ETX LRC.
+     */
+    public static byte[] encodePax(IStringConstant messageId, byte[] version, byte[] message) {
+        return encode(messageId.getBytes(), ControlCodes.FS, version, ControlCodes.FS, message);
+    }
+
+    /**
+     * Prefixes the message with its two byte big-endian length as expected by HPA over TCP/IP.
+     */
+    public static byte[] encodeLengthPrefixed(byte[] message) {
+        ByteBuffer frame = ByteBuffer.allocate(message.length + 2);
+        frame.putShort((short) message.length);
+        frame.put(message);
+        return frame.array();
+    }
+
+    /**
+     * Frames a UPA JSON body as STX LF [body] LF ETX LF.
+     */
+    public static byte[] encodeJson(byte[] body) {
+        ByteBuffer frame = ByteBuffer.allocate(body.length + 5);
+        frame.put(STX).put(LF);
+        frame.put(body);
+        frame.put(LF).put(ETX).put(LF);
+        return frame.array();
+    }
+
+    /**
+     * Unwraps a UPA STX LF [body] LF ETX LF packet, returning a view over the body. Line feeds
+     * inside the body are dropped by compacting the packet in place.
+     */
+    public static ByteBuffer decodeJson(ByteBuffer packet) throws IOException {
+        int start = packet.position();
+        int limit = packet.limit();
+        if(limit - start < 2) {
+            return ByteBuffer.allocate(0);
+        }
+
+        if(packet.get(start) != STX && packet.get(start + 1) != LF) {
+            throw new IOException("The bytes of the start response packet are not the expected bytes.");
+        }
+
+        int write = start + 2;
+        for(int read = start + 2; read < limit; read++) {
+            byte b = packet.get(read);
+            if(b == ETX) {
+                byte after = read + 1 < limit ? packet.get(read + 1) : 0;
+                if((packet.get(read - 1) & after) != LF) {
+                    throw new IOException("The bytes of the end response packet are not the expected bytes.");
+                }
+                break;
+            }
+            else if(b != LF) {
+                if(write != read) {
+                    packet.put(write, b);
+                }
+                write++;
+            }
+        }
+
+        ByteBuffer body = packet.duplicate();
+        body.limit(write);
+        body.position(start + 2);
+        return body.slice();
+    }
+
+    /**
+     * Reads the two byte big-endian length prefix used by HPA, or -1 if fewer than two bytes remain.
+     */
+    public static int decodeLength(ByteBuffer header) {
+        if(header.remaining() < 2) {
+            return -1;
+        }
+        return header.getShort() & 0xFFFF;
+    }
+
+    /**
+     * XOR of every byte following the leading STX up to and including the ETX. If the frame already
+     * carries its LRC as the final byte, that byte is excluded.
+     */
+    public static byte calculateLRC(ByteBuffer frame) {
+        int start = frame.position();
+        int end = frame.limit();
+        if(end > start && frame.get(end - 1) != ETX) {
+            end--;
+        }
+
+        byte lrc = 0;
+        for(int i = start + 1; i < end; i++) {
+            lrc ^= frame.get(i);
+        }
+        return lrc;
+    }
+
+    public static byte calculateLRC(byte[] frame) {
+        return calculateLRC(ByteBuffer.wrap(frame));
+    }
+
+    /**
+     * Verifies the trailing LRC byte of a complete STX ... ETX LRC frame.
+     */
+    public static boolean checkLRC(ByteBuffer frame) {
+        int start = frame.position();
+        int end = frame.limit() - 1;
+        if(end <= start) {
+            return false;
+        }
+
+        byte lrc = 0;
+        for(int i = start + 1; i < end; i++) {
+            lrc ^= frame.get(i);
+        }
+        return frame.get(end) == lrc;
+    }
+
+    public static boolean checkLRC(byte[] frame) {
+        return checkLRC(ByteBuffer.wrap(frame));
+    }
+
+    /**
+     * Returns a view of the frame contents between STX and ETX, without the LRC.
+     */
+    public static ByteBuffer payload(ByteBuffer frame) {
+        ByteBuffer view = frame.duplicate();
+        int start = view.position();
+        if(view.hasRemaining() && view.get(start) == STX) {
+            start++;
+        }
+
+        int end = start;
+        while(end < view.limit() && view.get(end) != ETX) {
+            end++;
+        }
+
+        view.limit(end);
+        view.position(start);
+        return view.slice();
+    }
+
+    /**
+     * Splits the buffer on FS into views over the original bytes.
+     */
+    public static List<ByteBuffer> split(ByteBuffer buffer) {
+        return split(buffer, FS);
+    }
+
+    /**
+     * Splits the buffer on the given separator (FS, US, ...) into views over the original bytes.
+     * Adjacent separators produce empty fields.
+     */
+    public static List<ByteBuffer> split(ByteBuffer buffer, byte separator) {
+        List<ByteBuffer> fields = new ArrayList<ByteBuffer>();
+
+        int fieldStart = buffer.position();
+        int limit = buffer.limit();
+        for(int i = fieldStart; i <= limit; i++) {
+            if(i == limit || buffer.get(i) == separator) {
+                ByteBuffer field = buffer.duplicate();
+                field.limit(i);
+                field.position(fieldStart);
+                fields.add(field.slice());
+                fieldStart = i + 1;
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Returns the next field up to the separator as a view and advances the buffer past the
+     * separator.
+     */
+    public static ByteBuffer nextField(ByteBuffer buffer, byte separator) {
+        int start = buffer.position();
+        int end = start;
+        while(end < buffer.limit() && buffer.get(end) != separator && buffer.get(end) != ETX) {
+            end++;
+        }
+
+        ByteBuffer field = buffer.duplicate();
+        field.limit(end);
+        field.position(start);
+
+        buffer.position(end < buffer.limit() && buffer.get(end) == separator ? end + 1 : end);
+        return field.slice();
+    }
+
+    private static int segmentLength(Object segment) {
+        if(segment instanceof byte[]) {
+            return ((byte[]) segment).length;
+        }
+        else if(segment instanceof ByteBuffer) {
+            return ((ByteBuffer) segment).remaining();
+        }
+        else if(segment instanceof IByteConstant) {
+            return 1;
+        }
+        throw new IllegalArgumentException(String.format("Unsupported frame segment: %s", segment));
+    }
+
+    private static byte putSegment(ByteBuffer frame, Object segment, byte lrc) {
+        if(segment instanceof IByteConstant) {
+            byte b = ((IByteConstant) segment).getByte();
+            frame.put(b);
+            return (byte) (lrc ^ b);
+        }
+
+        ByteBuffer source = segment instanceof byte[] ? ByteBuffer.wrap((byte[]) segment) : ((ByteBuffer) segment).duplicate();
+        int start = frame.position();
+        frame.put(source);
+        for(int i = start; i < frame.position(); i++) {
+            lrc ^= frame.get(i);
+        }
+        return lrc;
+    }
+}
@@ -6,7 +6,6 @@ import com.global.api.entities.enums.*;
 import com.global.api.terminals.abstractions.IRequestSubGroup;
 import com.global.api.terminals.upa.Entities.Enums.UpaMessageId;
 import com.global.api.utils.JsonDoc;
-import com.global.api.utils.MessageWriter;
 
 public class TerminalUtilities {
     private static final String version = "1.35";
@@ -39,29 +38,7 @@ public class TerminalUtilities {
     }
 
     private static DeviceMessage buildMessage(PaxMsgId messageId, String message){
-        MessageWriter buffer = new MessageWriter();
-
-        // Begin Message
-        buffer.add(ControlCodes.STX);
-
-        // Add Message Id
-        buffer.add(messageId);
-        buffer.add(ControlCodes.FS);
-
-        // Add Version
-        buffer.addRange(version.getBytes());
-        buffer.add(ControlCodes.FS);
-
-        // Add Message
-        buffer.addRange(message.getBytes());
-
-        // End the message
-        buffer.add(ControlCodes.ETX);
-
-        byte lrc = calculateLRC(buffer.toArray());
-        buffer.add(lrc);
-
-        return new DeviceMessage(buffer.toArray());
+        return new DeviceMessage(TerminalFrameCodec.encodePax(messageId, version.getBytes(), message.getBytes()));
     }
 
     public static DeviceMessage buildMessage(UpaMessageId messageType, String requestId, JsonDoc body) {
@@ -83,28 +60,9 @@ public class TerminalUtilities {
     }
 
     public static DeviceMessage buildRequest(String message, MessageFormat format) {
-        MessageWriter buffer = new MessageWriter();
-
-        // beginning sentinel
         if(format.equals(MessageFormat.Visa2nd))
-            buffer.add(ControlCodes.STX);
-        else {
-            buffer.add((byte)(message.length() >>> 8));
-            buffer.add((byte)message.length());
-        }
-
-        // put message
-        buffer.addRange(message.getBytes());
-
-        // ending sentinel
-        if(format.equals(MessageFormat.Visa2nd)) {
-            buffer.add(ControlCodes.ETX);
-
-            byte lrc = calculateLRC(buffer.toArray());
-            buffer.add(lrc);
-        }
-
-        return new DeviceMessage(buffer.toArray());
+            return new DeviceMessage(TerminalFrameCodec.encode(message.getBytes()));
+        return new DeviceMessage(TerminalFrameCodec.encodeLengthPrefixed(message.getBytes()));
     }
 
     public static DeviceMessage buildRequest(PaxMsgId messageId, Object... elements){
@@ -113,55 +71,18 @@ public class TerminalUtilities {
     }
 
     public static DeviceMessage buildRequest(byte[] message) {
-        MessageWriter buffer = new MessageWriter();
-
-        // beginning sentinel
-        buffer.add(ControlCodes.STX);
-
-        // put message
-        buffer.addRange(message);
-
-        // ending sentinel
-        buffer.add(ControlCodes.ETX);
-
-        byte lrc = calculateLRC(buffer.toArray());
-        buffer.add(lrc);
-
-        return new DeviceMessage(buffer.toArray());
+        return new DeviceMessage(TerminalFrameCodec.encode(message));
     }
 
     public static byte calculateLRC(byte[] buffer) {
-        int length = buffer.length;
-        if(buffer[buffer.length - 1] != ControlCodes.ETX.getByte()) {
-            length--;
-        }
-
-        byte lrc = (byte)0x00;
-        for (int i = 1; i < length; i++) {
-            lrc = (byte) (lrc ^ buffer[i]);
-        }
-        return lrc;
+        return TerminalFrameCodec.calculateLRC(buffer);
     }
 
     public static boolean checkLRC(String message) {
-        byte[] messageBuffer = message.getBytes();
-
-        byte expected = messageBuffer[messageBuffer.length - 1];
-        byte actual = calculateLRC(message.substring(0, message.length() - 1).getBytes());
-
-        return (expected == actual);
+        return TerminalFrameCodec.checkLRC(message.getBytes());
     }
 
     public static DeviceMessage compileMessage(String body) {
-        MessageWriter buffer = new MessageWriter();
-
-        buffer.add(ControlCodes.STX.getByte());
-        buffer.add(ControlCodes.LF.getByte());
-        buffer.addRange(body.getBytes());
-        buffer.add(ControlCodes.LF.getByte());
-        buffer.add(ControlCodes.ETX.getByte());
-        buffer.add(ControlCodes.LF.getByte());
-
-        return new DeviceMessage(buffer.toArray());
+        return new DeviceMessage(TerminalFrameCodec.encodeJson(body.getBytes()));
     }
 }
@@ -1,29 +1,36 @@
 package com.global.api.terminals.hpa;
 
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.LinkedList;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
-import com.global.api.utils.IOUtils;
-import com.global.api.utils.StringUtils;
-import org.apache.commons.codec.binary.Hex;
 import com.global.api.entities.enums.SendFileType;
 import com.global.api.entities.exceptions.ApiException;
 
-class HpaFileUpload {
-    private String hexData;
+/**
+ * Read-only view of a file being sent to HPA devices. The file stays open and each part is read
+ * and hex encoded on demand, so the same upload can be streamed to several devices at a time
+ * without holding an encoded copy of the file. {@link #close()} closes the file.
+ */
+public class HpaFileUpload implements Closeable {
+    private static final char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
+
+    private RandomAccessFile input;
+    private FileChannel channel;
     private String fileName;
     private int fileSize;
 
-    String getFileName() {
+    public String getFileName() {
         return fileName;
     }
-    int getFileSize() {
+    public int getFileSize() {
         return fileSize;
     }
 
-    HpaFileUpload(SendFileType imageType, String filePath) throws ApiException {
+    public HpaFileUpload(SendFileType imageType, String filePath) throws ApiException {
         //File name
         File file = new File(filePath);
         fileName = file.getName();
@@ -43,31 +50,73 @@ class HpaFileUpload {
                 throw new ApiException("Unknown Send file type");
             }
         }
-        
+
         //File size
-        byte[] buffer;
-        try(FileInputStream input= new FileInputStream(file);) {
-            buffer = new byte[input.available()];
-            int bytesRead = input.read(buffer, 0, buffer.length);
+        try {
+            input = new RandomAccessFile(file, "r");
+            channel = input.getChannel();
+            fileSize = (int) channel.size();
         } catch (IOException e) {
+            close();
+            throw new ApiException("Buffer should not be empty.");
+        }
+        if (fileSize == 0) {
+            close();
             throw new ApiException("Buffer should not be empty.");
         }
-        hexData = Hex.encodeHexString(buffer).toUpperCase();
-        fileSize = buffer.length;
     }
-    
-    LinkedList<String> getFileParts(int maxDataLength) {
-        if (StringUtils.isNullOrEmpty(hexData)) {
-            return null;
+
+    /**
+     * Number of parts needed when each part carries at most maxDataLength hex characters.
+     */
+    public int getPartCount(int maxDataLength) {
+        int hexLength = fileSize * 2;
+        return (hexLength + maxDataLength - 1) / maxDataLength;
+    }
+
+    /**
+     * Number of file bytes covered by parts up to and including the given index.
+     */
+    public int getBytesSent(int partIndex, int maxDataLength) {
+        long hexSent = Math.min((long) (partIndex + 1) * maxDataLength, fileSize * 2L);
+        return (int) ((hexSent + 1) / 2);
+    }
+
+    /**
+     * Hex encodes the given part. Parts split the hex string every maxDataLength characters, which
+     * may fall in the middle of a byte.
+     */
+    public String getFilePart(int partIndex, int maxDataLength) throws ApiException {
+        int start = partIndex * maxDataLength;
+        int end = Math.min(start + maxDataLength, fileSize * 2);
+
+        // positional reads leave the channel's position alone, so parts can be read concurrently
+        ByteBuffer data = ByteBuffer.allocate(((end - 1) >> 1) - (start >> 1) + 1);
+        try {
+            while (data.hasRemaining()) {
+                if (channel.read(data, (start >> 1) + data.position()) < 0) {
+                    throw new ApiException("The file ended before all of its parts were sent.");
+                }
+            }
+        } catch (IOException e) {
+            throw new ApiException("Failed to read the file being sent.", e);
         }
 
-        LinkedList<String> fileParts = new LinkedList<String>();
-        for (int i = 0; i < hexData.length(); i += maxDataLength) {
-            int remainingBytes = hexData.length() - i;
-            int endIndex = i + Math.min(maxDataLength, remainingBytes);
+        char[] part = new char[end - start];
+        for (int i = start; i < end; i++) {
+            int b = data.get((i >> 1) - (start >> 1)) & 0xFF;
+            part[i - start] = HEX_CHARS[(i & 1) == 0 ? b >>> 4 : b & 0x0F];
+        }
+        return new String(part);
+    }
 
-            fileParts.add(hexData.substring(i, endIndex));
+    public void close() {
+        try {
+            if (input != null) {
+                input.close();
+            }
+        } catch (IOException e) {
+            // nothing was written to it
         }
-        return fileParts;
     }
 }
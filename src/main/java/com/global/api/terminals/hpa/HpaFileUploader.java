@@ -0,0 +1,90 @@
+package com.global.api.terminals.hpa;
+
+import com.global.api.entities.enums.SendFileType;
+import com.global.api.entities.exceptions.ApiException;
+import com.global.api.terminals.abstractions.IDeviceInterface;
+import com.global.api.terminals.abstractions.IDeviceResponse;
+import com.global.api.terminals.messaging.IFileUploadProgressInterface;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Sends the same file to several devices at once. The file is opened a single time and shared
+ * read-only between the HPA uploads. Other devices send the file themselves, so their progress is
+ * reported once, when their upload is done.
+ */
+public class HpaFileUploader {
+    private HpaFileUploader() { }
+
+    public static Map<IDeviceInterface, IDeviceResponse> sendFile(List<? extends IDeviceInterface> devices, SendFileType imageType, String filePath, int maxParallelUploads) throws ApiException {
+        return sendFile(devices, imageType, filePath, maxParallelUploads, null);
+    }
+
+    public static Map<IDeviceInterface, IDeviceResponse> sendFile(List<? extends IDeviceInterface> devices, SendFileType imageType, final String filePath, int maxParallelUploads, final IFileUploadProgressInterface progress) throws ApiException {
+        if(filePath == null) {
+            throw new ApiException("Filename is required for SendFile");
+        }
+        if(maxParallelUploads < 1) {
+            throw new ApiException("At least one parallel upload is required.");
+        }
+
+        final HpaFileUpload fileUpload = new HpaFileUpload(imageType, filePath);
+        final SendFileType fileType = imageType;
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxParallelUploads, Math.max(1, devices.size())));
+        try {
+            List<Future<IDeviceResponse>> uploads = new ArrayList<Future<IDeviceResponse>>();
+            for(final IDeviceInterface device: devices) {
+                uploads.add(executor.submit(new Callable<IDeviceResponse>() {
+                    public IDeviceResponse call() throws Exception {
+                        if(device instanceof HpaInterface) {
+                            return ((HpaInterface) device).sendFile(fileUpload, progress);
+                        }
+                        IDeviceResponse response = device.sendFile(fileType, filePath);
+                        if(progress != null) {
+                            progress.uploadProgress(device, fileUpload.getFileSize(), fileUpload.getFileSize());
+                        }
+                        return response;
+                    }
+                }));
+            }
+
+            Map<IDeviceInterface, IDeviceResponse> responses = new LinkedHashMap<IDeviceInterface, IDeviceResponse>();
+            Exception firstError = null;
+            int failures = 0;
+            for(int i = 0; i < uploads.size(); i++) {
+                try {
+                    responses.put(devices.get(i), uploads.get(i).get());
+                }
+                catch(ExecutionException e) {
+                    failures++;
+                    if(firstError == null) {
+                        firstError = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    }
+                }
+            }
+
+            if(failures > 0) {
+                throw new ApiException(String.format("Failed to upload file to %s of %s devices.", failures, devices.size()), firstError);
+            }
+            return responses;
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Interrupted while uploading file to devices.", e);
+        }
+        finally {
+            executor.shutdownNow();
+            // uploads still running after an interrupt fail on the closed file
+            fileUpload.close();
+        }
+    }
+}
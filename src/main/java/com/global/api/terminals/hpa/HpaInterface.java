@@ -11,6 +11,7 @@ import com.global.api.entities.enums.SendFileType;
 import com.global.api.entities.enums.TransactionType;
 import com.global.api.entities.exceptions.ApiException;
 import com.global.api.entities.exceptions.UnsupportedTransactionException;
+import com.global.api.terminals.LineItem;
 import com.global.api.terminals.abstractions.*;
 import com.global.api.terminals.builders.TerminalAuthBuilder;
 import com.global.api.terminals.builders.TerminalManageBuilder;
@@ -22,6 +23,7 @@ import com.global.api.terminals.hpa.responses.EODResponse;
 import com.global.api.terminals.hpa.responses.InitializeResponse;
 import com.global.api.terminals.hpa.responses.SAFResponse;
 import com.global.api.terminals.hpa.responses.SignatureResponse;
+import com.global.api.terminals.messaging.IFileUploadProgressInterface;
 import com.global.api.terminals.messaging.IMessageSentInterface;
 import com.global.api.terminals.pax.responses.SAFDeleteResponse;
 import com.global.api.terminals.pax.responses.SAFSummaryReport;
@@ -29,7 +31,8 @@ import com.global.api.terminals.pax.responses.SAFUploadResponse;
 import com.global.api.utils.StringUtils;
 
 import java.math.BigDecimal;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.List;
 
 public class HpaInterface implements IDeviceInterface {
     private HpaController _controller;
@@ -104,16 +107,41 @@ public class HpaInterface implements IDeviceInterface {
     }
 
     public IDeviceResponse addLineItem(String leftText, String rightText, String runningLeftText, String runningRightText) throws ApiException {
+        return _controller.sendAdminMessage(SipBaseResponse.class, buildLineItem(leftText, rightText, runningLeftText, runningRightText));
+    }
+
+    /**
+     * Displays the items in order over the open device connection. HPA responses to LineItem carry
+     * nothing to match them to a request, so each item still waits for its own response; all items
+     * are built and validated before the first is sent.
+     */
+    public IDeviceResponse addLineItems(List<LineItem> lineItems) throws ApiException {
+        if(lineItems == null || lineItems.isEmpty()) {
+            throw new ApiException("At least one line item is required.");
+        }
+
+        List<HpaAdminBuilder> builders = new ArrayList<HpaAdminBuilder>(lineItems.size());
+        for(LineItem lineItem: lineItems) {
+            builders.add(buildLineItem(lineItem.getLeftText(), lineItem.getRightText(), lineItem.getRunningLeftText(), lineItem.getRunningRightText()));
+        }
+
+        IDeviceResponse response = null;
+        for(HpaAdminBuilder builder: builders) {
+            response = _controller.sendAdminMessage(SipBaseResponse.class, builder);
+        }
+        return response;
+    }
+
+    private HpaAdminBuilder buildLineItem(String leftText, String rightText, String runningLeftText, String runningRightText) throws ApiException {
         if(StringUtils.isNullOrEmpty(leftText)) {
             throw new ApiException("You need to provide at least the left text.");
         }
 
-        HpaAdminBuilder builder = new HpaAdminBuilder(HpaMsgId.LINE_ITEM.getValue())
+        return new HpaAdminBuilder(HpaMsgId.LINE_ITEM.getValue())
                 .set("LineItemTextLeft", leftText)
                 .set("LineItemTextRight", rightText)
                 .set("LineItemRunningTextLeft", runningLeftText)
                 .set("LineItemRunningTextRight", runningRightText);
-        return _controller.sendAdminMessage(SipBaseResponse.class, builder);
     }
     
     public ISAFResponse sendStoreAndForward() throws ApiException {
@@ -129,13 +157,28 @@ public class HpaInterface implements IDeviceInterface {
     }
     
     public IDeviceResponse sendFile(SendFileType imageType, String filePath) throws ApiException {
+        return sendFile(imageType, filePath, null);
+    }
+
+    public IDeviceResponse sendFile(SendFileType imageType, String filePath, IFileUploadProgressInterface progress) throws ApiException {
         if(filePath == null) {
             throw new ApiException("Filename is required for SendFile");
         }
 
         //Load the File
         HpaFileUpload fileUpload = new HpaFileUpload(imageType, filePath);
+        try {
+            return sendFile(fileUpload, progress);
+        }
+        finally {
+            fileUpload.close();
+        }
+    }
 
+    /**
+     * Sends a file that is already open; the caller closes it, so one upload can go to several devices.
+     */
+    public IDeviceResponse sendFile(HpaFileUpload fileUpload, IFileUploadProgressInterface progress) throws ApiException {
         //Build the initial message
         HpaAdminBuilder builder = new HpaAdminBuilder(HpaMsgId.SEND_FILE.getValue()) {{ setKeepAlive(true); }}
                 .set("FileName", fileUpload.getFileName())
@@ -144,24 +187,29 @@ public class HpaInterface implements IDeviceInterface {
 
         SipSendFileResponse response = _controller.sendAdminMessage(SipSendFileResponse.class, builder);
         if(response.getDeviceResponseCode().equals("00")) {
-            LinkedList<String> fileParts = fileUpload.getFileParts(response.getMaxDataSize() / 5);
-            String lastElement = fileParts.getLast();
+            int maxDataLength = response.getMaxDataSize() / 5;
+            int partCount = fileUpload.getPartCount(maxDataLength);
 
-            for(String filePart: fileParts) {
-                final String multipleMessage = filePart.equals(lastElement) ? "0" : "1";
+            // intermediate parts are not acknowledged by the device, only the final part awaits a response
+            for(int i = 0; i < partCount; i++) {
+                final String multipleMessage = i == partCount - 1 ? "0" : "1";
 
                 SipSendFileResponse dataResponse = _controller.sendAdminMessage(SipSendFileResponse.class,
                         new HpaAdminBuilder(HpaMsgId.SEND_FILE.getValue()) {{
                             setKeepAlive(multipleMessage.equals("1"));
                             setAwaitResponse(multipleMessage.equals("0"));
                         }}
-                        .set("FileData", filePart)
+                        .set("FileData", fileUpload.getFilePart(i, maxDataLength))
                         .set("MultipleMessage", multipleMessage)
                     );
 
                 if (dataResponse != null) {
                     response = dataResponse;
                 }
+
+                if (progress != null) {
+                    progress.uploadProgress(this, fileUpload.getBytesSent(i, maxDataLength), fileUpload.getFileSize());
+                }
             }
             return response;
         }
@@ -1,6 +1,7 @@
 package com.global.api.terminals.hpa.interfaces;
 
 import com.global.api.entities.exceptions.MessageException;
+import com.global.api.terminals.TerminalFrameCodec;
 import com.global.api.terminals.abstractions.IDeviceCommInterface;
 import com.global.api.terminals.abstractions.IDeviceMessage;
 import com.global.api.terminals.abstractions.ITerminalConfiguration;
@@ -10,12 +11,12 @@ import com.global.api.utils.AutoResetEvent;
 import com.global.api.utils.Element;
 import com.global.api.utils.ElementTree;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.Socket;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
 
 public class HpaTcpInterface implements IDeviceCommInterface {
     private Socket client;
@@ -23,7 +24,7 @@ public class HpaTcpInterface implements IDeviceCommInterface {
     private InputStream in;
     private AutoResetEvent await;
     private ITerminalConfiguration settings;
-    private List<Byte> messageQueue;
+    private ByteArrayOutputStream messageQueue;
     private String lastConnectionError;
 
     private IMessageSentInterface onMessageSent;
@@ -40,21 +41,20 @@ public class HpaTcpInterface implements IDeviceCommInterface {
         onMessageReceived = new IMessageReceivedInterface() {
             public void messageReceived(byte[] message) {
                 if(messageQueue == null)
-                    messageQueue = new ArrayList<Byte>();
+                    messageQueue = new ByteArrayOutputStream();
 
-                for(byte b: message)
-                    messageQueue.add(b);
+                messageQueue.write(message, 0, message.length);
 
                 try {
                     Element msg = ElementTree.parse(message).get("SIP");
                     int multiMessage = msg.getInt("MultipleMessage");
                     if(multiMessage == 0)
                         await.set();
-                    else messageQueue.add((byte)'\r'); // delimiter
+                    else messageQueue.write('\r'); // delimiter
                 }
                 catch(Exception e) {
                     // this should never cause a failure
-                    messageQueue.add((byte)'\r'); // delimiter
+                    messageQueue.write('\r'); // delimiter
                 }
             }
         };
@@ -69,13 +69,13 @@ public class HpaTcpInterface implements IDeviceCommInterface {
                             do {
                                 int length = getLength();
                                 if (length > 0) {
-                                    byte[] buffer = new byte[8192];
+                                    byte[] readBuffer = new byte[length];
 
                                     boolean incomplete = true;
                                     int offset = 0;
                                     int tempLength = length;
                                     do {
-                                        int bytesReceived = in.read(buffer, offset, tempLength);
+                                        int bytesReceived = in.read(readBuffer, offset, tempLength);
                                         if (bytesReceived != tempLength) {
                                             offset += bytesReceived;
                                             tempLength -= bytesReceived;
@@ -84,8 +84,6 @@ public class HpaTcpInterface implements IDeviceCommInterface {
                                     }
                                     while (incomplete);
 
-                                    byte[] readBuffer = new byte[length];
-                                    System.arraycopy(buffer, 0, readBuffer, 0, length);
                                     onMessageReceived.messageReceived(readBuffer);
                                 }
                                 else break;
@@ -147,7 +145,7 @@ public class HpaTcpInterface implements IDeviceCommInterface {
         }
 
         String strMessage = message.toString();
-        messageQueue = new ArrayList<Byte>();
+        messageQueue = new ByteArrayOutputStream();
         try{
             byte[] buffer = message.getSendBuffer();
 
@@ -161,7 +159,7 @@ public class HpaTcpInterface implements IDeviceCommInterface {
                         throw new MessageException("Device did not response within the timeout");
                     }
 
-                    return convertBytes(messageQueue.toArray(new Byte[messageQueue.size()]));
+                    return messageQueue.toByteArray();
                 }
                 else return null;
             }
@@ -188,20 +186,10 @@ public class HpaTcpInterface implements IDeviceCommInterface {
 
             if(byteCount != 2)
                 return 0;
-            return (short)(((lengthBuffer[0] & 0xFF) << 8) | (lengthBuffer[1] & 0xFF));
+            return (short)TerminalFrameCodec.decodeLength(ByteBuffer.wrap(lengthBuffer));
         }
         catch(IOException e) {
             return 0;
         }
     }
-
-    private byte[] convertBytes(Byte[] buffer) {
-        byte[] returnBuffer = new byte[buffer.length];
-
-        int index = 0;
-        for(Byte b: buffer)
-            returnBuffer[index++] = b;
-
-        return returnBuffer;
-    }
 }
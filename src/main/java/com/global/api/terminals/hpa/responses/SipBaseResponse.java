@@ -1,16 +1,22 @@
 package com.global.api.terminals.hpa.responses;
 
+import com.global.api.entities.enums.ControlCodes;
 import com.global.api.entities.exceptions.ApiException;
 import com.global.api.entities.exceptions.MessageException;
+import com.global.api.terminals.TerminalFrameCodec;
 import com.global.api.terminals.TerminalResponse;
 import com.global.api.utils.Element;
 import com.global.api.utils.ElementTree;
 import com.global.api.utils.StringUtils;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
 
 public class SipBaseResponse extends TerminalResponse {
+    private static final byte CR = '\r';
+    private static final byte LF = ControlCodes.LF.getByte();
+
     protected String response;
     protected String currentMessage;
 
@@ -51,8 +57,8 @@ public class SipBaseResponse extends TerminalResponse {
         }
         response = sb.toString();
 
-        String[] messages = response.replace("\n", "").split("\\r");
-        for(String message: messages) {
+        for(ByteBuffer messageBuffer: TerminalFrameCodec.split(ByteBuffer.wrap(buffer), CR)) {
+            String message = readMessage(messageBuffer);
             if(StringUtils.isNullOrEmpty(message)) {
                 continue;
             }
@@ -79,6 +85,17 @@ public class SipBaseResponse extends TerminalResponse {
         finalizeResponse();
     }
 
+    private static String readMessage(ByteBuffer messageBuffer) {
+        StringBuilder sb = new StringBuilder(messageBuffer.remaining());
+        for(int i = messageBuffer.position(); i < messageBuffer.limit(); i++) {
+            byte b = messageBuffer.get(i);
+            if(b != LF) {
+                sb.append((char) b);
+            }
+        }
+        return sb.toString();
+    }
+
     protected void mapResponse(Element response) { }
     protected void finalizeResponse() { }
 
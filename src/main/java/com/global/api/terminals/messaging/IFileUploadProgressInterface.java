@@ -0,0 +1,7 @@
+package com.global.api.terminals.messaging;
+
+import com.global.api.terminals.abstractions.IDeviceInterface;
+
+public interface IFileUploadProgressInterface {
+    void uploadProgress(IDeviceInterface device, int bytesSent, int fileSize);
+}
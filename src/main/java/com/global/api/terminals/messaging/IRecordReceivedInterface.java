@@ -0,0 +1,5 @@
+package com.global.api.terminals.messaging;
+
+public interface IRecordReceivedInterface<T> {
+    void recordReceived(T record);
+}
@@ -4,6 +4,7 @@ import com.global.api.entities.enums.*;
 import com.global.api.entities.exceptions.ApiException;
 import com.global.api.entities.exceptions.MessageException;
 import com.global.api.entities.exceptions.UnsupportedTransactionException;
+import com.global.api.terminals.LineItem;
 import com.global.api.terminals.TerminalUtilities;
 import com.global.api.terminals.abstractions.*;
 import com.global.api.terminals.messaging.IMessageSentInterface;
@@ -16,10 +17,11 @@ import com.global.api.terminals.pax.responses.SAFDeleteResponse;
 import com.global.api.terminals.pax.responses.SAFSummaryReport;
 import com.global.api.terminals.pax.responses.SAFUploadResponse;
 import com.global.api.terminals.pax.responses.SignatureResponse;
+import com.global.api.utils.DateCodec;
 
 import java.math.BigDecimal;
-import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 
 class PaxInterface implements IDeviceInterface {
     private PaxController controller;
@@ -130,6 +132,10 @@ class PaxInterface implements IDeviceInterface {
         throw new UnsupportedTransactionException();
     }
 
+    public IDeviceResponse addLineItems(List<LineItem> lineItems) throws ApiException {
+        throw new UnsupportedTransactionException("The device does not support this call.");
+    }
+
     public ISAFResponse sendStoreAndForward() throws ApiException {
         throw new UnsupportedTransactionException("This function is not supported by the currently configured device.");
     }
@@ -264,7 +270,7 @@ class PaxInterface implements IDeviceInterface {
     public IBatchCloseResponse batchClose() throws ApiException {
         byte[] response = controller.send(TerminalUtilities.buildRequest(
                 PaxMsgId.B00_BATCH_CLOSE,
-                new SimpleDateFormat("YYYYMMDDhhmmss").format(new Date())));
+                DateCodec.of("YYYYMMDDhhmmss").format(new Date())));
         return new BatchCloseResponse(response);
     }
     //</editor-fold>
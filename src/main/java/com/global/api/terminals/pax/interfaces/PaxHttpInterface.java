@@ -2,6 +2,7 @@ package com.global.api.terminals.pax.interfaces;
 
 import com.global.api.entities.exceptions.ApiException;
 import com.global.api.entities.exceptions.MessageException;
+import com.global.api.terminals.ConnectionConfig;
 import com.global.api.terminals.abstractions.IDeviceCommInterface;
 import com.global.api.terminals.abstractions.IDeviceMessage;
 import com.global.api.terminals.messaging.IMessageSentInterface;
@@ -12,10 +13,16 @@ import org.apache.commons.codec.binary.Base64;
 import java.io.*;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 public class PaxHttpInterface implements IDeviceCommInterface {
+    // shared across interfaces so that the limit holds per device rather than per controller
+    private static final Map<String, DeviceLimit> deviceLimits = new HashMap<String, DeviceLimit>();
+
     private ITerminalConfiguration _settings;
-    private HttpURLConnection _client;
     private IMessageSentInterface onMessageSent;
 
     public void setMessageSentHandler(IMessageSentInterface messageInterface) {
@@ -39,24 +46,107 @@ public class PaxHttpInterface implements IDeviceCommInterface {
             onMessageSent.messageSent(message.toString());
 
         String payload = Base64.encodeBase64String(message.getSendBuffer()).replace("\r", "").replace("\n", "");
-
         String endpoint = String.format("http://%s:%d?%s", _settings.getIpAddress(), _settings.getPort(), payload);
+
+        String device = String.format("%s:%d", _settings.getIpAddress(), _settings.getPort());
+        DeviceLimit limit = openDeviceLimit(device);
         try {
-            _client = (HttpURLConnection) new URL(endpoint).openConnection();
-        } catch(IOException e) {
-            throw new ApiException(e.getMessage(), e);
+            try {
+                if(!limit.tryAcquire(_settings.getTimeout(), TimeUnit.MILLISECONDS))
+                    throw new MessageException("Timed out waiting for an available connection to the device.");
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MessageException("Interrupted while waiting for an available connection to the device.", e);
+            }
+
+            HttpURLConnection client = null;
+            try {
+                client = (HttpURLConnection) new URL(endpoint).openConnection();
+                client.setDoInput(true);
+                client.setRequestMethod("GET");
+                client.setConnectTimeout(_settings.getTimeout());
+                client.setReadTimeout(_settings.getTimeout());
+                client.addRequestProperty("Content-Type", "text/xml; charset=UTF-8");
+                client.addRequestProperty("Connection", "keep-alive");
+
+                // the stream has to be drained and closed for the connection to return to the keep-alive pool
+                InputStream responseStream = client.getInputStream();
+                try {
+                    return IOUtils.readFullyAsBytes(responseStream);
+                } finally {
+                    responseStream.close();
+                }
+            } catch(IOException e) {
+                discardErrorStream(client);
+                throw new MessageException("Failed to send message. Check inner exception for more details.", e);
+            } finally {
+                limit.release();
+            }
+        } finally {
+            closeDeviceLimit(device, limit);
+        }
+    }
+
+    private int getMaxConcurrentRequests() {
+        if(_settings instanceof ConnectionConfig)
+            return Math.max(1, ((ConnectionConfig) _settings).getMaxConcurrentRequests());
+        return 1;
+    }
+
+    /**
+     * The limit of the device, resized to the limit of this interface's configuration. It stays
+     * shared while a request is waiting on or holding it, and is dropped once none is.
+     */
+    private DeviceLimit openDeviceLimit(String device) {
+        synchronized (deviceLimits) {
+            DeviceLimit limit = deviceLimits.get(device);
+            if(limit == null) {
+                limit = new DeviceLimit();
+                deviceLimits.put(device, limit);
+            }
+            limit.resize(getMaxConcurrentRequests());
+            limit.users++;
+            return limit;
         }
+    }
+
+    private void closeDeviceLimit(String device, DeviceLimit limit) {
+        synchronized (deviceLimits) {
+            if(--limit.users == 0 && deviceLimits.get(device) == limit)
+                deviceLimits.remove(device);
+        }
+    }
+
+    private void discardErrorStream(HttpURLConnection client) {
+        if(client == null)
+            return;
 
-        try{
-            _client.setDoInput(true);
-            _client.setDoOutput(true);
-            _client.setRequestMethod("GET");
-            _client.addRequestProperty("Content-Type", "text/xml; charset=UTF-8");
+        InputStream errorStream = client.getErrorStream();
+        if(errorStream != null) {
+            try {
+                IOUtils.readFullyAsBytes(errorStream);
+                errorStream.close();
+            } catch(IOException e) {
+                // connection will simply not be reused
+            }
+        }
+    }
+
+    private static class DeviceLimit extends Semaphore {
+        private int permits;
+        private int users;
+
+        DeviceLimit() {
+            super(0, true);
+        }
 
-            InputStream responseStream = _client.getInputStream();
-            return IOUtils.readFully(responseStream).getBytes();
-        } catch(IOException e){
-            throw new MessageException("Failed to send message. Check inner exception for more details.", e);
+        // permits held by running requests go back to the resized limit when they are released
+        void resize(int permits) {
+            if(permits > this.permits)
+                release(permits - this.permits);
+            else if(permits < this.permits)
+                reducePermits(this.permits - permits);
+            this.permits = permits;
         }
     }
-}
\ No newline at end of file
+}
@@ -2,7 +2,7 @@ package com.global.api.terminals.pax.interfaces;
 
 import com.global.api.entities.enums.ControlCodes;
 import com.global.api.entities.exceptions.MessageException;
-import com.global.api.terminals.TerminalUtilities;
+import com.global.api.terminals.TerminalFrameCodec;
 import com.global.api.terminals.abstractions.*;
 import com.global.api.terminals.messaging.IMessageSentInterface;
 import com.global.api.utils.EnumUtils;
@@ -73,8 +73,7 @@ public class PaxTcpInterface implements IDeviceCommInterface {
 
                 byte[] rvalue = getTerminalResponse();
                 if (rvalue != null) {
-                    byte lrc = rvalue[rvalue.length - 1]; // should be the lrc
-                    if (lrc != TerminalUtilities.calculateLRC(rvalue))
+                    if (!TerminalFrameCodec.checkLRC(rvalue))
                         sendControlCode(ControlCodes.NAK);
                     else {
                         sendControlCode(ControlCodes.ACK);
@@ -4,7 +4,6 @@ import com.global.api.entities.enums.ControlCodes;
 import com.global.api.entities.enums.PaxEntryMode;
 import com.global.api.utils.EnumUtils;
 import com.global.api.utils.MessageReader;
-import com.global.api.utils.StringUtils;
 
 public class AccountResponse {
     private String accountNumber;
@@ -54,11 +53,10 @@ public class AccountResponse {
     }
 
     public AccountResponse(MessageReader br) {
-        String values = br.readToCode(ControlCodes.FS);
-        if (StringUtils.isNullOrEmpty(values))
+        String[] data = br.readFields(ControlCodes.FS);
+        if(data.length == 0)
             return;
 
-        String[] data = values.split("\\[US\\]");
         try {
             accountNumber = data[0];
             entryMode = EnumUtils.parse(PaxEntryMode.class, data[1]);
@@ -43,11 +43,10 @@ public class AmountResponse implements IResponseSubGroup {
     }
 
     public AmountResponse(MessageReader mr) {
-        String values = mr.readToCode(ControlCodes.FS);
-        if(StringUtils.isNullOrEmpty(values))
+        String[] data = mr.readFields(ControlCodes.FS);
+        if(data.length == 0)
             return;
 
-        String[] data = values.split("\\[US\\]");
         try{
             approvedAmount = StringUtils.toAmount(data[0]);
             amountDue = StringUtils.toAmount(data[1]);
@@ -3,7 +3,6 @@ package com.global.api.terminals.pax.subgroups;
 import com.global.api.entities.enums.ControlCodes;
 import com.global.api.terminals.abstractions.IResponseSubGroup;
 import com.global.api.utils.MessageReader;
-import com.global.api.utils.StringUtils;
 
 public class AvsResponse implements IResponseSubGroup {
     private String avsResponseCode;
@@ -17,11 +16,10 @@ public class AvsResponse implements IResponseSubGroup {
     }
 
     public AvsResponse(MessageReader br) {
-        String values = br.readToCode(ControlCodes.FS);
-        if (StringUtils.isNullOrEmpty(values))
+        String[] data = br.readFields(ControlCodes.FS);
+        if(data.length == 0)
             return;
 
-        String[] data = values.split("\\[US\\]");
         try {
             avsResponseCode = data[0];
             avsResponseMessage = data[1];
@@ -25,11 +25,10 @@ public class CashierSubGroup implements IRequestSubGroup, IResponseSubGroup {
 
     public CashierSubGroup() { }
     public CashierSubGroup(MessageReader br) {
-        String values = br.readToCode(ControlCodes.FS);
-        if (StringUtils.isNullOrEmpty(values))
+        String[] data = br.readFields(ControlCodes.FS);
+        if(data.length == 0)
             return;
 
-        String[] data = values.split("\\[US\\]");
         try {
             clerkId = data[0];
             shiftId = data[1];
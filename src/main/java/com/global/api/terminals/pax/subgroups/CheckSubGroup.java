@@ -81,11 +81,10 @@ public class CheckSubGroup implements IRequestSubGroup, IResponseSubGroup {
 
     public CheckSubGroup() { }
     public CheckSubGroup(MessageReader br) {
-        String values = br.readToCode(ControlCodes.FS);
-        if (StringUtils.isNullOrEmpty(values))
+        String[] data = br.readFields(ControlCodes.FS);
+        if(data.length == 0)
             return;
 
-        String[] data = values.split("\\[US\\]");
         try {
             this.saleType = data[0];
             this.routingNumber = data[1];
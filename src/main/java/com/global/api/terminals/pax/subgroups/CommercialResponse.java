@@ -3,7 +3,6 @@ package com.global.api.terminals.pax.subgroups;
 import com.global.api.entities.enums.ControlCodes;
 import com.global.api.terminals.abstractions.IResponseSubGroup;
 import com.global.api.utils.MessageReader;
-import com.global.api.utils.StringUtils;
 
 public class CommercialResponse implements IResponseSubGroup {
     private String poNumber;
@@ -25,11 +24,10 @@ public class CommercialResponse implements IResponseSubGroup {
     }
 
     public CommercialResponse(MessageReader br) {
-        String values = br.readToCode(ControlCodes.FS);
-        if (StringUtils.isNullOrEmpty(values))
+        String[] data = br.readFields(ControlCodes.FS);
+        if(data.length == 0)
             return;
 
-        String[] data = values.split("\\[US\\]");
         try {
             this.poNumber = data[0];
             this.customerCode = data[1];
@@ -53,11 +53,10 @@ public class EcomSubGroup implements IRequestSubGroup, IResponseSubGroup {
 
     public EcomSubGroup() { }
     public EcomSubGroup(MessageReader br) {
-        String values = br.readToCode(ControlCodes.FS);
-        if (StringUtils.isNullOrEmpty(values))
+        String[] data = br.readFields(ControlCodes.FS);
+        if(data.length == 0)
             return;
 
-        String[] data = values.split("\\[US\\]");
         try {
             this.ecomMode = data[0];
             this.transactionType = data[1];
@@ -27,11 +27,10 @@ public class ExtDataSubGroup implements IRequestSubGroup, IResponseSubGroup {
 
     public ExtDataSubGroup() { }
     public ExtDataSubGroup(MessageReader br) {
-        String values = br.readToCode(ControlCodes.ETX);
-        if (StringUtils.isNullOrEmpty(values))
+        String[] elements = br.readFields(ControlCodes.ETX);
+        if(elements.length == 0)
             return;
 
-        String[] elements = values.split("\\[US\\]");
         for(String element: elements) {
             String[] kv = element.split("=");
 
@@ -32,11 +32,10 @@ public class HostResponse implements IResponseSubGroup {
     }
 
     public HostResponse(MessageReader mr) {
-        String values = mr.readToCode(ControlCodes.FS);
-        if(values == null || values.equals(""))
+        String[] data = mr.readFields(ControlCodes.FS);
+        if(data.length == 0)
             return;
 
-        String[] data = values.split("\\[US\\]");
         try{
             hostResponseCode = data[0];
             hostResponseMessage = data[1];
@@ -1,6 +1,7 @@
 package com.global.api.terminals.upa;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import com.global.api.entities.enums.ConnectionModes;
 import com.global.api.entities.enums.TransactionType;
@@ -68,6 +69,10 @@ public class UpaController extends DeviceController {
         return _interface.send(message);
     }
 
+    public List<byte[]> send(List<IDeviceMessage> messages) throws ApiException {
+        return ((UpaTcpInterface) _interface).send(messages);
+    }
+
     private UpaTransactionResponse doTransaction(
         UpaMessageId messageId,
         Integer requestId,
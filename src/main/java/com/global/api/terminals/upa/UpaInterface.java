@@ -1,17 +1,25 @@
 package com.global.api.terminals.upa;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
+import com.global.api.entities.TransactionSummary;
 import com.global.api.entities.enums.*;
 import com.global.api.entities.exceptions.ApiException;
 import com.global.api.entities.exceptions.UnsupportedTransactionException;
 import com.global.api.terminals.DeviceMessage;
+import com.global.api.terminals.LineItem;
 import com.global.api.terminals.TerminalUtilities;
 import com.global.api.terminals.abstractions.*;
 import com.global.api.terminals.builders.TerminalAuthBuilder;
 import com.global.api.terminals.builders.TerminalManageBuilder;
 import com.global.api.terminals.messaging.IMessageSentInterface;
+import com.global.api.terminals.messaging.IRecordReceivedInterface;
 import com.global.api.terminals.pax.responses.SAFDeleteResponse;
 import com.global.api.terminals.pax.responses.SAFSummaryReport;
 import com.global.api.terminals.pax.responses.SAFUploadResponse;
@@ -22,6 +30,7 @@ import com.global.api.terminals.upa.responses.UpaEODResponse;
 import com.global.api.terminals.upa.responses.UpaReportResponse;
 import com.global.api.terminals.upa.responses.UpaSafResponse;
 import com.global.api.utils.JsonDoc;
+import com.google.gson.stream.JsonReader;
 
 public class UpaInterface implements IDeviceInterface {
     private final UpaController controller;
@@ -32,40 +41,67 @@ public class UpaInterface implements IDeviceInterface {
     }
 
     public IDeviceResponse addLineItem(String leftText, String rightText) throws ApiException {
-        JsonDoc param = new JsonDoc();
+        JsonDoc responseObj = JsonDoc.parse(
+            new String(controller.send(buildLineItemMessage(leftText, rightText)), StandardCharsets.UTF_8)
+        );
 
-        if (leftText != null && leftText.length() <= 20) {
-            if (leftText.length() > 20) {
-                throw new ApiException("Left-side text has 20 char limit.");
-            } else {
-                param.set("lineItemLeft", leftText);
-            }
-        } else {
+        return new UpaDeviceResponse(responseObj, UpaMessageId.LineItemDisplay);  
+    }
+
+    /**
+     * Displays the items over a single device connection. UPA accepts one line item per
+     * LineItemDisplay command, so the commands are sent back to back without reconnecting, and
+     * the response to the last item is returned.
+     */
+    public IDeviceResponse addLineItems(List<LineItem> lineItems) throws ApiException {
+        if (lineItems == null || lineItems.isEmpty()) {
+            throw new ApiException("At least one line item is required.");
+        }
+
+        // validate everything before anything is shown on the device or a request id is taken
+        for (LineItem lineItem : lineItems) {
+            validateLineItem(lineItem.getLeftText(), lineItem.getRightText());
+        }
+
+        List<IDeviceMessage> messages = new ArrayList<>(lineItems.size());
+        for (LineItem lineItem : lineItems) {
+            messages.add(buildLineItemMessage(lineItem.getLeftText(), lineItem.getRightText()));
+        }
+
+        List<byte[]> responses = controller.send(messages);
+        JsonDoc responseObj = JsonDoc.parse(
+            new String(responses.get(responses.size() - 1), StandardCharsets.UTF_8)
+        );
+
+        return new UpaDeviceResponse(responseObj, UpaMessageId.LineItemDisplay);
+    }
+
+    private void validateLineItem(String leftText, String rightText) throws ApiException {
+        if (leftText == null || leftText.length() > 20) {
             throw new ApiException("Left-side text is required.");
         }
+        if (rightText != null && rightText.length() > 10) {
+            throw new ApiException("Right-side text has 10 char limit.");
+        }
+    }
+
+    private DeviceMessage buildLineItemMessage(String leftText, String rightText) throws ApiException {
+        validateLineItem(leftText, rightText);
 
+        JsonDoc param = new JsonDoc();
+        param.set("lineItemLeft", leftText);
         if (rightText != null) {
-            if (rightText.length() <= 10) {
-                param.set("lineItemRight", rightText);
-            } else {
-                throw new ApiException("Right-side text has 10 char limit.");
-            }
+            param.set("lineItemRight", rightText);
         }
 
         JsonDoc body = new JsonDoc();
         body.set("params", param);
 
-        DeviceMessage message = TerminalUtilities.buildMessage(
+        return TerminalUtilities.buildMessage(
             UpaMessageId.LineItemDisplay,
             controller.getRequestId().toString(),
             body
         );
-
-        JsonDoc responseObj = JsonDoc.parse(
-            new String(controller.send(message), StandardCharsets.UTF_8)
-        );
-
-        return new UpaDeviceResponse(responseObj, UpaMessageId.LineItemDisplay);  
     }
 
     public void cancel() throws ApiException {
@@ -227,6 +263,22 @@ public class UpaInterface implements IDeviceInterface {
     }
 
     public IBatchReportResponse getBatchDetails(String batchId, boolean printReport) throws ApiException {
+        JsonDoc responseObj = JsonDoc.parse(
+                new String(controller.send(buildBatchDetailsMessage(batchId, printReport)), StandardCharsets.UTF_8)
+        );
+
+        return new UpaReportResponse(responseObj);
+    }
+
+    /**
+     * Streams the batch detail records to the handler one at a time as the device response is parsed.
+     * The returned response carries the batch and card brand summaries only.
+     */
+    public IBatchReportResponse getBatchDetails(String batchId, boolean printReport, IRecordReceivedInterface<TransactionSummary> handler) throws ApiException {
+        return streamReport(controller.send(buildBatchDetailsMessage(batchId, printReport)), handler);
+    }
+
+    private DeviceMessage buildBatchDetailsMessage(String batchId, boolean printReport) {
         JsonDoc body = new JsonDoc();
         JsonDoc param = new JsonDoc();
 
@@ -241,15 +293,25 @@ public class UpaInterface implements IDeviceInterface {
         );
 
         message.setAwaitResponse(true);
+        return message;
+    }
 
+    public IBatchReportResponse getOpenTabDetails() throws ApiException {
         JsonDoc responseObj = JsonDoc.parse(
-                new String(controller.send(message), StandardCharsets.UTF_8)
+                new String(controller.send(buildOpenTabDetailsMessage()), StandardCharsets.UTF_8)
         );
 
         return new UpaReportResponse(responseObj);
     }
 
-    public IBatchReportResponse getOpenTabDetails() throws ApiException {
+    /**
+     * Streams the open tab records to the handler one at a time as the device response is parsed.
+     */
+    public IBatchReportResponse getOpenTabDetails(IRecordReceivedInterface<TransactionSummary> handler) throws ApiException {
+        return streamReport(controller.send(buildOpenTabDetailsMessage()), handler);
+    }
+
+    private DeviceMessage buildOpenTabDetailsMessage() {
         DeviceMessage message = TerminalUtilities.buildMessage(
                 UpaMessageId.GetOpenTabDetails,
                 controller.getRequestId().toString(),
@@ -257,12 +319,16 @@ public class UpaInterface implements IDeviceInterface {
         );
 
         message.setAwaitResponse(true);
+        return message;
+    }
 
-        JsonDoc responseObj = JsonDoc.parse(
-                new String(controller.send(message), StandardCharsets.UTF_8)
-        );
-
-        return new UpaReportResponse(responseObj);
+    private IBatchReportResponse streamReport(byte[] response, IRecordReceivedInterface<TransactionSummary> handler) throws ApiException {
+        JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(response), StandardCharsets.UTF_8));
+        try {
+            return new UpaReportResponse(reader, handler);
+        } catch (IOException | RuntimeException e) {
+            throw new ApiException("Failed to parse the report response from the device.", e);
+        }
     }
 
     public IDeviceResponse ping() throws ApiException {
@@ -2,25 +2,28 @@ package com.global.api.terminals.upa.interfaces;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeoutException;
 
-import com.global.api.entities.enums.ControlCodes;
 import com.global.api.entities.exceptions.MessageException;
 import com.global.api.terminals.ConnectionConfig;
+import com.global.api.terminals.TerminalFrameCodec;
 import com.global.api.terminals.TerminalUtilities;
 import com.global.api.terminals.abstractions.IDeviceCommInterface;
 import com.global.api.terminals.abstractions.IDeviceMessage;
 import com.global.api.terminals.messaging.IMessageSentInterface;
 import com.global.api.terminals.upa.Entities.Constants;
 import com.global.api.utils.JsonDoc;
-import com.global.api.utils.MessageWriter;
 
 public class UpaTcpInterface implements IDeviceCommInterface {
     private Socket client;
@@ -28,7 +31,7 @@ public class UpaTcpInterface implements IDeviceCommInterface {
     private DataInputStream in;
     private final ConnectionConfig settings;
     private IMessageSentInterface onMessageSent;
-    private MessageWriter data;
+    private ByteBuffer data;
     private String responseMessageString;
     private boolean readyReceived;
 
@@ -73,42 +76,26 @@ public class UpaTcpInterface implements IDeviceCommInterface {
     }
 
     public byte[] send(IDeviceMessage message) throws MessageException {
+        return send(Collections.singletonList(message)).get(0);
+    }
+
+    /**
+     * Sends the messages one after another over a single connection, waiting for the device to
+     * report READY between each, and returns the responses in order.
+     */
+    public List<byte[]> send(List<IDeviceMessage> messages) throws MessageException {
         connect();
 
         if (client == null) {
             throw new MessageException("Unable to connect with device.");
         }
 
-        readyReceived = false;
-        byte[] sendBuffer = message.getSendBuffer();
-
         try {
-            if(onMessageSent != null) {
-                long currentMillis = System.currentTimeMillis();
-                Timestamp t = new Timestamp(currentMillis);
-                onMessageSent.messageSent(t + ":\n" + new String(sendBuffer, StandardCharsets.UTF_8));
-            }
-
-            if(settings.getRequestLogger() != null) {
-                String formMsg = new String(sendBuffer, StandardCharsets.UTF_8);
-                settings.getRequestLogger().RequestSent(formMsg);
+            List<byte[]> responses = new ArrayList<>(messages.size());
+            for (IDeviceMessage message : messages) {
+                responses.add(exchange(message));
             }
-
-            out.write(sendBuffer);
-            out.flush();
-            long timeOfSend = System.currentTimeMillis();
-
-            do {
-                getTerminalResponse();
-
-                if (System.currentTimeMillis() > timeOfSend + settings.getTimeout()) {
-                    throw new TimeoutException("Terminal did not respond in the given timeout.");
-                }
-
-                Thread.sleep(100);
-            } while (!readyReceived);
-
-            return responseMessageString.getBytes();
+            return responses;
         }
         catch(Exception exc) {
             throw new MessageException(exc.getMessage(), exc);
@@ -124,20 +111,58 @@ public class UpaTcpInterface implements IDeviceCommInterface {
         }
     }
 
+    private byte[] exchange(IDeviceMessage message) throws Exception {
+        readyReceived = false;
+        responseMessageString = null;
+        byte[] sendBuffer = message.getSendBuffer();
+
+        if(onMessageSent != null) {
+            long currentMillis = System.currentTimeMillis();
+            Timestamp t = new Timestamp(currentMillis);
+            onMessageSent.messageSent(t + ":\n" + new String(sendBuffer, StandardCharsets.UTF_8));
+        }
+
+        if(settings.getRequestLogger() != null) {
+            String formMsg = new String(sendBuffer, StandardCharsets.UTF_8);
+            settings.getRequestLogger().RequestSent(formMsg);
+        }
+
+        out.write(sendBuffer);
+        out.flush();
+        long timeOfSend = System.currentTimeMillis();
+
+        do {
+            getTerminalResponse();
+
+            if (System.currentTimeMillis() > timeOfSend + settings.getTimeout()) {
+                throw new TimeoutException("Terminal did not respond in the given timeout.");
+            }
+
+            Thread.sleep(100);
+        } while (!readyReceived);
+
+        if (responseMessageString == null) {
+            throw new MessageException("Terminal reported READY without sending a response.");
+        }
+        return responseMessageString.getBytes();
+    }
+
     private void getTerminalResponse() throws Exception {
         try {
             validateResponsePacket();
-            byte[] buffer = data.toArray();
 
-            if(buffer.length > 0) {
-                JsonDoc responseObj = JsonDoc.parse(
-                    new String(data.toArray(), StandardCharsets.UTF_8)
-                );
+            if(data.hasRemaining()) {
+                byte[] buffer = data.array();
+                int offset = data.arrayOffset() + data.position();
+                int length = data.remaining();
+
+                // only the message and response keys are read, the rest is left undecoded
+                JsonDoc responseObj = JsonDoc.parseLazy(buffer, offset, length);
 
                 String message = responseObj.getString("message");
 
                 if(settings.getRequestLogger() != null) {
-                    String formMsg = new String(buffer, StandardCharsets.UTF_8);
+                    String formMsg = new String(buffer, offset, length, StandardCharsets.UTF_8);
                     settings.getRequestLogger().ResponseReceived(formMsg);
                 }
 
@@ -149,7 +174,7 @@ public class UpaTcpInterface implements IDeviceCommInterface {
                     case Constants.BUSY_MESSAGE:
                         throw new Exception("Device is busy");
                     case Constants.DATA_MESSAGE:
-                        responseMessageString = new String(buffer, StandardCharsets.UTF_8);
+                        responseMessageString = new String(buffer, offset, length, StandardCharsets.UTF_8);
                         String eval = responseObj.get("data").getString("response");
                         if (eval.equals("Reboot")) {
                             readyReceived = true; // since reboot doesn't return READY
@@ -170,47 +195,28 @@ public class UpaTcpInterface implements IDeviceCommInterface {
     }
 
     private void validateResponsePacket() throws IOException {
+        data = ByteBuffer.allocate(0);
         try {
-            byte[] buffer;
-            List<Byte> receive = new ArrayList<>();
-            data = new MessageWriter();
-
-            byte stx = ControlCodes.STX.getByte();
-            byte etx = ControlCodes.ETX.getByte();
-            byte lf = ControlCodes.LF.getByte();
+            byte[] buffer = new byte[4096];
+            int length = 0;
 
             do {
-                receive.add(in.readByte());
-            } while (in.available() > 0);
-
-            buffer = new byte[receive.size()];
-
-            for (int i = 0; i < buffer.length; i++) {
-                buffer[i] = receive.get(i);
-            }
-
-            for (int i = 0; i < buffer.length; i++) {
-                if (i < 2) {
-                    if (buffer[i] != stx && buffer[i + 1] != lf) {
-                        throw new IOException("The bytes of the start response packet are not the expected bytes.");
-                    }
-
-                    i += 1;
-                    continue;
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
                 }
 
-                if (buffer[i] == etx) {
-                    if ((buffer[i - 1] & buffer[i + 1]) != lf) {
-                        throw new IOException("The bytes of the end response packet are not the expected bytes.");
-                    }
-
-                    break;
-                } else if (buffer[i] != lf) {
-                    data.add(buffer[i]);
+                int available = Math.max(1, Math.min(in.available(), buffer.length - length));
+                int bytesRead = in.read(buffer, length, available);
+                if (bytesRead < 0) {
+                    throw new EOFException();
                 }
-            }
+                length += bytesRead;
+            } while (in.available() > 0);
+
+            data = TerminalFrameCodec.decodeJson(ByteBuffer.wrap(buffer, 0, length));
         } catch (SocketTimeoutException e) {
-            client.setSoTimeout(0);
+            // nothing arrived yet, the caller decides whether the exchange has timed out
+            client.setSoTimeout(settings.getTimeout());
         }
     }
 
@@ -5,8 +5,14 @@ import com.global.api.entities.TransactionSummary;
 import com.global.api.entities.exceptions.GatewayException;
 import com.global.api.terminals.abstractions.IBatchReportResponse;
 import com.global.api.terminals.abstractions.ICardBrandSummary;
+import com.global.api.terminals.messaging.IRecordReceivedInterface;
 import com.global.api.utils.JsonDoc;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Locale;
@@ -28,15 +34,7 @@ public class UpaReportResponse implements IBatchReportResponse {
         JsonDoc responseData = responseObj.get("data");
 
         if (responseData != null) {
-            JsonDoc cmdResult = responseData.get("cmdResult");
-
-            if (cmdResult != null) {
-                status = cmdResult.getString("result");
-                deviceResponseCode = status.equalsIgnoreCase("success") ? "00" : cmdResult.getString("errorCode");
-                deviceResponseText = cmdResult.getString("errorMessage");
-            }
-
-            transactionType = responseData.getString("response");
+            mapCommandResult(responseData);
 
             JsonDoc innerData = responseData.get("data");
 
@@ -44,94 +42,206 @@ public class UpaReportResponse implements IBatchReportResponse {
                 JsonDoc batchRecord = innerData.get("batchRecord");
 
                 if (batchRecord != null) {
-                    batchSummary = new BatchSummary();
-                    batchSummary.setBatchId(batchRecord.getInt("batchId"));
-                    batchSummary.setSequenceNumber(batchRecord.getString("batchSeqNbr"));
-                    batchSummary.setStatus(batchRecord.getString("batchStatus"));
-                    try {
-                        batchSummary.setOpenTime(batchRecord.getDateTime("openUtcDateTime"));
-                    } catch (GatewayException e) {
-                        e.printStackTrace();
-                    }
-                    batchSummary.setOpenTransactionId(batchRecord.getString("openTxnId"));
-                    batchSummary.setOpenTransactionId(batchRecord.getString("openTnxId")); // to account for current
-                    // typo in UPA
-                    batchSummary.setTotalAmount(batchRecord.getDecimal("totalAmount"));
-                    batchSummary.setTransactionCount(batchRecord.getInt("totalCnt"));
+                    mapBatchRecord(batchRecord);
 
                     ArrayList batchDetailRecords = batchRecord.getStringArrayList("batchDetailRecords");
 
                     if (batchDetailRecords != null) {
-                        batchDetailRecords.forEach((n) -> {
-                            TransactionSummary trans = new TransactionSummary();
-                            trans.setAmountDue(((JsonDoc) n).getDecimal("balanceDue"));
-                            trans.setAuthCode(((JsonDoc) n).getString("approvalCode"));
-                            trans.setAuthorizedAmount(((JsonDoc) n).getDecimal("authorizedAmount"));
-                            trans.setBaseAmount(((JsonDoc) n).getDecimal("baseAmount"));
-                            trans.setCardSwiped(((JsonDoc) n).getString("cardSwiped"));
-                            trans.setCardType(((JsonDoc) n).getString("cardType"));
-                            trans.setCashBackAmount(((JsonDoc) n).getDecimal("cashbackAmount"));
-                            trans.setClerkId(((JsonDoc) n).getString("clerkId"));
-                            trans.setInvoiceNumber(((JsonDoc) n).getString("invoiceNbr"));
-                            trans.setMaskedCardNumber(((JsonDoc) n).getString("maskedCardNumber"));
-                            trans.setSettlementAmount(((JsonDoc) n).getDecimal("settleAmount"));
-                            trans.setTaxAmount(((JsonDoc) n).getDecimal("taxAmount"));
-                            trans.setGratuityAmount(((JsonDoc) n).getDecimal("tipAmount"));
-                            trans.setAmount(((JsonDoc) n).getDecimal("totalAmount"));
-                            trans.setTransactionId(((JsonDoc) n).getString("gatewayTxnId"));
-                            trans.setTransactionStatus(((JsonDoc) n).getString("transactionStatus"));
-                            trans.setTransactionType(((JsonDoc) n).getString("transactionType"));
-
-                            transactions.add(trans);
-                        });
+                        batchDetailRecords.forEach((n) -> transactions.add(mapBatchDetailRecord((JsonDoc) n)));
                     }
 
                     ArrayList batchCardSummary = batchRecord.getStringArrayList("batchTransactions");
 
                     if (batchCardSummary != null) {
-                        batchCardSummary.forEach((n) -> {
-                            JsonDoc record = (JsonDoc) n;
-                            switch (record.getString("cardType").toUpperCase(Locale.ENGLISH)) {
-                                case "AMEX":
-                                case "AMERICAN EXPRESS":
-                                    amexSummary = new UpaCardBrandSummary(record);
-                                    return;
-                                case "DEBIT":
-                                    debitSummary = new UpaCardBrandSummary(record);
-                                    return;
-                                case "DISCOVER":
-                                    discoverSummary = new UpaCardBrandSummary(record);
-                                    return;
-                                case "MC":
-                                case "MASTERCARD":
-                                    mastercardSummary = new UpaCardBrandSummary(record);
-                                    return;
-                                case "VISA":
-                                    visaSummary = new UpaCardBrandSummary(record);
-                                    return;
-                                default:
-                                    return;
-                            }
-                        });
+                        batchCardSummary.forEach((n) -> mapCardBrandSummary((JsonDoc) n));
                     }
                 }
 
                 ArrayList openTabDetails = innerData.getStringArrayList("OpenTabDetails");
 
                 if (openTabDetails != null) {
-                    openTabDetails.forEach((n) -> {
-                        TransactionSummary trans = new TransactionSummary();
-                        trans.setAuthorizedAmount(((JsonDoc) n).getDecimal("authorizedAmount"));
-                        trans.setCardType(((JsonDoc) n).getString("cardType"));
-                        trans.setClerkId(((JsonDoc) n).getString("clerkId"));
-                        trans.setMaskedCardNumber(((JsonDoc) n).getString("maskedPan"));
-                        trans.setTransactionId(((JsonDoc) n).getString("referenceNumber"));
-
-                        transactions.add(trans);
-                    });
+                    openTabDetails.forEach((n) -> transactions.add(mapOpenTabRecord((JsonDoc) n)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Streams the device response, handing each batch detail or open tab record to the handler as it
+     * is read instead of collecting them, so only one record is held in memory at a time.
+     * {@link #getTransactionSummaries()} is left empty.
+     */
+    public UpaReportResponse(JsonReader reader, IRecordReceivedInterface<TransactionSummary> handler) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("data") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                readResponseData(reader, handler);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private void readResponseData(JsonReader reader, IRecordReceivedInterface<TransactionSummary> handler) throws IOException {
+        JsonObject header = new JsonObject();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("data") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String innerName = reader.nextName();
+                    if (innerName.equals("batchRecord") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        readBatchRecord(reader, handler);
+                    } else if (innerName.equals("OpenTabDetails") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            JsonDoc record = readRecord(reader);
+                            if (record != null) {
+                                handler.recordReceived(mapOpenTabRecord(record));
+                            }
+                        }
+                        reader.endArray();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            } else {
+                header.add(name, new JsonParser().parse(reader));
+            }
+        }
+        reader.endObject();
+
+        mapCommandResult(JsonDoc.parse(header.toString()));
+    }
+
+    private void readBatchRecord(JsonReader reader, IRecordReceivedInterface<TransactionSummary> handler) throws IOException {
+        JsonObject header = new JsonObject();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("batchDetailRecords") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    JsonDoc record = readRecord(reader);
+                    if (record != null) {
+                        handler.recordReceived(mapBatchDetailRecord(record));
+                    }
+                }
+                reader.endArray();
+            } else if (name.equals("batchTransactions") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    JsonDoc record = readRecord(reader);
+                    if (record != null) {
+                        mapCardBrandSummary(record);
+                    }
                 }
+                reader.endArray();
+            } else {
+                header.add(name, new JsonParser().parse(reader));
             }
         }
+        reader.endObject();
+
+        mapBatchRecord(JsonDoc.parse(header.toString()));
+    }
+
+    private JsonDoc readRecord(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        return JsonDoc.parse(reader, null);
+    }
+
+    private void mapCommandResult(JsonDoc responseData) {
+        JsonDoc cmdResult = responseData.get("cmdResult");
+
+        if (cmdResult != null) {
+            status = cmdResult.getString("result");
+            deviceResponseCode = status.equalsIgnoreCase("success") ? "00" : cmdResult.getString("errorCode");
+            deviceResponseText = cmdResult.getString("errorMessage");
+        }
+
+        transactionType = responseData.getString("response");
+    }
+
+    private void mapBatchRecord(JsonDoc batchRecord) {
+        batchSummary = new BatchSummary();
+        batchSummary.setBatchId(batchRecord.getInt("batchId"));
+        batchSummary.setSequenceNumber(batchRecord.getString("batchSeqNbr"));
+        batchSummary.setStatus(batchRecord.getString("batchStatus"));
+        try {
+            batchSummary.setOpenTime(batchRecord.getDateTime("openUtcDateTime"));
+        } catch (GatewayException e) {
+            e.printStackTrace();
+        }
+        batchSummary.setOpenTransactionId(batchRecord.getString("openTxnId"));
+        batchSummary.setOpenTransactionId(batchRecord.getString("openTnxId")); // to account for current
+        // typo in UPA
+        batchSummary.setTotalAmount(batchRecord.getDecimal("totalAmount"));
+        batchSummary.setTransactionCount(batchRecord.getInt("totalCnt"));
+    }
+
+    private static TransactionSummary mapBatchDetailRecord(JsonDoc record) {
+        TransactionSummary trans = new TransactionSummary();
+        trans.setAmountDue(record.getDecimal("balanceDue"));
+        trans.setAuthCode(record.getString("approvalCode"));
+        trans.setAuthorizedAmount(record.getDecimal("authorizedAmount"));
+        trans.setBaseAmount(record.getDecimal("baseAmount"));
+        trans.setCardSwiped(record.getString("cardSwiped"));
+        trans.setCardType(record.getString("cardType"));
+        trans.setCashBackAmount(record.getDecimal("cashbackAmount"));
+        trans.setClerkId(record.getString("clerkId"));
+        trans.setInvoiceNumber(record.getString("invoiceNbr"));
+        trans.setMaskedCardNumber(record.getString("maskedCardNumber"));
+        trans.setSettlementAmount(record.getDecimal("settleAmount"));
+        trans.setTaxAmount(record.getDecimal("taxAmount"));
+        trans.setGratuityAmount(record.getDecimal("tipAmount"));
+        trans.setAmount(record.getDecimal("totalAmount"));
+        trans.setTransactionId(record.getString("gatewayTxnId"));
+        trans.setTransactionStatus(record.getString("transactionStatus"));
+        trans.setTransactionType(record.getString("transactionType"));
+        return trans;
+    }
+
+    private static TransactionSummary mapOpenTabRecord(JsonDoc record) {
+        TransactionSummary trans = new TransactionSummary();
+        trans.setAuthorizedAmount(record.getDecimal("authorizedAmount"));
+        trans.setCardType(record.getString("cardType"));
+        trans.setClerkId(record.getString("clerkId"));
+        trans.setMaskedCardNumber(record.getString("maskedPan"));
+        trans.setTransactionId(record.getString("referenceNumber"));
+        return trans;
+    }
+
+    private void mapCardBrandSummary(JsonDoc record) {
+        switch (record.getString("cardType").toUpperCase(Locale.ENGLISH)) {
+            case "AMEX":
+            case "AMERICAN EXPRESS":
+                amexSummary = new UpaCardBrandSummary(record);
+                return;
+            case "DEBIT":
+                debitSummary = new UpaCardBrandSummary(record);
+                return;
+            case "DISCOVER":
+                discoverSummary = new UpaCardBrandSummary(record);
+                return;
+            case "MC":
+            case "MASTERCARD":
+                mastercardSummary = new UpaCardBrandSummary(record);
+                return;
+            case "VISA":
+                visaSummary = new UpaCardBrandSummary(record);
+                return;
+            default:
+                return;
+        }
     }
 
     public String getTransactionType() {
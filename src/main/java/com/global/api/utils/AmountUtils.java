@@ -1,8 +1,14 @@
 package com.global.api.utils;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 public class AmountUtils {
+    /**
+     * The largest number of minor units a decimal string may hold to be read into a long.
+     */
+    static final int MAX_DIGITS = 18;
+
     public static boolean areEqual(BigDecimal var1, BigDecimal var2) {
         int scale = var1.scale();
         if(var2.scale() > scale) {
@@ -14,4 +20,24 @@ public class AmountUtils {
 
         return amount1.equals(amount2);
     }
+
+    /**
+     * The amount in minor units at the given scale, cents at a scale of 2, rounded with the given
+     * mode. Throws an ArithmeticException when the result does not fit in a long.
+     */
+    public static long toMinorUnits(BigDecimal amount, int scale, RoundingMode roundingMode) {
+        return amount.setScale(scale, roundingMode).scaleByPowerOfTen(scale).longValueExact();
+    }
+
+    /**
+     * The amount of the given minor units at the smallest scale, from 0 up to the given one, that
+     * still holds it exactly; 12300 cents are 123 and 12310 cents are 123.1.
+     */
+    public static BigDecimal fromMinorUnits(long units, int scale) {
+        while(scale > 0 && units % 10 == 0) {
+            units /= 10;
+            scale--;
+        }
+        return BigDecimal.valueOf(units, scale);
+    }
 }
@@ -0,0 +1,283 @@
+package com.global.api.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Card number ranges compiled into sorted, non-overlapping segments that are looked up with a
+ * binary search. Where ranges overlap the most specific one wins, so a single BIN listed inside a
+ * wider brand prefix takes precedence over it; of two identical ranges the one added last wins.
+ *
+ * Ranges are given as digit strings of equal length, "4" to "4" for every number starting with 4
+ * or "448460" to "448611" for a span of six digit BINs. A card number only matches a range when it
+ * has at least that many leading digits; a shorter one falls back to the most specific range around
+ * it that it has the digits for.
+ */
+public final class BinTable<T> {
+    /**
+     * The number of leading digits ranges are compared on.
+     */
+    public static final int MAX_DIGITS = 12;
+
+    private static final long[] POWERS = new long[MAX_DIGITS + 1];
+    static {
+        POWERS[0] = 1;
+        for(int i = 1; i <= MAX_DIGITS; i++) {
+            POWERS[i] = POWERS[i - 1] * 10;
+        }
+    }
+
+    private final long[] starts;
+    private final long[] ends;
+    // one entry per segment, followed by the wider ranges segments fall back to
+    private final int[] digits;
+    private final Object[] values;
+    private final int[] parents;
+
+    private BinTable(long[] starts, long[] ends, int[] digits, Object[] values, int[] parents) {
+        this.starts = starts;
+        this.ends = ends;
+        this.digits = digits;
+        this.values = values;
+        this.parents = parents;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<T>();
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * The value of the most specific range containing the card number that it has the digits for, or null. Spaces and dashes
+     * in the number are skipped, and it is only read up to its first other non-digit.
+     */
+    @SuppressWarnings("unchecked")
+    public T lookup(CharSequence pan) {
+        if(pan == null) {
+            return null;
+        }
+
+        long key = 0;
+        int count = 0;
+        for(int i = 0; i < pan.length() && count < MAX_DIGITS; i++) {
+            char c = pan.charAt(i);
+            if(c >= '0' && c <= '9') {
+                key = key * 10 + (c - '0');
+                count++;
+            } else if(c != ' ' && c != '-') {
+                break;
+            }
+        }
+        if(count == 0) {
+            return null;
+        }
+        key *= POWERS[MAX_DIGITS - count];
+
+        int low = 0;
+        int high = starts.length - 1;
+        while(low <= high) {
+            int mid = (low + high) >>> 1;
+            if(starts[mid] > key) {
+                high = mid - 1;
+            } else if(ends[mid] < key) {
+                low = mid + 1;
+            } else {
+                for(int entry = mid; entry >= 0; entry = parents[entry]) {
+                    if(count >= digits[entry]) {
+                        return (T) values[entry];
+                    }
+                }
+                return null;
+            }
+        }
+        return null;
+    }
+
+    public static final class Builder<T> {
+        private final List<Range> ranges = new ArrayList<Range>();
+
+        private Builder() {
+        }
+
+        public Builder<T> add(String bin, T value) {
+            return add(bin, bin, value);
+        }
+
+        /**
+         * Adds the range from low to high inclusive; both ends need the same number of digits.
+         */
+        public Builder<T> add(String low, String high, T value) {
+            int length = low.length();
+            if(length == 0 || length > MAX_DIGITS || high.length() != length) {
+                throw new IllegalArgumentException(String.format("Invalid BIN range %s-%s.", low, high));
+            }
+
+            long start = parse(low);
+            long end = parse(high);
+            if(start > end) {
+                throw new IllegalArgumentException(String.format("Invalid BIN range %s-%s.", low, high));
+            }
+
+            long scale = POWERS[MAX_DIGITS - length];
+            ranges.add(new Range(start * scale, (end + 1) * scale - 1, length, value, ranges.size()));
+            return this;
+        }
+
+        public Builder<T> addAll(Builder<T> other) {
+            for(Range range: other.ranges) {
+                ranges.add(new Range(range.start, range.end, range.digits, range.value, ranges.size()));
+            }
+            return this;
+        }
+
+        /**
+         * Splits the ranges into segments that each carry the most specific range covering them,
+         * followed by the wider ranges covering them that need fewer digits.
+         */
+        public BinTable<T> build() {
+            Range[] byStart = ranges.toArray(new Range[0]);
+            Arrays.sort(byStart, new Comparator<Range>() {
+                public int compare(Range a, Range b) {
+                    return Long.compare(a.start, b.start);
+                }
+            });
+
+            long[] bounds = new long[byStart.length * 2];
+            for(int i = 0; i < byStart.length; i++) {
+                bounds[i * 2] = byStart[i].start;
+                bounds[i * 2 + 1] = byStart[i].end + 1;
+            }
+            Arrays.sort(bounds);
+
+            Comparator<Range> specificity = new Comparator<Range>() {
+                public int compare(Range a, Range b) {
+                    int result = Long.compare(a.end - a.start, b.end - b.start);
+                    return result != 0 ? result : Integer.compare(b.order, a.order);
+                }
+            };
+            PriorityQueue<Range> active = new PriorityQueue<Range>(11, specificity);
+
+            List<Range> segments = new ArrayList<Range>();
+            int next = 0;
+            for(int i = 0; i < bounds.length; i++) {
+                long point = bounds[i];
+                if(i > 0 && point == bounds[i - 1]) {
+                    continue;
+                }
+                while(next < byStart.length && byStart[next].start == point) {
+                    active.add(byStart[next++]);
+                }
+                while(!active.isEmpty() && active.peek().end < point) {
+                    active.poll();
+                }
+                if(active.isEmpty()) {
+                    continue;
+                }
+
+                // the segment runs up to the next boundary, which always exists past an active range
+                Range winner = active.peek();
+                int following = i + 1;
+                while(bounds[following] == point) {
+                    following++;
+                }
+                long end = bounds[following] - 1;
+
+                Range segment = new Range(point, end, winner.digits, winner.value, winner.order);
+                if(active.size() > 1) {
+                    Range[] covering = active.toArray(new Range[0]);
+                    Arrays.sort(covering, specificity);
+                    Range child = segment;
+                    for(Range range: covering) {
+                        if(range.digits < child.digits) {
+                            child.parent = new Range(range.start, range.end, range.digits, range.value, range.order);
+                            child = child.parent;
+                        }
+                    }
+                }
+
+                Range last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+                if(last != null && last.end + 1 == point && sameRanges(last, segment)) {
+                    last.end = end;
+                } else {
+                    segments.add(segment);
+                }
+            }
+
+            int entries = segments.size();
+            for(Range segment: segments) {
+                for(Range parent = segment.parent; parent != null; parent = parent.parent) {
+                    entries++;
+                }
+            }
+
+            long[] starts = new long[segments.size()];
+            long[] ends = new long[segments.size()];
+            int[] digits = new int[entries];
+            Object[] values = new Object[entries];
+            int[] parents = new int[entries];
+            int fallback = segments.size();
+            for(int i = 0; i < segments.size(); i++) {
+                Range segment = segments.get(i);
+                starts[i] = segment.start;
+                ends[i] = segment.end;
+
+                int entry = i;
+                for(Range range = segment; ; range = range.parent) {
+                    digits[entry] = range.digits;
+                    values[entry] = range.value;
+                    if(range.parent == null) {
+                        parents[entry] = -1;
+                        break;
+                    }
+                    parents[entry] = fallback;
+                    entry = fallback++;
+                }
+            }
+            return new BinTable<T>(starts, ends, digits, values, parents);
+        }
+
+        private static boolean sameRanges(Range a, Range b) {
+            for(; a != null && b != null; a = a.parent, b = b.parent) {
+                if(a.order != b.order) {
+                    return false;
+                }
+            }
+            return a == b;
+        }
+
+        private static long parse(String digits) {
+            long value = 0;
+            for(int i = 0; i < digits.length(); i++) {
+                char c = digits.charAt(i);
+                if(c < '0' || c > '9') {
+                    throw new IllegalArgumentException(String.format("Invalid BIN %s.", digits));
+                }
+                value = value * 10 + (c - '0');
+            }
+            return value;
+        }
+    }
+
+    private static final class Range {
+        private final long start;
+        private long end;
+        private final int digits;
+        private final Object value;
+        private final int order;
+        private Range parent;
+
+        private Range(long start, long end, int digits, Object value, int order) {
+            this.start = start;
+            this.end = end;
+            this.digits = digits;
+            this.value = value;
+            this.order = order;
+        }
+    }
+}
@@ -5,158 +5,183 @@ import com.global.api.paymentMethods.GiftCard;
 import com.global.api.paymentMethods.ITrackData;
 import lombok.var;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class CardUtils {
-    private static final Pattern AmexRegex = Pattern.compile("^3[47]");
-    private static final Pattern MasterCardRegex = Pattern.compile("^(?:5[1-6]|222[1-9]|22[3-9][0-9]|2[3-6][0-9]{2}|27[01][0-9]|2720)");
-    private static final Pattern VisaRegex = Pattern.compile("^4");
-    private static final Pattern DinersClubRegex = Pattern.compile("^3(?:0[0-5]|[68][0-9])");
-    private static final Pattern RouteClubRegex = Pattern.compile("^(2014|2149)");
-    private static final Pattern DiscoverRegex = Pattern.compile("^6(?:011|5[0-9]{2})");
-    private static final Pattern JcbRegex = Pattern.compile("^(?:2131|1800|35\\d{3})");
-    private static final Pattern VoyagerRegex = Pattern.compile("^70888[5-9]");
-    private static final Pattern WexRegex = Pattern.compile("^(?:690046|707138)");
-    private static final Pattern FuelmanRegex = Pattern.compile("^707649[0-9]");
-    private static final Pattern FleetwideRegex = Pattern.compile("^707685[0-9]");
-    private static final Pattern StoredValueRegex = Pattern.compile("^(?:600649|603261|603571|627600|639470)");
-    private static final Pattern ValueLinkRegex = Pattern.compile("^(?:601056|603225)");
-    private static final Pattern HeartlandGiftRegex = Pattern.compile("^(?:502244|627720|708355)");
-    private static final Pattern UnionPayRegex = Pattern.compile("^(?:62[0-8]|81[0-8])");
-
-    private static final Pattern trackOnePattern = Pattern.compile("%?[B0]?([\\d]+)\\^[^\\^]+\\^([\\d]{4})([^?]+)?/?");
-    private static final Pattern trackTwoPattern = Pattern.compile(";?([\\d]+)[=|[dD]](\\d{4})([^?]+)?/?");
-
-    private static Map<String, Map<String, String>> fleetBinMap;
-    private static Map<String,Pattern> regexMap;
-    private static ArrayList<String> readyLinkBinMap;
+    private static final String[] defaultCardTypes = {
+            "Amex", "MC", "Visa", "DinersClub", "EnRoute", "Discover", "Jcb", "Voyager", "Wex", "Fuelman",
+            "FleetWide", "StoredValue", "ValueLink", "HeartlandGift", "UnionPay"
+    };
+    private static final BinTable.Builder<String> defaultCardTypeRanges;
+    private static final BinTable.Builder<String> defaultFleetRanges;
+    private static final BinTable.Builder<String> defaultReadyLinkRanges;
+
+    private static volatile BinRanges binRanges;
 
     static {
-        regexMap = new HashMap<String, Pattern>();
-        regexMap.put("Amex", AmexRegex);
-        regexMap.put("MC", MasterCardRegex);
-        regexMap.put("Visa", VisaRegex);
-        regexMap.put("DinersClub", DinersClubRegex);
-        regexMap.put("EnRoute", RouteClubRegex);
-        regexMap.put("Discover", DiscoverRegex);
-        regexMap.put("Jcb", JcbRegex);
-        regexMap.put("Voyager", VoyagerRegex);
-        regexMap.put("Wex", WexRegex);
-        regexMap.put("Fuelman", FuelmanRegex);
-        regexMap.put("FleetWide", FleetwideRegex);
-        regexMap.put("StoredValue", StoredValueRegex);
-        regexMap.put("ValueLink", ValueLinkRegex);
-        regexMap.put("HeartlandGift", HeartlandGiftRegex);
-        regexMap.put("UnionPay", UnionPayRegex);
+        // card brands, where a listed BIN takes precedence over a wider prefix containing it
+        defaultCardTypeRanges = BinTable.<String>builder()
+                .add("34", "Amex").add("37", "Amex")
+                .add("51", "56", "MC").add("2221", "2229", "MC").add("2230", "2299", "MC")
+                .add("2300", "2699", "MC").add("2700", "2719", "MC").add("2720", "MC")
+                .add("4", "Visa")
+                .add("300", "305", "DinersClub").add("360", "369", "DinersClub").add("380", "389", "DinersClub")
+                .add("2014", "EnRoute").add("2149", "EnRoute")
+                .add("6011", "Discover").add("6500", "6599", "Discover")
+                .add("2131", "Jcb").add("1800", "Jcb").add("35000", "35999", "Jcb")
+                .add("708885", "708889", "Voyager")
+                .add("690046", "Wex").add("707138", "Wex")
+                .add("7076490", "7076499", "Fuelman")
+                .add("7076850", "7076859", "FleetWide")
+                .add("600649", "StoredValue").add("603261", "StoredValue").add("603571", "StoredValue")
+                .add("627600", "StoredValue").add("639470", "StoredValue")
+                .add("601056", "ValueLink").add("603225", "ValueLink")
+                .add("502244", "HeartlandGift").add("627720", "HeartlandGift").add("708355", "HeartlandGift")
+                .add("620", "628", "UnionPay").add("810", "818", "UnionPay");
 
         // ReadyLink
-        readyLinkBinMap = new ArrayList<String>();
-        readyLinkBinMap.add("462766");
-        readyLinkBinMap.add("406498");
-        readyLinkBinMap.add("440230");
-        readyLinkBinMap.add("485932");
-        readyLinkBinMap.add("434249");
-        readyLinkBinMap.add("487093");
-        readyLinkBinMap.add("411338");
-        readyLinkBinMap.add("438968");
-        readyLinkBinMap.add("444083");
-        readyLinkBinMap.add("417021");
-        readyLinkBinMap.add("400421");
-        readyLinkBinMap.add("426938");
-        readyLinkBinMap.add("478499");
-        readyLinkBinMap.add("446053");
-        readyLinkBinMap.add("459440");
-        readyLinkBinMap.add("421783");
-        readyLinkBinMap.add("422799");
-        readyLinkBinMap.add("473517");
-        readyLinkBinMap.add("493478");
-        readyLinkBinMap.add("453037");
-        readyLinkBinMap.add("443613");
-        readyLinkBinMap.add("401658");
-        readyLinkBinMap.add("439331");
-        readyLinkBinMap.add("407216");
-        readyLinkBinMap.add("400123");
-        readyLinkBinMap.add("402407");
-        readyLinkBinMap.add("405551");
-        readyLinkBinMap.add("404206");
-        readyLinkBinMap.add("422803");
-        readyLinkBinMap.add("407635");
-        readyLinkBinMap.add("447904");
-        readyLinkBinMap.add("439461");
-
-        // fleet bin ranges
-        fleetBinMap = new HashMap<String, Map<String, String>>();
-
-        // visa fleet mappings
-        Map<String, String> visaFleetMap = new HashMap<String, String>();
-        visaFleetMap.put("448460", "448611");
-        visaFleetMap.put("448613", "448615");
-        visaFleetMap.put("448617", "448674");
-        visaFleetMap.put("448676", "448686");
-        visaFleetMap.put("448688", "448699");
-        visaFleetMap.put("461400", "461421");
-        visaFleetMap.put("461423", "461499");
-        visaFleetMap.put("480700", "480899");
-        fleetBinMap.put("Visa", visaFleetMap);
-
-        // mastercard fleet mappings
-        Map<String, String> mcFleetMap = new HashMap<String, String>();
-        mcFleetMap.put("553231", "553380");
-        mcFleetMap.put("556083", "556099");
-        mcFleetMap.put("556100", "556599");
-        mcFleetMap.put("556700", "556999");
-        fleetBinMap.put("MC", mcFleetMap);
-
-        // wright express fleet mappings
-        Map<String, String> wexFleetMap = new HashMap<String, String>();
-        wexFleetMap.put("690046", "690046");
-        wexFleetMap.put("707138", "707138");
-        fleetBinMap.put("Wex", wexFleetMap);
-
-        // voyager fleet
-        Map<String, String> voyagerFleetMap = new HashMap<String, String>();
-        voyagerFleetMap.put("708885", "708889");
-        fleetBinMap.put("Voyager", voyagerFleetMap);
-
-        //Fuelman fleet
-        Map<String, String> fuelmanFleetMap = new HashMap<String, String>();
-        fuelmanFleetMap.put("707649", "707649");
-        fleetBinMap.put("Fuelman", fuelmanFleetMap);
-
-        //FleetWide
-        Map<String, String> fleetWideMap = new HashMap<String, String>();
-        fleetWideMap.put("707685", "707685");
-        fleetBinMap.put("FleetWide", fleetWideMap);
+        defaultReadyLinkRanges = BinTable.builder();
+        String[] readyLinkBins = {
+                "462766", "406498", "440230", "485932", "434249", "487093", "411338", "438968",
+                "444083", "417021", "400421", "426938", "478499", "446053", "459440", "421783",
+                "422799", "473517", "493478", "453037", "443613", "401658", "439331", "407216",
+                "400123", "402407", "405551", "404206", "422803", "407635", "447904", "439461"
+        };
+        for(String bin: readyLinkBins) {
+            defaultReadyLinkRanges.add(bin, "Visa");
+        }
+
+        // fleet bin ranges, by base card type
+        defaultFleetRanges = BinTable.<String>builder()
+                // visa fleet mappings
+                .add("448460", "448611", "Visa")
+                .add("448613", "448615", "Visa")
+                .add("448617", "448674", "Visa")
+                .add("448676", "448686", "Visa")
+                .add("448688", "448699", "Visa")
+                .add("461400", "461421", "Visa")
+                .add("461423", "461499", "Visa")
+                .add("480700", "480899", "Visa")
+                // mastercard fleet mappings
+                .add("553231", "553380", "MC")
+                .add("556083", "556099", "MC")
+                .add("556100", "556599", "MC")
+                .add("556700", "556999", "MC")
+                // wright express fleet mappings
+                .add("690046", "Wex")
+                .add("707138", "Wex")
+                // voyager fleet
+                .add("708885", "708889", "Voyager")
+                //Fuelman fleet
+                .add("707649", "Fuelman")
+                //FleetWide
+                .add("707685", "FleetWide");
+
+        binRanges = new BinRanges(defaultCardTypes, defaultCardTypeRanges, defaultFleetRanges, defaultReadyLinkRanges);
     }
-    public static boolean isFleet(String cardType, String pan) {
-        if (!StringUtils.isNullOrEmpty(pan)) {
-            int compareValue = Integer.parseInt(pan.substring(0, 6));
-            String baseCardType = StringUtils.trimEnd(cardType, "Fleet");
 
-            if (fleetBinMap.containsKey(baseCardType)) {
-                Map<String, String> binRanges = fleetBinMap.get(baseCardType);
-                for (String key : binRanges.keySet()) {
-                    int lowerRange = Integer.parseInt(key);
-                    int upperRange = Integer.parseInt(binRanges.get(key));
+    private static final class BinRanges {
+        private final String[] cardTypes;
+        private final BinTable<String> cardTypeRanges;
+        private final BinTable<String> fleetRanges;
+        private final BinTable<String> readyLinkRanges;
 
-                    if (compareValue >= lowerRange && compareValue <= upperRange) {
-                        return true;
-                    }
-                }
+        private BinRanges(String[] cardTypes, BinTable.Builder<String> cardTypeRanges, BinTable.Builder<String> fleetRanges, BinTable.Builder<String> readyLinkRanges) {
+            this.cardTypes = cardTypes;
+            this.cardTypeRanges = cardTypeRanges.build();
+            this.fleetRanges = fleetRanges.build();
+            this.readyLinkRanges = readyLinkRanges.build();
+        }
+    }
+
+    /**
+     * Adds the BIN ranges in the file to the built-in ones, replacing any loaded before. Each line
+     * holds either a BIN and a card type or the two ends of a range and a card type, separated by
+     * commas; blank lines and lines starting with # are skipped. A card type ending in Fleet or
+     * ReadyLink, such as VisaFleet, marks the range as fleet or ReadyLink cards of the base type.
+     */
+    public static void loadBinRanges(Path file) throws IOException {
+        try(Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            loadBinRanges(reader);
+        }
+    }
+    public static void loadBinRanges(Reader reader) throws IOException {
+        BinTable.Builder<String> cardTypeRanges = BinTable.<String>builder().addAll(defaultCardTypeRanges);
+        BinTable.Builder<String> fleetRanges = BinTable.<String>builder().addAll(defaultFleetRanges);
+        BinTable.Builder<String> readyLinkRanges = BinTable.<String>builder().addAll(defaultReadyLinkRanges);
+
+        // one instance of each card type, however many ranges refer to it
+        Map<String, String> cardTypes = new LinkedHashMap<String, String>();
+        for(String cardType: defaultCardTypes) {
+            cardTypes.put(cardType, cardType);
+        }
+
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        int lineNumber = 0;
+        String line;
+        while((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if(line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            String[] fields = line.split(",");
+            if(fields.length < 2 || fields.length > 3) {
+                throw new IllegalArgumentException(String.format("Invalid BIN range on line %s.", lineNumber));
+            }
+            String low = fields[0].trim();
+            String high = fields[fields.length - 2].trim();
+            String cardType = fields[fields.length - 1].trim();
+
+            BinTable.Builder<String> ranges = cardTypeRanges;
+            if(cardType.endsWith("ReadyLink")) {
+                ranges = readyLinkRanges;
+                cardType = StringUtils.trimEnd(cardType, "ReadyLink");
+            }
+            else if(cardType.endsWith("Fleet")) {
+                ranges = fleetRanges;
+                cardType = StringUtils.trimEnd(cardType, "Fleet");
+            }
+            if(cardType.isEmpty()) {
+                throw new IllegalArgumentException(String.format("Invalid BIN range on line %s.", lineNumber));
+            }
+
+            String existing = cardTypes.get(cardType);
+            if(existing == null) {
+                cardTypes.put(cardType, cardType);
+                existing = cardType;
+            }
+            try {
+                ranges.add(low, high, existing);
+            }
+            catch(IllegalArgumentException exc) {
+                throw new IllegalArgumentException(String.format("%s (line %s)", exc.getMessage(), lineNumber));
             }
         }
+
+        binRanges = new BinRanges(cardTypes.keySet().toArray(new String[0]), cardTypeRanges, fleetRanges, readyLinkRanges);
+    }
+
+    public static boolean isFleet(String cardType, String pan) {
+        if (!StringUtils.isNullOrEmpty(pan)) {
+            String baseCardType = StringUtils.trimEnd(cardType, "Fleet");
+            return baseCardType.equals(binRanges.fleetRanges.lookup(pan));
+        }
         return false;
     }
 
     public static boolean isReadyLink(String pan) {
         if(!StringUtils.isNullOrEmpty(pan)) {
-            String compareValue = pan.substring(0, 6);
-            return readyLinkBinMap.contains(compareValue);
+            return binRanges.readyLinkRanges.lookup(pan) != null;
         }
         return false;
     }
@@ -164,12 +189,9 @@ public class CardUtils {
     public static String mapCardType(String pan) {
         String rvalue = "Unknown";
         if(!StringUtils.isNullOrEmpty(pan)) {
-            pan = pan.replace(" ", "").replace("-", "");
-
-            for (Map.Entry<String, Pattern> kvp : regexMap.entrySet()) {
-                if (kvp.getValue().matcher(pan).find()) {
-                    rvalue = kvp.getKey();
-                }
+            String cardType = binRanges.cardTypeRanges.lookup(pan);
+            if(cardType != null) {
+                rvalue = cardType;
             }
 
             // we have a card type, check if it's a fleet card
@@ -188,7 +210,7 @@ public class CardUtils {
 
     public static String getBaseCardType(String cardType) {
         var resultCardType = cardType;
-        for (String cardTypeKey : regexMap.keySet()) {
+        for (String cardTypeKey : binRanges.cardTypes) {
             if (cardType.toUpperCase(Locale.ENGLISH).startsWith(cardTypeKey.toUpperCase(Locale.ENGLISH))) {
                 return cardTypeKey;
             }
@@ -198,20 +220,20 @@ public class CardUtils {
 
     public static GiftCard parseTrackData(GiftCard paymentMethod) {
         String trackData = paymentMethod.getValue();
-        Matcher matcher = trackTwoPattern.matcher(trackData);
-        if(matcher.find()) {
+        TrackMatch match = TrackMatch.trackTwo(trackData);
+        if(match != null) {
             paymentMethod.setTrackNumber(TrackNumber.TrackTwo);
-            paymentMethod.setPan(matcher.group(1));
-            paymentMethod.setExpiry(matcher.group(2));
-            paymentMethod.setTrackData(StringUtils.trimStart(matcher.group(), ";"));
+            paymentMethod.setPan(match.pan());
+            paymentMethod.setExpiry(match.expiry());
+            paymentMethod.setTrackData(match.trackData(';'));
         }
         else {
-            matcher = trackOnePattern.matcher(trackData);
-            if(matcher.find()) {
+            match = TrackMatch.trackOne(trackData);
+            if(match != null) {
                 paymentMethod.setTrackNumber(TrackNumber.TrackOne);
-                paymentMethod.setPan(matcher.group(1));
-                paymentMethod.setExpiry(matcher.group(2));
-                paymentMethod.setTrackData(StringUtils.trimStart(matcher.group(), "%"));
+                paymentMethod.setPan(match.pan());
+                paymentMethod.setExpiry(match.expiry());
+                paymentMethod.setTrackData(match.trackData('%'));
             }
         }
 
@@ -219,35 +241,176 @@ public class CardUtils {
     }
     public static <T extends ITrackData> T parseTrackData(T paymentMethod) {
         String trackData = paymentMethod.getValue();
-        Matcher matcher = trackTwoPattern.matcher(trackData);
-        if(matcher.find()) {
-            String pan = matcher.group(1);
-            String expiry = matcher.group(2);
-            String discretionary = matcher.group(3);
-
-            if(!StringUtils.isNullOrEmpty(discretionary)) {
-                if(pan.concat(expiry).concat(discretionary).length() == 37 && discretionary.toLowerCase(Locale.ENGLISH).endsWith("f")) {
-                    discretionary = discretionary.substring(0, discretionary.length() - 1);
+        TrackMatch match = TrackMatch.trackTwo(trackData);
+        if(match != null) {
+            String pan = match.pan();
+            String expiry = match.expiry();
+
+            // drop the padding of an odd length track, pan and expiry plus 21 characters
+            int discretionaryEnd = match.end;
+            int discretionaryLength = discretionaryEnd - match.discretionaryStart;
+            if(discretionaryLength > 0 && pan.length() + expiry.length() + discretionaryLength == 37) {
+                char last = trackData.charAt(discretionaryEnd - 1);
+                if(last == 'f' || last == 'F') {
+                    discretionaryEnd--;
                 }
             }
+            String discretionary = match.discretionaryStart < match.end ? trackData.substring(match.discretionaryStart, discretionaryEnd) : null;
 
             paymentMethod.setTrackNumber(TrackNumber.TrackTwo);
             paymentMethod.setPan(pan);
             paymentMethod.setExpiry(expiry);
             paymentMethod.setDiscretionaryData(discretionary);
-            paymentMethod.setTrackData(String.format("%s=%s%s", pan, expiry, discretionary != null ? discretionary : ""));
+            paymentMethod.setTrackData(new StringBuilder(pan.length() + 5 + discretionaryEnd - match.discretionaryStart)
+                    .append(pan)
+                    .append('=')
+                    .append(expiry)
+                    .append(trackData, match.discretionaryStart, discretionaryEnd)
+                    .toString());
         }
         else {
-            matcher = trackOnePattern.matcher(trackData);
-            if(matcher.find()) {
+            match = TrackMatch.trackOne(trackData);
+            if(match != null) {
                 paymentMethod.setTrackNumber(TrackNumber.TrackOne);
-                paymentMethod.setPan(matcher.group(1));
-                paymentMethod.setExpiry(matcher.group(2));
-                paymentMethod.setDiscretionaryData(matcher.group(3));
-                paymentMethod.setTrackData(StringUtils.trimStart(matcher.group(), "%"));
+                paymentMethod.setPan(match.pan());
+                paymentMethod.setExpiry(match.expiry());
+                paymentMethod.setDiscretionaryData(match.discretionary());
+                paymentMethod.setTrackData(match.trackData('%'));
             }
         }
 
         return paymentMethod;
     }
+
+    /**
+     * The first track one or track two found in swiped data, located in a single pass without
+     * regular expressions. The rules are those of the patterns used before:
+     * <pre>
+     * track one  %?[B0]?([\d]+)\^[^\^]+\^([\d]{4})([^?]+)?/?
+     * track two  ;?([\d]+)[=|[dD]](\d{4})([^?]+)?/?
+     * </pre>
+     * so the separator of track two may be any of = | d D, and discretionary data runs up to the
+     * end sentinel or the end of the data.
+     */
+    private static final class TrackMatch {
+        private final String data;
+        private final int start;
+        private final int panStart;
+        private final int panEnd;
+        private final int expiryStart;
+        private final int discretionaryStart;
+        private final int end;
+
+        private TrackMatch(String data, int start, int panStart, int panEnd, int expiryStart) {
+            this.data = data;
+            this.start = start;
+            this.panStart = panStart;
+            this.panEnd = panEnd;
+            this.expiryStart = expiryStart;
+            this.discretionaryStart = expiryStart + 4;
+
+            int sentinel = data.indexOf('?', discretionaryStart);
+            this.end = sentinel < 0 ? data.length() : sentinel;
+        }
+
+        private String pan() {
+            return data.substring(panStart, panEnd);
+        }
+
+        private String expiry() {
+            return data.substring(expiryStart, discretionaryStart);
+        }
+
+        private String discretionary() {
+            return discretionaryStart < end ? data.substring(discretionaryStart, end) : null;
+        }
+
+        /**
+         * The matched track without its start sentinel.
+         */
+        private String trackData(char startSentinel) {
+            int from = data.charAt(start) == startSentinel ? start + 1 : start;
+            return data.substring(from, end);
+        }
+
+        private static TrackMatch trackTwo(String data) {
+            int length = data.length();
+            int i = 0;
+            while(i < length) {
+                if(!isDigit(data.charAt(i))) {
+                    i++;
+                    continue;
+                }
+
+                // every start inside a run of digits ends it at the same place, so only the first can match
+                int runStart = i;
+                while(i < length && isDigit(data.charAt(i))) {
+                    i++;
+                }
+                if(i + 4 < length && isTrackTwoSeparator(data.charAt(i)) && digits(data, i + 1, 4)) {
+                    int start = runStart > 0 && data.charAt(runStart - 1) == ';' ? runStart - 1 : runStart;
+                    return new TrackMatch(data, start, runStart, i, i + 1);
+                }
+            }
+            return null;
+        }
+
+        private static TrackMatch trackOne(String data) {
+            int length = data.length();
+            int i = 0;
+            while(i < length) {
+                if(!isDigit(data.charAt(i))) {
+                    i++;
+                    continue;
+                }
+
+                int runStart = i;
+                while(i < length && isDigit(data.charAt(i))) {
+                    i++;
+                }
+                if(i >= length || data.charAt(i) != '^') {
+                    continue;
+                }
+                int nameEnd = data.indexOf('^', i + 1);
+                if(nameEnd <= i + 1 || nameEnd + 4 >= length || !digits(data, nameEnd + 1, 4)) {
+                    continue;
+                }
+
+                // the earliest start wins; a leading 0 is taken as the format code when digits follow it
+                char before = runStart > 0 ? data.charAt(runStart - 1) : 0;
+                int start = runStart;
+                int panStart = runStart;
+                if(before == 'B') {
+                    start = runStart > 1 && data.charAt(runStart - 2) == '%' ? runStart - 2 : runStart - 1;
+                }
+                else {
+                    if(before == '%') {
+                        start = runStart - 1;
+                    }
+                    if(data.charAt(runStart) == '0' && i - runStart > 1) {
+                        panStart = runStart + 1;
+                    }
+                }
+                return new TrackMatch(data, start, panStart, i, nameEnd + 1);
+            }
+            return null;
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private static boolean isTrackTwoSeparator(char c) {
+            return c == '=' || c == 'd' || c == 'D' || c == '|';
+        }
+
+        private static boolean digits(String data, int from, int count) {
+            for(int i = from; i < from + count; i++) {
+                if(!isDigit(data.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -0,0 +1,183 @@
+package com.global.api.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A country dictionary prepared for inexact lookups. Keys are first matched ignoring case,
+ * accents, punctuation and spacing; failing that, the key with the highest fuzzy score wins.
+ *
+ * The fuzzy score counts the query characters found in order in the key, plus two for each one
+ * found right after the previous match, so a key only earns those bonuses for pairs of adjacent
+ * query characters that also appear next to each other in it. The index lists the keys holding
+ * each pair of characters, which bounds every key's score before it is computed and lets the
+ * search skip the keys that could not reach the best score so far.
+ */
+final class CountryIndex {
+    private final String[] values;
+    private final char[][] terms;
+    private final HashMap<Integer, int[]> keysByPair = new HashMap<Integer, int[]>();
+    private final HashMap<String, String> valuesByFoldedKey = new HashMap<String, String>();
+
+    CountryIndex(Map<String, String> dictionary) {
+        values = new String[dictionary.size()];
+        terms = new char[dictionary.size()][];
+
+        HashMap<Integer, List<Integer>> pairs = new HashMap<Integer, List<Integer>>();
+        HashMap<String, Integer> folded = new HashMap<String, Integer>();
+        int index = 0;
+        for(Map.Entry<String, String> entry: dictionary.entrySet()) {
+            values[index] = entry.getValue();
+            terms[index] = entry.getKey().toLowerCase().toCharArray();
+
+            LinkedHashSet<Integer> keyPairs = new LinkedHashSet<Integer>();
+            char[] term = terms[index];
+            for(int i = 1; i < term.length; i++) {
+                keyPairs.add(pair(term[i - 1], term[i]));
+            }
+            for(Integer keyPair: keyPairs) {
+                List<Integer> keys = pairs.get(keyPair);
+                if(keys == null) {
+                    keys = new ArrayList<Integer>();
+                    pairs.put(keyPair, keys);
+                }
+                keys.add(index);
+            }
+
+            // two keys that only differ in how they are written cannot be told apart
+            String foldedKey = fold(entry.getKey());
+            folded.put(foldedKey, folded.containsKey(foldedKey) ? -1 : index);
+            index++;
+        }
+
+        for(Map.Entry<Integer, List<Integer>> entry: pairs.entrySet()) {
+            List<Integer> keys = entry.getValue();
+            int[] ids = new int[keys.size()];
+            for(int i = 0; i < ids.length; i++) {
+                ids[i] = keys.get(i);
+            }
+            keysByPair.put(entry.getKey(), ids);
+        }
+        for(Map.Entry<String, Integer> entry: folded.entrySet()) {
+            if(entry.getValue() >= 0) {
+                valuesByFoldedKey.put(entry.getKey(), values[entry.getValue()]);
+            }
+        }
+    }
+
+    /**
+     * The value of the key written like the query, or else of the only key scoring highest
+     * above significantMatch; null when there is no such key.
+     */
+    String find(String query, int significantMatch) {
+        String value = valuesByFoldedKey.get(fold(query));
+        if(value != null) {
+            return value;
+        }
+        return fuzzyMatch(query, significantMatch);
+    }
+
+    String fuzzyMatch(String query, int significantMatch) {
+        char[] chars = query.toLowerCase().toCharArray();
+
+        int[] pairCounts = new int[terms.length];
+        int likeliest = -1;
+        for(int i = 1; i < chars.length; i++) {
+            int[] keys = keysByPair.get(pair(chars[i - 1], chars[i]));
+            if(keys != null) {
+                for(int key: keys) {
+                    pairCounts[key]++;
+                    if(likeliest < 0 || pairCounts[key] > pairCounts[likeliest]) {
+                        likeliest = key;
+                    }
+                }
+            }
+        }
+
+        // scoring the likeliest key first sets a bar most of the others cannot reach
+        int highScore = significantMatch;
+        int match = -1;
+        int matches = 0;
+        for(int i = -1; i < terms.length; i++) {
+            int key = i < 0 ? likeliest : i;
+            if(key < 0 || (i >= 0 && key == likeliest)) {
+                continue;
+            }
+
+            int found = Math.min(chars.length, terms[key].length);
+            int bound = found + 2 * Math.min(pairCounts[key], Math.max(found - 1, 0));
+            if(bound < highScore || (match < 0 && bound == highScore)) {
+                continue;
+            }
+
+            int score = fuzzyScore(terms[key], chars);
+            if(score > highScore) {
+                highScore = score;
+                match = key;
+                matches = 1;
+            }
+            else if(match >= 0 && score == highScore) {
+                matches++;
+            }
+        }
+
+        return matches == 1 ? values[match] : null;
+    }
+
+    private static int fuzzyScore(char[] term, char[] query) {
+        int score = 0;
+        int termIndex = 0;
+        int previousMatchingCharacterIndex = Integer.MIN_VALUE;
+
+        for(char queryChar: query) {
+            boolean termCharacterMatchFound = false;
+            for(; termIndex < term.length && !termCharacterMatchFound; termIndex++) {
+                if(queryChar == term[termIndex]) {
+                    score++;
+
+                    if(previousMatchingCharacterIndex + 1 == termIndex)
+                        score += 2;
+
+                    previousMatchingCharacterIndex = termIndex;
+                    termCharacterMatchFound = true;
+                }
+            }
+        }
+        return score;
+    }
+
+    private static int pair(char first, char second) {
+        return (first << 16) | second;
+    }
+
+    /**
+     * The letters and digits of the value without accents and in lower case, each run of other
+     * characters in between replaced by a single space.
+     */
+    static String fold(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        boolean separated = false;
+        for(int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if(Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if(Character.isLetterOrDigit(c)) {
+                if(separated && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                separated = false;
+                sb.append(Character.toLowerCase(c));
+            }
+            else {
+                separated = true;
+            }
+        }
+        return sb.toString();
+    }
+}
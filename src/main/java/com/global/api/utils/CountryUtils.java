@@ -5,15 +5,21 @@ import com.global.api.entities.CountryData;
 import com.global.api.entities.enums.CountryCodeFormat;
 import lombok.var;
 
-import java.util.*;
-
 public class CountryUtils {
     private static final int significantCountryMatch = 6;
     private static final int significantCodeMatch = 3;
-    private static final CountryData countryData;
 
-    static {
-        countryData = new CountryData();
+    // the indexes for inexact lookups, built the first time one is needed
+    private static final class CountryIndexes {
+        private static final CountryIndex alpha2ByCountry = new CountryIndex(CountryData.getAlpha2CodeByCountry());
+        private static final CountryIndex alpha3ByCountry = new CountryIndex(CountryData.getAlpha3CodeByCountry());
+        private static final CountryIndex numericByCountry = new CountryIndex(CountryData.getNumericCodeByCountry());
+    }
+
+    private static final class CodeIndexes {
+        private static final CountryIndex countryByAlpha2 = new CountryIndex(CountryData.getCountryByAlpha2Code());
+        private static final CountryIndex countryByAlpha3 = new CountryIndex(CountryData.getCountryByAlpha3Code());
+        private static final CountryIndex countryByNumeric = new CountryIndex(CountryData.getCountryByNumericCode());
     }
 
     public static boolean isCountry(Address address,  String countryCode) {
@@ -53,7 +59,7 @@ public class CountryUtils {
         {
             if (countryCode.length() > 3)
                 return null;
-            return fuzzyMatch(CountryData.getCountryByAlpha2Code(), countryCode, significantCodeMatch);
+            return CodeIndexes.countryByAlpha2.find(countryCode, significantCodeMatch);
         }
     }
 
@@ -85,7 +91,8 @@ public class CountryUtils {
         if (!StringUtils.isNullOrEmpty(output)) {
             return output;
         } else {
-            // it's not a country match or a countryCode match so let's get fuzzy
+            // it's not a country match or a countryCode match so let's try it without case or
+            // accents, then get fuzzy
             return (fuzzyByFormat(format, country));
         }
     }
@@ -95,15 +102,15 @@ public class CountryUtils {
         String output = "";
 
         if (format == CountryCodeFormat.Alpha2) {
-            fuzzyCountryMatch = fuzzyMatch(CountryData.getAlpha2CodeByCountry(), country, significantCountryMatch);
+            fuzzyCountryMatch = CountryIndexes.alpha2ByCountry.find(country, significantCountryMatch);
         }
         else if (format == CountryCodeFormat.Alpha3)
         {
-            fuzzyCountryMatch = fuzzyMatch(CountryData.getAlpha3CodeByCountry(), country, significantCountryMatch);
+            fuzzyCountryMatch = CountryIndexes.alpha3ByCountry.find(country, significantCountryMatch);
         }
         else if (format == CountryCodeFormat.Numeric)
         {
-            fuzzyCountryMatch = fuzzyMatch(CountryData.getNumericCodeByCountry(), country, significantCountryMatch);
+            fuzzyCountryMatch = CountryIndexes.numericByCountry.find(country, significantCountryMatch);
         }
         if (fuzzyCountryMatch != null)
             return fuzzyCountryMatch;
@@ -115,61 +122,34 @@ public class CountryUtils {
             // 3 or less, let's fuzzy match
             String fuzzyCodeMatch;
             if (format == CountryCodeFormat.Alpha2) {
-                fuzzyCodeMatch = fuzzyMatch(CountryData.getCountryByAlpha2Code(), country, significantCodeMatch);
+                fuzzyCodeMatch = CodeIndexes.countryByAlpha2.find(country, significantCodeMatch);
                 if (fuzzyCodeMatch != null)
-                    output = CountryData.getAlpha2CodeByCountry().get(fuzzyCodeMatch);
+                    output = CountryData.getAlpha2CodeByCountry(fuzzyCodeMatch);
             }
             else if (format == CountryCodeFormat.Alpha3) {
-                fuzzyCodeMatch = fuzzyMatch(CountryData.getCountryByAlpha3Code(), country, significantCodeMatch);
+                fuzzyCodeMatch = CodeIndexes.countryByAlpha3.find(country, significantCodeMatch);
                 if (fuzzyCodeMatch != null)
-                    output = CountryData.getAlpha3CodeByCountry().get(fuzzyCodeMatch);
+                    output = CountryData.getAlpha3CodeByCountry(fuzzyCodeMatch);
             }
             else if (format == CountryCodeFormat.Numeric) {
-                fuzzyCodeMatch = fuzzyMatch(CountryData.getCountryByNumericCode(), country, significantCodeMatch);
+                fuzzyCodeMatch = CodeIndexes.countryByNumeric.find(country, significantCodeMatch);
                 if (fuzzyCodeMatch != null)
-                    output = CountryData.getNumericCodeByCountry().get(fuzzyCodeMatch);
+                    output = CountryData.getNumericCodeByCountry(fuzzyCodeMatch);
             }
             return output;
         }
     }
 
-    private static  String fuzzyMatch(Map< String,  String> dict,  String query, int significantMatch) {
-         String rvalue = null;
-        Map< String,  String> matches = new HashMap<>();
-
-        // now we can loop
-        int highScore = -1;
-        for( String key : dict.keySet()) {
-            int score = fuzzyScore(key, query);
-            if(score > significantMatch && score > highScore) {
-                matches = new HashMap<>();
-
-                highScore = score;
-                rvalue = dict.get(key);
-                matches.put(key, rvalue);
-            }
-            else if(score == highScore) {
-                matches.put(key, dict.get(key));
-            }
-        }
-
-        if(matches.size() > 1)
-            return null;
-        return rvalue;
-    }
-
     // Return Numeric Code for country
     public static String getNumericCodeByCountry(String country) {
-        CountryData CountryData = new CountryData();
-
-        if (isCountryName(country) && CountryData.getNumericCodeByCountry().containsKey(country)) {
-            return CountryData.getNumericCodeByCountry().get(country);
+        if (isCountryName(country) && CountryData.getNumericCodeByCountry(country) != null) {
+            return CountryData.getNumericCodeByCountry(country);
         }
-        if (isAlpha2(country) && CountryData.getNumericByAlpha2CountryCode().containsKey(country)) {
-            return CountryData.getNumericByAlpha2CountryCode().get(country);
+        if (isAlpha2(country) && CountryData.getNumericByAlpha2CountryCode(country) != null) {
+            return CountryData.getNumericByAlpha2CountryCode(country);
         }
-        else if (isAlpha3(country) && CountryData.getNumericByAlpha3CountryCode().containsKey(country)) {
-            return CountryData.getNumericByAlpha3CountryCode().get(country);
+        else if (isAlpha3(country) && CountryData.getNumericByAlpha3CountryCode(country) != null) {
+            return CountryData.getNumericByAlpha3CountryCode(country);
         }
         else if (isNumeric(country)) {
             return country;
@@ -178,58 +158,25 @@ public class CountryUtils {
         return null;
     }
 
-    private static Integer fuzzyScore(final CharSequence term, final CharSequence query) {
-        if(term == null || query == null) {
-            throw new IllegalArgumentException(" Strings must not be null");
-        }
-
-        final  String termLowerCase = term.toString().toLowerCase();
-        final  String queryLowerCase = query.toString().toLowerCase();
-
-        int score = 0;
-        int termIndex = 0;
-        int previousMatchingCharacterIndex = Integer.MIN_VALUE;
-
-        for(int queryIndex = 0; queryIndex < queryLowerCase.length(); queryIndex++) {
-            final char queryChar = queryLowerCase.charAt(queryIndex);
-
-            boolean termCharacterMatchFound = false;
-            for(; termIndex < termLowerCase.length() && !termCharacterMatchFound; termIndex++) {
-                final char termChar = termLowerCase.charAt(termIndex);
-
-                if(queryChar == termChar) {
-                    score++;
-
-                    if(previousMatchingCharacterIndex + 1 == termIndex)
-                        score += 2;
-
-                    previousMatchingCharacterIndex = termIndex;
-                    termCharacterMatchFound = true;
-                }
-            }
-        }
-        return score;
-    }
-
     // Return Phone Code by country
     public static  String getPhoneCodesByCountry( String country) {
 
-        if (isCountryName(country) && countryData.getPhoneCodeByCountry().containsKey(country)) {
-            return countryData.getPhoneCodeByCountry().get(country);
+        if (isCountryName(country) && CountryData.getPhoneCodeByCountry(country) != null) {
+            return CountryData.getPhoneCodeByCountry(country);
         }
-        else if (isNumeric(country) && CountryData.getCountryByNumericCode().containsKey(country)) {
-            return countryData.getPhoneCodeByCountry().get(CountryData.getCountryByNumericCode().get(country));
+        else if (isNumeric(country) && CountryData.getCountryByNumericCode(country) != null) {
+            return CountryData.getPhoneCodeByCountry(CountryData.getCountryByNumericCode(country));
         }
-        else if ( isAlpha2(country) && CountryData.getNumericByAlpha2CountryCode().containsKey(country)) {
-            if (CountryData.getCountryByNumericCode().containsKey(CountryData.getNumericByAlpha2CountryCode().get(country))) {
-                var countryCode = CountryData.getCountryByNumericCode().get(CountryData.getNumericByAlpha2CountryCode().get(country));
-                return countryData.getPhoneCodeByCountry().get(countryCode);
+        else if ( isAlpha2(country) && CountryData.getNumericByAlpha2CountryCode(country) != null) {
+            if (CountryData.getCountryByNumericCode(CountryData.getNumericByAlpha2CountryCode(country)) != null) {
+                var countryCode = CountryData.getCountryByNumericCode(CountryData.getNumericByAlpha2CountryCode(country));
+                return CountryData.getPhoneCodeByCountry(countryCode);
             }
         }
-        else if ( isAlpha3(country) && CountryData.getNumericByAlpha3CountryCode().containsKey(country)) {
-            if (CountryData.getCountryByNumericCode().containsKey(CountryData.getNumericByAlpha3CountryCode().get(country))) {
-                var countryCode = CountryData.getCountryByNumericCode().get(CountryData.getNumericByAlpha3CountryCode().get(country));
-                return countryData.getPhoneCodeByCountry().get(countryCode);
+        else if ( isAlpha3(country) && CountryData.getNumericByAlpha3CountryCode(country) != null) {
+            if (CountryData.getCountryByNumericCode(CountryData.getNumericByAlpha3CountryCode(country)) != null) {
+                var countryCode = CountryData.getCountryByNumericCode(CountryData.getNumericByAlpha3CountryCode(country));
+                return CountryData.getPhoneCodeByCountry(countryCode);
             }
         }
         return null;
@@ -237,14 +184,14 @@ public class CountryUtils {
 
     // Converts from Name to requested format
     private static String convertFromName(String input, CountryCodeFormat countryCodeFormat){
-        if (countryCodeFormat == CountryCodeFormat.Alpha2 && CountryData.getAlpha2CodeByCountry().containsKey(input)) {
-            return CountryData.getAlpha2CodeByCountry().get(input);
+        if (countryCodeFormat == CountryCodeFormat.Alpha2 && CountryData.getAlpha2CodeByCountry(input) != null) {
+            return CountryData.getAlpha2CodeByCountry(input);
         }
-        else if (countryCodeFormat == CountryCodeFormat.Alpha3 && CountryData.getAlpha3CodeByCountry().containsKey(input)) {
-            return CountryData.getAlpha3CodeByCountry().get(input);
+        else if (countryCodeFormat == CountryCodeFormat.Alpha3 && CountryData.getAlpha3CodeByCountry(input) != null) {
+            return CountryData.getAlpha3CodeByCountry(input);
         }
-        else if (countryCodeFormat == CountryCodeFormat.Numeric && CountryData.getNumericCodeByCountry().containsKey(input)) {
-            return CountryData.getNumericCodeByCountry().get(input);
+        else if (countryCodeFormat == CountryCodeFormat.Numeric && CountryData.getNumericCodeByCountry(input) != null) {
+            return CountryData.getNumericCodeByCountry(input);
         }
         else if (countryCodeFormat == CountryCodeFormat.Name) {
             return input;
@@ -254,65 +201,65 @@ public class CountryUtils {
 
     // Converts from Alpha2 to requested format
     private static String convertFromAlpha2(String input, CountryCodeFormat countryCodeFormat) {
-        if (countryCodeFormat == CountryCodeFormat.Numeric && CountryData.getNumericByAlpha2CountryCode().containsKey(input))  {
-            return CountryData.getNumericByAlpha2CountryCode().get(input);
+        if (countryCodeFormat == CountryCodeFormat.Numeric && CountryData.getNumericByAlpha2CountryCode(input) != null)  {
+            return CountryData.getNumericByAlpha2CountryCode(input);
         }
-        else if (countryCodeFormat == CountryCodeFormat.Alpha3 && CountryData.getAlpha3CodeByAlpha2Code().containsKey(input)) {
-            return CountryData.getAlpha3CodeByAlpha2Code().get(input);
+        else if (countryCodeFormat == CountryCodeFormat.Alpha3 && CountryData.getAlpha3CodeByAlpha2Code(input) != null) {
+            return CountryData.getAlpha3CodeByAlpha2Code(input);
         }
         else if (countryCodeFormat == CountryCodeFormat.Alpha2) {
             return input;
         }
-        else if (countryCodeFormat == CountryCodeFormat.Name && CountryData.getCountryByAlpha2Code().containsKey(input)) {
-            return CountryData.getCountryByAlpha2Code().get(input);
+        else if (countryCodeFormat == CountryCodeFormat.Name && CountryData.getCountryByAlpha2Code(input) != null) {
+            return CountryData.getCountryByAlpha2Code(input);
         }
         return "";
     }
 
     // Converts from Alpha3 to requested format
     private static String ConvertFromAlpha3(String input, CountryCodeFormat countryCodeFormat) {
-        if (countryCodeFormat == CountryCodeFormat.Alpha2 && CountryData.getAlpha2CodeByAlpha3Code().containsKey(input)) {
-            return CountryData.getAlpha2CodeByAlpha3Code().get(input);
+        if (countryCodeFormat == CountryCodeFormat.Alpha2 && CountryData.getAlpha2CodeByAlpha3Code(input) != null) {
+            return CountryData.getAlpha2CodeByAlpha3Code(input);
         }
-        else if (countryCodeFormat == CountryCodeFormat.Numeric && CountryData.getNumericByAlpha3CountryCode().containsKey(input)) {
-            return CountryData.getNumericByAlpha3CountryCode().get(input);
+        else if (countryCodeFormat == CountryCodeFormat.Numeric && CountryData.getNumericByAlpha3CountryCode(input) != null) {
+            return CountryData.getNumericByAlpha3CountryCode(input);
         }
         else if (countryCodeFormat == CountryCodeFormat.Alpha3) {
             return input;
         }
-        else if (countryCodeFormat == CountryCodeFormat.Name && CountryData.getCountryByAlpha3Code().containsKey(input)) {
-            return CountryData.getCountryByAlpha3Code().get(input);
+        else if (countryCodeFormat == CountryCodeFormat.Name && CountryData.getCountryByAlpha3Code(input) != null) {
+            return CountryData.getCountryByAlpha3Code(input);
         }
         return "";
     }
 
     // Converts from Numeric to requested format
     private static String ConvertFromNumeric(String input, CountryCodeFormat countryCodeFormat) {
-        if (countryCodeFormat == CountryCodeFormat.Alpha2 && CountryData.getAlpha2CountryCodeByNumeric().containsKey(input)) {
-            return CountryData.getAlpha2CountryCodeByNumeric().get(input);
+        if (countryCodeFormat == CountryCodeFormat.Alpha2 && CountryData.getAlpha2CountryCodeByNumeric(input) != null) {
+            return CountryData.getAlpha2CountryCodeByNumeric(input);
         }
-        else if (countryCodeFormat == CountryCodeFormat.Alpha3 && CountryData.getAlpha3CountryCodeByNumeric().containsKey(input)) {
-            return CountryData.getAlpha3CountryCodeByNumeric().get(input);
+        else if (countryCodeFormat == CountryCodeFormat.Alpha3 && CountryData.getAlpha3CountryCodeByNumeric(input) != null) {
+            return CountryData.getAlpha3CountryCodeByNumeric(input);
         }
         else if (countryCodeFormat == CountryCodeFormat.Numeric) {
             return input;
         }
-        else if (countryCodeFormat == CountryCodeFormat.Name && CountryData.getCountryByNumericCode().containsKey(input)) {
-            return CountryData.getCountryByNumericCode().get(input);
+        else if (countryCodeFormat == CountryCodeFormat.Name && CountryData.getCountryByNumericCode(input) != null) {
+            return CountryData.getCountryByNumericCode(input);
         }
         return "";
     }
 
     private static boolean isCountryName( String input) {
-        return CountryData.getAlpha2CodeByCountry().containsKey(input);
+        return CountryData.getAlpha2CodeByCountry(input) != null;
     }
     private static boolean  isAlpha2( String input) {
-        return CountryData.getCountryByAlpha2Code().containsKey(input);
+        return CountryData.getCountryByAlpha2Code(input) != null;
     }
     private static boolean  isAlpha3( String input) {
-        return CountryData.getAlpha2CodeByAlpha3Code().containsKey(input);
+        return CountryData.getAlpha2CodeByAlpha3Code(input) != null;
     }
     private static boolean isNumeric( String input) {
-        return CountryData.getAlpha2CountryCodeByNumeric().containsKey(input);
+        return CountryData.getAlpha2CountryCodeByNumeric(input) != null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,345 @@
+package com.global.api.utils;
+
+import org.joda.time.DateTime;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A date pattern compiled once and shared by everything that formats or parses it. Codecs come
+ * from of(pattern) and are safe to use from any thread; they read and write exactly what a new
+ * SimpleDateFormat (or, for a DateTime, DateTime.toString) with the same pattern would.
+ *
+ * Patterns made only of fixed-width numeric fields (yyyy, yy, MM, dd, HH, hh, mm, ss and SSS) and
+ * unquoted separators, such as the yyMMddhhmmss and MMddhhmmss of the ISO 8583 messages, are
+ * formatted and parsed directly from the field values. Anything else, and any text the direct
+ * parse cannot be sure to read the way SimpleDateFormat would, goes through a SimpleDateFormat
+ * kept per thread.
+ */
+public final class DateCodec {
+    private static final ConcurrentHashMap<String, DateCodec> codecs = new ConcurrentHashMap<String, DateCodec>();
+
+    private static final int YEAR = 0;
+    private static final int TWO_DIGIT_YEAR = 1;
+    private static final int MONTH = 2;
+    private static final int DAY = 3;
+    private static final int HOUR_OF_DAY = 4;
+    private static final int HOUR = 5;
+    private static final int MINUTE = 6;
+    private static final int SECOND = 7;
+    private static final int MILLISECOND = 8;
+    private static final int LITERAL = 9;
+
+    private static final long MILLIS_PER_DAY = 86400000L;
+    private static final long SIX_HOURS = 6 * 3600000L;
+
+    private final String pattern;
+    private final SimpleDateFormat prototype;
+    private final ThreadLocal<SimpleDateFormat> formats;
+
+    // the fields of a fixed-width numeric pattern, or null
+    private final int[] fields;
+    private final char[] literals;
+    private final int width;
+
+    private DateCodec(String pattern) {
+        this.pattern = pattern;
+        prototype = new SimpleDateFormat(pattern);
+        formats = new ThreadLocal<SimpleDateFormat>() {
+            @Override
+            protected SimpleDateFormat initialValue() {
+                return (SimpleDateFormat) prototype.clone();
+            }
+        };
+
+        int[] fields = new int[pattern.length()];
+        char[] literals = new char[pattern.length()];
+        int count = 0;
+        int width = 0;
+        for(int i = 0; i < pattern.length() && fields != null; ) {
+            char c = pattern.charAt(i);
+            int run = 1;
+            while(i + run < pattern.length() && pattern.charAt(i + run) == c) {
+                run++;
+            }
+
+            int field = field(c, run);
+            if(field == LITERAL) {
+                if((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '\'') {
+                    fields = null;
+                    break;
+                }
+                run = 1;
+                literals[count] = c;
+            }
+            else if(field < 0) {
+                fields = null;
+                break;
+            }
+            fields[count++] = field;
+            width += run;
+            i += run;
+        }
+
+        if(fields != null) {
+            this.fields = new int[count];
+            this.literals = new char[count];
+            System.arraycopy(fields, 0, this.fields, 0, count);
+            System.arraycopy(literals, 0, this.literals, 0, count);
+            this.width = width;
+        }
+        else {
+            this.fields = null;
+            this.literals = null;
+            this.width = 0;
+        }
+    }
+
+    private static int field(char c, int run) {
+        switch(c) {
+            case 'y': return run == 4 ? YEAR : run == 2 ? TWO_DIGIT_YEAR : -1;
+            case 'M': return run == 2 ? MONTH : -1;
+            case 'd': return run == 2 ? DAY : -1;
+            case 'H': return run == 2 ? HOUR_OF_DAY : -1;
+            case 'h': return run == 2 ? HOUR : -1;
+            case 'm': return run == 2 ? MINUTE : -1;
+            case 's': return run == 2 ? SECOND : -1;
+            case 'S': return run == 3 ? MILLISECOND : -1;
+            default: return LITERAL;
+        }
+    }
+
+    private static int width(int field) {
+        switch(field) {
+            case YEAR: return 4;
+            case MILLISECOND: return 3;
+            case LITERAL: return 1;
+            default: return 2;
+        }
+    }
+
+    public static DateCodec of(String pattern) {
+        DateCodec codec = codecs.get(pattern);
+        if(codec == null) {
+            codec = new DateCodec(pattern);
+            DateCodec existing = codecs.putIfAbsent(pattern, codec);
+            if(existing != null) {
+                codec = existing;
+            }
+        }
+        return codec;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public String format(Date date) {
+        if(fields != null) {
+            long millis = date.getTime();
+            String formatted = format(millis + TimeZone.getDefault().getOffset(millis));
+            if(formatted != null) {
+                return formatted;
+            }
+        }
+        return format().format(date);
+    }
+
+    public String format(DateTime dateTime) {
+        if(fields != null) {
+            long millis = dateTime.getMillis();
+            String formatted = format(millis + dateTime.getZone().getOffset(millis));
+            if(formatted != null) {
+                return formatted;
+            }
+        }
+        return dateTime.toString(pattern);
+    }
+
+    // the local time formatted directly, or null when its year is out of range
+    private String format(long local) {
+        int date = civilDate(Math.floorDiv(local, MILLIS_PER_DAY));
+        int year = date / 10000;
+        // the calendar switches to julian dates before 1582, so leave those to the formatter
+        if(year < 1600 || year > 9999) {
+            return null;
+        }
+        int millisOfDay = (int) Math.floorMod(local, MILLIS_PER_DAY);
+        return format(year, date / 100 % 100, date % 100, millisOfDay / 3600000, millisOfDay / 60000 % 60, millisOfDay / 1000 % 60, millisOfDay % 1000);
+    }
+
+    private String format(int year, int month, int day, int hour, int minute, int second, int millis) {
+        char[] buffer = new char[width];
+        int offset = 0;
+        for(int i = 0; i < fields.length; i++) {
+            switch(fields[i]) {
+                case YEAR: offset = digits(buffer, offset, year, 4); break;
+                case TWO_DIGIT_YEAR: offset = digits(buffer, offset, year % 100, 2); break;
+                case MONTH: offset = digits(buffer, offset, month, 2); break;
+                case DAY: offset = digits(buffer, offset, day, 2); break;
+                case HOUR_OF_DAY: offset = digits(buffer, offset, hour, 2); break;
+                case HOUR: offset = digits(buffer, offset, hour % 12 == 0 ? 12 : hour % 12, 2); break;
+                case MINUTE: offset = digits(buffer, offset, minute, 2); break;
+                case SECOND: offset = digits(buffer, offset, second, 2); break;
+                case MILLISECOND: offset = digits(buffer, offset, millis, 3); break;
+                default: buffer[offset++] = literals[i]; break;
+            }
+        }
+        return new String(buffer);
+    }
+
+    private static int digits(char[] buffer, int offset, int value, int count) {
+        for(int i = offset + count - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + count;
+    }
+
+    /**
+     * Parses the start of the text, like DateFormat.parse(String).
+     */
+    public Date parse(String text) throws ParseException {
+        ParsePosition position = new ParsePosition(0);
+        Date date = parse(text, position);
+        if(position.getIndex() == 0) {
+            throw new ParseException(String.format("Unparseable date: \"%s\"", text), position.getErrorIndex());
+        }
+        return date;
+    }
+
+    /**
+     * Parses the text from the position, like DateFormat.parse(String, ParsePosition): null when
+     * it does not match, with the error index of the position set.
+     */
+    public Date parse(String text, ParsePosition position) {
+        if(fields != null) {
+            Date date = parseFields(text, position.getIndex());
+            if(date != null) {
+                position.setIndex(position.getIndex() + width);
+                return date;
+            }
+        }
+        return format().parse(text, position);
+    }
+
+    // the formatter of this thread, in the zone a new one would have
+    private SimpleDateFormat format() {
+        SimpleDateFormat format = formats.get();
+        TimeZone zone = TimeZone.getDefault();
+        if(!zone.equals(format.getTimeZone())) {
+            format.setTimeZone(zone);
+        }
+        return format;
+    }
+
+    private Date parseFields(String text, int start) {
+        if(start < 0 || text.length() - start < width) {
+            return null;
+        }
+
+        int year = 0, month = 1, day = 1, hour = 0, minute = 0, second = 0, millis = 0;
+        boolean twoDigitYear = false;
+        int offset = start;
+        for(int i = 0; i < fields.length; i++) {
+            int field = fields[i];
+            if(field == LITERAL) {
+                if(text.charAt(offset++) != literals[i]) {
+                    return null;
+                }
+                continue;
+            }
+
+            int count = width(field);
+            int value = 0;
+            for(int end = offset + count; offset < end; offset++) {
+                char c = text.charAt(offset);
+                if(c < '0' || c > '9') {
+                    return null;
+                }
+                value = value * 10 + (c - '0');
+            }
+            // a field not followed by another number reads every digit there is
+            boolean abutting = i + 1 < fields.length && fields[i + 1] != LITERAL;
+            if(!abutting && offset < text.length() && Character.isDigit(text.charAt(offset))) {
+                return null;
+            }
+
+            switch(field) {
+                case YEAR: year = value; break;
+                case TWO_DIGIT_YEAR: year = value; twoDigitYear = true; break;
+                case MONTH: month = value; break;
+                case DAY: day = value; break;
+                case HOUR_OF_DAY: hour = value; break;
+                case HOUR: hour = value == 12 ? 0 : value; break;
+                case MINUTE: minute = value; break;
+                case SECOND: second = value; break;
+                default: millis = value; break;
+            }
+        }
+
+        if(!twoDigitYear) {
+            return year >= 1600 ? toDate(year, month, day, hour, minute, second, millis) : null;
+        }
+
+        // two digit years fall within the 80 years before and 20 after now
+        long now = System.currentTimeMillis();
+        int startYear = civilDate(Math.floorDiv(now + TimeZone.getDefault().getOffset(now), MILLIS_PER_DAY)) / 10000 - 80;
+        int ambiguousYear = startYear % 100;
+        int fullYear = year + (startYear / 100) * 100 + (year < ambiguousYear ? 100 : 0);
+
+        Date date = toDate(fullYear, month, day, hour, minute, second, millis);
+        if(date != null && year == ambiguousYear) {
+            Calendar centuryStart = Calendar.getInstance();
+            centuryStart.add(Calendar.YEAR, -80);
+            if(date.getTime() < centuryStart.getTimeInMillis()) {
+                date = toDate(fullYear + 100, month, day, hour, minute, second, millis);
+            }
+        }
+        return date;
+    }
+
+    // the local time as a date, or null when it falls near a change of the zone's offset
+    private static Date toDate(int year, int month, int day, int hour, int minute, int second, int millis) {
+        year += Math.floorDiv(month - 1, 12);
+        month = Math.floorMod(month - 1, 12) + 1;
+        long local = (daysOf(year, month) + day - 1) * MILLIS_PER_DAY + hour * 3600000L + minute * 60000L + second * 1000L + millis;
+
+        TimeZone zone = TimeZone.getDefault();
+        long utc = local - zone.getOffset(local - zone.getRawOffset());
+        if(zone.getOffset(utc - SIX_HOURS) != zone.getOffset(utc + SIX_HOURS)) {
+            return null;
+        }
+        return new Date(utc);
+    }
+
+    // days since 1970-01-01 of the first of the month in the proleptic gregorian calendar
+    private static long daysOf(int year, int month) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    // the proleptic gregorian date of the days since 1970-01-01, as yyyyMMdd
+    private static int civilDate(long days) {
+        long shifted = days + 719468;
+        long era = Math.floorDiv(shifted, 146097);
+        long dayOfEra = shifted - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1);
+        int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        // far out of range years only need to stay out of range
+        return (int) Math.max(-99999, Math.min(99999, year)) * 10000 + month * 100 + day;
+    }
+}
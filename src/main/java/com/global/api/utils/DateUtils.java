@@ -1,7 +1,6 @@
 package com.global.api.utils;
 
 import java.text.ParsePosition;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 
@@ -18,13 +17,20 @@ public class DateUtils {
     }
 
     public static Date parse(String date, String format) {
-        SimpleDateFormat sdf = new SimpleDateFormat(format);
-        return sdf.parse(date, new ParsePosition(0));
+        return DateCodec.of(format).parse(date, new ParsePosition(0));
     }
 
     public static String toString(Date date, String format) {
-        SimpleDateFormat sdf = new SimpleDateFormat(format);
-        return sdf.format(date);
+        return DateCodec.of(format).format(date);
+    }
+
+    /**
+     * The date as yyyy-MM-dd'T'HH:mm:ss.SSS followed by its zone offset written as +hh:mm.
+     */
+    public static String toOffsetDateTimeString(Date date) {
+        String formatted = DateCodec.of("yyyy-MM-dd'T'HH:mm:ss.SSSZZZZZ").format(date);
+        int length = formatted.length();
+        return formatted.substring(0, length - 2) + ":" + formatted.substring(length - 2);
     }
 
     public static boolean isBeforeOrEquals(Date date1, Date date2) {
@@ -151,7 +151,21 @@ public class Element {
     }
 
     public Date getDate(String... tagNames) {
-        return getDate(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSSSSS"), tagNames);
+        return getDate(DateCodec.of("yyyy-MM-dd'T'HH:mm:ss.SSSSSSS"), tagNames);
+    }
+    public Date getDate(DateCodec codec, String... tagNames) {
+        for(String tagName: tagNames) {
+            org.w3c.dom.Element element = getElementByTagName(tagName);
+            if(element != null) {
+                try {
+                    return codec.parse(element.getTextContent());
+                }
+                catch (ParseException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
     }
     public Date getDate(SimpleDateFormat formatter, String... tagNames) {
         for(String tagName: tagNames) {
@@ -5,24 +5,57 @@ import com.global.api.entities.enums.IMappedConstant;
 import com.global.api.entities.enums.IStringConstant;
 import com.global.api.entities.exceptions.ApiException;
 import org.w3c.dom.Document;
+import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * Builds and reads the xml messages of the soap and xml gateways. Documents are still DOM trees, but
+ * the parser and the output factory are created once per thread instead of once per message, and
+ * requests are streamed out through an XMLStreamWriter rather than an identity Transformer.
+ */
 public class ElementTree {
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+
+    private static final ThreadLocal<DocumentBuilder> documentBuilder = new ThreadLocal<DocumentBuilder>();
+    private static final ThreadLocal<XMLInputFactory> inputFactory = new ThreadLocal<XMLInputFactory>() {
+        @Override
+        protected XMLInputFactory initialValue() {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            // element names are matched on their qualified name, as the DOM parser does
+            factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            return factory;
+        }
+    };
+    private static final ThreadLocal<XMLOutputFactory> outputFactory = new ThreadLocal<XMLOutputFactory>() {
+        @Override
+        protected XMLOutputFactory initialValue() {
+            return XMLOutputFactory.newInstance();
+        }
+    };
+
     private Document doc;
     private HashMap<String, String> namespaces;
 
@@ -113,24 +146,211 @@ public class ElementTree {
     }
 
     public String toString(Element root) {
-        doc.appendChild(root.getElement());
+        try {
+            StringWriter buffer = new StringWriter();
+            buffer.write(XML_DECLARATION);
+
+            XMLStreamWriter writer = outputFactory.get().createXMLStreamWriter(buffer);
+            try {
+                writeNode(writer, buffer, root.getElement(), Collections.<String, String>emptyMap());
+            } finally {
+                writer.close();
+            }
+            return buffer.toString();
+        } catch (XMLStreamException e) {
+            return e.getMessage();
+        }
+    }
 
+    /**
+     * Serializes only the children of parent, between a prefix and suffix written earlier for the
+     * same ancestors. Namespaces the ancestors declare are not declared again, so the result is the
+     * same as serializing the whole document.
+     */
+    String toString(Element parent, String prefix, String suffix) {
         try {
-            TransformerFactory tFact = TransformerFactory.newInstance();
-            Transformer trans = tFact.newTransformer();
-
-            StringWriter writer = new StringWriter();
-            StreamResult result = new StreamResult(writer);
-            DOMSource source = new DOMSource(doc);
-            trans.transform(source, result);
-            return writer.toString();
-        } catch (TransformerException e) {
+            StringWriter buffer = new StringWriter(prefix.length() + suffix.length() + 1024);
+            buffer.write(prefix);
+
+            Node node = parent.getElement();
+            Map<String, String> scope = inheritedScope(node);
+            XMLStreamWriter writer = outputFactory.get().createXMLStreamWriter(buffer);
+            try {
+                for(Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+                    writeNode(writer, buffer, child, scope);
+                }
+            } finally {
+                writer.close();
+            }
+
+            buffer.write(suffix);
+            return buffer.toString();
+        } catch (XMLStreamException e) {
             return e.getMessage();
-        } finally {
-            doc.removeChild(root.getElement());
         }
     }
 
+    private static Map<String, String> inheritedScope(Node node) throws XMLStreamException {
+        if(node == null || node.getNodeType() != Node.ELEMENT_NODE) {
+            return Collections.emptyMap();
+        }
+        return declarations(null, node, inheritedScope(node.getParentNode()));
+    }
+
+    private static void writeNode(XMLStreamWriter writer, Writer out, Node node, Map<String, String> scope) throws XMLStreamException {
+        switch(node.getNodeType()) {
+            case Node.ELEMENT_NODE:
+                writeElement(writer, out, node, scope);
+                break;
+            case Node.TEXT_NODE:
+                writeText(writer, node.getNodeValue());
+                break;
+            case Node.CDATA_SECTION_NODE:
+                writeCData(writer, node.getNodeValue());
+                break;
+            case Node.COMMENT_NODE:
+                writer.writeComment(node.getNodeValue());
+                break;
+            case Node.PROCESSING_INSTRUCTION_NODE:
+                writer.writeProcessingInstruction(node.getNodeName(), node.getNodeValue());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void writeElement(XMLStreamWriter writer, Writer out, Node node, Map<String, String> scope) throws XMLStreamException {
+        String name = node.getNodeName();
+        boolean empty = !node.hasChildNodes();
+        if(empty) {
+            writer.writeEmptyElement(name);
+        } else {
+            writer.writeStartElement(name);
+        }
+
+        scope = declarations(writer, node, scope);
+
+        NamedNodeMap attributes = node.getAttributes();
+        for(int i = 0; i < attributes.getLength(); i++) {
+            Node attribute = attributes.item(i);
+            if(!attribute.getNodeName().startsWith("xmlns")) {
+                writeAttribute(writer, out, attribute.getNodeName(), attribute.getNodeValue());
+            }
+        }
+
+        if(!empty) {
+            for(Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+                writeNode(writer, out, child, scope);
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    /**
+     * The namespaces in scope inside node, writing the declarations it adds when writer is given.
+     * Namespace declarations come first, each written once per scope; elements created in a
+     * namespace declare it themselves unless an ancestor already did.
+     */
+    private static Map<String, String> declarations(XMLStreamWriter writer, Node node, Map<String, String> scope) throws XMLStreamException {
+        NamedNodeMap attributes = node.getAttributes();
+        for(int i = 0; i < attributes.getLength(); i++) {
+            Node attribute = attributes.item(i);
+            String attributeName = attribute.getNodeName();
+            if(attributeName.startsWith("xmlns")) {
+                int separator = attributeName.indexOf(':');
+                scope = declare(writer, scope, separator > 0 ? attributeName.substring(separator + 1) : "", attribute.getNodeValue());
+            }
+        }
+        String uri = node.getNamespaceURI();
+        if(uri != null) {
+            String name = node.getNodeName();
+            int colon = name.indexOf(':');
+            scope = declare(writer, scope, colon > 0 ? name.substring(0, colon) : "", uri);
+        }
+        return scope;
+    }
+
+    private static Map<String, String> declare(XMLStreamWriter writer, Map<String, String> scope, String prefix, String uri) throws XMLStreamException {
+        if(uri.equals(scope.get(prefix))) {
+            return scope;
+        }
+        if(writer != null) {
+            if(prefix.isEmpty()) {
+                writer.writeDefaultNamespace(uri);
+            } else {
+                writer.writeNamespace(prefix, uri);
+            }
+        }
+
+        Map<String, String> declared = new HashMap<String, String>(scope);
+        declared.put(prefix, uri);
+        return declared;
+    }
+
+    private static void writeCData(XMLStreamWriter writer, String text) throws XMLStreamException {
+        // a section cannot contain its own terminator, so "]]>" is split across two sections
+        int start = 0;
+        for(int end = text.indexOf("]]>"); end >= 0; end = text.indexOf("]]>", end + 1)) {
+            writer.writeCData(text.substring(start, end + 2));
+            start = end + 2;
+        }
+        writer.writeCData(start == 0 ? text : text.substring(start));
+    }
+
+    private static void writeAttribute(XMLStreamWriter writer, Writer out, String name, String value) throws XMLStreamException {
+        int i = 0;
+        while(i < value.length() && value.charAt(i) != '\r' && value.charAt(i) != '\t' && value.charAt(i) != '\n') {
+            i++;
+        }
+        if(i == value.length()) {
+            writer.writeAttribute(name, value);
+            return;
+        }
+
+        // the stream writer leaves whitespace in attributes as it is, which a parser normalizes to
+        // spaces, so these are written straight after the open start tag as character references
+        StringBuilder sb = new StringBuilder(value.length() + name.length() + 16);
+        sb.append(' ').append(name).append("=\"");
+        for(i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch(c) {
+                case '&': sb.append("&amp;"); break;
+                case '<': sb.append("&lt;"); break;
+                case '>': sb.append("&gt;"); break;
+                case '"': sb.append("&quot;"); break;
+                case '\r': sb.append("&#13;"); break;
+                case '\t': sb.append("&#9;"); break;
+                case '\n': sb.append("&#10;"); break;
+                default: sb.append(c); break;
+            }
+        }
+        sb.append('"');
+
+        writer.flush();
+        try {
+            out.write(sb.toString());
+        } catch(IOException e) {
+            throw new XMLStreamException(e);
+        }
+    }
+
+    private static void writeText(XMLStreamWriter writer, String text) throws XMLStreamException {
+        // carriage returns and characters outside the basic plane are written as character references,
+        // as the identity transformer used to
+        int start = 0;
+        for(int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if(c == '\r' || (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1)))) {
+                writer.writeCharacters(text.substring(start, i));
+                int codePoint = text.codePointAt(i);
+                writer.writeEntityRef("#" + codePoint);
+                i += Character.charCount(codePoint) - 1;
+                start = i + 1;
+            }
+        }
+        writer.writeCharacters(start == 0 ? text : text.substring(start));
+    }
+
     public Element get(String tagName) {
         Node node;
 
@@ -149,11 +369,8 @@ public class ElementTree {
     }
 
     public static ElementTree parse(byte[] buffer) throws ApiException {
-        String xmlString = "";
-        for(byte b: buffer) {
-            xmlString += (char)b;
-        }
-        return parse(xmlString);
+        // each byte is taken as one character, as the messages have always been read
+        return parse(new String(buffer, StandardCharsets.ISO_8859_1));
     }
 
     public static ElementTree parse(String xml) throws ApiException {
@@ -165,7 +382,7 @@ public class ElementTree {
             InputSource is = new InputSource(new StringReader(xml));
 
             ElementTree rvalue = new ElementTree(namespaces);
-            rvalue.setDocument(DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(is));
+            rvalue.setDocument(getDocumentBuilder().parse(is));
             return rvalue;
         } catch(ParserConfigurationException e) {
             throw new ApiException(e.getMessage());
@@ -176,10 +393,84 @@ public class ElementTree {
         }
     }
 
+    /**
+     * A pull reader over a response that is still being received, for responses too large to
+     * parse into a single document.
+     */
+    public static XMLStreamReader createStreamReader(InputStream stream) throws ApiException {
+        try {
+            return inputFactory.get().createXMLStreamReader(stream);
+        } catch(XMLStreamException e) {
+            throw new ApiException(e.getMessage(), e);
+        }
+    }
+
+    static XMLInputFactory getInputFactory() {
+        return inputFactory.get();
+    }
+
+    /**
+     * Reads the element the reader is positioned on into a document of its own, leaving the
+     * reader on the element's end tag. Lookups on the returned element only see that element.
+     */
+    public static Element readElement(XMLStreamReader reader) throws ApiException {
+        try {
+            Document doc = getDocumentBuilder().newDocument();
+
+            Node parent = doc;
+            int depth = 0;
+            do {
+                switch(reader.getEventType()) {
+                    case XMLStreamConstants.START_ELEMENT: {
+                        org.w3c.dom.Element element = doc.createElement(reader.getLocalName());
+                        for(int i = 0; i < reader.getAttributeCount(); i++) {
+                            String prefix = reader.getAttributePrefix(i);
+                            String name = reader.getAttributeLocalName(i);
+                            element.setAttribute(StringUtils.isNullOrEmpty(prefix) ? name : prefix + ":" + name, reader.getAttributeValue(i));
+                        }
+                        parent.appendChild(element);
+                        parent = element;
+                        depth++;
+                    } break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        parent = parent.getParentNode();
+                        depth--;
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.SPACE:
+                        parent.appendChild(doc.createTextNode(reader.getText()));
+                        break;
+                    case XMLStreamConstants.CDATA:
+                        parent.appendChild(doc.createCDATASection(reader.getText()));
+                        break;
+                    default:
+                        break;
+                }
+            } while(depth > 0 && reader.hasNext() && reader.next() > 0);
+
+            return new Element(doc, doc.getDocumentElement(), new HashMap<String, String>());
+        } catch(ParserConfigurationException e) {
+            throw new ApiException(e.getMessage(), e);
+        } catch(XMLStreamException e) {
+            throw new ApiException(e.getMessage(), e);
+        }
+    }
+
+    private static DocumentBuilder getDocumentBuilder() throws ParserConfigurationException {
+        DocumentBuilder builder = documentBuilder.get();
+        if(builder == null) {
+            builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            documentBuilder.set(builder);
+        } else {
+            builder.reset();
+        }
+        return builder;
+    }
+
     private void init(HashMap<String, String> namespaces) {
         try {
             this.namespaces = namespaces;
-            this.doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+            this.doc = getDocumentBuilder().newDocument();
 
         } catch (ParserConfigurationException e) {
             System.out.println(e.getMessage());
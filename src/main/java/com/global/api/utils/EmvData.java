@@ -2,6 +2,7 @@ package com.global.api.utils;
 
 import lombok.var;
 
+import java.io.ByteArrayOutputStream;
 import java.util.LinkedHashMap;
 
 public class EmvData {
@@ -15,11 +16,11 @@ public class EmvData {
             return null;
         }
 
-        String rvalue = "";
+        StringBuilder rvalue = new StringBuilder();
         for(TlvData tag: tlvData.values()) {
-            rvalue = rvalue.concat(tag.getFullValue());
+            rvalue.append(tag.getFullValue());
         }
-        return rvalue;
+        return rvalue.toString();
     }
     public LinkedHashMap<String, TlvData> getAcceptedTags() { return tlvData; }
     public String getCardSequenceNumber() {
@@ -226,7 +227,15 @@ public class EmvData {
     }
 
     public byte[] getSendBuffer() {
-        return StringUtils.bytesFromHex(getAcceptedTagData());
+        if(tlvData.size() == 0) {
+            return StringUtils.bytesFromHex(getAcceptedTagData());
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for(TlvData tag: tlvData.values()) {
+            tag.writeTo(buffer);
+        }
+        return buffer.toByteArray();
     }
 
     public boolean isContactlessMsd() {
@@ -1,201 +1,200 @@
 package com.global.api.utils;
 
-import java.util.HashMap;
-import java.util.Map;
-
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Reads EMV tag data as BER-TLV. Tags are parsed straight from the bytes, multi-byte tags and
+ * lengths included, and each TlvData is a view of the buffer that only decodes its hex strings and
+ * description when asked for them. Tag metadata lives in tables sorted by the numeric tag.
+ */
 public class EmvUtils {
-    private static Map<String, String> knownTags;
-    private static Map<String, String> blackList;
-    private static Map<String, String> dataTypes;
-
-    static {
-        blackList = new HashMap<String, String>();
-        blackList.put("57", "Track 2 Equivalent Data");
-        blackList.put("5A", "Application Primary Account Number (PAN)");
-        blackList.put("99", "Transaction PIN Data");
-        blackList.put("5F20", "Cardholder Name");
-        blackList.put("5F24", "Application Expiration Date");
-        blackList.put("9F0B", "Cardholder Name Extended");
-        blackList.put("9F1F", "Track 1 Discretionary Data");
-        blackList.put("9F20", "Track 2 Discretionary Data");
-
-        knownTags = new HashMap<String, String>();
-        knownTags.put("4F", "Application Dedicated File (ADF) Name");
-        knownTags.put("50", "Application Label");
-        knownTags.put("6F", "File Control Information (FCI) Template");
-        knownTags.put("71", "Issuer Script Template 1");
-        knownTags.put("72", "Issuer Script Template 2");
-        knownTags.put("82", "Application Interchange Profile");
-        knownTags.put("84", "Dedicated File (DF) Name");
-        knownTags.put("86", "Issuer Script Command");
-        knownTags.put("87", "Application Priority Indicator");
-        knownTags.put("88", "Short File Identifier (SFI)");
-        knownTags.put("8A", "Authorization Response Code (ARC)");
-        knownTags.put("8C", "Card Rick Management Data Object List 1 (CDOL1)");
-        knownTags.put("8D", "Card Rick Management Data Object List 2 (CDOL2)");
-        knownTags.put("8E", "Cardholder Verification Method (CVM) List");
-        knownTags.put("8F", "Certification Authority Public Key Index");
-        knownTags.put("90", "Issuer Public Key Certificate");
-        knownTags.put("91", "Issuer Authentication Data");
-        knownTags.put("92", "Issuer Public Key Remainder");
-        knownTags.put("93", "Signed Static Application Data");
-        knownTags.put("94", "Application File Locator (AFL)");
-        knownTags.put("95", "Terminal Verification Results (TVR)");
-        knownTags.put("97", "Transaction Certification Data Object List (TDOL)");
-        knownTags.put("9A", "Transaction Date");
-        knownTags.put("9B", "Transaction Status Indicator");
-        knownTags.put("9C", "Transaction Type");
-        knownTags.put("9D", "Directory Definition File (DDF) Name");
-
-        knownTags.put("5F25", "Application Effective Date");
-        knownTags.put("5F28", "Issuer Country Code");
-        knownTags.put("5F2A", "Transaction Currency Code");
-        knownTags.put("5F2D", "Language Preference");
-        knownTags.put("5F30", "Service Code");
-        knownTags.put("5F34", "Application Primary Account Number (PAN) Sequence Number");
-        knownTags.put("5F36", "Transaction Currency Exponent");
-
-        knownTags.put("9F01", "Unknown");
-        knownTags.put("9F02", "Amount, Authorized");
-        knownTags.put("9F03", "Amount, Other");
-        knownTags.put("9F05", "Application Discretionary Data");
-        knownTags.put("9F06", "Application Identifier (AID)");
-        knownTags.put("9F07", "Application Usage Control");
-        knownTags.put("9F08", "Application Version Number");
-        knownTags.put("9F09", "Application Version Number");
-        knownTags.put("9F0D", "Issuer Action Code (IAC) - Default");
-        knownTags.put("9F0E", "Issuer Action Code (IAC) - Denial");
-        knownTags.put("9F0F", "Issuer Action Code (IAC) - Online");
-
-        knownTags.put("9F10", "Issuer Application Data");
-        knownTags.put("9F11", "Issuer Code Table Index");
-        knownTags.put("9F12", "Application Preferred Name");
-        knownTags.put("9F13", "Last Online Application Transaction Counter (ATC) Register");
-        knownTags.put("9F14", "Lower Consecutive Offline Limit");
-        knownTags.put("9F16", "Unknown");
-        knownTags.put("9F17", "Personal Identification Number (PIN) Try Counter");
-        knownTags.put("9F1A", "Terminal Country Code");
-        knownTags.put("9F1B", "Terminal Floor Limit");
-        knownTags.put("9F1C", "Unknown");
-        knownTags.put("9F1D", "Terminal Risk Management Data");
-        knownTags.put("9F1E", "Interface Device (IFD) Serial Number");
-
-        knownTags.put("9F21", "Transaction Time");
-        knownTags.put("9F22", "Certification Authority Public Key Modulus");
-        knownTags.put("9F23", "Upper Consecutive Offline Limit");
-        knownTags.put("9F26", "Application Cryptogram");
-        knownTags.put("9F27", "Cryptogram Information Data");
-        knownTags.put("9F2D", "Integrated Circuit Card (ICC) PIN Encipherment Public Key Certificate");
-        knownTags.put("9F2E", "Integrated Circuit Card (ICC) PIN Encipherment Public Key Exponent");
-        knownTags.put("9F2F", "Integrated Circuit Card (ICC) PIN Encipherment Public Key Remainder");
-
-        knownTags.put("9F32", "Issuer Public Key Exponent");
-        knownTags.put("9F33", "Terminal Capabilities");
-        knownTags.put("9F34", "Cardholder Verification Method (CVM) Results");
-        knownTags.put("9F35", "Terminal Type");
-        knownTags.put("9F36", "Application Transaction Counter (ATC)");
-        knownTags.put("9F37", "Unpredictable Number");
-        knownTags.put("9F38", "Processing Options Data Object List (PDOL)");
-        knownTags.put("9F39", "Point-Of-Service (POS) Entry Mode");
-        knownTags.put("9F3B", "Application Reference Currency");
-        knownTags.put("9F3C", "Transaction Reference Currency Code");
-        knownTags.put("9F3D", "Transaction Reference Currency Conversion");
-
-        knownTags.put("9F40", "Additional Terminal Capabilities");
-        knownTags.put("9F41", "Transaction Sequence Counter");
-        knownTags.put("9F42", "Application Currency Code");
-        knownTags.put("9F43", "Application Reference Currency Exponent");
-        knownTags.put("9F44", "Application Currency Exponent");
-        knownTags.put("9F46", "Integrated Circuit Card (ICC) Public Key Certificate");
-        knownTags.put("9F47", "Integrated Circuit Card (ICC) Public Key Exponent");
-        knownTags.put("9F48", "Integrated Circuit Card (ICC) Public Key Remainder");
-        knownTags.put("9F49", "Dynamic Data Authentication Data Object List (DDOL)");
-        knownTags.put("9F4A", "Signed Data Authentication Tag List");
-        knownTags.put("9F4B", "Signed Dynamic Application Data");
-        knownTags.put("9F4C", "ICC Dynamic Number");
-        knownTags.put("9F4E", "Unknown");
-
-        knownTags.put("9F5B", "Issuer Script Results");
-        knownTags.put("9F6E", "Form Factor Indicator/Third Party Data");
-        knownTags.put("9F7C", "Customer Exclusive Data");
-
-        knownTags.put("FFC6", "Terminal Action Code (TAC) Default");
-        knownTags.put("FFC7", "Terminal Action Code (TAC) Denial");
-        knownTags.put("FFC8", "Terminal Action Code (TAC) Online");
-
-        // Adding the WEX EMV
-        knownTags.put("42", "Issuer Identification Number (IIN or BIN)");
-        knownTags.put("61", "Directory entry Template");
-        knownTags.put("70", "Record Template");
-        knownTags.put("73", "Directory Discretionary Template");
-        knownTags.put("9F4D", "Log Entry");
-        knownTags.put("9F4F", "Transaction Log Format");
-        knownTags.put("9F52", "Card Verification Results (CVR)");
-        knownTags.put("9F7E", "Issuer Life Cycle Data");
-        knownTags.put("A5", "FCI Proprietary Template");
-        knownTags.put("BF0C", "FCI Issuer Discretionary Data");
-        knownTags.put("BF20", "PRO 00");
-        knownTags.put("BF27", "PRO 07");
-        knownTags.put("BF2E", "PRO 14");
-        knownTags.put("C1", "Application Control");
-        knownTags.put("C4", "Default Contact Profile31");
-        knownTags.put("CA", "Previous Transaction History");
-        knownTags.put("CB", "CRM Country Code");
-        knownTags.put("CD", "CRM Currency Code");
-        knownTags.put("D3", "PDOL Related data Length");
-        knownTags.put("D8", "CAFL");
-        knownTags.put("DF01", "Proprietary Data Element n°1");
-        knownTags.put("DF02", "Proprietary Data Element n°2");
-        knownTags.put("DF03", "Proprietary Data Element n°3");
-        knownTags.put("DF04", "Proprietary Data Element n°4");
-        knownTags.put("DF05", "Proprietary Data Element n°5 ");
-        knownTags.put("DF06", "Proprietary Data Element n°6");
-        knownTags.put("DF07", "Proprietary Data Element n°7 ");
-        knownTags.put("DF08", "Proprietary Data Element n°8");
-        knownTags.put("DF10", "Profile Selection Table");
-        knownTags.put("DF11", "Currency Conversion Code 1");
-        knownTags.put("DF12", "Currency Conversion Code 2");
-        knownTags.put("DF13", "COTN counter");
-        knownTags.put("DF14", "COTA accumulator");
-
-        knownTags.put("DF15", "CIAC – Denial");
-        knownTags.put("DF16", "CIAC – Default");
-        knownTags.put("DF17", "CIAC – Online");
-        knownTags.put("DF18", "LCOTA limit ");
-        knownTags.put("DF19", "UCOTA limit");
-        knownTags.put("DF1A", "MTAL limit ");
-        knownTags.put("DF1B", "LCOL limit");
-
-        knownTags.put("DF1C", "Upper Consecutive Offline Limit (UCOL)");
-        knownTags.put("DF1D", "IADOL");
-
-        knownTags.put("DF1E", "Derivation key Index");
-        knownTags.put("DF30", "Fuel Card usage bitmap [Prompting], ATC Limit");
-        knownTags.put("DF31", "Encrypted PIN cryptography failure limit");
-        knownTags.put("DF32", "Purchase Restrictions (WEX refers to this as Chip Offline Purchase Restriction), Failed MAC limit");
-        knownTags.put("DF33", "Lifetime MAC Limit");
-        knownTags.put("DF34", "Chip Offline Purchase Restrictions Amount for Fuel*, Session MAC Limit");
-        knownTags.put("DF35", "Chip Offline Purchase Restrictions Amount for non-Fuel*");
-
-        knownTags.put("DF36", "Relationship Codes*");
-        knownTags.put("DF37", "3rd Party Reference Data Generation 2*");
-        knownTags.put("DF38", "Loyalty ID*");
-        knownTags.put("DF39", "Purchase Device Sequence Number (with the suffix)* ");
-        knownTags.put("DF40", "DDOL Related Data Length");
-        knownTags.put("DF41", "CCDOL2 Related Data Length");
-        knownTags.put("DF4D", "Transaction Log Setting parameter31");
-
-
-        dataTypes = new HashMap<String, String>();
-        dataTypes.put("82", "b");
-        dataTypes.put("8E", "b");
-        dataTypes.put("95", "b");
-        dataTypes.put("9B", "b");
-        dataTypes.put("9F07", "b");
-        dataTypes.put("9F33", "b");
-        dataTypes.put("9F40", "b");
-        dataTypes.put("9F5B", "b");
-    }
+    private static final TagTable blackList = TagTable.of(
+            "57", "Track 2 Equivalent Data",
+            "5A", "Application Primary Account Number (PAN)",
+            "99", "Transaction PIN Data",
+            "5F20", "Cardholder Name",
+            "5F24", "Application Expiration Date",
+            "9F0B", "Cardholder Name Extended",
+            "9F1F", "Track 1 Discretionary Data",
+            "9F20", "Track 2 Discretionary Data"
+    );
+
+    private static final TagTable knownTags = TagTable.of(
+            "4F", "Application Dedicated File (ADF) Name",
+            "50", "Application Label",
+            "6F", "File Control Information (FCI) Template",
+            "71", "Issuer Script Template 1",
+            "72", "Issuer Script Template 2",
+            "82", "Application Interchange Profile",
+            "84", "Dedicated File (DF) Name",
+            "86", "Issuer Script Command",
+            "87", "Application Priority Indicator",
+            "88", "Short File Identifier (SFI)",
+            "8A", "Authorization Response Code (ARC)",
+            "8C", "Card Rick Management Data Object List 1 (CDOL1)",
+            "8D", "Card Rick Management Data Object List 2 (CDOL2)",
+            "8E", "Cardholder Verification Method (CVM) List",
+            "8F", "Certification Authority Public Key Index",
+            "90", "Issuer Public Key Certificate",
+            "91", "Issuer Authentication Data",
+            "92", "Issuer Public Key Remainder",
+            "93", "Signed Static Application Data",
+            "94", "Application File Locator (AFL)",
+            "95", "Terminal Verification Results (TVR)",
+            "97", "Transaction Certification Data Object List (TDOL)",
+            "9A", "Transaction Date",
+            "9B", "Transaction Status Indicator",
+            "9C", "Transaction Type",
+            "9D", "Directory Definition File (DDF) Name",
+
+            "5F25", "Application Effective Date",
+            "5F28", "Issuer Country Code",
+            "5F2A", "Transaction Currency Code",
+            "5F2D", "Language Preference",
+            "5F30", "Service Code",
+            "5F34", "Application Primary Account Number (PAN) Sequence Number",
+            "5F36", "Transaction Currency Exponent",
+
+            "9F01", "Unknown",
+            "9F02", "Amount, Authorized",
+            "9F03", "Amount, Other",
+            "9F05", "Application Discretionary Data",
+            "9F06", "Application Identifier (AID)",
+            "9F07", "Application Usage Control",
+            "9F08", "Application Version Number",
+            "9F09", "Application Version Number",
+            "9F0D", "Issuer Action Code (IAC) - Default",
+            "9F0E", "Issuer Action Code (IAC) - Denial",
+            "9F0F", "Issuer Action Code (IAC) - Online",
+
+            "9F10", "Issuer Application Data",
+            "9F11", "Issuer Code Table Index",
+            "9F12", "Application Preferred Name",
+            "9F13", "Last Online Application Transaction Counter (ATC) Register",
+            "9F14", "Lower Consecutive Offline Limit",
+            "9F16", "Unknown",
+            "9F17", "Personal Identification Number (PIN) Try Counter",
+            "9F1A", "Terminal Country Code",
+            "9F1B", "Terminal Floor Limit",
+            "9F1C", "Unknown",
+            "9F1D", "Terminal Risk Management Data",
+            "9F1E", "Interface Device (IFD) Serial Number",
+
+            "9F21", "Transaction Time",
+            "9F22", "Certification Authority Public Key Modulus",
+            "9F23", "Upper Consecutive Offline Limit",
+            "9F26", "Application Cryptogram",
+            "9F27", "Cryptogram Information Data",
+            "9F2D", "Integrated Circuit Card (ICC) PIN Encipherment Public Key Certificate",
+            "9F2E", "Integrated Circuit Card (ICC) PIN Encipherment Public Key Exponent",
+            "9F2F", "Integrated Circuit Card (ICC) PIN Encipherment Public Key Remainder",
+
+            "9F32", "Issuer Public Key Exponent",
+            "9F33", "Terminal Capabilities",
+            "9F34", "Cardholder Verification Method (CVM) Results",
+            "9F35", "Terminal Type",
+            "9F36", "Application Transaction Counter (ATC)",
+            "9F37", "Unpredictable Number",
+            "9F38", "Processing Options Data Object List (PDOL)",
+            "9F39", "Point-Of-Service (POS) Entry Mode",
+            "9F3B", "Application Reference Currency",
+            "9F3C", "Transaction Reference Currency Code",
+            "9F3D", "Transaction Reference Currency Conversion",
+
+            "9F40", "Additional Terminal Capabilities",
+            "9F41", "Transaction Sequence Counter",
+            "9F42", "Application Currency Code",
+            "9F43", "Application Reference Currency Exponent",
+            "9F44", "Application Currency Exponent",
+            "9F46", "Integrated Circuit Card (ICC) Public Key Certificate",
+            "9F47", "Integrated Circuit Card (ICC) Public Key Exponent",
+            "9F48", "Integrated Circuit Card (ICC) Public Key Remainder",
+            "9F49", "Dynamic Data Authentication Data Object List (DDOL)",
+            "9F4A", "Signed Data Authentication Tag List",
+            "9F4B", "Signed Dynamic Application Data",
+            "9F4C", "ICC Dynamic Number",
+            "9F4E", "Unknown",
+
+            "9F5B", "Issuer Script Results",
+            "9F6E", "Form Factor Indicator/Third Party Data",
+            "9F7C", "Customer Exclusive Data",
+
+            "FFC6", "Terminal Action Code (TAC) Default",
+            "FFC7", "Terminal Action Code (TAC) Denial",
+            "FFC8", "Terminal Action Code (TAC) Online",
+
+            // Adding the WEX EMV
+            "42", "Issuer Identification Number (IIN or BIN)",
+            "61", "Directory entry Template",
+            "70", "Record Template",
+            "73", "Directory Discretionary Template",
+            "9F4D", "Log Entry",
+            "9F4F", "Transaction Log Format",
+            "9F52", "Card Verification Results (CVR)",
+            "9F7E", "Issuer Life Cycle Data",
+            "A5", "FCI Proprietary Template",
+            "BF0C", "FCI Issuer Discretionary Data",
+            "BF20", "PRO 00",
+            "BF27", "PRO 07",
+            "BF2E", "PRO 14",
+            "C1", "Application Control",
+            "C4", "Default Contact Profile31",
+            "CA", "Previous Transaction History",
+            "CB", "CRM Country Code",
+            "CD", "CRM Currency Code",
+            "D3", "PDOL Related data Length",
+            "D8", "CAFL",
+            "DF01", "Proprietary Data Element n°1",
+            "DF02", "Proprietary Data Element n°2",
+            "DF03", "Proprietary Data Element n°3",
+            "DF04", "Proprietary Data Element n°4",
+            "DF05", "Proprietary Data Element n°5 ",
+            "DF06", "Proprietary Data Element n°6",
+            "DF07", "Proprietary Data Element n°7 ",
+            "DF08", "Proprietary Data Element n°8",
+            "DF10", "Profile Selection Table",
+            "DF11", "Currency Conversion Code 1",
+            "DF12", "Currency Conversion Code 2",
+            "DF13", "COTN counter",
+            "DF14", "COTA accumulator",
+
+            "DF15", "CIAC – Denial",
+            "DF16", "CIAC – Default",
+            "DF17", "CIAC – Online",
+            "DF18", "LCOTA limit ",
+            "DF19", "UCOTA limit",
+            "DF1A", "MTAL limit ",
+            "DF1B", "LCOL limit",
+
+            "DF1C", "Upper Consecutive Offline Limit (UCOL)",
+            "DF1D", "IADOL",
+
+            "DF1E", "Derivation key Index",
+            "DF30", "Fuel Card usage bitmap [Prompting], ATC Limit",
+            "DF31", "Encrypted PIN cryptography failure limit",
+            "DF32", "Purchase Restrictions (WEX refers to this as Chip Offline Purchase Restriction), Failed MAC limit",
+            "DF33", "Lifetime MAC Limit",
+            "DF34", "Chip Offline Purchase Restrictions Amount for Fuel*, Session MAC Limit",
+            "DF35", "Chip Offline Purchase Restrictions Amount for non-Fuel*",
+
+            "DF36", "Relationship Codes*",
+            "DF37", "3rd Party Reference Data Generation 2*",
+            "DF38", "Loyalty ID*",
+            "DF39", "Purchase Device Sequence Number (with the suffix)* ",
+            "DF40", "DDOL Related Data Length",
+            "DF41", "CCDOL2 Related Data Length",
+            "DF4D", "Transaction Log Setting parameter31"
+    );
+
+    // tags logged with their value in binary as well
+    private static final TagTable binaryTags = TagTable.ofTags(
+            "82", "8E", "95", "9B", "9F07", "9F33", "9F40", "9F5B"
+    );
+
+    // TVR bits that rule out stand-in, and TSI bits that must be set
+    private static final byte[] TVR_MASK = { (byte) 0xFC, 0x50, (byte) 0xFC, 0x20, 0x00 };
+    private static final byte[] TSI_MASK = { (byte) 0xE8, 0x00 };
 
     public static EmvData parseTagData(String tagData) {
         return parseTagData(tagData, false);
@@ -205,69 +204,115 @@ public class EmvUtils {
             return null;
         }
 
-        tagData = tagData.toUpperCase();
+        byte[] buffer = fromHex(tagData);
+        return parseTagData(buffer, 0, buffer.length, verbose);
+    }
 
+    public static EmvData parseTagData(byte[] tagData) {
+        return parseTagData(tagData, false);
+    }
+    public static EmvData parseTagData(byte[] tagData, boolean verbose) {
+        if(tagData == null || tagData.length == 0) {
+            return null;
+        }
+        return parseTagData(tagData, 0, tagData.length, verbose);
+    }
+
+    /**
+     * Parses the tags in data[offset, offset + length). The returned tags are views of data, so it
+     * must not be changed afterwards. Parsing stops at the first tag running past the end.
+     */
+    public static EmvData parseTagData(byte[] data, int offset, int length, boolean verbose) {
         EmvData rvalue = new EmvData();
 
-        for(int i = 0; i < tagData.length();) {
-            try {
-                String tagName = tagData.substring(i, i = i + 2);
-                if((Integer.parseInt(tagName, 16) & 0x1F) == 0x1F) {
-                    tagName += tagData.substring(i, i = i + 2);
-                }
+        int end = offset + length;
+        int i = offset;
+        while(i < end) {
+            int tagOffset = i;
+            int first = data[i++] & 0xFF;
+            int tagId = first;
+            if((first & 0x1F) == 0x1F) {
+                // subsequent bytes with the high bit set are followed by another; the proprietary FF
+                // tags terminals send are two bytes whatever their second byte is
+                int next;
+                do {
+                    if(i >= end || i - tagOffset == 4) {
+                        return finish(rvalue, verbose);
+                    }
+                    next = data[i++] & 0xFF;
+                    tagId = (tagId << 8) | next;
+                } while((next & 0x80) != 0 && first != 0xFF);
+            }
 
-                String lengthStr = tagData.substring(i, i = i + 2);
-                int length = Integer.parseInt(lengthStr, 16);
-                if(length > 127) {
-                    int bytesLength = length - 128;
-                    lengthStr = tagData.substring(i, i = i + (bytesLength * 2));
-                    length = Integer.parseInt(lengthStr, 16);
+            if(i >= end) {
+                break;
+            }
+            int lengthOffset = i;
+            int valueLength = data[i++] & 0xFF;
+            if(valueLength > 127) {
+                int lengthBytes = valueLength - 128;
+                if(lengthBytes == 0 || lengthBytes > 3 || i + lengthBytes > end) {
+                    break;
                 }
-                length *= 2;
+                valueLength = 0;
+                for(int b = 0; b < lengthBytes; b++) {
+                    valueLength = (valueLength << 8) | (data[i++] & 0xFF);
+                }
+            }
+            if(valueLength > end - i) {
+                break;
+            }
+            int valueOffset = i;
+            i += valueLength;
 
-                String value = tagData.substring(i, i = i + length);
+            int blackListIndex = blackList.indexOf(tagId);
+            if(blackListIndex < 0) {
+                int knownIndex = knownTags.indexOf(tagId);
+                String tagName = knownIndex >= 0 ? knownTags.name(knownIndex) : StringUtils.hexFromBytes(data, tagOffset, lengthOffset - tagOffset);
+                TlvData approvedTag = new TlvData(tagName, tagId, knownTags, data, tagOffset, lengthOffset, valueOffset, i);
 
-                if(!blackList.containsKey(tagName)) {
-                    TlvData approvedTag = new TlvData(tagName, lengthStr, value, knownTags.get(tagName));
-                    if(tagName.equals("5F28") && !value.equals("840")) {
-                        rvalue.setStandInStatus(false, "Card is not domestically issued");
-                    }
-                    else if(tagName.equals("95")) {
-                        byte[] valueBuffer = StringUtils.bytesFromHex(value);
-                        byte[] maskBuffer = StringUtils.bytesFromHex("FC50FC2000");
-
-                        for(int idx = 0; idx < valueBuffer.length; idx++) {
-                            if((valueBuffer[idx] & maskBuffer[idx]) != 0x00) {
-                                rvalue.setStandInStatus(false, String.format("Invalid TVR status in byte %s of tag 95", idx + 1));
-                            }
+                if(tagId == 0x5F28 && !approvedTag.getValue().equals("840")) {
+                    rvalue.setStandInStatus(false, "Card is not domestically issued");
+                }
+                else if(tagId == 0x95) {
+                    for(int idx = 0; idx < valueLength && idx < TVR_MASK.length; idx++) {
+                        if((data[valueOffset + idx] & TVR_MASK[idx]) != 0x00) {
+                            rvalue.setStandInStatus(false, String.format("Invalid TVR status in byte %s of tag 95", idx + 1));
                         }
                     }
-                    else if(tagName.equals("9B")) {
-                        byte[] valueBuffer = StringUtils.bytesFromHex(value);
-                        byte[] maskBuffer = StringUtils.bytesFromHex("E800");
-
-                        for(int idx = 0; idx < valueBuffer.length; idx++) {
-                            if((valueBuffer[idx] & maskBuffer[idx]) != maskBuffer[idx]) {
-                                rvalue.setStandInStatus(false, String.format("Invalid TSI status in byte %s of tag 9B", idx + 1));
-                            }
-                        }
+                    // a TVR longer than its five bytes is malformed and left out
+                    if(valueLength > TVR_MASK.length) {
+                        continue;
                     }
-
-                    rvalue.addTag(approvedTag);
                 }
-                else {
-                    rvalue.addRemovedTag(tagName, lengthStr, value, blackList.get(tagName));
+                else if(tagId == 0x9B) {
+                    for(int idx = 0; idx < valueLength && idx < TSI_MASK.length; idx++) {
+                        if((data[valueOffset + idx] & TSI_MASK[idx]) != TSI_MASK[idx]) {
+                            rvalue.setStandInStatus(false, String.format("Invalid TSI status in byte %s of tag 9B", idx + 1));
+                        }
+                    }
+                    // as is a TSI longer than two
+                    if(valueLength > TSI_MASK.length) {
+                        continue;
+                    }
                 }
+
+                rvalue.addTag(approvedTag);
+            }
+            else {
+                rvalue.addRemovedTag(new TlvData(blackList.name(blackListIndex), tagId, blackList, data, tagOffset, lengthOffset, valueOffset, i));
             }
-            catch(NumberFormatException exc) {}
-            catch(IndexOutOfBoundsException exc) {}
         }
 
+        return finish(rvalue, verbose);
+    }
+
+    private static EmvData finish(EmvData rvalue, boolean verbose) {
         if(verbose) {
             System.out.println("Accepted Tags:");
             for(String tagName: rvalue.getAcceptedTags().keySet()) {
                 TlvData tag = rvalue.getTag(tagName);
-                boolean appendBinary = dataTypes.containsKey(tagName);
+                boolean appendBinary = binaryTags.indexOf(tag.getTagId()) >= 0;
 
                 System.out.println(String.format("TAG: %s - %s", tagName, tag.getDescription()));
                 System.out.println(String.format("%s: %s%s\r\n",tag.getLength(), tag.getValue(), appendBinary ? String.format(" [%s]", tag.getBinaryValue()) : ""));
@@ -283,4 +328,86 @@ public class EmvUtils {
 
         return rvalue;
     }
+
+    /**
+     * Decodes hex of either case, up to the first character that is not a hex digit.
+     */
+    private static byte[] fromHex(String hex) {
+        byte[] buffer = new byte[hex.length() / 2];
+        for(int i = 0; i < buffer.length; i++) {
+            int high = Character.digit(hex.charAt(i * 2), 16);
+            int low = Character.digit(hex.charAt(i * 2 + 1), 16);
+            if(high < 0 || low < 0) {
+                return Arrays.copyOf(buffer, i);
+            }
+            buffer[i] = (byte) ((high << 4) | low);
+        }
+        return buffer;
+    }
+
+    /**
+     * Tag names and descriptions sorted by the numeric value of the tag.
+     */
+    static final class TagTable {
+        private final int[] ids;
+        private final String[] names;
+        private final String[] descriptions;
+
+        private TagTable(int[] ids, String[] names, String[] descriptions) {
+            this.ids = ids;
+            this.names = names;
+            this.descriptions = descriptions;
+        }
+
+        /**
+         * Pairs of tag and description.
+         */
+        private static TagTable of(String... entries) {
+            return build(entries, 2);
+        }
+
+        private static TagTable ofTags(String... tags) {
+            return build(tags, 1);
+        }
+
+        private static TagTable build(String[] entries, final int step) {
+            int count = entries.length / step;
+
+            final int[] ids = new int[count];
+            Integer[] order = new Integer[count];
+            for(int i = 0; i < count; i++) {
+                ids[i] = Integer.parseInt(entries[i * step], 16);
+                order[i] = i;
+            }
+            Arrays.sort(order, new Comparator<Integer>() {
+                public int compare(Integer a, Integer b) {
+                    return Integer.compare(ids[a], ids[b]);
+                }
+            });
+
+            int[] sortedIds = new int[count];
+            String[] names = new String[count];
+            String[] descriptions = new String[count];
+            for(int i = 0; i < count; i++) {
+                int index = order[i];
+                sortedIds[i] = ids[index];
+                names[i] = entries[index * step];
+                descriptions[i] = step == 2 ? entries[index * step + 1] : null;
+            }
+            return new TagTable(sortedIds, names, descriptions);
+        }
+
+        int indexOf(int tagId) {
+            return Arrays.binarySearch(ids, tagId);
+        }
+
+        String name(int index) {
+            return names[index];
+        }
+
+        String description(int tagId) {
+            int index = indexOf(tagId);
+            return index >= 0 ? descriptions[index] : null;
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package com.global.api.utils;
+
+import org.w3c.dom.Node;
+
+/**
+ * A soap envelope serialized once, up to and including the children of the request element that
+ * are the same on every call, such as the credentials. Requests made from the template only
+ * serialize the rest of the request element's content, between the cached prefix and suffix.
+ */
+public final class EnvelopeTemplate {
+    private final String prefix;
+    private final String suffix;
+
+    private EnvelopeTemplate(String prefix, String suffix) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    /**
+     * Serializes root, which contains content. Content must only hold the children that every
+     * request shares, and at least one of them.
+     */
+    public static EnvelopeTemplate of(ElementTree et, Element root, Element content) {
+        StringBuilder closingTags = new StringBuilder();
+        Node stop = root.getElement().getParentNode();
+        for(Node node = content.getElement(); node != stop; node = node.getParentNode()) {
+            closingTags.append("</").append(node.getNodeName()).append('>');
+        }
+        String suffix = closingTags.toString();
+
+        String xml = et.toString(root);
+        if(!xml.endsWith(suffix)) {
+            throw new IllegalArgumentException("The content element of an envelope template must have children.");
+        }
+        return new EnvelopeTemplate(xml.substring(0, xml.length() - suffix.length()), suffix);
+    }
+
+    /**
+     * The envelope for a request whose content element, built in et under the same ancestors as the
+     * template's, holds the children that follow the shared ones.
+     */
+    public String toString(ElementTree et, Element content) {
+        return et.toString(content, prefix, suffix);
+    }
+}
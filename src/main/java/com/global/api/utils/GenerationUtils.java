@@ -1,7 +1,6 @@
 package com.global.api.utils;
 
 import java.nio.ByteBuffer;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.UUID;
 
@@ -131,7 +130,7 @@ public class GenerationUtils {
     static public String generateTimestamp(String timestamp) {
         if(timestamp != null)
             return timestamp;
-        return new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
+        return DateCodec.of("yyyyMMddHHmmss").format(new Date());
     }
 
     /**
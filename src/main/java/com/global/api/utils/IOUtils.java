@@ -12,4 +12,13 @@ public class IOUtils {
             sb.append((char)c);
         return sb.toString();
     }
+
+    public static byte[] readFullyAsBytes(InputStream stream) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        int read;
+        while((read = stream.read(chunk)) != -1)
+            buffer.write(chunk, 0, read);
+        return buffer.toByteArray();
+    }
 }
@@ -3,11 +3,19 @@ package com.global.api.utils;
 import com.global.api.entities.enums.IStringConstant;
 import com.global.api.entities.exceptions.GatewayException;
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import org.joda.time.DateTime;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.*;
 
 import static com.global.api.gateways.GpApiConnector.parseGpApiDateTime;
@@ -15,10 +23,12 @@ import static com.global.api.gateways.GpApiConnector.parseGpApiDateTime;
 public class JsonDoc {
     private HashMap<String, Object> dict;
     private IRequestEncoder encoder;
+    // raw members of a lazily parsed document that have not been decoded into dict yet
+    private transient JsonIndex index;
     private static final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
 
     public Set<String> getKeys() {
-        return dict.keySet();
+        return materialize().keySet();
     }
 
     public JsonDoc() {
@@ -34,10 +44,14 @@ public class JsonDoc {
         this.dict = values;
         this.encoder = encoder;
     }
+    JsonDoc(JsonIndex index) {
+        this(new HashMap<String, Object>(), null);
+        this.index = index;
+    }
 
     // request stuff
     public JsonDoc remove(String key) {
-        dict.remove(key);
+        materialize().remove(key);
         return this;
     }
 
@@ -142,24 +156,73 @@ public class JsonDoc {
     }
 
     public String toString() {
-        HashMap<String, Object> _final = finish();
-        return gson.toJson(_final);
+        StringWriter out = new StringWriter();
+        try {
+            writeTo(out);
+        }
+        catch(IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+        return out.toString();
     }
 
-    private HashMap<String, Object> finish() {
-        HashMap<String, Object> _final = new HashMap<String, Object>();
-        for(String key: dict.keySet()) {
-            Object value = dict.get(key);
-            if(value instanceof JsonDoc)
-                _final.put(key, ((JsonDoc)value).finish());
-            else _final.put(key, value);
+    /**
+     * Writes the json of the document directly to the given writer; toString writes through here too.
+     */
+    public void writeTo(Writer out) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.setSerializeNulls(false);
+        writer.setLenient(true);
+        writeValue(writer, this);
+        writer.flush();
+    }
+
+    private static void writeValue(JsonWriter writer, Object value) throws IOException {
+        if(value == null) {
+            writer.nullValue();
+        }
+        else if(value instanceof String) {
+            writer.value((String) value);
+        }
+        else if(value instanceof Boolean) {
+            writer.value((Boolean) value);
+        }
+        else if(value instanceof Integer || value instanceof Long || value instanceof BigDecimal) {
+            writer.value((Number) value);
+        }
+        else if(value instanceof JsonDoc) {
+            writeValue(writer, ((JsonDoc) value).materialize());
+        }
+        else if(value instanceof Map) {
+            writer.beginObject();
+            for(Map.Entry<?, ?> entry: ((Map<?, ?>) value).entrySet()) {
+                writer.name(String.valueOf(entry.getKey()));
+                writeValue(writer, entry.getValue());
+            }
+            writer.endObject();
+        }
+        else if(value instanceof Collection) {
+            writer.beginArray();
+            for(Object item: (Collection<?>) value) {
+                writeValue(writer, item);
+            }
+            writer.endArray();
+        }
+        else if(value instanceof Object[]) {
+            writer.beginArray();
+            for(Object item: (Object[]) value) {
+                writeValue(writer, item);
+            }
+            writer.endArray();
+        }
+        else {
+            gson.toJson(value, value.getClass(), writer);
         }
-        return _final;
     }
 
     // response stuff
     public JsonDoc get(String name) {
-        if(dict.containsKey(name)) {
+        if(has(name)) {
             Object value = dict.get(name);
             if(value instanceof JsonDoc)
                 return (JsonDoc)value;
@@ -169,13 +232,13 @@ public class JsonDoc {
     }
 
     public Object getValue(String name) {
-        if(dict.containsKey(name))
+        if(has(name))
             return dict.get(name);
         return null;
     }
 
     public <T> T getValue(String name, ValueConverter<T> converter) throws Exception {
-        if(dict.containsKey(name)) {
+        if(has(name)) {
             Object value = dict.get(name);
             return converter.call(value.toString());
         }
@@ -192,7 +255,7 @@ public class JsonDoc {
         return null;
     }
     public String getString(String name) {
-        if(dict.containsKey(name)) {
+        if(has(name)) {
             Object value = dict.get(name);
             if(encoder != null)
                 return encoder.decode(value);
@@ -225,9 +288,8 @@ public class JsonDoc {
     public Date getDate(String name, String formatString) {
         String value = getString(name);
         if(value != null) {
-            SimpleDateFormat format = new SimpleDateFormat(formatString);
             try {
-                return format.parse(value);
+                return DateCodec.of(formatString).parse(value);
             }
             catch(ParseException exc) {
                 /* NOM NOM */
@@ -248,7 +310,7 @@ public class JsonDoc {
 
     @SuppressWarnings("unchecked")
     public List<JsonDoc> getEnumerator(String name) {
-        if(dict.containsKey(name)) {
+        if(has(name)) {
             Object value = dict.get(name);
             if(value instanceof List)
                 return (List<JsonDoc>)value;
@@ -259,7 +321,7 @@ public class JsonDoc {
 
     @SuppressWarnings("unchecked")
     public ArrayList<String> getStringArrayList(String name) {
-        if (dict.containsKey(name)) {
+        if (has(name)) {
             Object value = dict.get(name);
             if (value instanceof List)
                 return (ArrayList<String>) value;
@@ -269,11 +331,43 @@ public class JsonDoc {
     }
 
     public boolean has(String name) {
-        return dict.containsKey(name);
+        return dict.containsKey(name) || load(name);
+    }
+
+    private boolean load(String name) {
+        if(index == null) {
+            return false;
+        }
+        int entry = index.find(name);
+        if(entry < 0) {
+            return false;
+        }
+        Object value = index.value(entry);
+        if(value == null) {
+            return false;
+        }
+        dict.put(name, value);
+        return true;
+    }
+
+    /**
+     * Decodes any members of a lazily parsed document that have not been read yet.
+     */
+    private HashMap<String, Object> materialize() {
+        if(index != null) {
+            for(int i = 0; i < index.size(); i++) {
+                String key = index.key(i);
+                if(!dict.containsKey(key)) {
+                    load(key);
+                }
+            }
+            index = null;
+        }
+        return dict;
     }
 
     public static JsonDoc parse(String json) {
-        return parse(json, null);
+        return parse(json, (IRequestEncoder) null);
     }
     public static JsonDoc parse(String json, IRequestEncoder encoder) {
         JsonElement parsed = new JsonParser().parse(json);
@@ -283,6 +377,127 @@ public class JsonDoc {
         return null;
     }
 
+    /**
+     * Reads the next value from the reader into a document, leaving the reader positioned after it.
+     * Used to materialize one record at a time while streaming through a larger payload.
+     */
+    public static JsonDoc parse(JsonReader reader, IRequestEncoder encoder) {
+        JsonElement parsed = new JsonParser().parse(reader);
+        if(parsed.isJsonObject()) {
+            return parseObject(parsed.getAsJsonObject(), encoder);
+        }
+        return null;
+    }
+
+    /**
+     * Parses the json keeping only the nested objects listed in fields, without building an
+     * intermediate Gson tree.
+     */
+    public static JsonDoc parse(String json, JsonFields fields) {
+        JsonReader reader = new JsonReader(new StringReader(json));
+        reader.setLenient(true);
+        try {
+            try {
+                if(reader.peek() != JsonToken.BEGIN_OBJECT) {
+                    return null;
+                }
+            } catch(EOFException exc) {
+                return null;
+            }
+            return parse(reader, null, fields);
+        } catch(IOException exc) {
+            throw new JsonSyntaxException(exc);
+        }
+    }
+
+    /**
+     * Reads the next object from the reader, keeping only the nested objects listed in fields.
+     */
+    public static JsonDoc parse(JsonReader reader, IRequestEncoder encoder, JsonFields fields) throws IOException {
+        JsonDoc doc = new JsonDoc(encoder);
+        reader.beginObject();
+        while(reader.hasNext()) {
+            doc.read(reader.nextName(), reader, fields);
+        }
+        reader.endObject();
+        return doc;
+    }
+
+    /**
+     * Reads the next value from the reader and stores it under name, the same way parse would.
+     */
+    public JsonDoc read(String name, JsonReader reader, JsonFields fields) throws IOException {
+        switch(reader.peek()) {
+            case BEGIN_OBJECT:
+                JsonFields objectFields = fields.get(name);
+                if(objectFields != null) {
+                    dict.put(name, parse(reader, encoder, objectFields));
+                } else {
+                    reader.skipValue();
+                }
+                break;
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                if(reader.hasNext() && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    JsonFields elementFields = fields.get(name);
+                    List<JsonDoc> objs = new ArrayList<JsonDoc>();
+                    while(reader.hasNext()) {
+                        if(elementFields != null && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                            objs.add(parse(reader, encoder, elementFields));
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                    if(elementFields != null) {
+                        dict.put(name, objs);
+                    }
+                } else {
+                    ArrayList<String> objs = new ArrayList<String>();
+                    while(reader.hasNext()) {
+                        switch(reader.peek()) {
+                            case STRING:
+                            case NUMBER:
+                                objs.add(reader.nextString());
+                                break;
+                            case BOOLEAN:
+                                objs.add(String.valueOf(reader.nextBoolean()));
+                                break;
+                            default:
+                                reader.skipValue();
+                        }
+                    }
+                    dict.put(name, objs);
+                }
+                reader.endArray();
+                break;
+            case NULL:
+                reader.nextNull();
+                dict.remove(name);
+                break;
+            case BOOLEAN:
+                dict.put(name, String.valueOf(reader.nextBoolean()));
+                break;
+            default:
+                dict.put(name, reader.nextString());
+        }
+        return this;
+    }
+
+    /**
+     * Indexes the json without decoding it. Members are decoded on first access, so reading a few
+     * keys from a large document only costs a single scan. Since reading a member stores it, the
+     * document must not be read from several threads at once, unlike one from parse. Returns null
+     * when the json is not an object.
+     */
+    public static JsonDoc parseLazy(String json) {
+        JsonIndex index = JsonIndex.of(json);
+        return index != null ? new JsonDoc(index) : null;
+    }
+    public static JsonDoc parseLazy(byte[] json, int offset, int length) {
+        JsonIndex index = JsonIndex.of(json, offset, length);
+        return index != null ? new JsonDoc(index) : null;
+    }
+
     public static String parseSingleValue(String json, String name) {
         return parseSingleValue(json, name, null);
     }
@@ -0,0 +1,39 @@
+package com.global.api.utils;
+
+import java.util.HashMap;
+
+/**
+ * The nested objects a mapper reads from a response, given as dotted paths such as
+ * "payment_method.card". When parsing with a field set, objects and object arrays that are not
+ * listed are skipped straight from the reader instead of being built and thrown away. Scalar
+ * values and string arrays are always kept.
+ */
+public final class JsonFields {
+    private final HashMap<String, JsonFields> children = new HashMap<String, JsonFields>();
+
+    private JsonFields() {
+    }
+
+    public static JsonFields of(String... paths) {
+        JsonFields root = new JsonFields();
+        for(String path: paths) {
+            JsonFields node = root;
+            for(String name: path.split("\\.")) {
+                JsonFields child = node.children.get(name);
+                if(child == null) {
+                    child = new JsonFields();
+                    node.children.put(name, child);
+                }
+                node = child;
+            }
+        }
+        return root;
+    }
+
+    /**
+     * The fields to keep below the named object, or null if the object is not read.
+     */
+    public JsonFields get(String name) {
+        return children.get(name);
+    }
+}
@@ -0,0 +1,312 @@
+package com.global.api.utils;
+
+import com.google.gson.JsonSyntaxException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Offsets of the members of one json object inside a raw document, either UTF-8 bytes or a String.
+ * The object is scanned once when first searched; values are only decoded when asked for, and
+ * nested objects get an index of their own on first access.
+ */
+final class JsonIndex {
+    private final byte[] bytes;
+    private final String text;
+    private final int start;
+    private final int end;
+
+    // key start, key end, value start, value end for each member, in document order
+    private int[] entries;
+    private int size;
+
+    private JsonIndex(byte[] bytes, String text, int start, int end) {
+        this.bytes = bytes;
+        this.text = text;
+        this.start = start;
+        this.end = end;
+    }
+
+    static JsonIndex of(byte[] bytes, int offset, int length) {
+        return root(new JsonIndex(bytes, null, offset, offset + length));
+    }
+
+    static JsonIndex of(String text) {
+        return root(new JsonIndex(null, text, 0, text.length()));
+    }
+
+    private static JsonIndex root(JsonIndex document) {
+        int pos = document.skipWhitespace(document.start);
+        if(pos >= document.end || document.at(pos) != '{') {
+            return null;
+        }
+        JsonIndex index = document.child(pos, document.end);
+        index.build();
+        return index;
+    }
+
+    int size() {
+        build();
+        return size;
+    }
+
+    /**
+     * The last member with the given name, matching the way duplicate keys are resolved when
+     * parsing eagerly, or -1.
+     */
+    int find(String name) {
+        build();
+        for(int i = size - 1; i >= 0; i--) {
+            if(keyEquals(entries[i * 4], entries[i * 4 + 1], name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    String key(int entry) {
+        return decodeString(entries[entry * 4], entries[entry * 4 + 1]);
+    }
+
+    /**
+     * Decodes a member value the way JsonDoc.parse stores it: Strings for scalars, a JsonDoc for
+     * objects, a list of JsonDoc or String for arrays and null for json nulls.
+     */
+    Object value(int entry) {
+        return decodeValue(entries[entry * 4 + 2], entries[entry * 4 + 3]);
+    }
+
+    private JsonIndex child(int start, int end) {
+        return new JsonIndex(bytes, text, start, end);
+    }
+
+    private void build() {
+        if(entries != null) {
+            return;
+        }
+        entries = new int[32];
+
+        int pos = skipWhitespace(start + 1);
+        if(pos < end && at(pos) == '}') {
+            return;
+        }
+        while(true) {
+            pos = skipWhitespace(pos);
+            expect(pos, '"');
+            int keyEnd = skipString(pos);
+            int valueStart = skipWhitespace(keyEnd);
+            expect(valueStart, ':');
+            valueStart = skipWhitespace(valueStart + 1);
+            int valueEnd = skipValue(valueStart);
+
+            if((size + 1) * 4 > entries.length) {
+                entries = Arrays.copyOf(entries, entries.length * 2);
+            }
+            entries[size * 4] = pos + 1;
+            entries[size * 4 + 1] = keyEnd - 1;
+            entries[size * 4 + 2] = valueStart;
+            entries[size * 4 + 3] = valueEnd;
+            size++;
+
+            pos = skipWhitespace(valueEnd);
+            if(pos < end && at(pos) == ',') {
+                pos++;
+            } else {
+                expect(pos, '}');
+                return;
+            }
+        }
+    }
+
+    private Object decodeValue(int from, int to) {
+        switch(at(from)) {
+            case '"':
+                return decodeString(from + 1, to - 1);
+            case '{':
+                return new JsonDoc(child(from, to));
+            case '[':
+                return decodeArray(from, to);
+            default:
+                if(to - from == 4 && at(from) == 'n') {
+                    return null;
+                }
+                return decodeString(from, to);
+        }
+    }
+
+    private Object decodeArray(int from, int to) {
+        int pos = skipWhitespace(from + 1);
+        boolean objects = at(pos) == '{';
+
+        List<JsonDoc> docs = new ArrayList<JsonDoc>();
+        ArrayList<String> values = new ArrayList<String>();
+        while(at(pos) != ']') {
+            int valueEnd = skipValue(pos);
+            Object value = decodeValue(pos, valueEnd);
+            if(objects) {
+                if(value instanceof JsonDoc) {
+                    docs.add((JsonDoc) value);
+                }
+            } else if(!(value instanceof JsonDoc) && !(value instanceof List)) {
+                values.add((String) value);
+            }
+
+            pos = skipWhitespace(valueEnd);
+            if(at(pos) == ',') {
+                pos = skipWhitespace(pos + 1);
+            } else {
+                expect(pos, ']');
+            }
+        }
+        return objects ? docs : values;
+    }
+
+    private String decodeString(int from, int to) {
+        boolean escaped = false;
+        for(int i = from; i < to; i++) {
+            if(at(i) == '\\') {
+                escaped = true;
+                break;
+            }
+        }
+
+        String raw = bytes != null ? new String(bytes, from, to - from, StandardCharsets.UTF_8) : text.substring(from, to);
+        if(!escaped) {
+            return raw;
+        }
+
+        StringBuilder sb = new StringBuilder(raw.length());
+        for(int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if(c != '\\' || i + 1 >= raw.length()) {
+                sb.append(c);
+                continue;
+            }
+            char escape = raw.charAt(++i);
+            switch(escape) {
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 't': sb.append('\t'); break;
+                case 'u':
+                    if(i + 4 >= raw.length()) {
+                        throw new JsonSyntaxException("Unterminated escape sequence");
+                    }
+                    sb.append((char) Integer.parseInt(raw.substring(i + 1, i + 5), 16));
+                    i += 4;
+                    break;
+                default:
+                    sb.append(escape);
+            }
+        }
+        return sb.toString();
+    }
+
+    private boolean keyEquals(int from, int to, String name) {
+        if(to - from != name.length()) {
+            // escaped or multi-byte keys take the slow path
+            return hasSpecialChars(from, to) && decodeString(from, to).equals(name);
+        }
+        for(int i = 0; i < name.length(); i++) {
+            int c = at(from + i);
+            if(c == '\\' || c >= 0x80) {
+                return decodeString(from, to).equals(name);
+            }
+            if(c != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasSpecialChars(int from, int to) {
+        for(int i = from; i < to; i++) {
+            int c = at(i);
+            if(c == '\\' || c >= 0x80) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int skipValue(int pos) {
+        if(pos >= end) {
+            throw malformed(pos);
+        }
+        int c = at(pos);
+        if(c == '"') {
+            return skipString(pos);
+        }
+        if(c == '{' || c == '[') {
+            int depth = 0;
+            for(int i = pos; i < end; i++) {
+                int ch = at(i);
+                if(ch == '"') {
+                    i = skipString(i) - 1;
+                } else if(ch == '{' || ch == '[') {
+                    depth++;
+                } else if(ch == '}' || ch == ']') {
+                    if(--depth == 0) {
+                        return i + 1;
+                    }
+                }
+            }
+            throw malformed(end);
+        }
+        int i = pos;
+        while(i < end) {
+            int ch = at(i);
+            if(ch == ',' || ch == '}' || ch == ']' || ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r') {
+                break;
+            }
+            i++;
+        }
+        if(i == pos) {
+            throw malformed(pos);
+        }
+        return i;
+    }
+
+    /**
+     * Position just past the closing quote of the string opening at pos.
+     */
+    private int skipString(int pos) {
+        for(int i = pos + 1; i < end; i++) {
+            int c = at(i);
+            if(c == '\\') {
+                i++;
+            } else if(c == '"') {
+                return i + 1;
+            }
+        }
+        throw malformed(end);
+    }
+
+    private int skipWhitespace(int pos) {
+        while(pos < end) {
+            int c = at(pos);
+            if(c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private void expect(int pos, char c) {
+        if(pos >= end || at(pos) != c) {
+            throw malformed(pos);
+        }
+    }
+
+    private int at(int pos) {
+        return bytes != null ? bytes[pos] & 0xFF : text.charAt(pos);
+    }
+
+    private JsonSyntaxException malformed(int pos) {
+        return new JsonSyntaxException("Malformed JSON at offset " + (pos - start));
+    }
+}
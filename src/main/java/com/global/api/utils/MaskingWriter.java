@@ -0,0 +1,423 @@
+package com.global.api.utils;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Copies text to another writer or buffer in a single pass, masking card data on the way. A card
+ * number keeps its first six and last four digits, the others become X and its spaces and dashes
+ * are dropped; card numbers are recognized the way {@link StringUtils#mask(String)} always has,
+ * as well as right after the %B format code of track one data. When the number of a track (after
+ * %B, or after the ; of track two) is followed by its ^ or = separator, the rest of the track up to
+ * its ? end sentinel becomes X too. The digits of a cvv, cvc, cvn or cvd field, named by the xml
+ * element or json key before them, become X as well.
+ *
+ * Only a run of digits, spaces and dashes that could hold a card number is held back until it
+ * ends; everything else is copied as it is written. {@link #finish()} writes out what is held
+ * back at the end of a text, after which the writer can be used for the next one.
+ */
+public class MaskingWriter extends Writer {
+    private static final String[] SECURITY_CODE_NAMES = { "cvv", "cvv2", "cvc", "cvc2", "cvn", "cvd" };
+    private static final int MAX_NAME_LENGTH = 8;
+    private static final int MAX_TRACK_LENGTH = 79;
+
+    private final Appendable out;
+    private final StringBuilder buffer;
+
+    private char[] run = new char[32];
+    private int runLength;
+    private char previous = ' ';
+    private char beforePrevious = ' ';
+    private boolean previousWord;
+    private boolean runStartsTrack;
+    private int trackMasked = -1;
+
+    private final char[] name = new char[MAX_NAME_LENGTH];
+    private int nameLength = -1;
+    private char nameOpener;
+    private boolean securityCodeNext;
+
+    public MaskingWriter(Appendable out) {
+        this.out = out;
+        this.buffer = out instanceof StringBuilder ? (StringBuilder) out : null;
+    }
+
+    /**
+     * The value with its card data masked.
+     */
+    public static String mask(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        MaskingWriter writer = new MaskingWriter(sb);
+        writer.append(value);
+        writer.finish();
+        return sb.toString();
+    }
+
+    @Override
+    public void write(int c) {
+        process((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        for(int i = off; i < off + len; i++) {
+            process(cbuf[i]);
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+        for(int i = off; i < off + len; i++) {
+            process(str.charAt(i));
+        }
+    }
+
+    @Override
+    public MaskingWriter append(CharSequence csq) {
+        CharSequence text = csq == null ? "null" : csq;
+        return append(text, 0, text.length());
+    }
+
+    @Override
+    public MaskingWriter append(CharSequence csq, int start, int end) {
+        CharSequence text = csq == null ? "null" : csq;
+        if(text instanceof String) {
+            write((String) text, start, end - start);
+            return this;
+        }
+        for(int i = start; i < end; i++) {
+            process(text.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public MaskingWriter append(char c) {
+        process(c);
+        return this;
+    }
+
+    /**
+     * Writes out the end of the text held back, as the end of the text.
+     */
+    public void finish() {
+        if(runLength > 0) {
+            resolveRun(' ');
+        }
+        endName(' ');
+        previous = ' ';
+        beforePrevious = ' ';
+        previousWord = false;
+        securityCodeNext = false;
+        trackMasked = -1;
+    }
+
+    /**
+     * Flushes the underlying writer; text that could still be part of a card number is held back.
+     */
+    @Override
+    public void flush() throws IOException {
+        if(out instanceof Flushable) {
+            ((Flushable) out).flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        if(out instanceof Closeable) {
+            ((Closeable) out).close();
+        }
+    }
+
+    private void process(char c) {
+        if(trackMasked >= 0) {
+            if(c != '?' && trackMasked < MAX_TRACK_LENGTH && isTrackCharacter(c)) {
+                emit('X');
+                trackMasked++;
+                return;
+            }
+            trackMasked = -1;
+        }
+
+        if(runLength > 0) {
+            if(isDigit(c) || isSeparator(c)) {
+                if(runLength == run.length) {
+                    char[] grown = new char[run.length * 2];
+                    System.arraycopy(run, 0, grown, 0, runLength);
+                    run = grown;
+                }
+                run[runLength++] = c;
+                return;
+            }
+            resolveRun(c);
+        }
+
+        boolean word = isWord(c);
+        boolean trackStart = (previous == 'B' && beforePrevious == '%') || previous == ';';
+        if(isDigit(c) && (!previousWord || trackStart)) {
+            run[runLength++] = c;
+            runStartsTrack = trackStart;
+            return;
+        }
+
+        trackName(c, word);
+        emit(c);
+        beforePrevious = previous;
+        previous = c;
+        previousWord = word;
+    }
+
+    /**
+     * Writes out the run of digits, spaces and dashes held back, now that the character after it
+     * is known, masking the card numbers and security code in it.
+     */
+    private void resolveRun(char next) {
+        int length = runLength;
+        runLength = 0;
+
+        int written = 0;
+        if(securityCodeNext) {
+            securityCodeNext = false;
+
+            int digits = 0;
+            while(digits < length && isDigit(run[digits])) {
+                digits++;
+            }
+            if((digits == 3 || digits == 4) && (digits < length || !isWord(next))) {
+                for(int i = 0; i < digits; i++) {
+                    emit('X');
+                }
+                written = digits;
+            }
+        }
+
+        for(int start = written; start < length; start++) {
+            if(!isDigit(run[start]) || (start > 0 && isDigit(run[start - 1]))) {
+                continue;
+            }
+
+            int end = matchCardNumber(start, length, next);
+            if(end > 0) {
+                writeRun(written, start);
+                writeMaskedCardNumber(start, end);
+                written = end;
+                start = end - 1;
+            }
+        }
+        writeRun(written, length);
+
+        // the name, expiry, service code and discretionary data of a track follow its number
+        if(runStartsTrack && (next == '^' || next == '=') && isDigit(run[length - 1])) {
+            int digits = 0;
+            for(int i = 0; i < length; i++) {
+                if(isDigit(run[i])) {
+                    digits++;
+                }
+            }
+            if(digits >= 12 && digits <= 19) {
+                trackMasked = 0;
+            }
+        }
+
+        beforePrevious = length > 1 ? run[length - 2] : previous;
+        previous = run[length - 1];
+        previousWord = isDigit(previous);
+    }
+
+    /**
+     * The end of the card number starting at the given digit, or 0 when none starts there.
+     */
+    private int matchCardNumber(int start, int length, char next) {
+        char d1 = digitAt(start, 1, length);
+        char d2 = digitAt(start, 2, length);
+        char d3 = digitAt(start, 3, length);
+        char d4 = digitAt(start, 4, length);
+
+        int digits;
+        switch(d1) {
+            case '4':
+                int end = endOfDigits(start, 16, length, next);
+                return end > 0 ? end : endOfDigits(start, 13, length, next);
+            case '5':
+                digits = d2 >= '1' && d2 <= '5' ? 16 : 0;
+                break;
+            case '2':
+                if((d2 == '2' && d3 == '2' && d4 >= '1' && d4 <= '9')
+                        || (d2 == '2' && d3 >= '3' && d3 <= '9')
+                        || (d2 >= '3' && d2 <= '6')
+                        || (d2 == '7' && (d3 == '0' || d3 == '1'))
+                        || (d2 == '7' && d3 == '2' && d4 == '0')) {
+                    digits = 16;
+                } else {
+                    digits = d2 == '1' && d3 == '3' && d4 == '1' ? 15 : 0;
+                }
+                break;
+            case '3':
+                if(d2 == '4' || d2 == '7') {
+                    digits = 15;
+                } else if((d2 == '0' && d3 >= '0' && d3 <= '5') || d2 == '6' || d2 == '8') {
+                    digits = 14;
+                } else {
+                    digits = d2 == '5' ? 16 : 0;
+                }
+                break;
+            case '6':
+                digits = (d2 == '0' && d3 == '1' && d4 == '1') || d2 == '5' ? 16 : 0;
+                break;
+            case '1':
+                digits = d2 == '8' && d3 == '0' && d4 == '0' ? 15 : 0;
+                break;
+            default:
+                digits = 0;
+        }
+        return digits > 0 ? endOfDigits(start, digits, length, next) : 0;
+    }
+
+    /**
+     * The nth digit of the run from the given start, or 0 when the run ends before it.
+     */
+    private char digitAt(int start, int n, int length) {
+        for(int i = start; i < length; i++) {
+            if(isDigit(run[i]) && --n == 0) {
+                return run[i];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * The position after the given number of digits from the start, when the number ends there.
+     */
+    private int endOfDigits(int start, int digits, int length, char next) {
+        int count = 0;
+        for(int i = start; i < length; i++) {
+            if(isDigit(run[i]) && ++count == digits) {
+                boolean bounded = i + 1 < length ? !isDigit(run[i + 1]) : !isWord(next);
+                return bounded ? i + 1 : 0;
+            }
+        }
+        return 0;
+    }
+
+    private void writeMaskedCardNumber(int start, int end) {
+        int digits = 0;
+        for(int i = start; i < end; i++) {
+            if(isDigit(run[i])) {
+                digits++;
+            }
+        }
+
+        int digit = 0;
+        for(int i = start; i < end; i++) {
+            if(isDigit(run[i])) {
+                digit++;
+                emit(digit <= 6 || digit > digits - 4 ? run[i] : 'X');
+            }
+        }
+    }
+
+    private void writeRun(int start, int end) {
+        for(int i = start; i < end; i++) {
+            emit(run[i]);
+        }
+    }
+
+    /**
+     * Follows the xml element and json key names, to know whether the next digits are a security code.
+     */
+    private void trackName(char c, boolean word) {
+        if(nameLength >= 0) {
+            if(word) {
+                if(nameLength < MAX_NAME_LENGTH) {
+                    name[nameLength] = c;
+                }
+                nameLength++;
+                return;
+            }
+            endName(c);
+        }
+        if(word && (previous == '<' || previous == '"' || previous == '/') && !isDigit(c) && c != '_') {
+            nameOpener = previous;
+            name[0] = c;
+            nameLength = 1;
+        }
+    }
+
+    private void endName(char next) {
+        if(nameLength < 0) {
+            return;
+        }
+        int length = nameLength;
+        nameLength = -1;
+        boolean securityCode = length <= MAX_NAME_LENGTH && isSecurityCodeName(length);
+        if(nameOpener == '/') {
+            if(securityCode) {
+                securityCodeNext = false;
+            }
+        }
+        else if(securityCode) {
+            securityCodeNext = true;
+        }
+        else if(securityCodeNext && !(length == 6 && matchesName("number", length))) {
+            securityCodeNext = false;
+        }
+    }
+
+    private boolean isSecurityCodeName(int length) {
+        for(String securityCodeName: SECURITY_CODE_NAMES) {
+            if(securityCodeName.length() == length && matchesName(securityCodeName, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesName(String value, int length) {
+        for(int i = 0; i < length; i++) {
+            if(Character.toLowerCase(name[i]) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void emit(char c) {
+        if(buffer != null) {
+            buffer.append(c);
+            return;
+        }
+        try {
+            out.append(c);
+        }
+        catch(IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Whether the character can be part of the track data, rather than end the field or markup
+     * holding it.
+     */
+    private static boolean isTrackCharacter(char c) {
+        return c >= 0x20 && c < 0x7F && c != '"' && c != '<' && c != '>' && c != '|' && c != '\\';
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '-';
+    }
+
+    private static boolean isWord(char c) {
+        if(c < 0x80) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || c == '_';
+        }
+        return Character.isLetterOrDigit(c);
+    }
+}
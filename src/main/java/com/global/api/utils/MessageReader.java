@@ -2,8 +2,19 @@ package com.global.api.utils;
 
 import com.global.api.entities.enums.ControlCodes;
 import com.global.api.entities.enums.IByteConstant;
+import com.global.api.terminals.TerminalFrameCodec;
+
+import java.nio.ByteBuffer;
+import java.util.List;
 
 public class MessageReader {
+    private static final ControlCodes[] CONTROL_CODES = new ControlCodes[256];
+    static {
+        for(ControlCodes code: ControlCodes.values()) {
+            CONTROL_CODES[code.getByte() & 0xFF] = code;
+        }
+    }
+
     byte[] buffer;
     int position = 0;
     long length = 0;
@@ -104,6 +115,45 @@ public class MessageReader {
         return rvalue;
     }
 
+    /**
+     * Reads up to the given code, or the ETX, and splits what was read on US, the way
+     * readToCode(code).split("\\[US\\]") would; trailing empty fields are dropped.
+     */
+    public String[] readFields(ControlCodes code) {
+        if(position >= length) {
+            return new String[0];
+        }
+
+        ByteBuffer view = ByteBuffer.wrap(buffer, position, (int) length - position);
+        ByteBuffer section = TerminalFrameCodec.nextField(view, code.getByte());
+        position = view.position();
+
+        List<ByteBuffer> fields = TerminalFrameCodec.split(section, ControlCodes.US.getByte());
+        int count = fields.size();
+        while(count > 0 && !fields.get(count - 1).hasRemaining()) {
+            count--;
+        }
+
+        String[] rvalue = new String[count];
+        for(int i = 0; i < count; i++) {
+            rvalue[i] = readString(fields.get(i));
+        }
+        return rvalue;
+    }
+
+    private static String readString(ByteBuffer field) {
+        StringBuilder sb = new StringBuilder(field.remaining());
+        for(int i = field.position(); i < field.limit(); i++) {
+            byte value = field.get(i);
+            ControlCodes code = CONTROL_CODES[value & 0xFF];
+            if(code != null) {
+                sb.append(code.toString());
+            }
+            else sb.append((char) value);
+        }
+        return sb.toString();
+    }
+
     public void purge(){
         buffer = new byte[0];
         length = 0;
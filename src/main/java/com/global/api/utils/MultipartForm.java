@@ -7,7 +7,6 @@ import org.apache.http.entity.mime.MultipartEntity;
 import org.apache.http.entity.mime.content.StringBody;
 
 import java.io.UnsupportedEncodingException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 
 public class MultipartForm {
@@ -45,8 +44,7 @@ public class MultipartForm {
     }
     public MultipartForm set(String key, Date value, boolean force) throws ApiException {
         if(value != null || force) {
-            SimpleDateFormat format = new SimpleDateFormat("hh:MM:ss");
-            add(key, format.format(value));
+            add(key, DateCodec.of("hh:MM:ss").format(value));
         }
         return this;
     }
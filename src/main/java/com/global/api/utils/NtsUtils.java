@@ -13,7 +13,6 @@ import com.global.api.paymentMethods.*;
 
 import java.math.BigDecimal;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.*;
 
 public class NtsUtils {
@@ -611,10 +610,8 @@ public class NtsUtils {
     }
     public static Date getDateObject(String dateString){
         Date date=null;
-        SimpleDateFormat df = new SimpleDateFormat("yyMMddHHmmss");
-
         try {
-            date = df.parse(dateString);
+            date = DateCodec.of("yyMMddHHmmss").parse(dateString);
         } catch (ParseException e) {
             throw new RuntimeException("Failed to parse date: ", e);
         }
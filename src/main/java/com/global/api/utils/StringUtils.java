@@ -6,11 +6,16 @@ import com.global.api.entities.enums.IStringConstant;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class StringUtils {
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final ConcurrentHashMap<Locale, NumericFormat> NUMERIC_FORMATS = new ConcurrentHashMap<Locale, NumericFormat>();
+
     public static boolean isNullOrEmpty(String value) {
         return value == null || value.trim().equals("");
     }
@@ -26,11 +31,15 @@ public class StringUtils {
         if(rvalue == null) {
             rvalue = "";
         }
-
-        while(rvalue.length() < totalLength) {
-            rvalue = paddingCharacter + rvalue;
+        if(rvalue.length() >= totalLength) {
+            return rvalue;
         }
-        return rvalue;
+
+        char[] padded = new char[totalLength];
+        int start = totalLength - rvalue.length();
+        Arrays.fill(padded, 0, start, paddingCharacter);
+        rvalue.getChars(0, rvalue.length(), padded, start);
+        return new String(padded);
     }
 
     public static String padRight(String input, int totalLength, char paddingCharacter) {
@@ -38,17 +47,62 @@ public class StringUtils {
         if(rvalue == null) {
             rvalue = "";
         }
+        if(rvalue.length() >= totalLength) {
+            return rvalue;
+        }
+
+        char[] padded = new char[totalLength];
+        rvalue.getChars(0, rvalue.length(), padded, 0);
+        Arrays.fill(padded, rvalue.length(), totalLength, paddingCharacter);
+        return new String(padded);
+    }
+
+    /**
+     * The digits of a non-negative number, left padded with zeros to the given length.
+     */
+    public static String toDigits(long value, int length) {
+        int digits = 1;
+        for(long remaining = value / 10; remaining > 0; remaining /= 10) {
+            digits++;
+        }
 
-        while(rvalue.length() < totalLength) {
-            rvalue = rvalue + paddingCharacter;
+        char[] chars = new char[Math.max(digits, length)];
+        for(int i = chars.length - 1; i >= 0; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
         }
-        return rvalue;
+        return new String(chars);
+    }
+
+    /**
+     * The value of a string made only of ASCII digits, at most 18 of them; -1 for any other string.
+     */
+    public static long parseDigits(CharSequence str) {
+        int length = str.length();
+        if(length == 0 || length > AmountUtils.MAX_DIGITS) {
+            return -1;
+        }
+
+        long value = 0;
+        for(int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            if(c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
     }
 
     public static BigDecimal toAmount(String str) {
         if(isNullOrEmpty(str))
             return null;
 
+        long cents = parseDigits(str);
+        if(cents >= 0) {
+            return AmountUtils.fromMinorUnits(cents, 2);
+        }
+
         BigDecimal amount = new BigDecimal(str);
         return amount.divide(new BigDecimal(100));
     }
@@ -82,16 +136,57 @@ public class StringUtils {
             return "000";
         }
 
+        long units = toCurrencyUnits(amount);
+        if(units >= 0) {
+            return units == 0 ? "" : Long.toString(units);
+        }
+
         NumberFormat fmt = NumberFormat.getCurrencyInstance();
         String currency = fmt.format(amount);
         return trimStart(currency.replaceAll("[^0-9]", ""), "0");
     }
     public static String toNumeric(BigDecimal amount, int length) {
+        if(amount != null && amount.signum() != 0) {
+            long units = toCurrencyUnits(amount);
+            if(units > 0) {
+                return toDigits(units, length);
+            }
+        }
+
         String rvalue = toNumeric(amount);
         return padLeft(rvalue, length, '0');
     }
 
+    /**
+     * The amount as the default currency format would write it without its symbols and separators,
+     * as a number of minor units; -1 when that format does not simply write the rounded digits.
+     */
+    private static long toCurrencyUnits(BigDecimal amount) {
+        NumericFormat format = NumericFormat.forDefaultLocale();
+        if(format.currencyDigits < 0) {
+            return -1;
+        }
+        try {
+            return Math.abs(AmountUtils.toMinorUnits(amount, format.currencyDigits, format.currencyRounding));
+        }
+        catch(ArithmeticException exc) {
+            return -1;
+        }
+    }
+
     public static String toDecimal(BigDecimal amount, int length) {
+        if(amount != null && NumericFormat.forDefaultLocale().asciiDigits) {
+            try {
+                long units = Math.abs(AmountUtils.toMinorUnits(amount, 3, RoundingMode.HALF_EVEN));
+                if(units >= 0) {
+                    return toDigits(units, Math.max(length, 4));
+                }
+            }
+            catch(ArithmeticException exc) {
+                // written by the decimal format below
+            }
+        }
+
         String pattern = "##.###";
         DecimalFormat decimalFormat = new DecimalFormat(pattern);
         decimalFormat.setMinimumFractionDigits(3);
@@ -215,40 +310,20 @@ public class StringUtils {
         return b;
     }
     public static String hexFromBytes(byte[] buffer) {
-        char[] hexArray = "0123456789ABCDEF".toCharArray();
-        char[] hexChars = new char[buffer.length * 2];
-        for ( int j = 0; j < buffer.length; j++ ) {
-            int v = buffer[j] & 0xFF;
-            hexChars[j * 2] = hexArray[v >>> 4];
-            hexChars[j * 2 + 1] = hexArray[v & 0x0F];
+        return hexFromBytes(buffer, 0, buffer.length);
+    }
+    public static String hexFromBytes(byte[] buffer, int offset, int length) {
+        char[] hexChars = new char[length * 2];
+        for ( int j = 0; j < length; j++ ) {
+            int v = buffer[offset + j] & 0xFF;
+            hexChars[j * 2] = HEX_DIGITS[v >>> 4];
+            hexChars[j * 2 + 1] = HEX_DIGITS[v & 0x0F];
         }
         return new String(hexChars);
     }
 
 	public static String mask(String value) {
-		String masked = null;
-		Pattern regex = Pattern.compile("\\b(?:4[ -]*(?:\\d[ -]*){11}(?:(?:\\d[ -]*){3})?\\d|"
-				+ "(?:5[ -]*[1-5](?:[ -]*\\d){2}|(?:2[ -]*){3}[1-9]|(?:2[ -]*){2}[3-9][ -]*"
-				+ "\\d|2[ -]*[3-6](?:[ -]*\\d){2}|2[ -]*7[ -]*[01][ -]*\\d|2[ -]*7[ -]*2[ -]*0)(?:[ -]*"
-				+ "\\d){12}|3[ -]*[47](?:[ -]*\\d){13}|3[ -]*(?:0[ -]*[0-5]|[68][ -]*\\d)(?:[ -]*"
-				+ "\\d){11}|6[ -]*(?:0[ -]*1[ -]*1|5[ -]*\\d[ -]*\\d)(?:[ -]*"
-				+ "\\d){12}|(?:2[ -]*1[ -]*3[ -]*1|1[ -]*8[ -]*0[ -]*0|3[ -]*5(?:[ -]*"
-				+ "\\d){3})(?:[ -]*\\d){11})\\b");
-
-		Matcher regexMatcher = regex.matcher(value);
-		if (regexMatcher.find()) {
-			String card = regexMatcher.group();
-			String strippedCard = card.replaceAll("[ -]+", "");
-			String subSectionOfCard = strippedCard.substring(6, strippedCard.length() - 4);
-			String prefix = strippedCard.substring(0, 6);
-			String middle = padLeft("X", subSectionOfCard.length(), 'X');
-			String suffix = strippedCard.substring(strippedCard.length() - 4, strippedCard.length());
-			String maskedCard = prefix + middle + suffix;
-			masked = value.replace(card, maskedCard);
-		} else {
-			masked = value;
-		}
-		return masked;
+		return MaskingWriter.mask(value);
 	}
 
     public static String extractDigits(String str) {
@@ -257,6 +332,19 @@ public class StringUtils {
 
     public static String toFormatDigit(BigDecimal value,int totalLength,int digitAfterDecimal)
     {
+        // up to 6 decimals the value is written without an exponent, with a zero before the point
+        if(digitAfterDecimal >= 0 && digitAfterDecimal <= 6) {
+            try {
+                long units = Math.abs(AmountUtils.toMinorUnits(value, digitAfterDecimal, RoundingMode.HALF_UP));
+                if(units >= 0) {
+                    return toDigits(units, Math.max(totalLength, digitAfterDecimal + 1));
+                }
+            }
+            catch(ArithmeticException exc) {
+                // written from the decimal string below
+            }
+        }
+
         String value1 = value.setScale(digitAfterDecimal, RoundingMode.HALF_UP).toString();
         value1=value1.replaceAll("[^0-9]","");
         return StringUtils.padLeft(value1,totalLength,'0');
@@ -270,7 +358,68 @@ public class StringUtils {
     }
     public static BigDecimal getStringToAmount(String amount,int decimalPlace) {
         int len=amount.length();
+        if(len >= 2) {
+            long cents = parseDigits(amount);
+            if(cents >= 0) {
+                return BigDecimal.valueOf(cents, 2);
+            }
+        }
         String result=amount.substring(0,len-2)+"."+amount.substring(len-2,len);
         return new BigDecimal(result);
     }
+
+    /**
+     * What the number formats of a locale write, for the amounts that can be written from their
+     * digits alone.
+     */
+    private static final class NumericFormat {
+        private final int currencyDigits;
+        private final RoundingMode currencyRounding;
+        private final boolean asciiDigits;
+
+        private NumericFormat(Locale locale) {
+            asciiDigits = DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0';
+
+            // the currency format only writes the rounded digits when it always writes the same
+            // number of decimals in ASCII digits, unscaled and without digits in its symbols
+            NumberFormat format = NumberFormat.getCurrencyInstance(locale);
+            int digits = -1;
+            if(format instanceof DecimalFormat) {
+                DecimalFormat currency = (DecimalFormat) format;
+                if(currency.getDecimalFormatSymbols().getZeroDigit() == '0'
+                        && currency.getMultiplier() == 1
+                        && currency.toPattern().indexOf('E') < 0
+                        && currency.getMinimumFractionDigits() == currency.getMaximumFractionDigits()
+                        && currency.getMaximumIntegerDigits() > AmountUtils.MAX_DIGITS
+                        && !hasDigits(currency.getPositivePrefix() + currency.getPositiveSuffix()
+                                + currency.getNegativePrefix() + currency.getNegativeSuffix())) {
+                    digits = currency.getMaximumFractionDigits();
+                }
+            }
+            currencyDigits = digits;
+            currencyRounding = format.getRoundingMode();
+        }
+
+        private static NumericFormat forDefaultLocale() {
+            Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+            NumericFormat format = NUMERIC_FORMATS.get(locale);
+            if(format == null) {
+                format = new NumericFormat(locale);
+                NumericFormat existing = NUMERIC_FORMATS.putIfAbsent(locale, format);
+                if(existing != null) {
+                    format = existing;
+                }
+            }
+            return format;
+        }
+
+        private static boolean hasDigits(String value) {
+            for(int i = 0; i < value.length(); i++) {
+                if(value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 }
@@ -1,32 +1,61 @@
 package com.global.api.utils;
 
+import java.io.ByteArrayOutputStream;
+
 public class TlvData {
     private String tag;
     private String length;
     private String value;
     private String description;
 
+    // the encoding a parsed tag was read from; its strings are decoded from it on first use
+    private final int tagId;
+    private final EmvUtils.TagTable descriptions;
+    private final byte[] data;
+    private final int tagOffset;
+    private final int lengthOffset;
+    private final int valueOffset;
+    private final int end;
+
     public String getTag() {
         return tag;
     }
     public String getLength() {
+        if(length == null && data != null) {
+            length = StringUtils.hexFromBytes(data, lengthOffset, valueOffset - lengthOffset);
+        }
         return length;
     }
     public String getValue() {
+        if(value == null && data != null) {
+            value = StringUtils.hexFromBytes(data, valueOffset, end - valueOffset);
+        }
         return value;
     }
     public String getBinaryValue() {
         StringBuilder sb = new StringBuilder();
+        if(data != null) {
+            for(int i = valueOffset; i < end; i++) {
+                sb.append(Integer.toBinaryString((data[i] & 0xFF) + 0x100).substring(1));
+            }
+            return sb.toString();
+        }
         for(byte b: StringUtils.bytesFromHex(value)) {
             sb.append(Integer.toBinaryString((b & 0xFF) + 0x100).substring(1));
         }
         return sb.toString();
     }
     public String getDescription() {
+        if(description == null && descriptions != null) {
+            description = descriptions.description(tagId);
+        }
         return description;
     }
 
     public String getFullValue() {
+        if(data != null) {
+            return StringUtils.hexFromBytes(data, tagOffset, end - tagOffset);
+        }
         return String.format("%s%s%s", tag, length, value);
     }
 
@@ -38,5 +67,39 @@ public class TlvData {
         this.length = length;
         this.value = value;
         this.description = description;
+        this.tagId = -1;
+        this.descriptions = null;
+        this.data = null;
+        this.tagOffset = 0;
+        this.lengthOffset = 0;
+        this.valueOffset = 0;
+        this.end = 0;
+    }
+    TlvData(String tag, int tagId, EmvUtils.TagTable descriptions, byte[] data, int tagOffset, int lengthOffset, int valueOffset, int end) {
+        this.tag = tag;
+        this.tagId = tagId;
+        this.descriptions = descriptions;
+        this.data = data;
+        this.tagOffset = tagOffset;
+        this.lengthOffset = lengthOffset;
+        this.valueOffset = valueOffset;
+        this.end = end;
+    }
+
+    /**
+     * The numeric tag of a parsed tag, or -1.
+     */
+    int getTagId() {
+        return tagId;
+    }
+
+    void writeTo(ByteArrayOutputStream buffer) {
+        if(data != null) {
+            buffer.write(data, tagOffset, end - tagOffset);
+        }
+        else {
+            byte[] encoded = StringUtils.bytesFromHex(getFullValue());
+            buffer.write(encoded, 0, encoded.length);
+        }
     }
 }
@@ -0,0 +1,145 @@
+package com.global.api.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer that characters are written to as UTF-8. Request bodies are serialized into
+ * the calling thread's instance, so sending a request allocates neither a new buffer nor an
+ * intermediate String.
+ */
+public final class Utf8Buffer extends Writer {
+    private static final int INITIAL_CAPACITY = 4096;
+    // buffers grown past this by an unusually large request are not kept around
+    private static final int MAX_RETAINED_CAPACITY = 1 << 20;
+
+    private static final ThreadLocal<Utf8Buffer> threadBuffer = new ThreadLocal<Utf8Buffer>() {
+        @Override
+        protected Utf8Buffer initialValue() {
+            return new Utf8Buffer();
+        }
+    };
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int count;
+    private char highSurrogate;
+
+    /**
+     * The calling thread's buffer, emptied. It is only valid until the next call on the same thread.
+     */
+    public static Utf8Buffer forCurrentThread() {
+        Utf8Buffer buffer = threadBuffer.get();
+        buffer.reset();
+        return buffer;
+    }
+
+    public void reset() {
+        if(buffer.length > MAX_RETAINED_CAPACITY) {
+            buffer = new byte[INITIAL_CAPACITY];
+        }
+        count = 0;
+        highSurrogate = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * The backing array; only the first size() bytes are valid.
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, count);
+    }
+
+    @Override
+    public void write(int c) {
+        encode((char) c);
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) {
+        ensureCapacity(length * 3 + 1);
+        for(int i = offset; i < offset + length; i++) {
+            encode(chars[i]);
+        }
+    }
+
+    @Override
+    public void write(String str, int offset, int length) {
+        ensureCapacity(length * 3 + 1);
+        for(int i = offset; i < offset + length; i++) {
+            encode(str.charAt(i));
+        }
+    }
+
+    private void encode(char c) {
+        if(highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+            if(Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                ensureCapacity(4);
+                buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+                return;
+            }
+            // unpaired surrogate, replaced the same way String.getBytes does
+            ensureCapacity(1);
+            buffer[count++] = '?';
+        }
+
+        if(c < 0x80) {
+            ensureCapacity(1);
+            buffer[count++] = (byte) c;
+        } else if(c < 0x800) {
+            ensureCapacity(2);
+            buffer[count++] = (byte) (0xC0 | (c >> 6));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        } else if(Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if(Character.isLowSurrogate(c)) {
+            ensureCapacity(1);
+            buffer[count++] = '?';
+        } else {
+            ensureCapacity(3);
+            buffer[count++] = (byte) (0xE0 | (c >> 12));
+            buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void ensureCapacity(int additional) {
+        if(count + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + additional));
+        }
+    }
+
+    @Override
+    public void flush() {
+        if(highSurrogate != 0) {
+            highSurrogate = 0;
+            ensureCapacity(1);
+            buffer[count++] = '?';
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, count, StandardCharsets.UTF_8);
+    }
+}
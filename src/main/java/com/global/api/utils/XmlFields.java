@@ -0,0 +1,186 @@
+package com.global.api.utils;
+
+import com.global.api.entities.exceptions.ApiException;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * The element names a mapper reads from an xml response, resolved once when the mapper is loaded.
+ * Parsing pulls the response through a StAX reader in a single pass and keeps only the declared
+ * elements, their attributes and the offsets of their text, so lookups on the resulting XmlRecord
+ * never walk a DOM. Lookups follow the same rules as Element: the first match in document order,
+ * falling back to the whole document when a scoped lookup finds nothing.
+ */
+public final class XmlFields {
+    private final HashMap<String, Integer> ids = new HashMap<String, Integer>();
+
+    private XmlFields(String[] names) {
+        for(String name: names) {
+            if(!ids.containsKey(name)) {
+                ids.put(name, ids.size());
+            }
+        }
+    }
+
+    public static XmlFields of(String... names) {
+        return new XmlFields(names);
+    }
+
+    int size() {
+        return ids.size();
+    }
+
+    int id(String name) {
+        Integer id = ids.get(name);
+        if(id == null) {
+            throw new IllegalArgumentException(String.format("%s is not one of the declared fields.", name));
+        }
+        return id;
+    }
+
+    /**
+     * Reads the declared elements of the document; the returned record spans the whole document.
+     */
+    public XmlRecord parse(String xml) throws ApiException {
+        Document document = new Document(this);
+        try {
+            XMLStreamReader reader = ElementTree.getInputFactory().createXMLStreamReader(new StringReader(xml));
+            try {
+                document.read(reader);
+            } finally {
+                reader.close();
+            }
+        } catch(XMLStreamException e) {
+            throw new ApiException(e.getMessage());
+        }
+        return new XmlRecord(document, -1);
+    }
+
+    /**
+     * The declared elements of one document in document order. Element i contains elements
+     * i + 1 up to end[i], and its text content is text[textStart[i], textEnd[i]).
+     */
+    static final class Document {
+        final XmlFields fields;
+        final StringBuilder text = new StringBuilder();
+        final int[] first;
+
+        int count;
+        int[] names = new int[32];
+        int[] end = new int[32];
+        int[] textStart = new int[32];
+        int[] textEnd = new int[32];
+        String[][] attributes = new String[32][];
+
+        private Document(XmlFields fields) {
+            this.fields = fields;
+            first = new int[fields.size()];
+            Arrays.fill(first, -1);
+        }
+
+        private void read(XMLStreamReader reader) throws XMLStreamException {
+            // declared element opened at each depth, or -1
+            int[] open = new int[16];
+            int depth = 0;
+            int declaredOpen = 0;
+
+            while(reader.hasNext()) {
+                switch(reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT: {
+                        if(depth == open.length) {
+                            open = Arrays.copyOf(open, depth * 2);
+                        }
+                        Integer id = fields.ids.get(reader.getLocalName());
+                        if(id == null) {
+                            open[depth++] = -1;
+                            break;
+                        }
+                        open[depth++] = add(id, reader);
+                        declaredOpen++;
+                    } break;
+                    case XMLStreamConstants.END_ELEMENT: {
+                        int index = open[--depth];
+                        if(index >= 0) {
+                            end[index] = count;
+                            textEnd[index] = text.length();
+                            declaredOpen--;
+                        }
+                    } break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        if(declaredOpen > 0) {
+                            text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        private int add(int id, XMLStreamReader reader) {
+            if(count == names.length) {
+                int capacity = count * 2;
+                names = Arrays.copyOf(names, capacity);
+                end = Arrays.copyOf(end, capacity);
+                textStart = Arrays.copyOf(textStart, capacity);
+                textEnd = Arrays.copyOf(textEnd, capacity);
+                attributes = Arrays.copyOf(attributes, capacity);
+            }
+
+            int index = count++;
+            names[index] = id;
+            end[index] = count;
+            textStart[index] = text.length();
+            textEnd[index] = text.length();
+            if(first[id] < 0) {
+                first[id] = index;
+            }
+
+            int attributeCount = reader.getAttributeCount();
+            if(attributeCount > 0) {
+                String[] pairs = new String[attributeCount * 2];
+                for(int i = 0; i < attributeCount; i++) {
+                    String prefix = reader.getAttributePrefix(i);
+                    String localName = reader.getAttributeLocalName(i);
+                    pairs[i * 2] = StringUtils.isNullOrEmpty(prefix) ? localName : prefix + ":" + localName;
+                    pairs[i * 2 + 1] = reader.getAttributeValue(i);
+                }
+                attributes[index] = pairs;
+            } else {
+                attributes[index] = null;
+            }
+            return index;
+        }
+
+        String text(int index) {
+            return text.substring(textStart[index], textEnd[index]);
+        }
+
+        /**
+         * The first declared element with the given id inside the element at scope (or the whole
+         * document when scope is -1), or -1.
+         */
+        int find(int scope, int id) {
+            if(scope < 0) {
+                return first[id];
+            }
+            int candidate = first[id];
+            if(candidate > scope && candidate < end[scope]) {
+                return candidate;
+            }
+            for(int i = scope + 1; i < end[scope]; i++) {
+                if(names[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.global.api.utils;
+
+import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormatter;
+
+import java.math.BigDecimal;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * An element of a response read through XmlFields, or the whole document. Only the declared
+ * elements can be looked up. As with Element, get returns an empty record rather than null when
+ * nothing matches, and the getters of an empty record search the whole document.
+ */
+public final class XmlRecord {
+    private final XmlFields.Document document;
+    private final int index;
+    private final boolean exists;
+
+    XmlRecord(XmlFields.Document document, int index) {
+        this(document, index, true);
+    }
+    private XmlRecord(XmlFields.Document document, int index, boolean exists) {
+        this.document = document;
+        this.index = index;
+        this.exists = exists;
+    }
+
+    public boolean exists() {
+        return exists;
+    }
+
+    public String text() {
+        return index < 0 ? null : document.text(index);
+    }
+
+    public boolean has(String name) {
+        return exists && document.find(index, document.fields.id(name)) >= 0;
+    }
+
+    public XmlRecord get(String name) {
+        int found = exists ? document.find(index, document.fields.id(name)) : -1;
+        return found >= 0 ? new XmlRecord(document, found) : new XmlRecord(document, -1, false);
+    }
+
+    public XmlRecord[] getAll(String name) {
+        int id = document.fields.id(name);
+        List<XmlRecord> records = new ArrayList<XmlRecord>();
+        if(exists) {
+            int from = index < 0 ? 0 : index + 1;
+            int to = index < 0 ? document.count : document.end[index];
+            for(int i = from; i < to; i++) {
+                if(document.names[i] == id) {
+                    records.add(new XmlRecord(document, i));
+                }
+            }
+        }
+        return records.toArray(new XmlRecord[0]);
+    }
+
+    public String getAttributeString(String attributeName) {
+        String[] attributes = index < 0 ? null : document.attributes[index];
+        if(attributes != null) {
+            for(int i = 0; i < attributes.length; i += 2) {
+                if(attributes[i].equals(attributeName)) {
+                    return attributes[i + 1];
+                }
+            }
+        }
+        return "";
+    }
+
+    public String getString(String... names) {
+        for(String name: names) {
+            int found = lookup(name);
+            if(found >= 0) {
+                return document.text(found);
+            }
+        }
+        return null;
+    }
+
+    public boolean getBool(String name) {
+        int found = lookup(name);
+        if(found >= 0) {
+            String value = document.text(found);
+            if(StringUtils.isNullOrEmpty(value)) {
+                return false;
+            }
+            return Boolean.parseBoolean(value);
+        } return false;
+    }
+
+    public Integer getInt(String name) {
+        int found = lookup(name);
+        if(found >= 0) {
+            String value = document.text(found);
+            if(StringUtils.isNullOrEmpty(value)) {
+                return null;
+            }
+            return Integer.parseInt(value);
+        } return null;
+    }
+
+    public BigDecimal getDecimal(String name) {
+        int found = lookup(name);
+        if(found >= 0) {
+            String value = document.text(found);
+            if(!StringUtils.isNullOrEmpty(value)) {
+                return new BigDecimal(value);
+            }
+        } return null;
+    }
+
+    /**
+     * Parses the first of the named elements found; the formatter is only used by the calling
+     * thread, so it may be one of that thread's cached instances.
+     */
+    public Date getDate(DateFormat formatter, String... names) {
+        for(String name: names) {
+            int found = lookup(name);
+            if(found >= 0) {
+                try {
+                    return formatter.parse(document.text(found));
+                }
+                catch (ParseException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+    public Date getDate(DateCodec codec, String... names) {
+        for(String name: names) {
+            int found = lookup(name);
+            if(found >= 0) {
+                try {
+                    return codec.parse(document.text(found));
+                }
+                catch (ParseException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    public DateTime getDateTime(String... names) {
+        return getDateTime(null, names);
+    }
+    public DateTime getDateTime(DateTimeFormatter format, String... names) {
+        for(String name: names) {
+            int found = lookup(name);
+            if(found >= 0) {
+                String value = document.text(found);
+                if(!StringUtils.isNullOrEmpty(value)) {
+                    if (format == null) {
+                        return DateTime.parse(value);
+                    }
+                    return DateTime.parse(value, format);
+                }
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private int lookup(String name) {
+        int id = document.fields.id(name);
+        int found = exists ? document.find(index, id) : -1;
+        if(found < 0) {
+            // Element falls back to the whole document the same way
+            found = document.find(-1, id);
+        }
+        return found;
+    }
+}
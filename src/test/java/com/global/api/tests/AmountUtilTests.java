@@ -1,9 +1,12 @@
 package com.global.api.tests;
 
 import com.global.api.utils.AmountUtils;
+import com.global.api.utils.StringUtils;
 import org.junit.Test;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
 
 import static org.junit.Assert.*;
 
@@ -12,4 +15,59 @@ public class AmountUtilTests {
     public void test_amount_equals_different_scale() {
         assertTrue(AmountUtils.areEqual(new BigDecimal(15.6), new BigDecimal(15.60)));
     }
+
+    @Test
+    public void test_minor_units() {
+        assertEquals(1235L, AmountUtils.toMinorUnits(new BigDecimal("12.345"), 2, RoundingMode.HALF_UP));
+        assertEquals(1234L, AmountUtils.toMinorUnits(new BigDecimal("12.345"), 2, RoundingMode.HALF_EVEN));
+        assertEquals(-1200L, AmountUtils.toMinorUnits(new BigDecimal("-12"), 2, RoundingMode.HALF_UP));
+
+        assertEquals(new BigDecimal("123"), AmountUtils.fromMinorUnits(12300, 2));
+        assertEquals(new BigDecimal("123.1"), AmountUtils.fromMinorUnits(12310, 2));
+        assertEquals(new BigDecimal("123.45"), AmountUtils.fromMinorUnits(12345, 2));
+        assertEquals(BigDecimal.ZERO, AmountUtils.fromMinorUnits(0, 2));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void test_minor_units_overflow() {
+        AmountUtils.toMinorUnits(new BigDecimal("100000000000000000000"), 2, RoundingMode.HALF_UP);
+    }
+
+    @Test
+    public void test_fixed_width_amounts() {
+        Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.US);
+            assertEquals("000000123456", StringUtils.toNumeric(new BigDecimal("1234.56"), 12));
+            assertEquals("000000000012", StringUtils.toNumeric(new BigDecimal("0.125"), 12));
+            assertEquals("000000000014", StringUtils.toNumeric(new BigDecimal("0.145"), 12));
+            assertEquals("000000001000", StringUtils.toNumeric(new BigDecimal("-10"), 12));
+            assertEquals("000000000000", StringUtils.toNumeric(null, 12));
+            assertEquals("000", StringUtils.toNumeric(BigDecimal.ZERO, 2));
+            assertEquals("", StringUtils.toNumeric(new BigDecimal("0.001")));
+            assertEquals("03456", StringUtils.toDecimal(new BigDecimal("3.4565"), 5));
+            assertEquals("0500", StringUtils.toDecimal(new BigDecimal("0.5"), 3));
+            assertEquals("03457", StringUtils.toFormatDigit(new BigDecimal("3.4565"), 5, 3));
+            assertEquals("005", StringUtils.toFormatDigit(new BigDecimal("0.05"), 2, 2));
+
+            Locale.setDefault(Locale.JAPAN);
+            assertEquals("000000001235", StringUtils.toNumeric(new BigDecimal("1234.56"), 12));
+        }
+        finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    @Test
+    public void test_read_amounts() {
+        assertEquals(new BigDecimal("1234.56"), StringUtils.toAmount("000000123456"));
+        assertEquals(new BigDecimal("12"), StringUtils.toAmount("000000001200"));
+        assertEquals(new BigDecimal("-1.5"), StringUtils.toAmount("-150"));
+        assertNull(StringUtils.toAmount(""));
+        assertEquals(new BigDecimal("123.00"), StringUtils.getStringToAmount("12300", 2));
+        assertEquals(123456L, StringUtils.parseDigits("000000123456"));
+        assertEquals(-1L, StringUtils.parseDigits("12 34"));
+        assertEquals("00042", StringUtils.toDigits(42, 5));
+        assertEquals("123456", StringUtils.toDigits(123456, 3));
+    }
 }
@@ -0,0 +1,243 @@
+package com.global.api.tests;
+
+import com.global.api.logging.AsyncRequestFileLogger;
+import com.global.api.logging.RequestFileLogger;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AsyncRequestFileLoggerTests {
+    private static final String TIMESTAMP = "\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.\\d+";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void writesTheEntriesOfTheFileLogger() throws Exception {
+        File expected = new File(folder.getRoot(), "sync/requests.log");
+        File actual = new File(folder.getRoot(), "async/requests.log");
+
+        RequestFileLogger fileLogger = new RequestFileLogger(expected.getPath());
+        fileLogger.RequestSent("Request Body: <Amt>15</Amt>");
+        fileLogger.ResponseReceived("Response Body: <GatewayRspCode>0</GatewayRspCode>");
+
+        AsyncRequestFileLogger logger = new AsyncRequestFileLogger(actual.getPath());
+        logger.RequestSent("Request Body: <Amt>15</Amt>");
+        logger.ResponseReceived("Response Body: <GatewayRspCode>0</GatewayRspCode>");
+        logger.close();
+
+        assertEquals(read(expected).replaceAll(TIMESTAMP, "T"), read(actual).replaceAll(TIMESTAMP, "T"));
+        assertEquals(0, logger.getDroppedCount());
+    }
+
+    @Test
+    public void keepsEntriesInOrder() throws Exception {
+        File file = new File(folder.getRoot(), "requests.log");
+        AsyncRequestFileLogger logger = AsyncRequestFileLogger.builder(file.getPath())
+                .queueCapacity(16)
+                .bufferSize(256)
+                .build();
+        for (int i = 0; i < 500; i++) {
+            logger.RequestSent("request " + i);
+        }
+        logger.close();
+
+        String content = read(file);
+        int position = 0;
+        for (int i = 0; i < 500; i++) {
+            position = content.indexOf("\nrequest " + i + "\n", position);
+            assertTrue("request " + i, position >= 0);
+        }
+    }
+
+    @Test
+    public void rotatesOnSize() throws Exception {
+        File file = new File(folder.getRoot(), "requests.log");
+        AsyncRequestFileLogger logger = AsyncRequestFileLogger.builder(file.getPath())
+                .maxFileSize(400)
+                .build();
+        for (int i = 0; i < 20; i++) {
+            logger.RequestSent("request " + i);
+        }
+        logger.close();
+
+        File[] files = folder.getRoot().listFiles();
+        assertNotNull(files);
+        assertTrue(files.length > 1);
+
+        StringBuilder all = new StringBuilder();
+        for (File logFile : files) {
+            String content = read(logFile);
+            assertTrue(logFile.getName(), logFile.getName().startsWith("requests.log"));
+            assertTrue(logFile.getName(), content.startsWith("=========="));
+            all.append(content);
+        }
+        for (int i = 0; i < 20; i++) {
+            assertTrue("request " + i, all.indexOf("\nrequest " + i + "\n") >= 0);
+        }
+        assertEquals(0, logger.getDroppedCount());
+    }
+
+    @Test
+    public void dropsEntriesOnceClosed() throws Exception {
+        File file = new File(folder.getRoot(), "requests.log");
+        AsyncRequestFileLogger logger = AsyncRequestFileLogger.builder(file.getPath())
+                .overflowPolicy(AsyncRequestFileLogger.OverflowPolicy.DROP)
+                .build();
+        logger.RequestSent("request");
+        logger.close();
+        logger.ResponseReceived("response");
+        logger.close();
+
+        assertEquals(1, logger.getDroppedCount());
+        assertFalse(read(file).contains("response"));
+    }
+
+    @Test(timeout = 20000)
+    public void dropsEntriesThatDoNotFitInTheQueue() throws Exception {
+        File pipe = stalledFile();
+        AsyncRequestFileLogger logger = AsyncRequestFileLogger.builder(pipe.getPath())
+                .queueCapacity(2)
+                .overflowPolicy(AsyncRequestFileLogger.OverflowPolicy.DROP)
+                .build();
+
+        // the writer takes the first entry and waits for the pipe to be read, so two more fit
+        logger.RequestSent("request 0");
+        Thread.sleep(500);
+        for (int i = 1; i < 6; i++) {
+            logger.RequestSent("request " + i);
+        }
+        assertEquals(3, logger.getDroppedCount());
+
+        PipeReader reader = new PipeReader(pipe);
+        logger.close();
+        String content = reader.content();
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue("request " + i, content.contains("\nrequest " + i + "\n"));
+        }
+        assertFalse(content.contains("request 3"));
+        assertEquals(3, logger.getDroppedCount());
+    }
+
+    @Test(timeout = 20000)
+    public void blockedEntriesWaitForRoom() throws Exception {
+        File pipe = stalledFile();
+        final AsyncRequestFileLogger logger = AsyncRequestFileLogger.builder(pipe.getPath())
+                .queueCapacity(1)
+                .build();
+
+        logger.RequestSent("request 0");
+        Thread.sleep(500);
+        logger.RequestSent("request 1");
+
+        Thread producer = new Thread() {
+            public void run() {
+                logger.RequestSent("request 2");
+            }
+        };
+        producer.start();
+        producer.join(500);
+        assertTrue("the third entry should wait for room", producer.isAlive());
+
+        PipeReader reader = new PipeReader(pipe);
+        producer.join();
+        logger.close();
+        String content = reader.content();
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue("request " + i, content.contains("\nrequest " + i + "\n"));
+        }
+        assertEquals(0, logger.getDroppedCount());
+    }
+
+    @Test
+    public void rotatesOnTime() throws Exception {
+        File file = new File(folder.getRoot(), "requests.log");
+        AsyncRequestFileLogger logger = AsyncRequestFileLogger.builder(file.getPath())
+                .rotationInterval(200, TimeUnit.MILLISECONDS)
+                .build();
+        logger.RequestSent("request 0");
+        Thread.sleep(400);
+        logger.RequestSent("request 1");
+        logger.close();
+
+        File[] files = folder.getRoot().listFiles();
+        assertNotNull(files);
+        assertEquals(2, files.length);
+        for (File logFile : files) {
+            String content = read(logFile);
+            if (logFile.getName().equals("requests.log")) {
+                assertTrue(content.contains("\nrequest 1\n"));
+                assertFalse(content.contains("request 0"));
+            } else {
+                assertTrue(logFile.getName(), logFile.getName().startsWith("requests.log."));
+                assertTrue(content.contains("\nrequest 0\n"));
+                assertFalse(content.contains("request 1"));
+            }
+        }
+        assertEquals(0, logger.getDroppedCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void needsRoomInTheQueue() {
+        AsyncRequestFileLogger.builder("requests.log").queueCapacity(0);
+    }
+
+    /**
+     * A named pipe: the writer cannot open it until it is read, which holds it on its first entry.
+     */
+    private File stalledFile() throws Exception {
+        File pipe = new File(folder.getRoot(), "requests.pipe");
+        Process mkfifo;
+        try {
+            mkfifo = new ProcessBuilder("mkfifo", pipe.getPath()).start();
+        } catch (IOException e) {
+            mkfifo = null;
+        }
+        Assume.assumeTrue("named pipes are not available", mkfifo != null && mkfifo.waitFor() == 0);
+        return pipe;
+    }
+
+    private static final class PipeReader extends Thread {
+        private final File pipe;
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        private PipeReader(File pipe) {
+            this.pipe = pipe;
+            start();
+        }
+
+        public void run() {
+            try (InputStream in = new FileInputStream(pipe)) {
+                byte[] data = new byte[4096];
+                for (int read; (read = in.read(data)) >= 0; ) {
+                    content.write(data, 0, read);
+                }
+            } catch (IOException e) {
+                // the test fails on the missing content
+            }
+        }
+
+        private String content() throws InterruptedException {
+            join();
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String read(File file) throws Exception {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,121 @@
+package com.global.api.tests;
+
+import com.global.api.utils.BinTable;
+import com.global.api.utils.CardUtils;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+public class BinTableTests {
+    @Test
+    public void mostSpecificRangeWins() {
+        BinTable<String> table = BinTable.<String>builder()
+                .add("4", "Visa")
+                .add("448460", "448611", "VisaFleet")
+                .add("44", "Other")
+                .add("448500", "Last")
+                .add("448500", "Latest")
+                .build();
+
+        assertEquals("Visa", table.lookup("4111111111111111"));
+        assertEquals("Other", table.lookup("4484111111111111"));
+        assertEquals("VisaFleet", table.lookup("4484601111111111"));
+        assertEquals("Latest", table.lookup("4485001111111111"));
+        assertEquals("VisaFleet", table.lookup("4486111111111111"));
+        assertEquals("Other", table.lookup("4486121111111111"));
+        assertEquals("Visa", table.lookup("4511111111111111"));
+        assertNull(table.lookup("5111111111111111"));
+    }
+
+    @Test
+    public void lookupNeedsTheRangeDigits() {
+        BinTable<String> table = BinTable.<String>builder()
+                .add("35000", "35999", "Jcb")
+                .build();
+
+        assertEquals("Jcb", table.lookup("3528 0000-0000 0000"));
+        assertEquals("Jcb", table.lookup("35280"));
+        assertNull(table.lookup("3528"));
+        assertNull(table.lookup("35X80"));
+        assertNull(table.lookup(""));
+        assertNull(table.lookup(null));
+    }
+
+    @Test
+    public void shortNumbersFallBackToTheRangesAroundThem() {
+        BinTable<String> table = BinTable.<String>builder()
+                .add("6", "Discover")
+                .add("620", "628", "UnionPay")
+                .add("627600", "StoredValue")
+                .add("627720", "627729", "HeartlandGift")
+                .build();
+
+        assertEquals("StoredValue", table.lookup("627600"));
+        assertEquals("UnionPay", table.lookup("62760"));
+        assertEquals("UnionPay", table.lookup("627"));
+        assertEquals("Discover", table.lookup("62"));
+        assertEquals("Discover", table.lookup("6"));
+        assertEquals("HeartlandGift", table.lookup("6277250000"));
+        assertEquals("UnionPay", table.lookup("62772"));
+        assertEquals("UnionPay", table.lookup("6277300000"));
+        assertNull(table.lookup("7"));
+    }
+
+    @Test
+    public void partialBinsMapToTheirBrand() {
+        assertEquals("UnionPay", CardUtils.mapCardType("62760"));
+        assertEquals("UnionPay", CardUtils.mapCardType("6277"));
+        assertEquals("StoredValue", CardUtils.mapCardType("627600"));
+        assertEquals("Visa", CardUtils.mapCardType("44846"));
+        assertEquals("VisaFleet", CardUtils.mapCardType("448460"));
+        assertEquals("Visa", CardUtils.mapCardType("4"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rangeEndsNeedTheSameLength() {
+        BinTable.<String>builder().add("4", "49", "Visa");
+    }
+
+    @Test
+    public void listedBinsTakePrecedenceOverPrefixes() {
+        assertEquals("UnionPay", CardUtils.mapCardType("6270000000000000"));
+        assertEquals("StoredValue", CardUtils.mapCardType("6276000000000000"));
+        assertEquals("HeartlandGift", CardUtils.mapCardType("6277200000000000"));
+        assertEquals("VisaFleet", CardUtils.mapCardType("4484600000000000"));
+        assertEquals("VisaReadyLink", CardUtils.mapCardType("4627660000000000"));
+        assertEquals("FleetWide", CardUtils.mapCardType("7076850000000000"));
+        assertEquals("MC", CardUtils.mapCardType("2720 9900 0000 0000"));
+        assertEquals("Unknown", CardUtils.mapCardType("9999999999999999"));
+    }
+
+    @Test
+    public void loadsBinRanges() throws IOException {
+        try {
+            CardUtils.loadBinRanges(new StringReader("# issuer ranges\n"
+                    + "506099,506198,Verve\n"
+                    + "\n"
+                    + "411111, VisaFleet\n"
+                    + "520000,520099,MCReadyLink\n"));
+
+            assertEquals("Verve", CardUtils.mapCardType("5061000000000000"));
+            assertEquals("VisaFleet", CardUtils.mapCardType("4111111111111111"));
+            assertEquals("MCReadyLink", CardUtils.mapCardType("5200500000000000"));
+            assertEquals("Verve", CardUtils.getBaseCardType("VerveFleet"));
+            assertEquals("Visa", CardUtils.mapCardType("4012000000000000"));
+        }
+        finally {
+            CardUtils.loadBinRanges(new StringReader(""));
+        }
+
+        assertEquals("Unknown", CardUtils.mapCardType("5061000000000000"));
+        assertEquals("Visa", CardUtils.mapCardType("4111111111111111"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidBinRanges() throws IOException {
+        CardUtils.loadBinRanges(new StringReader("4,49,Visa\n"));
+    }
+}
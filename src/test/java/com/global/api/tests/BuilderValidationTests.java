@@ -1,11 +1,18 @@
 package com.global.api.tests;
 
 import com.global.api.ServicesContainer;
+import com.global.api.builders.ManagementBuilder;
+import com.global.api.builders.TransactionReportBuilder;
+import com.global.api.entities.DisputeDocument;
+import com.global.api.entities.enums.TransactionModifier;
+import com.global.api.entities.enums.TransactionType;
 import com.global.api.entities.exceptions.ApiException;
 import com.global.api.entities.exceptions.BuilderException;
+import com.global.api.entities.reporting.SearchCriteria;
 import com.global.api.paymentMethods.CreditCardData;
 import com.global.api.paymentMethods.EBTTrackData;
 import com.global.api.paymentMethods.GiftCard;
+import com.global.api.paymentMethods.TransactionReference;
 import com.global.api.paymentMethods.eCheck;
 import com.global.api.serviceConfigs.PorticoConfig;
 import com.global.api.services.ReportingService;
@@ -14,6 +21,8 @@ import org.junit.Test;
 import java.math.BigDecimal;
 import java.util.Date;
 
+import static org.junit.Assert.*;
+
 public class BuilderValidationTests {
     CreditCardData card;
     
@@ -118,4 +127,57 @@ public class BuilderValidationTests {
                 .withTransactionId("1234567890")
                 .execute();
     }
+
+    @Test
+    public void rulesAreSetUpOncePerBuilderClass() {
+        assertSame(card.authorize().getValidations(), card.charge().getValidations());
+        assertNotSame(card.authorize().getValidations(), new ManagementBuilder(TransactionType.Capture).getValidations());
+    }
+
+    @Test
+    public void editLevelIINoTaxType() throws ApiException {
+        ManagementBuilder edit = new ManagementBuilder(TransactionType.Edit, new TransactionReference());
+        edit.getValidations().validate(edit);
+
+        edit.withModifier(TransactionModifier.LevelII);
+        try {
+            edit.getValidations().validate(edit);
+            fail("The LevelII rule should apply to the edit.");
+        }
+        catch(BuilderException exc) {
+            assertEquals("taxType cannot be null for this transaction type.", exc.getMessage());
+        }
+    }
+
+    @Test
+    public void refundCurrencyOnlyWithAmount() throws ApiException {
+        ManagementBuilder refund = new ManagementBuilder(TransactionType.Refund, new TransactionReference());
+        refund.getValidations().validate(refund);
+
+        refund.withAmount(new BigDecimal(10));
+        try {
+            refund.getValidations().validate(refund);
+            fail("A refund with an amount needs a currency.");
+        }
+        catch(BuilderException exc) {
+            assertEquals("currency cannot be null for this transaction type.", exc.getMessage());
+        }
+    }
+
+    @Test
+    public void documentDisputeDetailChecksSearchCriteria() throws ApiException {
+        TransactionReportBuilder<DisputeDocument> report = ReportingService.documentDisputeDetail("DIS_0001");
+        report.where(SearchCriteria.DisputeDocumentId, "DOC_0001");
+        report.getValidations().validate(report);
+
+        report = ReportingService.documentDisputeDetail("DIS_0001");
+        report.where(SearchCriteria.CardHolderFirstName, "John");
+        try {
+            report.getValidations().validate(report);
+            fail("The dispute document id should be required.");
+        }
+        catch(BuilderException exc) {
+            assertEquals("disputeDocumentId cannot be null for this transaction type.", exc.getMessage());
+        }
+    }
 }
@@ -5,6 +5,8 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
+import com.global.api.logging.PrettyLogger;
+import com.global.api.utils.MaskingWriter;
 import com.global.api.utils.StringUtils;
 
 public class CardMaskTests {
@@ -27,8 +29,9 @@ public class CardMaskTests {
 	public void MaskPorticoSwipedRequest() {
 		String porticoSwipedRequest = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?><soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\" xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"><soap:Body><PosRequest xmlns=\"http://Hps.Exchange.PosGateway\"><Ver1.0><Header><SecretAPIKey>skapi_cert_MTeSAQAfG1UA9qQDrzl-kz4toXvARyieptFwSKP24w</SecretAPIKey><PosReqDT>2018-05-23T03:39:06.575-04:00</PosReqDT></Header><Transaction><CreditSale><Block1><AllowDup>Y</AllowDup><AllowPartialAuth>N</AllowPartialAuth><Amt>15</Amt><CardData><TrackData method=\"swipe\">&lt;E1050711%B4012000000000016^VI TEST CREDIT^251200000000000000000000?|LO04K0WFOmdkDz0um+GwUkILL8ZZOP6Zc4rCpZ9+kg2T3JBT4AEOilWTI|+++++++Dbbn04ekG|11;4012000000000016=25120000000000000000?|1u2F/aEhbdoPixyAPGyIDv3gBfF|+++++++Dbbn04ekG|00|||/wECAQECAoFGAgEH2wYcShV78RZwb3NAc2VjdXJlZXhjaGFuZ2UubmV0PX50qfj4dt0lu9oFBESQQNkpoxEVpCW3ZKmoIV3T93zphPS3XKP4+DiVlM8VIOOmAuRrpzxNi0TN/DWXWSjUC8m/PI2dACGdl/hVJ/imfqIs68wYDnp8j0ZfgvM26MlnDbTVRrSx68Nzj2QAgpBCHcaBb/FZm9T7pfMr2Mlh2YcAt6gGG1i2bJgiEJn8IiSDX5M2ybzqRT86PCbKle/XCTwFFe1X|&gt;;</TrackData><EncryptionData><Version>01</Version></EncryptionData><TokenRequest>N</TokenRequest></CardData></Block1></CreditSale></Transaction></Ver1.0></PosRequest></soap:Body></soap:Envelope>";
 		String result = StringUtils.mask(porticoSwipedRequest);
-		assertTrue(result.contains("%B401200XXXXXX0016^VI TEST CREDIT^251200000000000000000000?"));
-		assertTrue(result.contains(";401200XXXXXX0016=25120000000000000000?"));
+		assertTrue(result.contains("%B401200XXXXXX0016^XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX?|LO04K0WFOmdkDz0um"));
+		assertTrue(result.contains(";401200XXXXXX0016=XXXXXXXXXXXXXXXXXXXX?|1u2F"));
+		assertTrue(!result.contains("VI TEST CREDIT"));
 	}
 
 	@Test
@@ -73,4 +76,77 @@ public class CardMaskTests {
 		assertNotNull(result);
 		assertEquals(expected, result);
 	}
+
+	@Test
+	public void Test_CardMask_EveryCardNumber() {
+		String result = StringUtils.mask("<CardNbr>4263970000005262</CardNbr><CardNbr>5425 2300 0000 4415</CardNbr>");
+		assertEquals("<CardNbr>426397XXXXXX5262</CardNbr><CardNbr>542523XXXXXX4415</CardNbr>", result);
+	}
+
+	@Test
+	public void Test_CardMask_LeavesOtherNumbers() {
+		String value = "<Amt>4263970000005262</Amt>x4263970000005262 42639700000052621 1234-5678";
+		assertEquals("<Amt>426397XXXXXX5262</Amt>x4263970000005262 42639700000052621 1234-5678", StringUtils.mask(value));
+	}
+
+	@Test
+	public void Test_CardMask_SecurityCodes() {
+		assertEquals("<CVV2>XXX</CVV2><Zip>12345</Zip>", StringUtils.mask("<CVV2>123</CVV2><Zip>12345</Zip>"));
+		assertEquals("<cvn><number>XXXX</number><presind>1</presind></cvn>", StringUtils.mask("<cvn><number>1234</number><presind>1</presind></cvn>"));
+		assertEquals("{\"cvv\":\"XXX\",\"cvv_indicator\":\"PRESENT\",\"amount\":\"123\"}", StringUtils.mask("{\"cvv\":\"123\",\"cvv_indicator\":\"PRESENT\",\"amount\":\"123\"}"));
+	}
+
+	@Test
+	public void Test_CardMask_StreamedInPieces() {
+		String value = "%B4012000000000016^VI TEST CREDIT^2512?;4012 0000 0000 0016=2512?<CVV2>123</CVV2>";
+		StringBuilder sb = new StringBuilder();
+		MaskingWriter writer = new MaskingWriter(sb);
+		for (int i = 0; i < value.length(); i += 3) {
+			writer.append(value, i, Math.min(i + 3, value.length()));
+		}
+		writer.finish();
+		assertEquals("%B401200XXXXXX0016^XXXXXXXXXXXXXXXXXXX?;401200XXXXXX0016=XXXX?<CVV2>XXX</CVV2>", sb.toString());
+	}
+
+	@Test
+	public void Test_CardMask_TrackDiscretionaryData() {
+		// full length tracks: name, expiry, service code and discretionary data up to the end sentinel
+		String track1 = "%B5473500000000014^MC TEST CARD/EMV^2512201123456789012345678901234567890?";
+		String track2 = ";5473500000000014=25122011234567890123?";
+		assertEquals("%B547350XXXXXX0014^XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX?", StringUtils.mask(track1));
+		assertEquals(";547350XXXXXX0014=XXXXXXXXXXXXXXXXXXXX?", StringUtils.mask(track2));
+		assertEquals("<TrackData>" + ";547350XXXXXX0014=XXXXXXXXXXXXXXXXXXXX?" + "</TrackData><Amt>10</Amt>",
+				StringUtils.mask("<TrackData>" + track2 + "</TrackData><Amt>10</Amt>"));
+
+		// a track without its end sentinel stops at the end of the value holding it
+		assertEquals("{\"track\":\";547350XXXXXX0014=XXXXXXXXXXXXXXXXXXXX\",\"amount\":\"10\"}",
+				StringUtils.mask("{\"track\":\";5473500000000014=25122011234567890123\",\"amount\":\"10\"}"));
+
+		// other numbers followed by = are left alone
+		assertEquals("id=25122011234567890123", StringUtils.mask("id=25122011234567890123"));
+		assertEquals("a;4111=1234?", StringUtils.mask("a;4111=1234?"));
+	}
+
+	@Test
+	public void Test_PrettyJson_MaskedTrackData() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		MaskingWriter writer = new MaskingWriter(sb);
+		PrettyLogger.writePrettyJson("{\"payment_method\":{\"card\":{\"track_data\":\"%B4012002000060016^VI TEST CREDIT^251210118039000000000396?;4012002000060016=25121011803939600000?\"}},\"amount\":\"1999\"}", writer);
+		writer.finish();
+		assertEquals("{\n  \"payment_method\": {\n    \"card\": {\n      \"track_data\": "
+				+ "\"%B401200XXXXXX0016^XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX?;401200XXXXXX0016=XXXXXXXXXXXXXXXXXXXX?\"\n"
+				+ "    }\n  },\n  \"amount\": \"1999\"\n}", sb.toString());
+	}
+
+	@Test
+	public void Test_PrettyJson_Masked() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		MaskingWriter writer = new MaskingWriter(sb);
+		PrettyLogger.writePrettyJson("{\"card\":{\"number\":\"4263970000005262\",\"cvv\":\"123\"},\"items\":[],\"note\":\"a, b: {c}\"}", writer);
+		writer.finish();
+		assertEquals("{\n  \"card\": {\n    \"number\": \"426397XXXXXX5262\",\n    \"cvv\": \"XXX\"\n  },\n  \"items\": [],\n  \"note\": \"a, b: {c}\"\n}", sb.toString());
+
+		assertEquals("[1, 2]", PrettyLogger.toPrettyJson("[1, 2]"));
+		assertEquals("{\"a\": \"}", PrettyLogger.toPrettyJson("{\"a\": \"}"));
+	}
 }
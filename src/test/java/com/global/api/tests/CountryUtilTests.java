@@ -1,10 +1,14 @@
 package com.global.api.tests;
 
 import com.global.api.entities.Address;
+import com.global.api.entities.CountryData;
+import com.global.api.entities.enums.CountryCodeFormat;
 import com.global.api.utils.CountryUtils;
 import com.global.api.utils.StringUtils;
 import org.junit.Test;
 
+import java.util.Map;
+
 import static org.junit.Assert.*;
 import static org.junit.Assert.assertEquals;
 
@@ -30,6 +34,36 @@ public class CountryUtilTests {
         assertEquals("CD", result);
     }
 
+    @Test
+    public void getCountryCodeIgnoringCaseAndAccents() {
+        assertEquals("CI", CountryUtils.getCountryCodeByCountry("cote d'ivoire"));
+        assertEquals("CUW", CountryUtils.getCountryCodeByCountry("CURACAO", CountryCodeFormat.Alpha3));
+        assertEquals("410", CountryUtils.getCountryCodeByCountry("korea (republic of)", CountryCodeFormat.Numeric));
+    }
+
+    @Test
+    public void getCountryByLowerCaseCode() {
+        assertEquals("Ireland", CountryUtils.getCountryByCode("ie"));
+    }
+
+    @Test
+    public void countryDataLookupsMatchDictionaries() {
+        for(Map.Entry<String, String> entry: CountryData.getAlpha3CodeByCountry().entrySet()) {
+            assertEquals(entry.getValue(), CountryData.getAlpha3CodeByCountry(entry.getKey()));
+            assertEquals(entry.getKey(), CountryData.getCountryByAlpha3Code(entry.getValue()));
+        }
+        for(Map.Entry<String, String> entry: CountryData.getAlpha2CountryCodeByNumeric().entrySet()) {
+            assertEquals(entry.getValue(), CountryData.getAlpha2CountryCodeByNumeric(entry.getKey()));
+            assertEquals(entry.getKey(), CountryData.getNumericByAlpha2CountryCode(entry.getValue()));
+        }
+        assertEquals(250, CountryData.getAlpha2CodeByCountry().size());
+        assertEquals("Korea, Republic of", CountryData.getCountryByNumericCode("410"));
+        assertEquals("Korea (Republic of)", CountryData.getCountryByAlpha2Code("KR"));
+        assertEquals("389", CountryData.getPhoneCodeByCountry("Macedonia, the former Yugoslav Republic of"));
+        assertNull(CountryData.getAlpha3CodeByAlpha2Code("AN"));
+        assertNull(CountryData.getAlpha2CountryCodeByNumeric("92"));
+    }
+
     @Test
     public void getCountryCodeByExactCode() {
         String result = CountryUtils.getCountryCodeByCountry("IE");
@@ -0,0 +1,167 @@
+package com.global.api.tests;
+
+import com.global.api.gateways.GpApiConnector;
+import com.global.api.utils.DateCodec;
+import com.global.api.utils.DateUtils;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class DateCodecTests {
+    private static final String[] PATTERNS = {
+            "yyMMddhhmmss",
+            "MMddhhmmss",
+            "yyMMddHHmmss",
+            "yyyy-MM-dd'T'HH:mm:ss",
+            "yyyy-MM-dd'T'HH:mm:ss.SSS",
+            "MM/dd/yyyy",
+            "MMddyyyy",
+            "hh:MM:ss"
+    };
+
+    private TimeZone defaultZone;
+
+    @Before
+    public void saveDefaultZone() {
+        defaultZone = TimeZone.getDefault();
+    }
+
+    @After
+    public void restoreDefaultZone() {
+        TimeZone.setDefault(defaultZone);
+    }
+
+    @Test
+    public void codecsAreShared() {
+        assertSame(DateCodec.of("yyMMddhhmmss"), DateCodec.of("yyMMddhhmmss"));
+        assertEquals("yyMMddhhmmss", DateCodec.of("yyMMddhhmmss").getPattern());
+    }
+
+    @Test
+    public void formatsLikeSimpleDateFormat() {
+        Random random = new Random(47);
+        for(String zone: new String[] { "UTC", "America/New_York", "Asia/Kolkata" }) {
+            TimeZone.setDefault(TimeZone.getTimeZone(zone));
+            for(String pattern: PATTERNS) {
+                for(int i = 0; i < 500; i++) {
+                    Date date = new Date((long) (random.nextDouble() * 4000000000000L));
+                    assertEquals(pattern, new SimpleDateFormat(pattern).format(date), DateCodec.of(pattern).format(date));
+                    assertEquals(pattern, new DateTime(date).toString(pattern), DateCodec.of(pattern).format(new DateTime(date)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parsesLikeSimpleDateFormat() throws ParseException {
+        Random random = new Random(48);
+        for(String zone: new String[] { "UTC", "America/New_York", "Asia/Kolkata" }) {
+            TimeZone.setDefault(TimeZone.getTimeZone(zone));
+            for(String pattern: PATTERNS) {
+                for(int i = 0; i < 500; i++) {
+                    String text = new SimpleDateFormat(pattern).format(new Date((long) (random.nextDouble() * 4000000000000L)));
+                    assertEquals(text, new SimpleDateFormat(pattern).parse(text), DateCodec.of(pattern).parse(text));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void twoDigitYearsFollowTheCenturyWindow() throws ParseException {
+        int year = Calendar.getInstance().get(Calendar.YEAR);
+        String recent = String.format("%02d0101120000", (year - 1) % 100);
+        String distant = String.format("%02d0101120000", (year - 90) % 100);
+
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(DateCodec.of("yyMMddHHmmss").parse(recent));
+        assertEquals(year - 1, calendar.get(Calendar.YEAR));
+        calendar.setTime(DateCodec.of("yyMMddHHmmss").parse(distant));
+        assertEquals(year + 10, calendar.get(Calendar.YEAR));
+    }
+
+    @Test
+    public void parsePositionMarksTheFailure() {
+        ParsePosition position = new ParsePosition(0);
+        assertNull(DateCodec.of("yyyy-MM-dd").parse("2021-0X-01", position));
+        assertEquals(6, position.getErrorIndex());
+        assertEquals(0, position.getIndex());
+    }
+
+    @Test(expected = ParseException.class)
+    public void unparseableDateThrows() throws ParseException {
+        DateCodec.of("yyMMddHHmmss").parse("21X");
+    }
+
+    @Test
+    public void otherPatternsFallBackToSimpleDateFormat() throws ParseException {
+        Date date = new Date(1600000000123L);
+        for(String pattern: new String[] { "EEE, d MMM yyyy HH:mm:ss Z", "YYYYMMDDhhmmss", "yyyy-MM-dd'T'HH:mm:ss.SSSZZZZZ" }) {
+            assertEquals(new SimpleDateFormat(pattern).format(date), DateCodec.of(pattern).format(date));
+        }
+        assertEquals(date, DateCodec.of("EEE, d MMM yyyy HH:mm:ss.SSS Z").parse(new SimpleDateFormat("EEE, d MMM yyyy HH:mm:ss.SSS Z").format(date)));
+    }
+
+    @Test
+    public void gpApiDatesParseFromManyThreads() throws Exception {
+        final String[] dates = new String[64];
+        final Date[] expected = new Date[dates.length];
+        for(int i = 0; i < dates.length; i++) {
+            dates[i] = String.format("20%02d-%02d-%02d", 10 + i % 20, 1 + i % 12, 1 + i % 28);
+            expected[i] = new SimpleDateFormat(GpApiConnector.DATE_PATTERN).parse(dates[i]);
+        }
+
+        final AtomicInteger mismatches = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for(int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread() {
+                public void run() {
+                    try {
+                        for(int n = 0; n < 2000; n++) {
+                            int i = (n + offset) % dates.length;
+                            if(!expected[i].equals(GpApiConnector.parseGpApiDate(dates[i]))) {
+                                mismatches.incrementAndGet();
+                            }
+                        }
+                    } catch(Exception e) {
+                        mismatches.incrementAndGet();
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for(Thread thread: threads) {
+            thread.join();
+        }
+
+        assertEquals(0, mismatches.get());
+        assertNull(GpApiConnector.parseGpApiDate(""));
+    }
+
+    @Test
+    public void jodaDatesUseTheirOwnZone() {
+        DateTime dateTime = new DateTime(2021, 3, 14, 17, 5, 9, DateTimeZone.UTC);
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        assertEquals("210314050509", DateCodec.of("yyMMddhhmmss").format(dateTime));
+        assertEquals("0314050509", DateCodec.of("MMddhhmmss").format(dateTime));
+    }
+
+    @Test
+    public void offsetDateTimeSeparatesTheOffset() {
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"));
+        assertEquals("2020-09-13T17:56:40.123+05:30", DateUtils.toOffsetDateTimeString(new Date(1600000000123L)));
+    }
+}
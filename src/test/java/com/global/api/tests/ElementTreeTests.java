@@ -0,0 +1,197 @@
+package com.global.api.tests;
+
+import com.global.api.entities.exceptions.ApiException;
+import com.global.api.utils.Element;
+import com.global.api.utils.ElementTree;
+import com.global.api.utils.EnvelopeTemplate;
+import org.junit.Test;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ElementTreeTests {
+    private static final String DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+
+    @Test
+    public void soapEnvelope() {
+        ElementTree et = new ElementTree();
+        et.addNamespace("soap", "http://schemas.xmlsoap.org/soap/envelope/");
+
+        Element envelope = et.element("soap:Envelope");
+        Element body = et.subElement(envelope, "soap:Body");
+        Element request = et.subElement(body, "PosRequest").set("xmlns", "http://Hps.Exchange.PosGateway");
+        Element version = et.subElement(request, "Ver1.0");
+        et.subElement(version, "Header");
+        et.subElement(version, "Name", "James & \"Jimmy\" <O'Mason>");
+        et.subElement(version, "soap:Inner", "x");
+
+        assertEquals(DECLARATION
+                + "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\"><soap:Body>"
+                + "<PosRequest xmlns=\"http://Hps.Exchange.PosGateway\"><Ver1.0><Header/>"
+                + "<Name>James &amp; \"Jimmy\" &lt;O'Mason&gt;</Name><soap:Inner>x</soap:Inner>"
+                + "</Ver1.0></PosRequest></soap:Body></soap:Envelope>", et.toString(envelope));
+
+        // the tree can be written more than once
+        assertEquals(et.toString(envelope), et.toString(envelope));
+    }
+
+    private static Element buildRequest(ElementTree et, boolean withCredentials, String amount) {
+        Element envelope = et.element("soapenv:Envelope");
+        Element body = et.subElement(envelope, "soapenv:Body");
+        Element request = et.subElement(et.subElement(body, "bil:MakePayment"), "bil:Request");
+        if (withCredentials) {
+            Element credential = et.subElement(request, "bdms:Credential");
+            et.subElement(credential, "bdms:UserName", "user & co");
+        }
+        if (amount != null) {
+            et.subElement(request, "bdms:Amount", amount);
+            et.subElement(request, "bil:Reference", "a\rb");
+        }
+        return request;
+    }
+
+    @Test
+    public void envelopeTemplate() {
+        ElementTree et = new ElementTree();
+        et.addNamespace("soapenv", "http://schemas.xmlsoap.org/soap/envelope/");
+        et.addNamespace("bil", "https://bil");
+        et.addNamespace("bdms", "https://bdms");
+
+        Element templateRequest = buildRequest(et, true, null);
+        EnvelopeTemplate template = EnvelopeTemplate.of(et, root(templateRequest), templateRequest);
+
+        for (String amount : new String[] { "10.00", "11.50", null }) {
+            Element full = buildRequest(et, true, amount);
+            Element partial = buildRequest(et, false, amount);
+            assertEquals(et.toString(root(full)), template.toString(et, partial));
+        }
+    }
+
+    private static Element root(Element element) {
+        org.w3c.dom.Node node = element.getElement();
+        while (node.getParentNode() != null) {
+            node = node.getParentNode();
+        }
+        return Element.fromNode(node.getOwnerDocument(), node);
+    }
+
+    @Test
+    public void attributesAndCdata() {
+        ElementTree et = new ElementTree();
+        Element request = et.element("request").set("type", "auth").set("timestamp", "20200101120000");
+        et.subElement(request, "amount", "1001").set("currency", "EUR");
+        et.subElementCdata(request, "comment", "<raw & text>");
+        et.subElement(request, "lines", "a\r\nb 😀");
+
+        assertEquals(DECLARATION
+                + "<request timestamp=\"20200101120000\" type=\"auth\"><amount currency=\"EUR\">1001</amount>"
+                + "<comment><![CDATA[<raw & text>]]></comment><lines>a&#13;\nb &#128512;</lines></request>", et.toString(request));
+    }
+
+    @Test
+    public void cdataTerminatorIsSplitAcrossSections() throws ApiException {
+        ElementTree et = new ElementTree();
+        Element request = et.element("request");
+        et.subElementCdata(request, "DigitalPaymentToken", "a]]>b]]]>c]]>");
+
+        String xml = et.toString(request);
+        assertEquals(DECLARATION + "<request><DigitalPaymentToken><![CDATA[a]]]]><![CDATA[>b]]]]]><![CDATA[>c]]]]><![CDATA[>]]>"
+                + "</DigitalPaymentToken></request>", xml);
+        assertEquals("a]]>b]]]>c]]>", ElementTree.parse(xml).get("request").getString("DigitalPaymentToken"));
+    }
+
+    @Test
+    public void attributeWhitespaceSurvivesParsing() throws ApiException {
+        ElementTree et = new ElementTree();
+        Element request = et.element("request").set("note", "a\r\nb\tc & \"d\"").set("type", "auth");
+        et.subElement(request, "amount", "1001").set("currency", "E\nUR");
+
+        String xml = et.toString(request);
+        assertEquals(DECLARATION + "<request note=\"a&#13;&#10;b&#9;c &amp; &quot;d&quot;\" type=\"auth\">"
+                + "<amount currency=\"E&#10;UR\">1001</amount></request>", xml);
+
+        ElementTree parsed = ElementTree.parse(xml);
+        assertEquals("a\r\nb\tc & \"d\"", parsed.get("request").getAttributeString("note"));
+        assertEquals("E\nUR", parsed.get("amount").getAttributeString("currency"));
+    }
+
+    @Test
+    public void namespacesDeclaredOncePerScope() {
+        ElementTree et = new ElementTree();
+        et.addNamespace("soapenv", "http://schemas.xmlsoap.org/soap/envelope/");
+        et.addNamespace("bil", "https://bil");
+        et.addNamespace("bdms", "https://bdms");
+
+        Element envelope = et.element("soapenv:Envelope");
+        et.subElement(envelope, "soapenv:Header");
+        Element method = et.subElement(et.subElement(envelope, "soapenv:Body"), "bil:Method");
+        Element request = et.subElement(method, "bil:Request");
+        et.subElement(request, "bdms:First", "1");
+        et.subElement(request, "bdms:Second", "2");
+
+        assertEquals(DECLARATION
+                + "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\"><soapenv:Header/><soapenv:Body>"
+                + "<bil:Method xmlns:bil=\"https://bil\"><bil:Request><bdms:First xmlns:bdms=\"https://bdms\">1</bdms:First>"
+                + "<bdms:Second xmlns:bdms=\"https://bdms\">2</bdms:Second></bil:Request></bil:Method></soapenv:Body></soapenv:Envelope>", et.toString(envelope));
+    }
+
+    @Test
+    public void parseBytes() throws ApiException {
+        byte[] message = "<SIP><Response>Sale</Response><Text>café</Text></SIP>".getBytes(StandardCharsets.ISO_8859_1);
+
+        Element root = ElementTree.parse(message).get("SIP");
+        assertEquals("Sale", root.getString("Response"));
+        assertEquals("café", root.getString("Text"));
+    }
+
+    @Test
+    public void parseBytesMapsHighBytesToLatin1() throws ApiException {
+        byte[] message = "<SIP><Text>caf?</Text></SIP>".getBytes(StandardCharsets.US_ASCII);
+        message[14] = (byte) 0xE9;
+
+        // bytes from 0x80 up were once sign-extended, which read 0xE9 as \uFFE9
+        String text = ElementTree.parse(message).get("SIP").getString("Text");
+        assertEquals("caf\u00E9", text);
+        assertNotEquals("caf\uFFE9", text);
+    }
+
+    @Test
+    public void readElementsFromStream() throws Exception {
+        String response = "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\"><soap:Body><PosResponse>"
+                + "<Header><GatewayRspCode>0</GatewayRspCode></Header><FindTransactions>"
+                + "<Transactions><GatewayTxnId>1</GatewayTxnId><CardHolderData><CardHolderCity>A &amp; B</CardHolderCity></CardHolderData></Transactions>"
+                + "<Transactions status=\"A\"><GatewayTxnId>2</GatewayTxnId></Transactions>"
+                + "</FindTransactions></PosResponse></soap:Body></soap:Envelope>";
+
+        XMLStreamReader reader = ElementTree.createStreamReader(new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)));
+        List<Element> records = new ArrayList<Element>();
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("Transactions")) {
+                records.add(ElementTree.readElement(reader));
+                assertEquals(XMLStreamConstants.END_ELEMENT, reader.getEventType());
+            }
+        }
+
+        assertEquals(2, records.size());
+        assertEquals("1", records.get(0).getString("GatewayTxnId"));
+        assertEquals("A & B", records.get(0).getString("CardHolderCity"));
+        assertTrue(records.get(0).has("CardHolderData"));
+        assertEquals("2", records.get(1).getString("GatewayTxnId"));
+        assertEquals("A", records.get(1).getAttributeString("status"));
+
+        // each record is a document of its own, so lookups never reach into the rest of the response
+        assertNull(records.get(1).getString("CardHolderCity"));
+        assertNull(records.get(1).getString("GatewayRspCode"));
+    }
+
+    @Test(expected = ApiException.class)
+    public void parseMalformed() throws ApiException {
+        ElementTree.parse("<response><result>00</response>");
+    }
+}
@@ -2,6 +2,7 @@ package com.global.api.tests;
 
 import com.global.api.utils.EmvData;
 import com.global.api.utils.EmvUtils;
+import com.global.api.utils.StringUtils;
 import org.junit.Test;
 
 import java.util.ArrayList;
@@ -60,4 +61,49 @@ public class EmvTests {
         EmvData data = EmvUtils.parseTagData(tagData, true);
         assertEquals(tagData, data.getAcceptedTagData());
     }
+
+    @Test
+    public void parseMultiByteTagsAndLengths() {
+        StringBuilder issuerScript = new StringBuilder();
+        for(int i = 0; i < 130; i++) {
+            issuerScript.append("AB");
+        }
+        String tagData = "DF810102AABB" + "7281" + "82" + issuerScript + "FFC605DE50FC9800" + "9F2701800";
+
+        EmvData data = EmvUtils.parseTagData(tagData);
+        assertEquals("AABB", data.getTag("DF8101").getValue());
+        assertEquals("8182", data.getTag("72").getLength());
+        assertEquals("728182" + issuerScript, data.getTag("72").getFullValue());
+        assertEquals("DE50FC9800", data.getTag("FFC6").getValue());
+        assertEquals("80", data.getCryptogramInformationData());
+        assertEquals("DF810102AABB728182" + issuerScript + "FFC605DE50FC98009F270180", data.getAcceptedTagData());
+        assertArrayEquals(StringUtils.bytesFromHex(data.getAcceptedTagData()), data.getSendBuffer());
+    }
+
+    @Test
+    public void parseBytesMatchesHex() {
+        String tagData = "9F2608C2B3A4E5F607182982021900950500000080009B02E8009F3303E0F8C85F280208409F3400";
+
+        EmvData fromHex = EmvUtils.parseTagData(tagData.toLowerCase());
+        EmvData fromBytes = EmvUtils.parseTagData(StringUtils.bytesFromHex(tagData));
+        assertEquals(fromHex.getAcceptedTagData(), fromBytes.getAcceptedTagData());
+        assertEquals(fromHex.getAcceptedTags().keySet(), fromBytes.getAcceptedTags().keySet());
+        assertEquals(fromHex.getStandInStatusReason(), fromBytes.getStandInStatusReason());
+        assertEquals("Application Cryptogram", fromBytes.getTag("9F26").getDescription());
+        assertEquals("0000008000", fromBytes.getTerminalVerificationResults());
+    }
+
+    @Test
+    public void standInStatusChecksTheStatusMasks() {
+        EmvData tvr = EmvUtils.parseTagData("95050000040000");
+        assertFalse(tvr.getStandInStatus());
+        assertEquals("Invalid TVR status in byte 3 of tag 95", tvr.getStandInStatusReason());
+
+        EmvData tsi = EmvUtils.parseTagData("9B026800");
+        assertFalse(tsi.getStandInStatus());
+        assertEquals("Invalid TSI status in byte 1 of tag 9B", tsi.getStandInStatusReason());
+
+        EmvData country = EmvUtils.parseTagData("5F28020124");
+        assertEquals("Card is not domestically issued", country.getStandInStatusReason());
+    }
 }
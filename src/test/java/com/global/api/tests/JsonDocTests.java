@@ -0,0 +1,157 @@
+package com.global.api.tests;
+
+import com.global.api.entities.enums.PaymentMethodUsageMode;
+import com.global.api.utils.JsonDoc;
+import com.global.api.utils.Utf8Buffer;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import static org.junit.Assert.*;
+
+public class JsonDocTests {
+    private static JsonDoc buildRequest() {
+        HashMap<String, Object> rule = new HashMap<>();
+        rule.put("reference", "0c93a6c9-7649-4822-b5ea-1efa356337fd");
+        rule.put("mode", "ACTIVE");
+        rule.put("description", null);
+        rule.put("functions", new String[] { "APPLICANT" });
+
+        ArrayList<HashMap<String, Object>> rules = new ArrayList<>();
+        rules.add(rule);
+
+        JsonDoc card = new JsonDoc()
+                .set("number", "4263970000005262")
+                .set("expiry_month", "05")
+                .set("cvv", 852)
+                .set("tag", "9F4005F000F0A001é€");
+
+        return new JsonDoc()
+                .set("account_name", "transaction_processing")
+                .set("amount", new BigDecimal("10.01"))
+                .set("capture_mode", "AUTO")
+                .set("name", "James \"Jimmy\" O'Mason <😀>\n")
+                .set("count", 3L)
+                .set("multi", true)
+                .set("usage_mode", PaymentMethodUsageMode.SINGLE)
+                .set("methods", new String[] { "CARD", "BANK_TRANSFER" })
+                .set("rules", rules)
+                .set("card", card);
+    }
+
+    @Test
+    public void writeToMatchesToString() throws Exception {
+        JsonDoc request = buildRequest();
+
+        Utf8Buffer buffer = Utf8Buffer.forCurrentThread();
+        request.writeTo(buffer);
+
+        byte[] expected = request.toString().getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, Arrays.copyOf(buffer.getBuffer(), buffer.size()));
+    }
+
+    @Test
+    public void writeToMatchesToStringAfterRemoveAndForListsOfDocs() throws Exception {
+        JsonDoc request = buildRequest();
+        for (int i = 0; i < 40; i++) {
+            request.set("extra_" + i, String.valueOf(i));
+        }
+        for (int i = 0; i < 40; i += 3) {
+            request.remove("extra_" + i);
+        }
+        request.remove("count");
+
+        JsonDoc response = JsonDoc.parse("{\"links\":[{\"rel\":\"self\",\"href\":\"/a\"},{\"rel\":\"next\"}],\"total\":\"2\"}");
+        request.set("response", response);
+
+        java.io.StringWriter written = new java.io.StringWriter();
+        request.writeTo(written);
+        assertEquals(request.toString(), written.toString());
+
+        JsonDoc reparsed = JsonDoc.parse(request.toString());
+        assertFalse(reparsed.has("count"));
+        assertFalse(reparsed.has("extra_0"));
+        assertEquals("1", reparsed.getString("extra_1"));
+        assertSameDoc(response, reparsed.get("response"));
+        assertEquals("{\"rel\":\"self\",\"href\":\"/a\"}".length(), response.getEnumerator("links").get(0).toString().length());
+    }
+
+    @Test
+    public void bufferIsReusedPerThread() throws Exception {
+        Utf8Buffer buffer = Utf8Buffer.forCurrentThread();
+        buildRequest().writeTo(buffer);
+        assertTrue(buffer.size() > 0);
+
+        Utf8Buffer next = Utf8Buffer.forCurrentThread();
+        assertSame(buffer, next);
+        assertEquals(0, next.size());
+    }
+
+    @Test
+    public void bufferEncodesLikeString() {
+        String text = "aé€😀 \ud83d x\ude00";
+
+        Utf8Buffer buffer = Utf8Buffer.forCurrentThread();
+        buffer.write(text, 0, text.length());
+        buffer.flush();
+
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), Arrays.copyOf(buffer.getBuffer(), buffer.size()));
+        assertEquals(new String(text.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8), buffer.toString());
+    }
+
+    private static final String RESPONSE = "{ \"error_code\" : \"INVALID_REQUEST_DATA\", \"detailed_error_code\":\"40213\","
+            + "\"detailed_error_description\":\"Retrieving \\\"card\\\" \\u00e9\\/ent\u00e9 \\ud83d\\ude00\", \"count\": 12.50, \"ok\": true, \"gone\": null,"
+            + "\"action\": {\"type\": \"AUTHORIZE\", \"nested\": {\"brackets\": \"}]{[\"}}, \"dup\": \"first\", \"dup\": \"second\","
+            + "\"links\": [{\"rel\": \"self\"}, \"skipped\", {\"rel\": \"next\"}], \"methods\": [\"CARD\", 5, false], \"empty\": [], \"obj\": {}}";
+
+    private static void assertSameDoc(JsonDoc expected, JsonDoc actual) {
+        assertEquals(expected.getKeys(), actual.getKeys());
+        for (String key : expected.getKeys()) {
+            Object value = expected.getValue(key);
+            if (value instanceof JsonDoc) {
+                assertSameDoc((JsonDoc) value, actual.get(key));
+            } else if (value instanceof java.util.List && !((java.util.List<?>) value).isEmpty() && ((java.util.List<?>) value).get(0) instanceof JsonDoc) {
+                java.util.List<JsonDoc> items = expected.getEnumerator(key);
+                assertEquals(items.size(), actual.getEnumerator(key).size());
+                for (int i = 0; i < items.size(); i++) {
+                    assertSameDoc(items.get(i), actual.getEnumerator(key).get(i));
+                }
+            } else {
+                assertEquals(key, value, actual.getValue(key));
+            }
+        }
+    }
+
+    @Test
+    public void lazyParseMatchesParse() {
+        JsonDoc expected = JsonDoc.parse(RESPONSE);
+        byte[] bytes = ("xx" + RESPONSE + "yy").getBytes(StandardCharsets.UTF_8);
+
+        assertSameDoc(expected, JsonDoc.parseLazy(RESPONSE));
+        assertSameDoc(expected, JsonDoc.parseLazy(bytes, 2, bytes.length - 4));
+    }
+
+    @Test
+    public void lazyParseDecodesOnAccess() {
+        JsonDoc doc = JsonDoc.parseLazy(RESPONSE.getBytes(StandardCharsets.UTF_8), 0, RESPONSE.getBytes(StandardCharsets.UTF_8).length);
+
+        assertEquals("INVALID_REQUEST_DATA", doc.getString("error_code"));
+        assertEquals("Retrieving \"card\" \u00e9/ent\u00e9 \ud83d\ude00", doc.getString("detailed_error_description"));
+        assertEquals("AUTHORIZE", doc.get("action").getString("type"));
+        assertEquals("}]{[", doc.get("action").get("nested").getString("brackets"));
+        assertEquals("12.50", doc.getString("count"));
+        assertEquals("second", doc.getString("dup"));
+        assertFalse(doc.has("gone"));
+        assertNull(doc.getString("missing"));
+        assertEquals(2, doc.getEnumerator("links").size());
+        assertEquals(JsonDoc.parse("{\"a\":[{\"b\":{\"c\":1}}]}").toString(), JsonDoc.parseLazy("{\"a\":[{\"b\":{\"c\":1}}]}").toString());
+        assertEquals(JsonDoc.parse(RESPONSE).toString(), doc.toString());
+
+        assertNull(JsonDoc.parseLazy("[1, 2]"));
+        assertNull(JsonDoc.parseLazy("  "));
+    }
+}
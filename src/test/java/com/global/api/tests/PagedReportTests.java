@@ -0,0 +1,294 @@
+package com.global.api.tests;
+
+import com.global.api.ConfiguredServices;
+import com.global.api.ServicesContainer;
+import com.global.api.builders.AuthorizationBuilder;
+import com.global.api.builders.ManagementBuilder;
+import com.global.api.builders.PagedReportIterator;
+import com.global.api.builders.ReportBuilder;
+import com.global.api.builders.TransactionReportBuilder;
+import com.global.api.entities.Transaction;
+import com.global.api.entities.TransactionSummary;
+import com.global.api.entities.enums.ReportExportFormat;
+import com.global.api.entities.exceptions.ApiException;
+import com.global.api.entities.exceptions.BuilderException;
+import com.global.api.entities.exceptions.GatewayException;
+import com.global.api.entities.exceptions.UncheckedApiException;
+import com.global.api.entities.reporting.TransactionSummaryPaged;
+import com.global.api.gateways.IPaymentGateway;
+import com.global.api.gateways.IReportingService;
+import com.global.api.network.NetworkMessageHeader;
+import com.global.api.serviceConfigs.Configuration;
+import com.global.api.services.ReportingService;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class PagedReportTests {
+    private static final String CONFIG_NAME = "pagedReports";
+
+    private static class PagedGateway implements IPaymentGateway, IReportingService {
+        private final int totalRecordCount;
+        private final int failingPage;
+        private int maxPageSize = Integer.MAX_VALUE;
+        private final List<Integer> requestedPages = Collections.synchronizedList(new ArrayList<Integer>());
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        PagedGateway(int totalRecordCount, int failingPage) {
+            this.totalRecordCount = totalRecordCount;
+            this.failingPage = failingPage;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> T processReport(ReportBuilder<T> builder, Class<T> clazz) throws ApiException {
+            TransactionReportBuilder<T> reportBuilder = (TransactionReportBuilder<T>) builder;
+            int page = reportBuilder.getPage();
+            int pageSize = Math.min(reportBuilder.getPageSize(), maxPageSize);
+            requestedPages.add(page);
+            int concurrent = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(concurrent, Math::max);
+            try {
+                // later pages answer sooner, so they arrive out of order
+                Thread.sleep(Math.max(0, 12 - page));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            if (page == failingPage) {
+                throw new GatewayException("Page unavailable");
+            }
+
+            TransactionSummaryPaged result = new TransactionSummaryPaged();
+            result.setTotalRecordCount(totalRecordCount);
+            result.setPage(page);
+            result.setPageSize(pageSize);
+            for (int i = (page - 1) * pageSize; i < Math.min(page * pageSize, totalRecordCount); i++) {
+                TransactionSummary summary = new TransactionSummary();
+                summary.setTransactionId("TRN_" + i);
+                summary.setAmount(new BigDecimal(i).movePointLeft(2));
+                summary.setReferenceNumber(i == 0 ? "say \"hi\", ok" : null);
+                result.add(summary);
+            }
+            return (T) result;
+        }
+
+        public Transaction processAuthorization(AuthorizationBuilder builder) { return null; }
+        public Transaction manageTransaction(ManagementBuilder builder) { return null; }
+        public String serializeRequest(AuthorizationBuilder builder) { return null; }
+        public NetworkMessageHeader sendKeepAlive() { return null; }
+        public boolean supportsHostedPayments() { return false; }
+    }
+
+    private static PagedGateway configure(int totalRecordCount, int failingPage) throws ApiException {
+        final PagedGateway gateway = new PagedGateway(totalRecordCount, failingPage);
+        ServicesContainer.configureService(new Configuration() {
+            public void configureContainer(ConfiguredServices services) {
+                services.setGatewayConnector(gateway);
+            }
+        }, CONFIG_NAME);
+        return gateway;
+    }
+
+    @Test
+    public void readsEveryPageInOrder() throws ApiException {
+        PagedGateway gateway = configure(23, 0);
+
+        List<String> ids = new ArrayList<>();
+        PagedReportIterator<TransactionSummary> records = ReportingService.iterate(ReportingService.findTransactionsPaged(1, 5), CONFIG_NAME);
+        while (records.hasNext()) {
+            ids.add(records.next().getTransactionId());
+        }
+
+        assertEquals(23, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals("TRN_" + i, ids.get(i));
+        }
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), gateway.requestedPages);
+    }
+
+    @Test
+    public void followsThePageSizeTheGatewayReturns() throws ApiException {
+        PagedGateway gateway = configure(35, 0);
+        gateway.maxPageSize = 10;
+
+        List<String> ids = new ArrayList<>();
+        PagedReportIterator<TransactionSummary> records = ReportingService.iterate(ReportingService.findTransactionsPaged(1, 50), CONFIG_NAME);
+        while (records.hasNext()) {
+            ids.add(records.next().getTransactionId());
+        }
+
+        assertEquals(35, ids.size());
+        assertEquals("TRN_34", ids.get(34));
+        assertEquals(Arrays.asList(1, 2, 3, 4), gateway.requestedPages);
+    }
+
+    @Test
+    public void stopsAtTotalRecordCount() throws ApiException {
+        PagedGateway gateway = configure(20, 0);
+
+        try (Stream<TransactionSummary> records = ReportingService.stream(ReportingService.findTransactionsPaged(2, 10), CONFIG_NAME)) {
+            List<String> ids = records.map(TransactionSummary::getTransactionId).collect(Collectors.toList());
+            assertEquals(10, ids.size());
+            assertEquals("TRN_10", ids.get(0));
+        }
+        // the second page reaches the total, so no third page is requested
+        assertEquals(Collections.singletonList(2), gateway.requestedPages);
+    }
+
+    @Test
+    public void emptyReport() throws ApiException {
+        configure(0, 0);
+        assertFalse(ReportingService.iterate(ReportingService.findTransactionsPaged(1, 10), CONFIG_NAME).hasNext());
+    }
+
+    @Test
+    public void pageErrorsAreThrownWhenReached() throws ApiException {
+        configure(30, 2);
+
+        PagedReportIterator<TransactionSummary> records = ReportingService.iterate(ReportingService.findTransactionsPaged(1, 10), CONFIG_NAME);
+        for (int i = 0; i < 10; i++) {
+            assertEquals("TRN_" + i, records.next().getTransactionId());
+        }
+        try {
+            records.hasNext();
+            fail("Expected the failed page to be reported");
+        } catch (UncheckedApiException e) {
+            assertTrue(e.getCause() instanceof GatewayException);
+            assertEquals("Page unavailable", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void fetchesPagesConcurrentlyInOrder() throws ApiException {
+        PagedGateway gateway = configure(95, 0);
+
+        TransactionSummaryPaged report = ReportingService.fetchAllPages(ReportingService.findTransactionsPaged(1, 10))
+                .withMaxConcurrency(3)
+                .execute(CONFIG_NAME);
+
+        assertEquals(95, report.getResults().size());
+        for (int i = 0; i < report.getResults().size(); i++) {
+            assertEquals("TRN_" + i, report.getResults().get(i).getTransactionId());
+        }
+        List<Integer> pages = new ArrayList<>(gateway.requestedPages);
+        Collections.sort(pages);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), pages);
+        assertTrue(gateway.maxInFlight.get() <= 3);
+    }
+
+    @Test
+    public void fetchesEveryPageOfACappedPageSize() throws ApiException {
+        PagedGateway gateway = configure(35, 0);
+        gateway.maxPageSize = 10;
+
+        TransactionSummaryPaged report = ReportingService.fetchAllPages(ReportingService.findTransactionsPaged(1, 50))
+                .execute(CONFIG_NAME);
+
+        assertEquals(35, report.getResults().size());
+        for (int i = 0; i < report.getResults().size(); i++) {
+            assertEquals("TRN_" + i, report.getResults().get(i).getTransactionId());
+        }
+        List<Integer> pages = new ArrayList<>(gateway.requestedPages);
+        Collections.sort(pages);
+        assertEquals(Arrays.asList(1, 2, 3, 4), pages);
+    }
+
+    @Test
+    public void capsRequestRate() throws ApiException {
+        configure(50, 0);
+
+        final List<String> ids = new ArrayList<>();
+        long start = System.nanoTime();
+        ReportingService.fetchAllPages(ReportingService.findTransactionsPaged(1, 10))
+                .withMaxConcurrency(5)
+                .withMaxRequestsPerSecond(20)
+                .execute(CONFIG_NAME, record -> ids.add(record.getTransactionId()));
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+
+        assertEquals(50, ids.size());
+        assertEquals("TRN_49", ids.get(49));
+        // five requests 50ms apart
+        assertTrue(elapsedMillis >= 190);
+    }
+
+    @Test
+    public void failedPageStopsFetch() throws ApiException {
+        configure(100, 4);
+
+        try {
+            ReportingService.fetchAllPages(ReportingService.findTransactionsPaged(1, 10)).execute(CONFIG_NAME);
+            fail("Expected the failed page to be reported");
+        } catch (GatewayException e) {
+            assertEquals("Page unavailable", e.getMessage());
+        }
+    }
+
+    @Test
+    public void exportsCsvOnePageAtATime() throws Exception {
+        PagedGateway gateway = configure(12, 0);
+        Path file = Files.createTempFile("report", ".csv");
+        try {
+            long count = ReportingService.export(ReportingService.findTransactionsPaged(1, 5))
+                    .withColumns("transactionId", "amount", "referenceNumber")
+                    .withColumn("cents", summary -> summary.getAmount().movePointRight(2).intValue())
+                    .execute(CONFIG_NAME, file);
+
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            assertEquals(12, count);
+            assertEquals(13, lines.size());
+            assertEquals("transactionId,amount,referenceNumber,cents", lines.get(0));
+            assertEquals("TRN_0,0.00,\"say \"\"hi\"\", ok\",0", lines.get(1));
+            assertEquals("TRN_11,0.11,,11", lines.get(12));
+            assertEquals(Arrays.asList(1, 2, 3), gateway.requestedPages);
+            assertEquals(1, gateway.maxInFlight.get());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void exportsNdJson() throws Exception {
+        configure(3, 0);
+        Path file = Files.createTempFile("report", ".ndjson");
+        try {
+            ReportingService.export(ReportingService.findTransactionsPaged(1, 5))
+                    .withFormat(ReportExportFormat.NdJson)
+                    .withColumns("transactionId", "amount", "referenceNumber")
+                    .execute(CONFIG_NAME, file);
+
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            assertEquals(3, lines.size());
+            assertEquals("{\"transactionId\":\"TRN_0\",\"amount\":0.00,\"referenceNumber\":\"say \\\"hi\\\", ok\"}", lines.get(0));
+            assertEquals("{\"transactionId\":\"TRN_2\",\"amount\":0.02,\"referenceNumber\":null}", lines.get(2));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = BuilderException.class)
+    public void exportRejectsUnknownColumns() throws Exception {
+        configure(3, 0);
+        Path file = Files.createTempFile("report", ".csv");
+        try {
+            ReportingService.export(ReportingService.findTransactionsPaged(1, 5))
+                    .withColumns("transactionId", "noSuchProperty")
+                    .execute(CONFIG_NAME, file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
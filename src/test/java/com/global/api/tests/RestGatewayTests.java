@@ -0,0 +1,111 @@
+package com.global.api.tests;
+
+import com.global.api.entities.exceptions.GatewayException;
+import com.global.api.gateways.GatewayResponse;
+import com.global.api.gateways.GpApiConnector;
+import com.global.api.gateways.RestGateway;
+import com.global.api.serviceConfigs.GpApiConfig;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RestGatewayTests {
+    private static final String HTML = "<html><body><h1>502 Bad Gateway</h1></body></html>";
+
+    private static class TestRestGateway extends RestGateway {
+        String handle(int statusCode, String rawResponse) throws GatewayException {
+            return handleResponse(response(statusCode, rawResponse));
+        }
+    }
+
+    private static class TestGpApiConnector extends GpApiConnector {
+        TestGpApiConnector() {
+            super(new GpApiConfig());
+        }
+
+        String handle(int statusCode, String rawResponse) throws GatewayException {
+            return handleResponse(response(statusCode, rawResponse));
+        }
+    }
+
+    private static GatewayResponse response(int statusCode, String rawResponse) {
+        GatewayResponse response = new GatewayResponse();
+        response.setStatusCode(statusCode);
+        response.setRawResponse(rawResponse);
+        return response;
+    }
+
+    private static String errorMessage(RestGateway gateway, int statusCode, String rawResponse) {
+        try {
+            if (gateway instanceof TestGpApiConnector) {
+                ((TestGpApiConnector) gateway).handle(statusCode, rawResponse);
+            } else {
+                ((TestRestGateway) gateway).handle(statusCode, rawResponse);
+            }
+        } catch (GatewayException e) {
+            return e.getMessage();
+        }
+        fail("Expected a GatewayException.");
+        return null;
+    }
+
+    @Test
+    public void jsonErrorsReadTheirMessage() {
+        RestGateway gateway = new TestRestGateway();
+        assertEquals("Status code: 400 - Bad field", errorMessage(gateway, 400, "{\"error\":{\"message\":\"Bad field\"}}"));
+        assertEquals("Status code: 400 - Bad request", errorMessage(gateway, 400, "{\"message\":\"Bad request\"}"));
+
+        GpApiConnector connector = new TestGpApiConnector();
+        assertEquals("Status Code: 400 - Invalid card",
+                errorMessage(connector, 400, "{\"error_code\":\"INVALID_REQUEST_DATA\",\"detailed_error_code\":\"40213\",\"detailed_error_description\":\"Invalid card\"}"));
+    }
+
+    @Test
+    public void logEntriesAreKeptPerThread() throws Exception {
+        final RestGateway gateway = new TestRestGateway();
+        gateway.getLogEntry().append("main");
+
+        final StringBuilder[] other = new StringBuilder[1];
+        Thread thread = new Thread() {
+            public void run() {
+                other[0] = gateway.getLogEntry();
+                other[0].append("page 2");
+            }
+        };
+        thread.start();
+        thread.join();
+
+        assertNotSame(gateway.getLogEntry(), other[0]);
+        assertEquals("main", gateway.getLogEntry().toString());
+        assertEquals("page 2", other[0].toString());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void setLogEntryReplacesTheCurrentThreadsEntry() throws Exception {
+        final RestGateway gateway = new TestRestGateway();
+        StringBuilder entry = new StringBuilder("mine");
+        assertSame(gateway, gateway.setLogEntry(entry));
+        assertSame(entry, gateway.getLogEntry());
+
+        final StringBuilder[] other = new StringBuilder[1];
+        Thread thread = new Thread() {
+            public void run() {
+                other[0] = gateway.getLogEntry();
+            }
+        };
+        thread.start();
+        thread.join();
+
+        assertNotSame(entry, other[0]);
+    }
+
+    @Test
+    public void otherErrorsKeepTheRawBody() {
+        for (RestGateway gateway : new RestGateway[] { new TestRestGateway(), new TestGpApiConnector() }) {
+            assertTrue(errorMessage(gateway, 502, HTML).endsWith("502 - " + HTML));
+            assertTrue(errorMessage(gateway, 500, "Internal Server Error").endsWith("500 - Internal Server Error"));
+            assertTrue(errorMessage(gateway, 500, "{\"message\":").endsWith("500 - {\"message\":"));
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.global.api.tests;
+
+import com.global.api.ConfiguredServices;
+import com.global.api.ServicesContainer;
+import com.global.api.entities.Address;
+import com.global.api.entities.exceptions.ApiException;
+import com.global.api.entities.exceptions.BuilderException;
+import com.global.api.entities.exceptions.GatewayException;
+import com.global.api.gateways.PorticoConnector;
+import com.global.api.serviceConfigs.Configuration;
+import com.global.api.services.ReportingService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Exports Portico reports streamed from a local https server, to check how failures inside the
+ * streamed response are reported.
+ */
+public class StreamedReportTests {
+    private static final String CONFIG_NAME = "streamedReports";
+    private static final String PASSWORD = "changeit";
+
+    private static File keyStore;
+    private static HttpsServer server;
+    private static String trustStore;
+    private static String trustStorePassword;
+    private static volatile String response;
+
+    @BeforeClass
+    public static void startGateway() throws Exception {
+        keyStore = File.createTempFile("gateway", ".jks");
+        keyStore.delete();
+        Process keytool = new ProcessBuilder(System.getProperty("java.home") + File.separator + "bin" + File.separator + "keytool",
+                "-genkeypair", "-alias", "gateway", "-keyalg", "RSA", "-keysize", "2048", "-validity", "1",
+                "-dname", "CN=localhost", "-ext", "SAN=dns:localhost,ip:127.0.0.1",
+                "-keystore", keyStore.getPath(), "-storetype", "JKS", "-storepass", PASSWORD, "-keypass", PASSWORD)
+                .redirectErrorStream(true)
+                .start();
+        assertEquals(0, keytool.waitFor());
+
+        KeyStore keys = KeyStore.getInstance("JKS");
+        try (InputStream in = new FileInputStream(keyStore)) {
+            keys.load(in, PASSWORD.toCharArray());
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keys, PASSWORD.toCharArray());
+        SSLContext context = SSLContext.getInstance("TLSv1.2");
+        context.init(keyManagers.getKeyManagers(), null, null);
+
+        // the connector trusts the default trust store, so the server's own certificate is made that
+        trustStore = System.getProperty("javax.net.ssl.trustStore");
+        trustStorePassword = System.getProperty("javax.net.ssl.trustStorePassword");
+        System.setProperty("javax.net.ssl.trustStore", keyStore.getPath());
+        System.setProperty("javax.net.ssl.trustStorePassword", PASSWORD);
+
+        server = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setHttpsConfigurator(new HttpsConfigurator(context));
+        server.createContext("/", new HttpHandler() {
+            public void handle(HttpExchange exchange) throws IOException {
+                byte[] body = response.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "text/xml; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        });
+        server.start();
+
+        final PorticoConnector gateway = new PorticoConnector();
+        gateway.setSecretApiKey("skapi_cert_test");
+        gateway.setTimeout(10000);
+        gateway.setServiceUrl("https://localhost:" + server.getAddress().getPort() + "/Hps.Exchange.PosGateway/PosGatewayService.asmx");
+        ServicesContainer.configureService(new Configuration() {
+            public void configureContainer(ConfiguredServices services) {
+                services.setGatewayConnector(gateway);
+                services.setReportingService(gateway);
+            }
+        }, CONFIG_NAME);
+    }
+
+    @AfterClass
+    public static void stopGateway() {
+        if (server != null) {
+            server.stop(0);
+        }
+        restore("javax.net.ssl.trustStore", trustStore);
+        restore("javax.net.ssl.trustStorePassword", trustStorePassword);
+        keyStore.delete();
+    }
+
+    private static void restore(String property, String value) {
+        if (value == null) {
+            System.clearProperty(property);
+        } else {
+            System.setProperty(property, value);
+        }
+    }
+
+    private static String findTransactionsResponse(String gatewayRspCode, int count) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>")
+                .append("<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\"><soap:Body>")
+                .append("<PosResponse xmlns=\"http://Hps.Exchange.PosGateway\"><Ver1.0><Header>")
+                .append("<GatewayTxnId>1</GatewayTxnId><GatewayRspCode>").append(gatewayRspCode)
+                .append("</GatewayRspCode><GatewayRspMsg>Result</GatewayRspMsg></Header>")
+                .append("<Transaction><FindTransactions>");
+        for (int i = 0; i < count; i++) {
+            sb.append("<Transactions><GatewayTxnId>").append(100 + i).append("</GatewayTxnId><Amt>1").append(i)
+                    .append(".00</Amt></Transactions>");
+        }
+        sb.append("</FindTransactions></Transaction></Ver1.0></PosResponse></soap:Body></soap:Envelope>");
+        return sb.toString();
+    }
+
+    @Test
+    public void exportsTheStreamedTransactions() throws Exception {
+        response = findTransactionsResponse("0", 3);
+        Path file = Files.createTempFile("report", ".csv");
+        try {
+            long count = ReportingService.exportTransactions(ReportingService.findTransactions())
+                    .withColumns("transactionId", "amount")
+                    .execute(CONFIG_NAME, file);
+
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            assertEquals(3, count);
+            assertEquals("transactionId,amount", lines.get(0));
+            assertEquals("102,12.00", lines.get(3));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void defaultColumnsHoldSingleValues() throws Exception {
+        response = findTransactionsResponse("0", 2);
+        Path file = Files.createTempFile("report", ".csv");
+        try {
+            long count = ReportingService.exportTransactions(ReportingService.findTransactions()).execute(CONFIG_NAME, file);
+
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            assertEquals(2, count);
+            assertEquals(3, lines.size());
+            List<String> names = Arrays.asList(lines.get(0).split(","));
+            assertTrue(names.contains("transactionId"));
+            assertTrue(names.contains("amount"));
+            assertFalse(names.contains("billingAddress"));
+            assertFalse(names.contains("lodgingData"));
+            assertFalse(names.contains("fraudManagementResponse"));
+            for (String line : lines) {
+                assertFalse(line, line.contains("@"));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void emptyReportKeepsItsHeader() throws Exception {
+        response = findTransactionsResponse("0", 0);
+        Path file = Files.createTempFile("report", ".csv");
+        try {
+            long count = ReportingService.exportTransactions(ReportingService.findTransactions())
+                    .withColumns("transactionId", "amount")
+                    .execute(CONFIG_NAME, file);
+
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            assertEquals(0, count);
+            assertEquals(Collections.singletonList("transactionId,amount"), lines);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void nestedObjectColumnIsABuilderError() throws Exception {
+        response = findTransactionsResponse("0", 1);
+        Path file = Files.createTempFile("report", ".csv");
+        try {
+            ReportingService.exportTransactions(ReportingService.findTransactions())
+                    .withColumn("address", summary -> new Address())
+                    .execute(CONFIG_NAME, file);
+            fail("A column holding an object should fail the export.");
+        } catch (BuilderException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("address holds a Address"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void unknownColumnIsABuilderError() throws Exception {
+        response = findTransactionsResponse("0", 3);
+        Path file = Files.createTempFile("report", ".csv");
+        try {
+            ReportingService.exportTransactions(ReportingService.findTransactions())
+                    .withColumns("transactionId", "noSuchProperty")
+                    .execute(CONFIG_NAME, file);
+            fail("An unknown column should fail the export.");
+        } catch (BuilderException e) {
+            assertEquals("noSuchProperty is not a property of the report records.", e.getMessage());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void handlerRuntimeExceptionsPropagate() throws Exception {
+        response = findTransactionsResponse("0", 3);
+        final IllegalStateException failure = new IllegalStateException("column failed");
+        Path file = Files.createTempFile("report", ".csv");
+        try {
+            ReportingService.exportTransactions(ReportingService.findTransactions())
+                    .withColumn("failing", summary -> {
+                        throw failure;
+                    })
+                    .execute(CONFIG_NAME, file);
+            fail("A failing column should fail the export.");
+        } catch (IllegalStateException e) {
+            assertSame(failure, e);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void gatewayErrorsKeepTheirResponse() throws Exception {
+        response = findTransactionsResponse("1", 0);
+        Path file = Files.createTempFile("report", ".csv");
+        try {
+            ReportingService.exportTransactions(ReportingService.findTransactions()).execute(CONFIG_NAME, file);
+            fail("A gateway error should fail the export.");
+        } catch (GatewayException e) {
+            assertEquals("1", e.getResponseCode());
+        } catch (ApiException e) {
+            fail(e.getMessage());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -292,4 +292,45 @@ public class TrackDataTests {
         assertEquals("2223005065780=19121016wImiKusfcUl9y0M", track.getTrackData());
         assertNotNull(track.getTrackData());
     }
+
+    @Test
+    public void track2_pipe_separator_with_both_tracks() {
+        CreditTrackData track = new CreditTrackData();
+        track.setValue("%B4012002000060016^VI TEST CREDIT^251210118039000000000396?;4012002000060016|25121011803939600000?");
+
+        assertEquals("4012002000060016", track.getPan());
+        assertEquals("2512", track.getExpiry());
+        assertEquals("1011803939600000", track.getDiscretionaryData());
+        assertEquals("4012002000060016=25121011803939600000", track.getTrackData());
+    }
+
+    @Test
+    public void track2_padding_only_at_37_characters() {
+        CreditTrackData track = new CreditTrackData();
+        track.setValue("4012002000060016=251210118039396000f");
+
+        assertEquals("10118039396000f", track.getDiscretionaryData());
+        assertEquals("4012002000060016=251210118039396000f", track.getTrackData());
+    }
+
+    @Test
+    public void track1_format_code_zero() {
+        CreditTrackData track = new CreditTrackData();
+        track.setValue("%04012002000060016^VI TEST CREDIT^2512101?");
+
+        assertEquals("4012002000060016", track.getPan());
+        assertEquals("2512", track.getExpiry());
+        assertEquals("101", track.getDiscretionaryData());
+        assertEquals("04012002000060016^VI TEST CREDIT^2512101", track.getTrackData());
+    }
+
+    @Test
+    public void gift_track2_keeps_discretionary_data() {
+        GiftCard gift = new GiftCard();
+        gift.setValue(";6277200000001113=2012101999988887f?");
+
+        assertEquals("6277200000001113", gift.getPan());
+        assertEquals("2012", gift.getExpiry());
+        assertEquals("6277200000001113=2012101999988887f", gift.getTrackData());
+    }
 }
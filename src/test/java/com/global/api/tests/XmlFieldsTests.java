@@ -0,0 +1,117 @@
+package com.global.api.tests;
+
+import com.global.api.entities.exceptions.ApiException;
+import com.global.api.utils.Element;
+import com.global.api.utils.ElementTree;
+import com.global.api.utils.XmlFields;
+import com.global.api.utils.XmlRecord;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+
+import static org.junit.Assert.*;
+
+public class XmlFieldsTests {
+    private static final String PORTICO_RESPONSE = "<?xml version=\"1.0\" encoding=\"utf-8\"?>"
+            + "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\"><soap:Body>"
+            + "<PosResponse rootUrl=\"https://cert.api2.heartlandportico.com/Hps.Exchange.PosGateway\" xmlns=\"http://Hps.Exchange.PosGateway\">"
+            + "<Ver1.0><Header><LicenseId>20903</LicenseId><GatewayTxnId>1234567890</GatewayTxnId>"
+            + "<GatewayRspCode>0</GatewayRspCode><GatewayRspMsg>Success</GatewayRspMsg><RspDT>2021-03-04T10:11:12.1234567</RspDT>"
+            + "<TokenData><TokenRspCode>0</TokenRspCode><TokenValue>supt_abc</TokenValue></TokenData></Header>"
+            + "<Transaction><CreditSale><RspCode>00</RspCode><RspText>APPROVAL</RspText><AuthCode>12345A</AuthCode>"
+            + "<AVSRsltCode>0</AVSRsltCode><CardType>Visa</CardType><AuthAmt>10.00</AuthAmt>"
+            + "<TxnDescriptor>Store &amp; More <![CDATA[<1>]]></TxnDescriptor><EmptyNode/></CreditSale></Transaction>"
+            + "</Ver1.0></PosResponse></soap:Body></soap:Envelope>";
+
+    private static final XmlFields PORTICO_FIELDS = XmlFields.of(
+            "PosResponse", "GatewayRspCode", "GatewayRspMsg", "RspCode", "RspText", "RspMessage", "AuthCode", "AuthAmt",
+            "AVSRsltCode", "CardType", "TxnDescriptor", "RspDT", "TokenData", "TokenValue", "BatchId", "Header"
+    );
+
+    private static final String GP_ECOM_RESPONSE = "<response timestamp=\"20210304101112\">"
+            + "<merchantid>heartlandgpsandbox</merchantid><account>api</account><orderid>N6qsk4kYRZihmPrTXWYS6g</orderid>"
+            + "<result>00</result><authcode>12345</authcode><message>[ test system ] Authorised</message><pasref>14631546336115597</pasref>"
+            + "<fraudresponse mode=\"ACTIVE\"><result>PASS</result><rules>"
+            + "<rule name=\"Cardholder Name Rule\" id=\"cf609cf9-9e5a-4700-ac69-8aa09c119305\"><action>PASS</action></rule>"
+            + "<rule name=\"IP Address Rule\" id=\"b5b0c8b1-2c2c-4a6a-b3d2-5e7d7bc1bbf6\"><action>HOLD</action></rule>"
+            + "</rules></fraudresponse><batchid>319623</batchid><paymentmethoddetails>"
+            + "<SetExpressCheckoutResponse><Token>EC-123</Token><Ack>Success</Ack></SetExpressCheckoutResponse>"
+            + "</paymentmethoddetails><srd>MMC0F00YE4000000715</srd></response>";
+
+    private static final XmlFields GP_ECOM_FIELDS = XmlFields.of(
+            "response", "result", "message", "authcode", "orderid", "pasref", "batchid", "srd", "fraudresponse", "rules", "rule",
+            "action", "paymentmethoddetails", "SetExpressCheckoutResponse", "DoExpressCheckoutPaymentResponse", "Token", "Ack",
+            "PaymentInfo", "TransactionID", "dccinfo"
+    );
+
+    @Test
+    public void porticoLookupsMatchElement() throws ApiException {
+        Element expected = ElementTree.parse(PORTICO_RESPONSE).get("PosResponse");
+        XmlRecord actual = PORTICO_FIELDS.parse(PORTICO_RESPONSE).get("PosResponse");
+
+        assertTrue(actual.exists());
+        for (String name : new String[] { "GatewayRspCode", "GatewayRspMsg", "RspCode", "AuthCode", "AVSRsltCode", "CardType", "TxnDescriptor", "TokenValue", "BatchId", "Header" }) {
+            assertEquals(name, expected.getString(name), actual.getString(name));
+        }
+        assertEquals("Store & More <1>", actual.getString("TxnDescriptor"));
+        assertEquals(expected.getString("RspText", "RspMessage"), actual.getString("RspText", "RspMessage"));
+        assertEquals(expected.getString("RspMessage", "RspText"), actual.getString("RspMessage", "RspText"));
+        assertEquals(expected.getDecimal("AuthAmt"), actual.getDecimal("AuthAmt"));
+        assertEquals(expected.getInt("BatchId"), actual.getInt("BatchId"));
+        assertEquals(expected.has("TokenData"), actual.has("TokenData"));
+        assertEquals(expected.has("BatchId"), actual.has("BatchId"));
+
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+        assertEquals(expected.getDate(format, "RspDT"), actual.getDate(format, "RspDT"));
+        assertEquals(expected.getAttributeString("rootUrl"), actual.getAttributeString("rootUrl"));
+        assertEquals("", actual.getAttributeString("missing"));
+    }
+
+    @Test
+    public void gpEcomScopedLookupsMatchElement() throws ApiException {
+        Element expected = ElementTree.parse(GP_ECOM_RESPONSE).get("response");
+        XmlRecord actual = GP_ECOM_FIELDS.parse(GP_ECOM_RESPONSE).get("response");
+
+        assertEquals(expected.getAttributeString("timestamp"), actual.getAttributeString("timestamp"));
+        assertEquals(expected.getString("result"), actual.getString("result"));
+        assertEquals(expected.getInt("batchid"), actual.getInt("batchid"));
+
+        Element expectedFraud = expected.get("fraudresponse");
+        XmlRecord actualFraud = actual.get("fraudresponse");
+        assertEquals("PASS", actualFraud.getString("result"));
+        assertEquals(expectedFraud.getString("result"), actualFraud.getString("result"));
+        assertEquals(expectedFraud.getAttributeString("mode"), actualFraud.getAttributeString("mode"));
+
+        Element[] expectedRules = expectedFraud.get("rules").getAll("rule");
+        XmlRecord[] actualRules = actualFraud.get("rules").getAll("rule");
+        assertEquals(expectedRules.length, actualRules.length);
+        for (int i = 0; i < expectedRules.length; i++) {
+            assertEquals(expectedRules[i].getAttributeString("name"), actualRules[i].getAttributeString("name"));
+            assertEquals(expectedRules[i].getAttributeString("id"), actualRules[i].getAttributeString("id"));
+            assertEquals(expectedRules[i].getString("action"), actualRules[i].getString("action"));
+        }
+
+        // scoped lookups that find nothing fall back to the whole document, as Element does
+        XmlRecord details = actual.get("paymentmethoddetails");
+        assertTrue(details.get("SetExpressCheckoutResponse").exists());
+        assertFalse(details.get("DoExpressCheckoutPaymentResponse").exists());
+        assertEquals("EC-123", details.get("SetExpressCheckoutResponse").getString("Token"));
+        assertEquals(expected.get("paymentmethoddetails").getString("srd"), details.getString("srd"));
+
+        XmlRecord paymentInfo = details.get("PaymentInfo");
+        assertFalse(paymentInfo.exists());
+        assertEquals(expected.get("paymentmethoddetails").get("PaymentInfo").getString("orderid"), paymentInfo.getString("orderid"));
+        assertNull(paymentInfo.getString("TransactionID"));
+        assertFalse(actual.has("dccinfo"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void undeclaredField() throws ApiException {
+        GP_ECOM_FIELDS.parse(GP_ECOM_RESPONSE).getString("merchantid");
+    }
+
+    @Test(expected = ApiException.class)
+    public void malformedResponse() throws ApiException {
+        GP_ECOM_FIELDS.parse("<response><result>00</response>");
+    }
+}
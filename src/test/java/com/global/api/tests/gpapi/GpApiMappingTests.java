@@ -3,11 +3,14 @@ package com.global.api.tests.gpapi;
 import com.global.api.ServicesContainer;
 import com.global.api.entities.Transaction;
 import com.global.api.entities.TransactionSummary;
+import com.global.api.entities.reporting.TransactionSummaryPaged;
 import com.global.api.entities.exceptions.ApiException;
 import com.global.api.entities.exceptions.GatewayException;
+import com.global.api.entities.enums.ReportType;
 import com.global.api.entities.reporting.ActionSummary;
 import com.global.api.entities.reporting.DepositSummary;
 import com.global.api.entities.reporting.DisputeSummary;
+import com.global.api.entities.reporting.DisputeSummaryPaged;
 import com.global.api.entities.reporting.StoredPaymentMethodSummary;
 import com.global.api.gateways.GpApiConnector;
 import com.global.api.mapping.GpApiMapping;
@@ -461,4 +464,76 @@ public class GpApiMappingTests extends BaseGpApiTest {
         assertEquals(transaction.getCardExpYear(), doc.get("card").getInt("expiry_year").intValue());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void MapReportResponseTest_TransactionsPaged() throws ApiException {
+        // Arrange
+        StringBuilder rawJson = new StringBuilder("{\"merchant_id\":\"MER_c4c0df11039c48a9b63701adeaa296c3\",\"transactions\":[");
+        for (int i = 0; i < 5; i++) {
+            if (i > 0) rawJson.append(",");
+            rawJson.append("{\"id\":\"TRN_").append(i).append("\",\"time_created\":\"2020-06-05T03:08:20.896Z\",\"status\":\"CAPTURED\",\"type\":\"SALE\",\"channel\":\"CNP\",\"amount\":\"").append(1000 + i)
+                    .append("\",\"currency\":\"USD\",\"reference\":\"ref-").append(i).append("\",\"batch_id\":null,\"links\":[{\"rel\":\"self\"}],")
+                    .append("\"system\":{\"mid\":\"101023947262\",\"name\":\"XYZ LTD.\"},")
+                    .append("\"payment_method\":{\"message\":\"SUCCESS\",\"entry_mode\":\"ECOM\",\"fingerprint\":\"FP").append(i).append("\",")
+                    .append(i % 2 == 0
+                            ? "\"card\":{\"brand\":\"VISA\",\"authcode\":\"12345\",\"arn\":\"ARN\",\"masked_number_first6last4\":\"411111XXXXXX1111\",\"unmapped\":{\"x\":1}}}"
+                            : "\"bank_transfer\":{\"masked_account_number_last4\":\"XXXX1234\",\"account_type\":\"CHECKING\"}}")
+                    .append(",\"risk_assessment\":{\"mode\":\"ACTIVE\",\"result\":\"ACCEPTED\",\"rules\":[{\"reference\":\"R1\",\"mode\":\"ACTIVE\",\"result\":\"ACCEPTED\"}]}}");
+        }
+        rawJson.append("],\"total_record_count\":5,\"current_page_size\":5,\"paging\":{\"page_size\":5,\"page\":1,\"order\":\"DESC\",\"order_by\":\"TIME_CREATED\"}}");
+
+        // Act
+        TransactionSummaryPaged expected = GpApiMapping.mapTransactions(JsonDoc.parse(rawJson.toString()));
+        TransactionSummaryPaged result = GpApiMapping.mapReportResponse(rawJson.toString(), ReportType.FindTransactionsPaged);
+
+        // Assert
+        assertEquals(expected.getTotalRecordCount(), result.getTotalRecordCount());
+        assertEquals(expected.getPageSize(), result.getPageSize());
+        assertEquals(expected.getPage(), result.getPage());
+        assertEquals(expected.getOrder(), result.getOrder());
+        assertEquals(expected.getOrderBy(), result.getOrderBy());
+        assertEquals(expected.getResults().size(), result.getResults().size());
+        for (int i = 0; i < expected.getResults().size(); i++) {
+            TransactionSummary expectedSummary = expected.getResults().get(i);
+            TransactionSummary summary = result.getResults().get(i);
+
+            assertEquals(expectedSummary.getTransactionId(), summary.getTransactionId());
+            assertEquals(expectedSummary.getTransactionDate(), summary.getTransactionDate());
+            assertEquals(expectedSummary.getAmount(), summary.getAmount());
+            assertEquals(expectedSummary.getBatchSequenceNumber(), summary.getBatchSequenceNumber());
+            assertEquals(expectedSummary.getMerchantId(), summary.getMerchantId());
+            assertEquals(expectedSummary.getFingerprint(), summary.getFingerprint());
+            assertEquals(expectedSummary.getCardType(), summary.getCardType());
+            assertEquals(expectedSummary.getMaskedCardNumber(), summary.getMaskedCardNumber());
+            assertEquals(expectedSummary.getAccountType(), summary.getAccountType());
+            assertEquals(expectedSummary.getPaymentType(), summary.getPaymentType());
+            assertEquals(expectedSummary.getFraudManagementResponse().getFraudResponseResult(), summary.getFraudManagementResponse().getFraudResponseResult());
+            assertEquals(expectedSummary.getFraudManagementResponse().getFraudResponseRules().size(), summary.getFraudManagementResponse().getFraudResponseRules().size());
+        }
+    }
+
+    @Test
+    public void MapReportResponseTest_SettlementDisputesPaged() throws ApiException {
+        // Arrange
+        String rawJson = "{\"disputes\":[{\"id\":\"DIS_1\",\"time_created\":\"2020-11-12T18:50:39.721Z\",\"stage_time_created\":\"2020-11-17T18:50:39.722Z\",\"deposit_time_created\":\"2020-11-20\",\"deposit_id\":\"DEP_1\",\"status\":\"WITH_MERCHANT\",\"amount\":\"1000\",\"system\":{\"mid\":\"627384967\"},\"documents\":[{\"id\":\"DOC_1\",\"type\":\"SALES_RECEIPT\"},{\"type\":\"OTHER\"}],\"transaction\":{\"time_created\":\"2020-10-05T18:50:39.726Z\",\"type\":\"SALE\",\"amount\":\"1000\",\"payment_method\":{\"card\":{\"masked_number_first6last4\":\"424242xxxxxx4242\",\"arn\":\"834523482349123\",\"brand\":\"VISA\",\"authcode\":\"234AB\"}}}}],\"total_count\":1,\"paging\":{\"page_size\":10,\"page\":1}}";
+
+        // Act
+        DisputeSummaryPaged expected = GpApiMapping.mapSettlementDisputes(JsonDoc.parse(rawJson));
+        DisputeSummaryPaged result = GpApiMapping.mapReportResponse(rawJson, ReportType.FindSettlementDisputesPaged);
+
+        // Assert
+        assertEquals(expected.getTotalRecordCount(), result.getTotalRecordCount());
+        assertEquals(expected.getPageSize(), result.getPageSize());
+        assertEquals(1, result.getResults().size());
+
+        DisputeSummary expectedSummary = expected.getResults().get(0);
+        DisputeSummary summary = result.getResults().get(0);
+        assertEquals(expectedSummary.getCaseId(), summary.getCaseId());
+        assertEquals(expectedSummary.getCaseIdTime(), summary.getCaseIdTime());
+        assertEquals(expectedSummary.getDepositDate(), summary.getDepositDate());
+        assertEquals(expectedSummary.getCaseMerchantId(), summary.getCaseMerchantId());
+        assertEquals(expectedSummary.getTransactionAmount(), summary.getTransactionAmount());
+        assertEquals(expectedSummary.getTransactionMaskedCardNumber(), summary.getTransactionMaskedCardNumber());
+        assertEquals(expectedSummary.getTransactionAuthCode(), summary.getTransactionAuthCode());
+        assertEquals(expectedSummary.getDocuments().size(), summary.getDocuments().size());
+    }
+}
@@ -0,0 +1,127 @@
+package com.global.api.tests.terminals;
+
+import com.global.api.entities.enums.ControlCodes;
+import com.global.api.entities.enums.PaxMsgId;
+import com.global.api.terminals.TerminalFrameCodec;
+import com.global.api.terminals.TerminalUtilities;
+import com.global.api.terminals.hpa.responses.SipBaseResponse;
+import com.global.api.utils.MessageReader;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TerminalFrameCodecTests {
+    @Test
+    public void encodeAppendsLrc() {
+        byte[] frame = TerminalFrameCodec.encode("A00".getBytes(), ControlCodes.FS, "1.35".getBytes());
+
+        assertEquals(ControlCodes.STX.getByte(), frame[0]);
+        assertEquals(ControlCodes.ETX.getByte(), frame[frame.length - 2]);
+
+        byte lrc = 0;
+        for(int i = 1; i < frame.length - 1; i++) {
+            lrc ^= frame[i];
+        }
+        assertEquals(lrc, frame[frame.length - 1]);
+        assertTrue(TerminalFrameCodec.checkLRC(frame));
+        assertEquals(lrc, TerminalUtilities.calculateLRC(frame));
+    }
+
+    @Test
+    public void checkLrcRejectsCorruptFrame() {
+        byte[] frame = TerminalUtilities.buildRequest(PaxMsgId.A00_INITIALIZE).getSendBuffer();
+        assertTrue(TerminalFrameCodec.checkLRC(frame));
+
+        frame[3] ^= 0x01;
+        assertFalse(TerminalFrameCodec.checkLRC(frame));
+    }
+
+    @Test
+    public void lengthPrefixRoundTrip() {
+        byte[] message = "<SIP><Version>1.0</Version></SIP>".getBytes();
+        byte[] frame = TerminalFrameCodec.encodeLengthPrefixed(message);
+
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        assertEquals(message.length, TerminalFrameCodec.decodeLength(buffer));
+        assertEquals(message.length, buffer.remaining());
+    }
+
+    @Test
+    public void jsonRoundTrip() throws Exception {
+        String body = "{\"message\":\"ACK\",\"data\":\"\"}";
+        byte[] frame = TerminalFrameCodec.encodeJson(body.getBytes());
+
+        ByteBuffer decoded = TerminalFrameCodec.decodeJson(ByteBuffer.wrap(frame));
+        assertEquals(body, StandardCharsets.UTF_8.decode(decoded).toString());
+    }
+
+    @Test
+    public void jsonDecodeDropsLineFeeds() throws Exception {
+        byte[] frame = TerminalFrameCodec.encodeJson("{\"message\":\n\"READY\"}".getBytes());
+
+        ByteBuffer decoded = TerminalFrameCodec.decodeJson(ByteBuffer.wrap(frame));
+        assertEquals("{\"message\":\"READY\"}", StandardCharsets.UTF_8.decode(decoded).toString());
+    }
+
+    @Test
+    public void splitOnSeparators() {
+        byte[] frame = TerminalFrameCodec.encode("0".getBytes(), ControlCodes.FS, "A01".getBytes(), ControlCodes.FS,
+                ControlCodes.FS, "a".getBytes(), ControlCodes.US, "b".getBytes());
+
+        List<ByteBuffer> fields = TerminalFrameCodec.split(TerminalFrameCodec.payload(ByteBuffer.wrap(frame)));
+        assertEquals(4, fields.size());
+        assertEquals("0", StandardCharsets.US_ASCII.decode(fields.get(0)).toString());
+        assertEquals("A01", StandardCharsets.US_ASCII.decode(fields.get(1)).toString());
+        assertEquals(0, fields.get(2).remaining());
+
+        List<ByteBuffer> subFields = TerminalFrameCodec.split(fields.get(3), ControlCodes.US.getByte());
+        assertEquals(2, subFields.size());
+        assertEquals("b", StandardCharsets.US_ASCII.decode(subFields.get(1)).toString());
+    }
+
+    @Test
+    public void nextFieldStopsAtEtx() {
+        ByteBuffer payload = ByteBuffer.wrap(TerminalFrameCodec.encode("0".getBytes(), ControlCodes.FS, "A01".getBytes()));
+        payload.get(); // STX
+
+        assertEquals("0", StandardCharsets.US_ASCII.decode(TerminalFrameCodec.nextField(payload, ControlCodes.FS.getByte())).toString());
+        assertEquals("A01", StandardCharsets.US_ASCII.decode(TerminalFrameCodec.nextField(payload, ControlCodes.FS.getByte())).toString());
+        assertEquals(ControlCodes.ETX.getByte(), payload.get());
+    }
+
+    @Test
+    public void readFieldsMatchesReadToCodeSplit() {
+        byte[] frame = TerminalFrameCodec.encode("0".getBytes(), ControlCodes.FS,
+                "000000".getBytes(), ControlCodes.US, "OK, THANKS".getBytes(), ControlCodes.US, ControlCodes.US, ControlCodes.FS,
+                ControlCodes.FS,
+                ControlCodes.US, "1".getBytes(), ControlCodes.US, ControlCodes.US, ControlCodes.FS,
+                "TOKEN=abc".getBytes(), ControlCodes.US, "CARDBIN=411111".getBytes());
+
+        MessageReader expected = new MessageReader(frame);
+        MessageReader actual = new MessageReader(frame);
+        expected.readCode();
+        actual.readCode();
+        for(ControlCodes code: new ControlCodes[] { ControlCodes.FS, ControlCodes.FS, ControlCodes.FS, ControlCodes.FS, ControlCodes.ETX }) {
+            String values = expected.readToCode(code);
+            String[] fields = values.isEmpty() ? new String[0] : values.split("\\[US\\]");
+            assertArrayEquals(values, fields, actual.readFields(code));
+        }
+    }
+
+    @Test
+    public void sipResponseSplitsOnCarriageReturns() throws Exception {
+        String message = "<SIP><Version>1.0</Version><ECRId>1004</ECRId><Request>Reboot</Request><RequestId>1</RequestId>"
+                + "<Response>Reboot</Response><Result>0</Result><ResultText>Success</ResultText></SIP>";
+        byte[] buffer = ("\r" + message.replace("><", ">\n<") + "\r\n").getBytes();
+
+        SipBaseResponse response = new SipBaseResponse(buffer, "Reboot");
+        assertEquals("Reboot", response.getCommand());
+        assertEquals("00", response.getDeviceResponseCode());
+        assertEquals("Success", response.getDeviceResponseText());
+        assertEquals("1004", response.getEcrId());
+    }
+}
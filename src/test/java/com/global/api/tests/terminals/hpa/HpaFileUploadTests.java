@@ -0,0 +1,133 @@
+package com.global.api.tests.terminals.hpa;
+
+import com.global.api.entities.enums.SendFileType;
+import com.global.api.entities.exceptions.ApiException;
+import com.global.api.terminals.abstractions.IDeviceInterface;
+import com.global.api.terminals.abstractions.IDeviceResponse;
+import com.global.api.terminals.hpa.HpaFileUpload;
+import com.global.api.terminals.hpa.HpaFileUploader;
+import com.global.api.terminals.messaging.IFileUploadProgressInterface;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class HpaFileUploadTests {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File writeFile(String name, int size) throws Exception {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) (i * 37 + 11);
+        }
+        File file = folder.newFile(name);
+        Files.write(file.toPath(), data);
+        return file;
+    }
+
+    private static String hex(byte[] data) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : data) {
+            sb.append(String.format("%02X", b & 0xFF));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void partsJoinIntoTheHexOfTheFile() throws Exception {
+        File file = writeFile("banner.jpg", 1001);
+        String expected = hex(Files.readAllBytes(file.toPath()));
+
+        HpaFileUpload upload = new HpaFileUpload(SendFileType.Banner, file.getPath());
+        try {
+            assertEquals("banner.jpg", upload.getFileName());
+            assertEquals(1001, upload.getFileSize());
+
+            for (int maxDataLength : new int[] { 7, 64, 2002, 5000 }) {
+                int partCount = upload.getPartCount(maxDataLength);
+                assertEquals((2002 + maxDataLength - 1) / maxDataLength, partCount);
+
+                StringBuilder joined = new StringBuilder();
+                for (int i = 0; i < partCount; i++) {
+                    String part = upload.getFilePart(i, maxDataLength);
+                    assertTrue(part.length() <= maxDataLength);
+                    joined.append(part);
+                    assertEquals((joined.length() + 1) / 2, upload.getBytesSent(i, maxDataLength));
+                }
+                assertEquals(expected, joined.toString());
+                assertEquals(1001, upload.getBytesSent(partCount - 1, maxDataLength));
+            }
+        } finally {
+            upload.close();
+        }
+    }
+
+    @Test
+    public void closeReleasesTheFile() throws Exception {
+        File file = writeFile("idlelogo.jpg", 10);
+
+        HpaFileUpload upload = new HpaFileUpload(SendFileType.Logo, file.getPath());
+        upload.close();
+        assertTrue(file.delete());
+
+        try {
+            upload.getFilePart(0, 8);
+            fail("A closed upload should not be read.");
+        } catch (ApiException e) {
+            assertNotNull(e.getCause());
+        }
+    }
+
+    @Test(expected = ApiException.class)
+    public void fileNameMustMatchTheType() throws Exception {
+        new HpaFileUpload(SendFileType.Logo, writeFile("banner.jpg", 10).getPath());
+    }
+
+    @Test(expected = ApiException.class)
+    public void emptyFileIsRejected() throws Exception {
+        new HpaFileUpload(SendFileType.Banner, writeFile("banner.jpg", 0).getPath());
+    }
+
+    @Test
+    public void otherDevicesReportProgressOnceDone() throws Exception {
+        File file = writeFile("banner.jpg", 100);
+        IDeviceInterface device = (IDeviceInterface) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { IDeviceInterface.class }, new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if (method.getName().equals("hashCode")) {
+                            return System.identityHashCode(proxy);
+                        }
+                        if (method.getName().equals("equals")) {
+                            return proxy == args[0];
+                        }
+                        return null;
+                    }
+                });
+
+        final List<Integer> progress = new ArrayList<Integer>();
+        Map<IDeviceInterface, IDeviceResponse> responses = HpaFileUploader.sendFile(Collections.singletonList(device),
+                SendFileType.Banner, file.getPath(), 1, new IFileUploadProgressInterface() {
+                    public void uploadProgress(IDeviceInterface device, int bytesSent, int fileSize) {
+                        progress.add(bytesSent);
+                        progress.add(fileSize);
+                    }
+                });
+
+        assertTrue(responses.containsKey(device));
+        assertEquals(2, progress.size());
+        assertEquals(100, (int) progress.get(0));
+        assertEquals(100, (int) progress.get(1));
+    }
+}
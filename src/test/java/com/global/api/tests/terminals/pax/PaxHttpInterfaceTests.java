@@ -0,0 +1,162 @@
+package com.global.api.tests.terminals.pax;
+
+import com.global.api.entities.enums.ConnectionModes;
+import com.global.api.entities.enums.DeviceType;
+import com.global.api.entities.enums.PaxMsgId;
+import com.global.api.terminals.ConnectionConfig;
+import com.global.api.terminals.DeviceMessage;
+import com.global.api.terminals.TerminalUtilities;
+import com.global.api.terminals.pax.interfaces.PaxHttpInterface;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class PaxHttpInterfaceTests {
+    private static final byte[] RESPONSE = TerminalUtilities.buildRequest("0\u001cA01\u001c1.35\u001c000000\u001cOK".getBytes()).getSendBuffer();
+
+    private HttpServer server;
+    private final Set<Integer> clientPorts = Collections.synchronizedSet(new HashSet<Integer>());
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile long handlerDelay = 10;
+
+    @BeforeClass
+    public static void disableNagle() {
+        // the JDK server writes headers and body separately, which otherwise stalls on delayed ACKs
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    @Before
+    public void startDevice() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", new HttpHandler() {
+            public void handle(HttpExchange exchange) throws IOException {
+                clientPorts.add(exchange.getRemoteAddress().getPort());
+
+                int current = inFlight.incrementAndGet();
+                synchronized (maxInFlight) {
+                    maxInFlight.set(Math.max(maxInFlight.get(), current));
+                }
+                try {
+                    Thread.sleep(handlerDelay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+
+                exchange.sendResponseHeaders(200, RESPONSE.length);
+                OutputStream body = exchange.getResponseBody();
+                body.write(RESPONSE);
+                body.close();
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void stopDevice() {
+        server.stop(0);
+    }
+
+    private ConnectionConfig config(int maxConcurrentRequests) {
+        ConnectionConfig config = new ConnectionConfig();
+        config.setDeviceType(DeviceType.PAX_DEVICE);
+        config.setConnectionMode(ConnectionModes.HTTP);
+        config.setIpAddress("127.0.0.1");
+        config.setPort(server.getAddress().getPort());
+        config.setTimeout(5000);
+        config.setMaxConcurrentRequests(maxConcurrentRequests);
+        return config;
+    }
+
+    @Test
+    public void reusesConnectionForSequentialCommands() throws Exception {
+        PaxHttpInterface device = new PaxHttpInterface(config(1));
+        DeviceMessage message = TerminalUtilities.buildRequest(PaxMsgId.A00_INITIALIZE);
+
+        int commands = 50;
+        for (int i = 0; i < commands; i++) {
+            assertArrayEquals(RESPONSE, device.send(message));
+        }
+
+        assertTrue(clientPorts.size() < commands / 10);
+    }
+
+    /**
+     * Times commands against a device that answers at once, so the time per command is the
+     * interface's own overhead. Nothing is asserted on it, since timings vary between machines;
+     * read {@code perCommandNanos} in a debugger or profiler when comparing changes.
+     */
+    @Test
+    public void measuresPerCommandOverhead() throws Exception {
+        handlerDelay = 0;
+        PaxHttpInterface device = new PaxHttpInterface(config(1));
+        DeviceMessage message = TerminalUtilities.buildRequest(PaxMsgId.A00_INITIALIZE);
+
+        for (int i = 0; i < 50; i++) {
+            device.send(message);
+        }
+        int commands = 500;
+        long start = System.nanoTime();
+        for (int i = 0; i < commands; i++) {
+            assertArrayEquals(RESPONSE, device.send(message));
+        }
+        long perCommandNanos = (System.nanoTime() - start) / commands;
+    }
+
+    @Test
+    public void limitsConcurrentRequestsPerDevice() throws Exception {
+        sendConcurrently(new PaxHttpInterface(config(2)));
+
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    public void followsTheLimitOfTheCurrentConfiguration() throws Exception {
+        sendConcurrently(new PaxHttpInterface(config(1)));
+        assertEquals(1, maxInFlight.get());
+
+        maxInFlight.set(0);
+        sendConcurrently(new PaxHttpInterface(config(3)));
+        assertEquals(3, maxInFlight.get());
+    }
+
+    private void sendConcurrently(final PaxHttpInterface device) throws Exception {
+        final DeviceMessage message = TerminalUtilities.buildRequest(PaxMsgId.A00_INITIALIZE);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<byte[]>> results = new ArrayList<Future<byte[]>>();
+        for (int i = 0; i < 40; i++) {
+            results.add(pool.submit(new Callable<byte[]>() {
+                public byte[] call() throws Exception {
+                    return device.send(message);
+                }
+            }));
+        }
+        for (Future<byte[]> result : results) {
+            assertArrayEquals(RESPONSE, result.get());
+        }
+        pool.shutdown();
+    }
+}
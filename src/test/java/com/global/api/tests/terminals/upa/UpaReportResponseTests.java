@@ -0,0 +1,82 @@
+package com.global.api.tests.terminals.upa;
+
+import com.global.api.entities.TransactionSummary;
+import com.global.api.terminals.messaging.IRecordReceivedInterface;
+import com.global.api.terminals.upa.responses.UpaReportResponse;
+import com.global.api.utils.JsonDoc;
+import com.google.gson.stream.JsonReader;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class UpaReportResponseTests {
+    private static String batchDetails(int records) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"message\":\"MSG\",\"data\":{\"response\":\"GetBatchDetails\",\"EcrId\":\"13\",\"requestId\":\"1001\",");
+        sb.append("\"cmdResult\":{\"result\":\"Success\"},\"data\":{\"batchRecord\":{\"batchId\":1015,\"batchSeqNbr\":\"42\",");
+        sb.append("\"batchStatus\":\"OPEN\",\"openUtcDateTime\":\"2021-04-20T13:05:52.000Z\",\"openTnxId\":\"1234\",");
+        sb.append("\"totalAmount\":\"").append(records).append(".00\",\"totalCnt\":").append(records).append(",");
+        sb.append("\"batchDetailRecords\":[");
+        for (int i = 0; i < records; i++) {
+            if (i > 0) sb.append(",");
+            sb.append("{\"approvalCode\":\"A").append(i).append("\",\"authorizedAmount\":\"1.00\",\"baseAmount\":\"1.00\",");
+            sb.append("\"cardType\":\"VISA\",\"maskedCardNumber\":\"************1111\",\"totalAmount\":\"1.00\",");
+            sb.append("\"gatewayTxnId\":\"").append(100000 + i).append("\",\"transactionType\":\"Sale\"}");
+        }
+        sb.append("],\"batchTransactions\":[{\"cardType\":\"VISA\",\"saleCnt\":").append(records);
+        sb.append(",\"saleAmt\":\"").append(records).append(".00\",\"totalCnt\":").append(records).append("}]}}}}");
+        return sb.toString();
+    }
+
+    @Test
+    public void streamedBatchDetailsMatchBufferedParse() throws Exception {
+        String json = batchDetails(25);
+        UpaReportResponse buffered = new UpaReportResponse(JsonDoc.parse(json));
+
+        final List<TransactionSummary> streamed = new ArrayList<TransactionSummary>();
+        UpaReportResponse response = new UpaReportResponse(new JsonReader(new StringReader(json)), new IRecordReceivedInterface<TransactionSummary>() {
+            public void recordReceived(TransactionSummary record) {
+                streamed.add(record);
+            }
+        });
+
+        assertEquals(buffered.getDeviceResponseCode(), response.getDeviceResponseCode());
+        assertEquals(buffered.getTransactionType(), response.getTransactionType());
+        assertEquals(buffered.getBatchSummary().getBatchId(), response.getBatchSummary().getBatchId());
+        assertEquals(buffered.getBatchSummary().getOpenTransactionId(), response.getBatchSummary().getOpenTransactionId());
+        assertEquals(buffered.getBatchSummary().getTotalAmount(), response.getBatchSummary().getTotalAmount());
+        assertEquals(buffered.getVisaSummary().getSaleCount(), response.getVisaSummary().getSaleCount());
+        assertTrue(response.getTransactionSummaries().isEmpty());
+
+        assertEquals(buffered.getTransactionSummaries().size(), streamed.size());
+        for (int i = 0; i < streamed.size(); i++) {
+            TransactionSummary expected = buffered.getTransactionSummaries().get(i);
+            assertEquals(expected.getTransactionId(), streamed.get(i).getTransactionId());
+            assertEquals(expected.getAuthCode(), streamed.get(i).getAuthCode());
+            assertEquals(expected.getAmount(), streamed.get(i).getAmount());
+        }
+    }
+
+    @Test
+    public void streamsOpenTabDetails() throws Exception {
+        String json = "{\"message\":\"MSG\",\"data\":{\"cmdResult\":{\"result\":\"Success\"},\"response\":\"GetOpenTabDetails\","
+                + "\"data\":{\"OpenTabDetails\":[{\"authorizedAmount\":\"10.00\",\"cardType\":\"MC\",\"maskedPan\":\"************4444\","
+                + "\"referenceNumber\":\"200\"},{\"authorizedAmount\":\"5.00\",\"cardType\":\"VISA\",\"referenceNumber\":\"201\"}]}}}";
+
+        final List<TransactionSummary> streamed = new ArrayList<TransactionSummary>();
+        UpaReportResponse response = new UpaReportResponse(new JsonReader(new StringReader(json)), new IRecordReceivedInterface<TransactionSummary>() {
+            public void recordReceived(TransactionSummary record) {
+                streamed.add(record);
+            }
+        });
+
+        assertEquals("00", response.getDeviceResponseCode());
+        assertEquals(2, streamed.size());
+        assertEquals("200", streamed.get(0).getTransactionId());
+        assertEquals("VISA", streamed.get(1).getCardType());
+    }
+}
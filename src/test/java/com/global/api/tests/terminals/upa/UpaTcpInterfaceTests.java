@@ -0,0 +1,166 @@
+package com.global.api.tests.terminals.upa;
+
+import com.global.api.entities.enums.ConnectionModes;
+import com.global.api.entities.enums.DeviceType;
+import com.global.api.entities.exceptions.MessageException;
+import com.global.api.terminals.ConnectionConfig;
+import com.global.api.terminals.TerminalFrameCodec;
+import com.global.api.terminals.TerminalUtilities;
+import com.global.api.terminals.abstractions.IDeviceMessage;
+import com.global.api.terminals.upa.interfaces.UpaTcpInterface;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class UpaTcpInterfaceTests {
+    private static final String ACK = "{\"message\":\"ACK\",\"data\":\"\"}";
+    private static final String READY = "{\"message\":\"READY\",\"data\":\"\"}";
+
+    private ServerSocket server;
+    private Thread device;
+    private final List<String> received = new ArrayList<String>();
+
+    @Before
+    public void openDevice() throws IOException {
+        server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    }
+
+    @After
+    public void closeDevice() throws Exception {
+        server.close();
+        if (device != null) {
+            device.join(5000);
+        }
+    }
+
+    private static String data(int requestId) {
+        return "{\"message\":\"MSG\",\"data\":{\"response\":\"LineItemDisplay\",\"requestId\":\"" + requestId + "\"}}";
+    }
+
+    /**
+     * Accepts a single connection and answers each request with the given packets in turn. A data
+     * packet waits for the ACK the interface sends back for it.
+     */
+    private void startDevice(final String[]... replies) {
+        device = new Thread() {
+            public void run() {
+                try (Socket socket = server.accept()) {
+                    InputStream in = socket.getInputStream();
+                    OutputStream out = socket.getOutputStream();
+                    for (String[] reply : replies) {
+                        received.add(readFrame(in));
+                        for (String packet : reply) {
+                            Thread.sleep(250);
+                            out.write(TerminalFrameCodec.encodeJson(packet.getBytes(StandardCharsets.UTF_8)));
+                            out.flush();
+                            if (packet.contains("\"MSG\"")) {
+                                received.add(readFrame(in));
+                            }
+                        }
+                    }
+                    // hold the connection until the interface lets go of it
+                    while (in.read() >= 0) { }
+                } catch (Exception e) {
+                    // the device goes away with the test
+                }
+            }
+        };
+        device.start();
+    }
+
+    private static String readFrame(InputStream in) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        int b;
+        while ((b = in.read()) != 0x03) {
+            if (b < 0) {
+                throw new IOException("Connection closed.");
+            }
+            sb.append((char) b);
+        }
+        in.read(); // LF
+        return sb.toString().trim();
+    }
+
+    private UpaTcpInterface connect(int timeout) {
+        ConnectionConfig config = new ConnectionConfig();
+        config.setDeviceType(DeviceType.UPA_DEVICE);
+        config.setConnectionMode(ConnectionModes.TCP_IP);
+        config.setIpAddress("127.0.0.1");
+        config.setPort(server.getLocalPort());
+        config.setTimeout(timeout);
+        return new UpaTcpInterface(config);
+    }
+
+    private static IDeviceMessage message(String text) {
+        return TerminalUtilities.compileMessage("{\"message\":\"MSG\",\"data\":{\"command\":\"LineItemDisplay\",\"text\":\"" + text + "\"}}");
+    }
+
+    @Test(timeout = 20000)
+    public void sendsMessagesOverOneConnection() throws Exception {
+        startDevice(new String[] { ACK, data(1), READY }, new String[] { ACK, data(2), READY });
+
+        List<byte[]> responses = connect(5000).send(Arrays.asList(message("first"), message("second")));
+
+        assertEquals(2, responses.size());
+        assertTrue(new String(responses.get(0), StandardCharsets.UTF_8).contains("\"requestId\":\"1\""));
+        assertTrue(new String(responses.get(1), StandardCharsets.UTF_8).contains("\"requestId\":\"2\""));
+
+        device.join(5000);
+        assertEquals(4, received.size());
+        assertTrue(received.get(0).contains("first"));
+        assertTrue(received.get(1).contains("ACK"));
+        assertTrue(received.get(2).contains("second"));
+        assertTrue(received.get(3).contains("ACK"));
+    }
+
+    @Test(timeout = 20000)
+    public void readyWithoutDataFails() throws Exception {
+        startDevice(new String[] { ACK, READY });
+
+        try {
+            connect(5000).send(message("first"));
+            fail("A response without data should fail.");
+        } catch (MessageException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("READY without sending a response"));
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void laterMessageDoesNotReturnEarlierResponse() throws Exception {
+        startDevice(new String[] { ACK, data(1), READY }, new String[] { ACK, READY });
+
+        try {
+            connect(5000).send(Arrays.asList(message("first"), message("second")));
+            fail("A response without data should fail.");
+        } catch (MessageException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("READY without sending a response"));
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void silentDeviceTimesOut() throws Exception {
+        startDevice(new String[0]);
+
+        long start = System.currentTimeMillis();
+        try {
+            connect(500).send(message("first"));
+            fail("A silent device should time out.");
+        } catch (MessageException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("timeout"));
+        }
+        assertTrue(System.currentTimeMillis() - start < 5000);
+    }
+}